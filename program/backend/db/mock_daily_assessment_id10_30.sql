@@ -102,3 +102,12 @@ DELIMITER ;
 -- 默认按需求：基于 id=10 复制 30 份
 CALL sp_mock_daily_assessment_from_id(10, 30);
 
+-- 同步重算成长报告的按天汇总表（daily_dimension_score_rollup）
+INSERT INTO daily_dimension_score_rollup (user_id, child_id, biz_date, dimension_code, total_score, created_at, updated_at)
+SELECT a.user_id, a.child_id, DATE(a.submitted_at), ds.dimension_code, SUM(ds.score), NOW(3), NOW(3)
+FROM daily_assessment a
+JOIN daily_assessment_dimension_score ds ON ds.assessment_id = a.id
+WHERE a.child_id = (SELECT child_id FROM daily_assessment WHERE id = 10)
+GROUP BY a.user_id, a.child_id, DATE(a.submitted_at), ds.dimension_code
+ON DUPLICATE KEY UPDATE total_score = VALUES(total_score), updated_at = NOW(3);
+
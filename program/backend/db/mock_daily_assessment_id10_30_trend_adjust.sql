@@ -100,6 +100,15 @@ DELIMITER ;
 -- 默认按需求：对基于 id=10 的 30 天 mock 数据做趋势调整（0.70x -> 1.40x）
 CALL sp_adjust_daily_assessment_dimension_score_trend(10, 30, 0.70, 1.40);
 
+-- 同步重算成长报告的按天汇总表（daily_dimension_score_rollup）
+INSERT INTO daily_dimension_score_rollup (user_id, child_id, biz_date, dimension_code, total_score, created_at, updated_at)
+SELECT a.user_id, a.child_id, DATE(a.submitted_at), ds.dimension_code, SUM(ds.score), NOW(3), NOW(3)
+FROM daily_assessment a
+JOIN daily_assessment_dimension_score ds ON ds.assessment_id = a.id
+WHERE a.child_id = (SELECT child_id FROM daily_assessment WHERE id = 10)
+GROUP BY a.user_id, a.child_id, DATE(a.submitted_at), ds.dimension_code
+ON DUPLICATE KEY UPDATE total_score = VALUES(total_score), updated_at = NOW(3);
+
 -- 校验示例（趋势查看：按天 + 维度聚合）
 -- SELECT DATE(a.submitted_at) day, ds.dimension_code, SUM(ds.score) sum_score
 -- FROM daily_assessment_dimension_score ds
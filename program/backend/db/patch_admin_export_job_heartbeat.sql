@@ -0,0 +1,25 @@
+-- MySQL 8.0
+-- Patch：admin_export_job 增加执行节点心跳列（按心跳判定执行节点下线，不再按创建时间超时）
+--
+-- 背景：schema.sql 使用 CREATE TABLE IF NOT EXISTS，不会给已存在的表加列。
+-- 若线上/本地已建表，需要在 patch_admin_export_job_node_id.sql 之后执行本脚本（可重复执行）。
+
+SET NAMES utf8mb4;
+
+SET @add_sql =
+  IF(
+    EXISTS(
+      SELECT 1
+      FROM information_schema.columns
+      WHERE table_schema = DATABASE()
+        AND table_name = 'admin_export_job'
+        AND column_name = 'heartbeat_at'
+    ),
+    'SELECT 1',
+    'ALTER TABLE `admin_export_job`
+       ADD COLUMN `heartbeat_at` DATETIME(3) NULL COMMENT ''执行节点最近心跳（未结束时定时刷新）'' AFTER `finished_at`'
+  );
+
+PREPARE stmt_add FROM @add_sql;
+EXECUTE stmt_add;
+DEALLOCATE PREPARE stmt_add;
@@ -0,0 +1,27 @@
+-- MySQL 8.0
+-- Patch：admin_export_job 增加执行节点列（多节点部署时重启只中断本节点的导出任务）
+--
+-- 背景：schema.sql 使用 CREATE TABLE IF NOT EXISTS，不会给已存在的表加列。
+-- 若线上/本地已建表，需要执行本脚本（可重复执行）。
+
+SET NAMES utf8mb4;
+
+SET @add_sql =
+  IF(
+    EXISTS(
+      SELECT 1
+      FROM information_schema.columns
+      WHERE table_schema = DATABASE()
+        AND table_name = 'admin_export_job'
+        AND column_name = 'node_id'
+    ),
+    'SELECT 1',
+    'ALTER TABLE `admin_export_job`
+       ADD COLUMN `node_id` VARCHAR(64) NULL COMMENT ''执行节点'' AFTER `admin_user_id`,
+       MODIFY COLUMN `file_path` VARCHAR(512) NULL COMMENT ''结果位置：服务端本地路径，或 oss: 前缀的私有对象键'',
+       ADD KEY `idx_export_job_node_status` (`node_id`, `status`)'
+  );
+
+PREPARE stmt_add FROM @add_sql;
+EXECUTE stmt_add;
+DEALLOCATE PREPARE stmt_add;
@@ -0,0 +1,26 @@
+-- MySQL 8.0
+-- Patch：ai_chat_session 增加滚动摘要列（AI 对话上下文压缩）
+--
+-- 背景：schema.sql 使用 CREATE TABLE IF NOT EXISTS，不会给已存在的表加列。
+-- 若线上/本地已建表，需要执行本脚本（可重复执行）。
+
+SET NAMES utf8mb4;
+
+SET @add_sql =
+  IF(
+    EXISTS(
+      SELECT 1
+      FROM information_schema.columns
+      WHERE table_schema = DATABASE()
+        AND table_name = 'ai_chat_session'
+        AND column_name = 'context_summary'
+    ),
+    'SELECT 1',
+    'ALTER TABLE `ai_chat_session`
+       ADD COLUMN `context_summary` TEXT NULL COMMENT ''较早对话的滚动摘要（上下文压缩用）'' AFTER `expires_at`,
+       ADD COLUMN `summary_through_message_id` BIGINT UNSIGNED NULL COMMENT ''摘要已覆盖到的消息ID（含）'' AFTER `context_summary`'
+  );
+
+PREPARE stmt_add FROM @add_sql;
+EXECUTE stmt_add;
+DEALLOCATE PREPARE stmt_add;
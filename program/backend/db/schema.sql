@@ -156,6 +156,30 @@ CREATE TABLE IF NOT EXISTS daily_parenting_diary (
   CONSTRAINT fk_diary_child FOREIGN KEY (child_id) REFERENCES child(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='育儿日记（每人每孩每天最多1条）';
 
+CREATE TABLE IF NOT EXISTS child_activity_day (
+  id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT COMMENT '主键',
+  user_id BIGINT UNSIGNED NOT NULL COMMENT '用户ID',
+  child_id BIGINT UNSIGNED NOT NULL COMMENT '孩子ID',
+  record_date DATE NOT NULL COMMENT '有记录的日期（育儿状态/烦恼/日记/自测任一，中国时区）',
+  created_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '创建时间',
+  PRIMARY KEY (id),
+  UNIQUE KEY uk_activity_day_user_child_day (user_id, child_id, record_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='孩子活跃日（每人每孩每天最多1条，由各记录写路径同事务写入）';
+
+CREATE TABLE IF NOT EXISTS child_activity_summary (
+  id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT COMMENT '主键',
+  user_id BIGINT UNSIGNED NOT NULL COMMENT '用户ID',
+  child_id BIGINT UNSIGNED NOT NULL COMMENT '孩子ID',
+  first_record_date DATE NULL COMMENT '首次记录日期（无记录为空）',
+  last_record_date DATE NULL COMMENT '最近记录日期（无记录为空）',
+  active_days INT NOT NULL DEFAULT 0 COMMENT '累计有记录天数',
+  current_streak INT NOT NULL DEFAULT 0 COMMENT '截至最近记录日期的连续记录天数',
+  created_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '创建时间',
+  updated_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3) COMMENT '更新时间',
+  PRIMARY KEY (id),
+  UNIQUE KEY uk_activity_summary_user_child (user_id, child_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='孩子记录统计（增量维护；缺失时从明细重建）';
+
 -- =========
 -- 题库：问题/选项/选项-维度分值
 -- =========
@@ -278,6 +302,20 @@ CREATE TABLE IF NOT EXISTS daily_assessment_dimension_score (
   CONSTRAINT ck_ds_score CHECK (score > 0)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='每日自测-维度得分明细（每个作答选项在各维度的分值）';
 
+CREATE TABLE IF NOT EXISTS daily_dimension_score_rollup (
+  id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT COMMENT '主键',
+  user_id BIGINT UNSIGNED NOT NULL COMMENT '用户ID',
+  child_id BIGINT UNSIGNED NOT NULL COMMENT '孩子ID',
+  biz_date DATE NOT NULL COMMENT '业务日期（北京时间，同 DATE(daily_assessment.submitted_at)）',
+  dimension_code VARCHAR(64) NOT NULL COMMENT '能力维度编码（枚举常量）',
+  total_score BIGINT NOT NULL COMMENT '当日该维度得分合计',
+  created_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '创建时间',
+  updated_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3) COMMENT '更新时间',
+  PRIMARY KEY (id),
+  UNIQUE KEY uk_rollup_user_child_date_dimension (user_id, child_id, biz_date, dimension_code),
+  KEY idx_rollup_child_date (child_id, biz_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='每日自测-按天按维度得分汇总（提交时同事务累加，成长报告只读此表）';
+
 -- =========
 -- AI：自测总结（与 assessment 1:1）
 -- =========
@@ -305,6 +343,8 @@ CREATE TABLE IF NOT EXISTS ai_chat_session (
   status VARCHAR(16) NOT NULL DEFAULT 'ACTIVE' COMMENT '状态：ACTIVE进行中 CLOSED已关闭',
   last_active_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '最后活跃时间',
   expires_at DATETIME(3) NULL COMMENT '过期时间（用于会话级上下文保留策略）',
+  context_summary TEXT NULL COMMENT '较早对话的滚动摘要（上下文压缩用）',
+  summary_through_message_id BIGINT UNSIGNED NULL COMMENT '摘要已覆盖到的消息ID（含）',
   created_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '创建时间',
   updated_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3) COMMENT '更新时间',
   PRIMARY KEY (id),
@@ -532,6 +572,31 @@ CREATE TABLE IF NOT EXISTS admin_role_permission (
   CONSTRAINT fk_role_perm_perm FOREIGN KEY (permission_id) REFERENCES admin_permission(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='角色-权限关联';
 
+-- =========
+-- 运营端：异步导出任务（结果文件落本地临时目录，过期后删除）
+-- =========
+CREATE TABLE IF NOT EXISTS admin_export_job (
+  id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT COMMENT '主键',
+  admin_user_id BIGINT UNSIGNED NOT NULL COMMENT '提交人（管理员ID）',
+  node_id VARCHAR(64) NULL COMMENT '执行节点',
+  job_type VARCHAR(32) NOT NULL COMMENT '类型：ASSESSMENT_EXCEL/ASSESSMENT_WORD',
+  params_json TEXT NOT NULL COMMENT '导出参数（JSON）',
+  status VARCHAR(16) NOT NULL COMMENT '状态：PENDING/RUNNING/SUCCEEDED/FAILED/EXPIRED',
+  file_name VARCHAR(255) NULL COMMENT '下载文件名',
+  file_path VARCHAR(512) NULL COMMENT '结果位置：服务端本地路径，或 oss: 前缀的私有对象键',
+  file_size BIGINT NULL COMMENT '结果文件大小（字节）',
+  error_message VARCHAR(512) NULL COMMENT '失败原因',
+  created_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '创建时间',
+  started_at DATETIME(3) NULL COMMENT '开始执行时间',
+  finished_at DATETIME(3) NULL COMMENT '结束时间',
+  heartbeat_at DATETIME(3) NULL COMMENT '执行节点最近心跳（未结束时定时刷新）',
+  expires_at DATETIME(3) NULL COMMENT '结果过期时间（成功后设置）',
+  PRIMARY KEY (id),
+  KEY idx_export_job_admin (admin_user_id, id),
+  KEY idx_export_job_status_expires (status, expires_at),
+  KEY idx_export_job_node_status (node_id, status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='后台异步导出任务';
+
 -- =========
 -- Seed 数据（仅开发/演示）
 -- =========
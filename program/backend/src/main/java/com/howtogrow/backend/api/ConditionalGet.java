@@ -0,0 +1,25 @@
+package com.howtogrow.backend.api;
+
+import com.howtogrow.backend.infrastructure.cache.VersionedResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+public final class ConditionalGet {
+  private ConditionalGet() {}
+
+  /**
+   * 写入 ETag 并按 If-None-Match 协商；返回 true 时已设置 304，控制器直接返回 null 即可。
+   *
+   * <p>不给 max-age：往日记录仍可补记，客户端每次都带 ETag 回来校验。
+   */
+  public static boolean notModified(ServletWebRequest webRequest, VersionedResponse<?> response) {
+    if (response.etag() == null) {
+      return false;
+    }
+    var servletResponse = webRequest.getResponse();
+    if (servletResponse != null) {
+      servletResponse.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+    }
+    return webRequest.checkNotModified(response.etag());
+  }
+}
@@ -6,16 +6,12 @@ import com.howtogrow.backend.config.AdminSecurityProperties;
 import com.howtogrow.backend.service.admin.AdminPermissionService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.util.Arrays;
-import java.util.Set;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 @Component
 public class AdminPermissionInterceptor implements HandlerInterceptor {
-  private static final String REQ_ATTR_PERMS = "adminPermissionCodes";
-
   private final AdminPermissionService permissionService;
   private final AdminSecurityProperties adminSecurityProperties;
 
@@ -39,17 +35,8 @@ public class AdminPermissionInterceptor implements HandlerInterceptor {
     }
 
     var admin = AuthContext.requireAdmin();
-    @SuppressWarnings("unchecked")
-    Set<String> perms = (Set<String>) request.getAttribute(REQ_ATTR_PERMS);
-    if (perms == null) {
-      perms = permissionService.permissionsFor(admin.userId());
-      request.setAttribute(REQ_ATTR_PERMS, perms);
-    }
-
-    for (var code : required) {
-      if (code != null && !code.isBlank() && perms.contains(code)) {
-        return true;
-      }
+    if (permissionService.hasAnyPermission(admin.userId(), required)) {
+      return true;
     }
     throw new AppException(ErrorCode.FORBIDDEN_RESOURCE, "无权限");
   }
@@ -9,22 +9,47 @@ import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.ParseException;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.stereotype.Component;
 
+/**
+ * JWT 签发与校验。
+ *
+ * <p>签名器/校验器按受众预先构建；校验通过的 token 以 SHA-256 摘要为 key 缓存解析结果（有界，按 exp 过期），
+ * 热 token 的校验只需一次摘要计算与哈希查找。
+ */
 @Component
 public class JwtService {
+  private static final int MAX_CACHED_TOKENS = 10_000;
+
   private final JwtProperties props;
   private final Clock clock;
+  private final Map<Audience, MACSigner> signers = new EnumMap<>(Audience.class);
+  private final Map<Audience, MACVerifier> verifiers = new EnumMap<>(Audience.class);
+  private final ConcurrentHashMap<TokenHash, VerifiedToken> verified = new ConcurrentHashMap<>();
 
   public JwtService(JwtProperties props, Clock clock) {
     this.props = props;
     this.clock = clock;
+    for (var audience : Audience.values()) {
+      try {
+        signers.put(audience, new MACSigner(secretFor(audience)));
+        verifiers.put(audience, new MACVerifier(secretFor(audience)));
+      } catch (JOSEException e) {
+        throw new IllegalStateException("invalid jwt secret for " + audience, e);
+      }
+    }
   }
 
   public String issue(Audience audience, long subjectId) {
@@ -42,7 +67,7 @@ public class JwtService {
         new JWSHeader.Builder(JWSAlgorithm.HS256).keyID(audience.name().toLowerCase()).build();
     var jwt = new SignedJWT(header, claims);
     try {
-      jwt.sign(new MACSigner(secretFor(audience)));
+      jwt.sign(signers.get(audience));
       return jwt.serialize();
     } catch (JOSEException e) {
       throw new AppException(ErrorCode.INTERNAL_ERROR, "服务异常");
@@ -50,6 +75,25 @@ public class JwtService {
   }
 
   public AuthUser verify(String token) {
+    var hash = TokenHash.of(token);
+    var hit = verified.get(hash);
+    if (hit != null) {
+      if (hit.expiresAt.isBefore(Instant.now(clock))) {
+        verified.remove(hash);
+        throw new AppException(ErrorCode.UNAUTHORIZED, "登录已过期，请重新登录");
+      }
+      return hit.user;
+    }
+
+    var result = verifyUncached(token);
+    if (verified.size() >= MAX_CACHED_TOKENS) {
+      evict();
+    }
+    verified.put(hash, result);
+    return result.user;
+  }
+
+  VerifiedToken verifyUncached(String token) {
     SignedJWT jwt;
     try {
       jwt = SignedJWT.parse(token);
@@ -66,17 +110,19 @@ public class JwtService {
     }
 
     if (preferred != null && verifyWith(jwt, preferred)) {
-      return toAuthUser(jwt);
+      return toVerifiedToken(jwt);
     }
-    if (verifyWith(jwt, Audience.MINIPROGRAM) || verifyWith(jwt, Audience.ADMIN)) {
-      return toAuthUser(jwt);
+    for (var audience : Audience.values()) {
+      if (audience != preferred && verifyWith(jwt, audience)) {
+        return toVerifiedToken(jwt);
+      }
     }
     throw new AppException(ErrorCode.UNAUTHORIZED, "登录已失效，请重新登录");
   }
 
   private boolean verifyWith(SignedJWT jwt, Audience audience) {
     try {
-      return jwt.verify(new MACVerifier(secretFor(audience)));
+      return jwt.verify(verifiers.get(audience));
     } catch (JOSEException e) {
       return false;
     }
@@ -88,7 +134,15 @@ public class JwtService {
     return secret.getBytes(StandardCharsets.UTF_8);
   }
 
-  private AuthUser toAuthUser(SignedJWT jwt) {
+  private void evict() {
+    var now = Instant.now(clock);
+    verified.values().removeIf(v -> v.expiresAt.isBefore(now));
+    if (verified.size() >= MAX_CACHED_TOKENS) {
+      verified.clear();
+    }
+  }
+
+  private VerifiedToken toVerifiedToken(SignedJWT jwt) {
     JWTClaimsSet claims;
     try {
       claims = jwt.getJWTClaimsSet();
@@ -110,9 +164,29 @@ public class JwtService {
     var audience =
         "admin".equalsIgnoreCase(audClaim) ? Audience.ADMIN : Audience.MINIPROGRAM;
     try {
-      return new AuthUser(Long.parseLong(sub), audience);
+      return new VerifiedToken(new AuthUser(Long.parseLong(sub), audience), exp.toInstant());
     } catch (NumberFormatException e) {
       throw new AppException(ErrorCode.UNAUTHORIZED, "登录已失效，请重新登录");
     }
   }
+
+  record VerifiedToken(AuthUser user, Instant expiresAt) {}
+
+  /** token 的 SHA-256 摘要，避免在内存中长期保留 token 原文。 */
+  private record TokenHash(long h0, long h1, long h2, long h3) {
+    private static final ThreadLocal<MessageDigest> SHA256 =
+        ThreadLocal.withInitial(
+            () -> {
+              try {
+                return MessageDigest.getInstance("SHA-256");
+              } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+
+    private static TokenHash of(String token) {
+      var digest = ByteBuffer.wrap(SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+      return new TokenHash(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+    }
+  }
 }
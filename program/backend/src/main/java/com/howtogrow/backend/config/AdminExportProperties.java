@@ -0,0 +1,14 @@
+package com.howtogrow.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param dir 导出文件的本地目录（为空时使用系统临时目录下的 howtogrow-exports）；启用 OSS 时只作生成中转，结果存私有 OSS 对象
+ * @param nodeId 本节点名，任务行记录执行节点，重启时只中断本节点的任务（为空时取主机名；需跨重启稳定）
+ * @param maxConcurrency 同时执行的导出任务上限
+ * @param queueCapacity 导出任务排队上限，超出拒绝提交
+ * @param retentionHours 结果文件保留时长（小时），过期后删除
+ */
+@ConfigurationProperties(prefix = "app.admin-export")
+public record AdminExportProperties(
+    String dir, String nodeId, int maxConcurrency, int queueCapacity, int retentionHours) {}
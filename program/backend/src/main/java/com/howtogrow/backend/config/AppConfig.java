@@ -3,42 +3,60 @@ package com.howtogrow.backend.config;
 import com.howtogrow.backend.auth.JwtProperties;
 import com.howtogrow.backend.config.AdminSecurityProperties;
 import com.howtogrow.backend.infrastructure.ai.AiProperties;
+import com.howtogrow.backend.infrastructure.ai.AiTransportProperties;
+import com.howtogrow.backend.infrastructure.concurrent.Bulkhead;
+import com.howtogrow.backend.infrastructure.concurrent.BulkheadTaskExecutor;
 import com.howtogrow.backend.infrastructure.oss.OssProperties;
 import com.howtogrow.backend.infrastructure.pay.WechatPayProperties;
 import com.howtogrow.backend.infrastructure.wechat.WechatProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Clock;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.TaskExecutor;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @EnableConfigurationProperties({
   JwtProperties.class,
   WechatProperties.class,
   AiProperties.class,
+  AiTransportProperties.class,
   WechatPayProperties.class,
   RateLimitProperties.class,
   CorsProperties.class,
   AdminSecurityProperties.class,
   DailyAssessmentProperties.class,
-  OssProperties.class
+  OssProperties.class,
+  TaskExecutorProperties.class,
+  AdminExportProperties.class,
+  SseProperties.class
 })
 public class AppConfig {
+  private static final int DEFAULT_JOBS_MAX_CONCURRENCY = 16;
+  private static final int DEFAULT_JOBS_QUEUE_CAPACITY = 200;
+  private static final int DEFAULT_CHAT_STREAM_MAX_CONCURRENCY = 200;
+
   @Bean
   public Clock clock() {
     return Clock.systemUTC();
   }
 
   @Bean
-  public TaskExecutor taskExecutor() {
-    var executor = new ThreadPoolTaskExecutor();
-    executor.setCorePoolSize(4);
-    executor.setMaxPoolSize(16);
-    executor.setQueueCapacity(200);
-    executor.setThreadNamePrefix("app-async-");
-    executor.initialize();
-    return executor;
+  public TaskExecutor taskExecutor(TaskExecutorProperties props, MeterRegistry meterRegistry) {
+    return new BulkheadTaskExecutor(
+        "app-async",
+        props.jobsMaxConcurrency() > 0 ? props.jobsMaxConcurrency() : DEFAULT_JOBS_MAX_CONCURRENCY,
+        props.jobsQueueCapacity() > 0 ? props.jobsQueueCapacity() : DEFAULT_JOBS_QUEUE_CAPACITY,
+        props.virtualThreads(),
+        meterRegistry);
+  }
+
+  @Bean
+  public Bulkhead chatStreamBulkhead(TaskExecutorProperties props, MeterRegistry meterRegistry) {
+    return new Bulkhead(
+        "ai-chat-stream",
+        props.chatStreamMaxConcurrency() > 0 ? props.chatStreamMaxConcurrency() : DEFAULT_CHAT_STREAM_MAX_CONCURRENCY,
+        meterRegistry);
   }
 }
@@ -2,6 +2,10 @@ package com.howtogrow.backend.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+/**
+ * @param questionPoolRefreshSeconds 抽题索引全量重建周期，同时是题目目录缓存条目的存活时间（秒）
+ * @param rollupBackfillOnStartup 启动时若集群尚未回填按天维度汇总表则从明细重算一次（幂等，集群内仅一个节点执行）
+ */
 @ConfigurationProperties(prefix = "app.daily-assessment")
-public record DailyAssessmentProperties(long sessionTtlSeconds) {}
-
+public record DailyAssessmentProperties(
+    long sessionTtlSeconds, long questionPoolRefreshSeconds, boolean rollupBackfillOnStartup) {}
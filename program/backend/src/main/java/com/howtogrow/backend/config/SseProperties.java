@@ -0,0 +1,10 @@
+package com.howtogrow.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param coalesceWindowMillis 流式增量合并窗口（毫秒），窗口内的增量合并为一帧写出；0 表示逐条写出
+ * @param coalesceMaxBytes 待写增量累计达到该字节数时立即写出，不等窗口结束
+ */
+@ConfigurationProperties(prefix = "app.sse")
+public record SseProperties(int coalesceWindowMillis, int coalesceMaxBytes) {}
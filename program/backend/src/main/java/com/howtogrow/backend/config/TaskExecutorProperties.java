@@ -0,0 +1,17 @@
+package com.howtogrow.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param mode platform / virtual（虚拟线程需运行在 JDK 21+）
+ * @param jobsMaxConcurrency 后台任务同时执行上限
+ * @param jobsQueueCapacity 后台任务排队上限，超出拒绝
+ * @param chatStreamMaxConcurrency 单节点 AI 流式回复同时进行上限，超出提示繁忙
+ */
+@ConfigurationProperties(prefix = "app.task-executor")
+public record TaskExecutorProperties(
+    String mode, int jobsMaxConcurrency, int jobsQueueCapacity, int chatStreamMaxConcurrency) {
+  public boolean virtualThreads() {
+    return "virtual".equalsIgnoreCase(mode);
+  }
+}
@@ -7,8 +7,10 @@ import com.howtogrow.backend.controller.admin.dto.AssessmentView;
 import com.howtogrow.backend.controller.admin.dto.PageResponse;
 import com.howtogrow.backend.service.admin.AdminAssessmentService;
 import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -44,9 +46,10 @@ public class AdminAssessmentController {
           LocalDate bizDateTo,
       @Parameter(description = "用户ID（可选）") @RequestParam(required = false) Long userId,
       @Parameter(description = "孩子ID（可选）") @RequestParam(required = false) Long childId,
-      @Parameter(description = "用户/孩子昵称关键词（可选）") @RequestParam(required = false) String keyword) {
+      @Parameter(description = "用户/孩子昵称关键词（可选）") @RequestParam(required = false) String keyword,
+      @Parameter(description = "游标（上一页返回的 nextCursor，可选；传入时按 id 续读）") @RequestParam(required = false) Long cursor) {
     return ApiResponse.ok(
-        assessmentService.list(page, pageSize, userId, childId, keyword, bizDateFrom, bizDateTo),
+        assessmentService.list(page, pageSize, userId, childId, keyword, bizDateFrom, bizDateTo, cursor),
         TraceId.current());
   }
 
@@ -57,7 +60,7 @@ public class AdminAssessmentController {
   }
 
   @GetMapping("/export-excel")
-  public ResponseEntity<byte[]> exportExcel(
+  public void exportExcel(
       @Parameter(description = "提交日期起（yyyy-MM-dd，北京时间口径，可选）") @RequestParam(required = false)
           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
           LocalDate bizDateFrom,
@@ -66,24 +69,24 @@ public class AdminAssessmentController {
           LocalDate bizDateTo,
       @Parameter(description = "用户ID（可选）") @RequestParam(required = false) Long userId,
       @Parameter(description = "孩子ID（可选）") @RequestParam(required = false) Long childId,
-      @Parameter(description = "用户/孩子昵称关键词（可选）") @RequestParam(required = false) String keyword) {
-    var bytes = assessmentService.exportExcel(userId, childId, keyword, bizDateFrom, bizDateTo);
-    var filename = buildExportFilename(bizDateFrom, bizDateTo);
+      @Parameter(description = "用户/孩子昵称关键词（可选）") @RequestParam(required = false) String keyword,
+      HttpServletResponse response)
+      throws IOException {
+    // 参数错误要在写响应头之前抛出，才能按普通 JSON 错误返回
+    assessmentService.validateExportRange(bizDateFrom, bizDateTo);
+    var filename = AdminAssessmentService.excelExportFilename(bizDateFrom, bizDateTo);
     var cd = ContentDisposition.attachment().filename(filename, StandardCharsets.UTF_8).build();
-    return ResponseEntity.ok()
-        .contentType(
-            MediaType.parseMediaType(
-                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-        .header(HttpHeaders.CONTENT_DISPOSITION, cd.toString())
-        .header(HttpHeaders.CACHE_CONTROL, "no-store")
-        .body(bytes);
+    response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, cd.toString());
+    response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+    assessmentService.exportExcel(userId, childId, keyword, bizDateFrom, bizDateTo, response.getOutputStream());
   }
 
   @GetMapping("/{assessmentId:\\d+}/export-word")
   public ResponseEntity<byte[]> exportWord(
       @Parameter(description = "自测ID") @PathVariable long assessmentId) {
     var bytes = assessmentService.exportWord(assessmentId);
-    var filename = "自测结果_" + assessmentId + ".docx";
+    var filename = AdminAssessmentService.wordExportFilename(assessmentId);
     var cd = ContentDisposition.attachment().filename(filename, StandardCharsets.UTF_8).build();
     return ResponseEntity.ok()
         .contentType(
@@ -93,17 +96,4 @@ public class AdminAssessmentController {
         .header(HttpHeaders.CACHE_CONTROL, "no-store")
         .body(bytes);
   }
-
-  private static String buildExportFilename(LocalDate bizDateFrom, LocalDate bizDateTo) {
-    if (bizDateFrom != null && bizDateTo != null) {
-      return "自测记录_" + bizDateFrom + "_" + bizDateTo + ".xlsx";
-    }
-    if (bizDateFrom != null) {
-      return "自测记录_" + bizDateFrom + ".xlsx";
-    }
-    if (bizDateTo != null) {
-      return "自测记录_截至" + bizDateTo + ".xlsx";
-    }
-    return "自测记录.xlsx";
-  }
 }
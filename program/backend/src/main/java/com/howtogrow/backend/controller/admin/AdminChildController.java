@@ -36,9 +36,11 @@ public class AdminChildController {
           Integer ageMin,
       @Parameter(description = "年龄上限（岁，含边界，可选）") @RequestParam(required = false) @Min(0) @Max(18)
           Integer ageMax,
-      @Parameter(description = "状态：1启用 0删除（可选）") @RequestParam(required = false) Integer status) {
+      @Parameter(description = "状态：1启用 0删除（可选）") @RequestParam(required = false) Integer status,
+      @Parameter(description = "游标（上一页返回的 nextCursor，可选；传入时按 id 续读）") @RequestParam(required = false) Long cursor) {
     return ApiResponse.ok(
-        childService.list(page, pageSize, userId, userNickname, childId, childNickname, gender, ageMin, ageMax, status),
+        childService.list(
+            page, pageSize, userId, userNickname, childId, childNickname, gender, ageMin, ageMax, status, cursor),
         TraceId.current());
   }
 }
@@ -0,0 +1,58 @@
+package com.howtogrow.backend.controller.admin;
+
+import com.howtogrow.backend.api.ApiResponse;
+import com.howtogrow.backend.api.TraceId;
+import com.howtogrow.backend.auth.AuthContext;
+import com.howtogrow.backend.controller.admin.dto.AdminExportJobCreateRequest;
+import com.howtogrow.backend.controller.admin.dto.AdminExportJobView;
+import com.howtogrow.backend.service.admin.AdminExportJobService;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/export-jobs")
+@com.howtogrow.backend.auth.AdminPermissionRequired({"ASSESSMENT:READ"})
+public class AdminExportJobController {
+  private final AdminExportJobService exportJobService;
+
+  public AdminExportJobController(AdminExportJobService exportJobService) {
+    this.exportJobService = exportJobService;
+  }
+
+  @PostMapping
+  public ApiResponse<AdminExportJobView> submit(@Valid @RequestBody AdminExportJobCreateRequest request) {
+    var admin = AuthContext.requireAdmin();
+    return ApiResponse.ok(exportJobService.submit(admin.userId(), request), TraceId.current());
+  }
+
+  @GetMapping("/{jobId:\\d+}")
+  public ApiResponse<AdminExportJobView> get(@Parameter(description = "任务ID") @PathVariable long jobId) {
+    var admin = AuthContext.requireAdmin();
+    return ApiResponse.ok(exportJobService.get(admin.userId(), jobId), TraceId.current());
+  }
+
+  /** 返回 Resource 时 Spring MVC 会处理 Range 请求头（206 分段响应），断点续传无需额外代码。 */
+  @GetMapping("/{jobId:\\d+}/download")
+  public ResponseEntity<Resource> download(@Parameter(description = "任务ID") @PathVariable long jobId) {
+    var admin = AuthContext.requireAdmin();
+    var file = exportJobService.openResult(admin.userId(), jobId);
+    var cd = ContentDisposition.attachment().filename(file.fileName(), StandardCharsets.UTF_8).build();
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(file.contentType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION, cd.toString())
+        .header(HttpHeaders.CACHE_CONTROL, "no-store")
+        .body(file.resource());
+  }
+}
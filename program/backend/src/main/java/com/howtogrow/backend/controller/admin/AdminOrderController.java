@@ -27,7 +27,8 @@ public class AdminOrderController {
   @GetMapping
   public ApiResponse<PageResponse<OrderView>> list(
       @Parameter(description = "页码（从1开始）") @RequestParam(defaultValue = "1") @Min(1) int page,
-      @Parameter(description = "每页条数（1-200）") @RequestParam(defaultValue = "20") @Min(1) @Max(200) int pageSize) {
-    return ApiResponse.ok(orderService.list(page, pageSize), TraceId.current());
+      @Parameter(description = "每页条数（1-200）") @RequestParam(defaultValue = "20") @Min(1) @Max(200) int pageSize,
+      @Parameter(description = "游标（上一页返回的 nextCursor，可选；传入时按 id 续读）") @RequestParam(required = false) Long cursor) {
+    return ApiResponse.ok(orderService.list(page, pageSize, cursor), TraceId.current());
   }
 }
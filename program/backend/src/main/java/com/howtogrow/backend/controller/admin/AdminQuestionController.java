@@ -51,7 +51,8 @@ public class AdminQuestionController {
       @Parameter(description = "烦恼场景ID（可选）") @RequestParam(required = false) @Min(1) Long troubleSceneId,
       @Parameter(description = "关键字（content 模糊匹配）") @RequestParam(required = false) String keyword,
       @Parameter(description = "页码（从1开始）") @RequestParam(defaultValue = "1") @Min(1) int page,
-      @Parameter(description = "每页条数（1-200）") @RequestParam(defaultValue = "20") @Min(1) @Max(200) int pageSize) {
+      @Parameter(description = "每页条数（1-200）") @RequestParam(defaultValue = "20") @Min(1) @Max(200) int pageSize,
+      @Parameter(description = "游标（上一页返回的 nextCursor，可选；传入时按 id 续读）") @RequestParam(required = false) Long cursor) {
     Integer effectiveMinAge = minAge;
     Integer effectiveMaxAge = maxAge;
     if (effectiveMinAge == null && effectiveMaxAge == null && ageYear != null) {
@@ -60,7 +61,7 @@ public class AdminQuestionController {
     }
     return ApiResponse.ok(
         questionService.list(
-            effectiveMinAge, effectiveMaxAge, questionType, status, troubleSceneId, keyword, page, pageSize),
+            effectiveMinAge, effectiveMaxAge, questionType, status, troubleSceneId, keyword, page, pageSize, cursor),
         TraceId.current());
   }
 
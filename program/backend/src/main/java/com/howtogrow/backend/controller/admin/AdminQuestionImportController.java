@@ -9,6 +9,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
@@ -25,7 +26,8 @@ public class AdminQuestionImportController {
 
   @PostMapping(value = "/import-excel", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
   public ApiResponse<QuestionImportResponse> importExcel(
-      @Parameter(description = "Excel 文件") @RequestPart("file") MultipartFile file) {
-    return ApiResponse.ok(importService.importExcel(file), TraceId.current());
+      @Parameter(description = "Excel 文件") @RequestPart("file") MultipartFile file,
+      @Parameter(description = "仅校验并返回差异，不写库") @RequestParam(defaultValue = "false") boolean dryRun) {
+    return ApiResponse.ok(importService.importExcel(file, dryRun), TraceId.current());
   }
 }
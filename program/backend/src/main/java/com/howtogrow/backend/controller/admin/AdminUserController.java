@@ -37,9 +37,10 @@ public class AdminUserController {
       @Parameter(description = "昵称/openid 关键词（可选）") @RequestParam(required = false) String keyword,
       @Parameter(description = "免费体验：true/false（可选）") @RequestParam(required = false) Boolean freeTrialUsed,
       @Parameter(description = "订阅状态：ACTIVE/EXPIRED/NONE（可选）") @RequestParam(required = false)
-          String subscriptionStatus) {
+          String subscriptionStatus,
+      @Parameter(description = "游标（上一页返回的 nextCursor，可选；传入时按 id 续读）") @RequestParam(required = false) Long cursor) {
     return ApiResponse.ok(
-        userService.list(page, pageSize, userId, keyword, freeTrialUsed, subscriptionStatus),
+        userService.list(page, pageSize, userId, keyword, freeTrialUsed, subscriptionStatus, cursor),
         TraceId.current());
   }
 
@@ -0,0 +1,15 @@
+package com.howtogrow.backend.controller.admin.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import java.time.LocalDate;
+
+public record AdminExportJobCreateRequest(
+    @Schema(description = "类型：ASSESSMENT_EXCEL（自测记录 Excel）/ASSESSMENT_WORD（单次自测 Word）") @NotBlank
+        String type,
+    @Schema(description = "提交日期起（yyyy-MM-dd，北京时间口径；ASSESSMENT_EXCEL 可选）") LocalDate bizDateFrom,
+    @Schema(description = "提交日期止（yyyy-MM-dd，北京时间口径；ASSESSMENT_EXCEL 可选）") LocalDate bizDateTo,
+    @Schema(description = "用户ID（ASSESSMENT_EXCEL 可选）") Long userId,
+    @Schema(description = "孩子ID（ASSESSMENT_EXCEL 可选）") Long childId,
+    @Schema(description = "用户/孩子昵称关键词（ASSESSMENT_EXCEL 可选）") String keyword,
+    @Schema(description = "自测ID（ASSESSMENT_WORD 必填）") Long assessmentId) {}
@@ -0,0 +1,16 @@
+package com.howtogrow.backend.controller.admin.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+
+@Schema(description = "异步导出任务")
+public record AdminExportJobView(
+    @Schema(description = "任务ID") long jobId,
+    @Schema(description = "类型：ASSESSMENT_EXCEL/ASSESSMENT_WORD") String type,
+    @Schema(description = "状态：PENDING/RUNNING/SUCCEEDED/FAILED/EXPIRED") String status,
+    @Schema(description = "下载文件名（成功后有值）") String fileName,
+    @Schema(description = "文件大小（字节，成功后有值）") Long fileSize,
+    @Schema(description = "失败原因") String errorMessage,
+    @Schema(description = "创建时间") Instant createdAt,
+    @Schema(description = "结束时间") Instant finishedAt,
+    @Schema(description = "结果过期时间") Instant expiresAt) {}
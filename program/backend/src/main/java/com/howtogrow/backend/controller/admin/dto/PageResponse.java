@@ -2,9 +2,23 @@ package com.howtogrow.backend.controller.admin.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.List;
+import java.util.function.ToLongFunction;
 
 public record PageResponse<T>(
     @Schema(description = "页码（从1开始）") int page,
     @Schema(description = "每页条数") int pageSize,
-    @Schema(description = "总数") long total,
-    @Schema(description = "数据列表") List<T> items) {}
+    @Schema(description = "总数（部分列表为短时缓存值，可能滞后数十秒）") long total,
+    @Schema(description = "数据列表") List<T> items,
+    @Schema(description = "下一页游标（传给下一次请求的 cursor；不支持游标或已无更多时为空）") Long nextCursor) {
+
+  public PageResponse(int page, int pageSize, long total, List<T> items) {
+    this(page, pageSize, total, items, null);
+  }
+
+  /** 满页时以最后一条的 id 作为下一页游标。 */
+  public static <T> PageResponse<T> keyset(
+      int page, int pageSize, long total, List<T> items, ToLongFunction<T> idOf) {
+    Long next = items.size() == pageSize && !items.isEmpty() ? idOf.applyAsLong(items.get(items.size() - 1)) : null;
+    return new PageResponse<>(page, pageSize, total, items, next);
+  }
+}
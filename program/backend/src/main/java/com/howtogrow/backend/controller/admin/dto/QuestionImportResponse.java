@@ -7,8 +7,19 @@ public record QuestionImportResponse(
     @Schema(description = "总行数") int total,
     @Schema(description = "成功数") int success,
     @Schema(description = "失败数") int failed,
-    @Schema(description = "失败明细") List<Failure> failures) {
+    @Schema(description = "失败明细") List<Failure> failures,
+    @Schema(description = "是否已写入题库（预检或存在失败时为 false）") boolean applied,
+    @Schema(description = "新增题目数") int created,
+    @Schema(description = "变更题目数（选项/维度分值/烦恼场景与题库不一致）") int updated,
+    @Schema(description = "与题库一致、跳过的题目数") int unchanged,
+    @Schema(description = "新增/变更明细") List<Change> changes) {
   public record Failure(
       @Schema(description = "行号（Excel 中的行号）") int row,
       @Schema(description = "失败原因") String reason) {}
+
+  public record Change(
+      @Schema(description = "行号（题目首行在 Excel 中的行号）") int row,
+      @Schema(description = "动作：CREATE/UPDATE") String action,
+      @Schema(description = "题目ID（预检时新增题目为空）") Long questionId,
+      @Schema(description = "题干（截断）") String content) {}
 }
@@ -23,7 +23,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 @RestController
 @RequestMapping("/api/v1/miniprogram/ai/chat")
@@ -75,7 +75,7 @@ public class MiniprogramAiChatController {
   }
 
   @GetMapping("/sessions/{sessionId}/stream")
-  public ResponseEntity<SseEmitter> stream(@Parameter(description = "会话ID") @PathVariable long sessionId) {
+  public ResponseEntity<ResponseBodyEmitter> stream(@Parameter(description = "会话ID") @PathVariable long sessionId) {
     var user = AuthContext.requireMiniprogram();
     return ResponseEntity.ok()
         .contentType(MediaType.TEXT_EVENT_STREAM)
@@ -1,6 +1,7 @@
 package com.howtogrow.backend.controller.miniprogram;
 
 import com.howtogrow.backend.api.ApiResponse;
+import com.howtogrow.backend.api.ConditionalGet;
 import com.howtogrow.backend.api.TraceId;
 import com.howtogrow.backend.auth.AuthContext;
 import com.howtogrow.backend.controller.miniprogram.dto.MonthlyAwarenessResponse;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/api/v1/miniprogram/awareness")
@@ -26,9 +28,14 @@ public class MiniprogramAwarenessController {
   @GetMapping("/monthly")
   public ApiResponse<MonthlyAwarenessResponse> monthly(
       @Parameter(description = "孩子ID") @RequestParam @Min(1) long childId,
-      @Parameter(description = "月份（YYYY-MM）") @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+      @Parameter(description = "月份（YYYY-MM）") @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+      ServletWebRequest webRequest) {
     var user = AuthContext.requireMiniprogram();
-    return ApiResponse.ok(awarenessService.getMonthly(user.userId(), childId, month), TraceId.current());
+    var response = awarenessService.getMonthly(user.userId(), childId, month);
+    if (ConditionalGet.notModified(webRequest, response)) {
+      return null;
+    }
+    return ApiResponse.ok(response.body(), TraceId.current());
   }
 }
 
@@ -1,6 +1,7 @@
 package com.howtogrow.backend.controller.miniprogram;
 
 import com.howtogrow.backend.api.ApiResponse;
+import com.howtogrow.backend.api.ConditionalGet;
 import com.howtogrow.backend.api.TraceId;
 import com.howtogrow.backend.auth.AuthContext;
 import com.howtogrow.backend.controller.miniprogram.dto.AwarenessPersistenceResponse;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/api/v1/miniprogram/reports")
@@ -33,9 +35,14 @@ public class MiniprogramReportController {
       @Parameter(description = "开始日期（yyyy-MM-dd）")
           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
       @Parameter(description = "结束日期（yyyy-MM-dd）")
-          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      ServletWebRequest webRequest) {
     var user = AuthContext.requireMiniprogram();
-    return ApiResponse.ok(reportService.growth(user.userId(), childId, from, to), TraceId.current());
+    var response = reportService.cachedGrowth(user.userId(), childId, from, to);
+    if (ConditionalGet.notModified(webRequest, response)) {
+      return null;
+    }
+    return ApiResponse.ok(response.body(), TraceId.current());
   }
 
   @GetMapping("/persistence")
@@ -8,5 +8,7 @@ public record AwarenessPersistenceResponse(
     @Schema(description = "孩子ID") long childId,
     @Schema(description = "首次记录日期（YYYY-MM-DD；若无任何记录则为今日）") LocalDate firstRecordDate,
     @Schema(description = "今日（YYYY-MM-DD，中国时区口径）") LocalDate today,
-    @Schema(description = "坚持进步天数（含首日/今日，最小为1）") long persistenceDays) {}
+    @Schema(description = "坚持进步天数（含首日/今日，最小为1）") long persistenceDays,
+    @Schema(description = "累计有记录天数") int activeDays,
+    @Schema(description = "连续记录天数（截至今日或昨日；已中断为0）") int currentStreak) {}
 
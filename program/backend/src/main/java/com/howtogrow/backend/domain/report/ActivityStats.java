@@ -0,0 +1,38 @@
+package com.howtogrow.backend.domain.report;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 孩子记录统计：首/末记录日、累计有记录天数、截至末记录日的连续天数。
+ *
+ * @param currentStreak 以 lastRecordDate 结尾的连续天数；是否仍“在坚持”见 {@link #streakAsOf(LocalDate)}
+ */
+public record ActivityStats(
+    LocalDate firstRecordDate, LocalDate lastRecordDate, int activeDays, int currentStreak) {
+  public static final ActivityStats EMPTY = new ActivityStats(null, null, 0, 0);
+
+  /** {@code sortedDays} 需按日期升序且无重复。 */
+  public static ActivityStats of(List<LocalDate> sortedDays) {
+    if (sortedDays == null || sortedDays.isEmpty()) {
+      return EMPTY;
+    }
+    int streak = 1;
+    for (int i = sortedDays.size() - 1; i > 0; i--) {
+      if (!sortedDays.get(i - 1).plusDays(1).equals(sortedDays.get(i))) {
+        break;
+      }
+      streak++;
+    }
+    return new ActivityStats(
+        sortedDays.get(0), sortedDays.get(sortedDays.size() - 1), sortedDays.size(), streak);
+  }
+
+  /** 今天或昨天有记录时连续天数仍有效，否则已中断为 0。 */
+  public int streakAsOf(LocalDate today) {
+    if (lastRecordDate == null || lastRecordDate.isBefore(today.minusDays(1))) {
+      return 0;
+    }
+    return currentStreak;
+  }
+}
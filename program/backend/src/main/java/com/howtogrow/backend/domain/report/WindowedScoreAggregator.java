@@ -0,0 +1,217 @@
+package com.howtogrow.backend.domain.report;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按“有数据的天”做窗口聚合的维度分数引擎。
+ *
+ * <p>每个序列（如一个孩子）单独切分窗口：先把明细压成 维度 × 天 的 {@code long[]} 前缀和，
+ * 之后每个窗口每个维度只需一次减法。同一实例可一次性喂入多个序列，供成长报告与后台群体报表复用。
+ * 非线程安全。
+ */
+public final class WindowedScoreAggregator {
+  private static final int INITIAL_CAPACITY = 64;
+
+  public enum WindowMode {
+    /** 从第一天起每 size 个数据日切一段，最后一段可能不足 size 天。 */
+    TUMBLING,
+    /** 每个数据日输出一个窗口，覆盖截至当天的最近 size 个数据日（开头不足 size 天时按实际天数）。 */
+    ROLLING
+  }
+
+  public record WindowSpec(int size, WindowMode mode) {
+    public WindowSpec {
+      if (size <= 0) {
+        throw new IllegalArgumentException("size must be positive");
+      }
+      if (mode == null) {
+        throw new IllegalArgumentException("mode must not be null");
+      }
+    }
+
+    public static WindowSpec tumbling(int size) {
+      return new WindowSpec(size, WindowMode.TUMBLING);
+    }
+
+    public static WindowSpec rolling(int size) {
+      return new WindowSpec(size, WindowMode.ROLLING);
+    }
+  }
+
+  /** {@code sums} 与 {@link #dimensions()} 同序；缺失的维度按 0 计。 */
+  public record Window(
+      long seriesId, LocalDate startDate, LocalDate endDate, int dataDays, long[] sums) {
+    /** 窗口内按数据日取整平均（整数除法）。 */
+    public long average(int dimensionIndex) {
+      return sums[dimensionIndex] / dataDays;
+    }
+  }
+
+  private final List<String> dimensions;
+  private final Map<String, Integer> dimensionIndex;
+  private final List<Series> series = new ArrayList<>();
+  private final Map<Long, Series> seriesById = new HashMap<>();
+  private Series lastSeries;
+
+  public WindowedScoreAggregator(List<String> dimensions) {
+    this.dimensions = List.copyOf(dimensions);
+    this.dimensionIndex = new HashMap<>(this.dimensions.size() * 2);
+    for (int i = 0; i < this.dimensions.size(); i++) {
+      if (dimensionIndex.putIfAbsent(this.dimensions.get(i), i) != null) {
+        throw new IllegalArgumentException("duplicate dimension: " + this.dimensions.get(i));
+      }
+    }
+  }
+
+  public List<String> dimensions() {
+    return dimensions;
+  }
+
+  /** 明细可以乱序、同一天同维度可重复（累加）；按序列、日期有序输入时不需要额外排序。 */
+  public void add(long seriesId, LocalDate bizDate, String dimensionCode, long score) {
+    var dim = dimensionIndex.get(dimensionCode);
+    if (dim == null) {
+      throw new IllegalArgumentException("unknown dimension: " + dimensionCode);
+    }
+    seriesOf(seriesId).add(Math.toIntExact(bizDate.toEpochDay()), dim, score);
+  }
+
+  /** 按序列首次出现的顺序输出，同一序列内按日期升序。 */
+  public List<Window> aggregate(WindowSpec spec) {
+    List<Window> out = new ArrayList<>();
+    for (var s : series) {
+      s.aggregate(spec, dimensions.size(), out);
+    }
+    return out;
+  }
+
+  private Series seriesOf(long seriesId) {
+    // 数据库明细通常按序列分组，先比对上一次命中的序列以避开装箱查表
+    if (lastSeries != null && lastSeries.id == seriesId) {
+      return lastSeries;
+    }
+    var s = seriesById.get(seriesId);
+    if (s == null) {
+      s = new Series(seriesId);
+      seriesById.put(seriesId, s);
+      series.add(s);
+    }
+    lastSeries = s;
+    return s;
+  }
+
+  private static final class Series {
+    private final long id;
+    private int size;
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private int[] dims = new int[INITIAL_CAPACITY];
+    private long[] scores = new long[INITIAL_CAPACITY];
+    private boolean sorted = true;
+
+    private Series(long id) {
+      this.id = id;
+    }
+
+    private void add(int epochDay, int dim, long score) {
+      if (size == epochDays.length) {
+        int capacity = size * 2;
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        dims = Arrays.copyOf(dims, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+      }
+      if (size > 0 && epochDay < epochDays[size - 1]) {
+        sorted = false;
+      }
+      epochDays[size] = epochDay;
+      dims[size] = dim;
+      scores[size] = score;
+      size++;
+    }
+
+    private void aggregate(WindowSpec spec, int dimensionCount, List<Window> out) {
+      if (size == 0) {
+        return;
+      }
+      int[] order = rowOrder();
+
+      // 去重得到数据日序号：dayEpochs[k] 为第 k 个数据日，rowDay[r] 为第 r 行所属数据日
+      int[] dayEpochs = new int[size];
+      int[] rowDay = new int[size];
+      int days = 0;
+      for (int i = 0; i < size; i++) {
+        int r = order == null ? i : order[i];
+        if (days == 0 || dayEpochs[days - 1] != epochDays[r]) {
+          dayEpochs[days++] = epochDays[r];
+        }
+        rowDay[r] = days - 1;
+      }
+
+      // prefix[d * stride + k] = 维度 d 在前 k 个数据日的累计分
+      int stride = days + 1;
+      long[] prefix = new long[dimensionCount * stride];
+      for (int r = 0; r < size; r++) {
+        prefix[dims[r] * stride + rowDay[r] + 1] += scores[r];
+      }
+      for (int d = 0; d < dimensionCount; d++) {
+        int base = d * stride;
+        for (int k = 1; k < stride; k++) {
+          prefix[base + k] += prefix[base + k - 1];
+        }
+      }
+
+      if (spec.mode() == WindowMode.TUMBLING) {
+        for (int start = 0; start < days; start += spec.size()) {
+          emit(start, Math.min(start + spec.size(), days), dayEpochs, prefix, stride, dimensionCount, out);
+        }
+      } else {
+        for (int end = 1; end <= days; end++) {
+          emit(Math.max(0, end - spec.size()), end, dayEpochs, prefix, stride, dimensionCount, out);
+        }
+      }
+    }
+
+    private void emit(
+        int start,
+        int end,
+        int[] dayEpochs,
+        long[] prefix,
+        int stride,
+        int dimensionCount,
+        List<Window> out) {
+      long[] sums = new long[dimensionCount];
+      for (int d = 0; d < dimensionCount; d++) {
+        int base = d * stride;
+        sums[d] = prefix[base + end] - prefix[base + start];
+      }
+      out.add(
+          new Window(
+              id,
+              LocalDate.ofEpochDay(dayEpochs[start]),
+              LocalDate.ofEpochDay(dayEpochs[end - 1]),
+              end - start,
+              sums));
+    }
+
+    /** 已有序时返回 null；否则把 (epochDay, 行号) 打包成 long 用原始类型排序，避免装箱比较器。 */
+    private int[] rowOrder() {
+      if (sorted) {
+        return null;
+      }
+      long[] keys = new long[size];
+      for (int i = 0; i < size; i++) {
+        keys[i] = ((long) epochDays[i] << 32) | i;
+      }
+      Arrays.sort(keys);
+      int[] order = new int[size];
+      for (int i = 0; i < size; i++) {
+        order[i] = (int) keys[i];
+      }
+      return order;
+    }
+  }
+}
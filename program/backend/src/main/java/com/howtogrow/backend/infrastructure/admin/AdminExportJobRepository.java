@@ -0,0 +1,207 @@
+package com.howtogrow.backend.infrastructure.admin;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class AdminExportJobRepository {
+  public static final String PENDING = "PENDING";
+  public static final String RUNNING = "RUNNING";
+  public static final String SUCCEEDED = "SUCCEEDED";
+  public static final String FAILED = "FAILED";
+  public static final String EXPIRED = "EXPIRED";
+
+  private static final String SELECT_JOB =
+      """
+      SELECT id, admin_user_id, node_id, job_type, params_json, status, file_name, file_path, file_size,
+             error_message, created_at, finished_at, expires_at
+      FROM admin_export_job
+      """;
+
+  private final NamedParameterJdbcTemplate jdbc;
+
+  public AdminExportJobRepository(NamedParameterJdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  /** @param nodeId 执行该任务的节点（即提交所在节点） */
+  public long create(long adminUserId, String nodeId, String jobType, String paramsJson) {
+    var kh = new GeneratedKeyHolder();
+    jdbc.update(
+        """
+        INSERT INTO admin_export_job(admin_user_id, node_id, job_type, params_json, status, created_at, heartbeat_at)
+        VALUES (:adminUserId, :nodeId, :jobType, :paramsJson, 'PENDING', NOW(3), NOW(3))
+        """,
+        new MapSqlParameterSource()
+            .addValue("adminUserId", adminUserId)
+            .addValue("nodeId", nodeId)
+            .addValue("jobType", jobType)
+            .addValue("paramsJson", paramsJson),
+        kh);
+    var id = kh.getKey();
+    if (id == null) {
+      throw new IllegalStateException("failed to create admin_export_job");
+    }
+    return id.longValue();
+  }
+
+  public Optional<JobRow> findById(long id) {
+    var rows = jdbc.query(SELECT_JOB + " WHERE id = :id", Map.of("id", id), (rs, rowNum) -> mapJob(rs));
+    return rows.stream().findFirst();
+  }
+
+  /** 只有 PENDING 能被领取，返回是否领取成功。 */
+  public boolean markRunning(long id) {
+    return jdbc.update(
+            """
+            UPDATE admin_export_job
+            SET status = 'RUNNING', started_at = NOW(3), heartbeat_at = NOW(3)
+            WHERE id = :id AND status = 'PENDING'
+            """,
+            Map.of("id", id))
+        > 0;
+  }
+
+  /** 仅 RUNNING 能转为成功；返回 false 表示任务已被置为其他状态（如被清理判定失败），本次结果不生效。 */
+  public boolean markSucceeded(long id, String fileName, String filePath, long fileSize, Instant expiresAt) {
+    return jdbc.update(
+            """
+            UPDATE admin_export_job
+            SET status = 'SUCCEEDED', file_name = :fileName, file_path = :filePath, file_size = :fileSize,
+                finished_at = NOW(3), expires_at = :expiresAt
+            WHERE id = :id AND status = 'RUNNING'
+            """,
+            new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("fileName", fileName)
+                .addValue("filePath", filePath)
+                .addValue("fileSize", fileSize)
+                .addValue("expiresAt", Timestamp.from(expiresAt)))
+        > 0;
+  }
+
+  /**
+   * 从 {@code fromStatus}（执行中为 RUNNING，排队被拒为 PENDING）转为失败；返回 false 表示状态已变化，未覆盖。
+   */
+  public boolean markFailed(long id, String fromStatus, String errorMessage) {
+    return jdbc.update(
+            """
+            UPDATE admin_export_job
+            SET status = 'FAILED', error_message = :errorMessage, finished_at = NOW(3)
+            WHERE id = :id AND status = :fromStatus
+            """,
+            Map.of("id", id, "fromStatus", fromStatus, "errorMessage", truncate(errorMessage, 512)))
+        > 0;
+  }
+
+  /** 执行节点定时调用：刷新本节点未结束任务的心跳。 */
+  public int heartbeat(String nodeId) {
+    return jdbc.update(
+        """
+        UPDATE admin_export_job
+        SET heartbeat_at = NOW(3)
+        WHERE node_id = :nodeId AND status IN ('PENDING', 'RUNNING')
+        """,
+        Map.of("nodeId", nodeId));
+  }
+
+  /** 启动时调用：本节点上次进程未跑完的任务已无人执行，置为失败；其他节点的任务不受影响。 */
+  public int failUnfinished(String nodeId, String errorMessage) {
+    return jdbc.update(
+        """
+        UPDATE admin_export_job
+        SET status = 'FAILED', error_message = :errorMessage, finished_at = NOW(3)
+        WHERE node_id = :nodeId AND status IN ('PENDING', 'RUNNING')
+        """,
+        Map.of("nodeId", nodeId, "errorMessage", truncate(errorMessage, 512)));
+  }
+
+  /**
+   * 兜底：心跳超过 {@code timeoutSeconds} 未刷新的未结束任务（执行节点已下线、未再以同一节点名启动）置为失败。
+   * 存活节点每次清理都会刷新自己任务的心跳，排队久或执行慢的任务不受影响；时间统一取数据库时钟。
+   */
+  public int failStale(long timeoutSeconds, String errorMessage) {
+    return jdbc.update(
+        """
+        UPDATE admin_export_job
+        SET status = 'FAILED', error_message = :errorMessage, finished_at = NOW(3)
+        WHERE status IN ('PENDING', 'RUNNING')
+          AND COALESCE(heartbeat_at, created_at) < NOW(3) - INTERVAL :timeoutSeconds SECOND
+        """,
+        Map.of("timeoutSeconds", timeoutSeconds, "errorMessage", truncate(errorMessage, 512)));
+  }
+
+  /** @param nodeId 非空时只列出该节点的任务（结果在节点本地磁盘时只有该节点能删除） */
+  public List<JobRow> listExpired(Instant now, String nodeId, int limit) {
+    var params = new MapSqlParameterSource().addValue("now", Timestamp.from(now)).addValue("limit", limit);
+    var nodeSql = "";
+    if (nodeId != null) {
+      nodeSql = " AND node_id = :nodeId";
+      params.addValue("nodeId", nodeId);
+    }
+    return jdbc.query(
+        SELECT_JOB
+            + " WHERE status = 'SUCCEEDED' AND expires_at <= :now"
+            + nodeSql
+            + " ORDER BY expires_at LIMIT :limit",
+        params,
+        (rs, rowNum) -> mapJob(rs));
+  }
+
+  public void markExpired(long id) {
+    jdbc.update(
+        "UPDATE admin_export_job SET status = 'EXPIRED', file_path = NULL WHERE id = :id AND status = 'SUCCEEDED'",
+        Map.of("id", id));
+  }
+
+  private static JobRow mapJob(ResultSet rs) throws SQLException {
+    var fileSize = rs.getObject("file_size", Long.class);
+    return new JobRow(
+        rs.getLong("id"),
+        rs.getLong("admin_user_id"),
+        rs.getString("node_id"),
+        rs.getString("job_type"),
+        rs.getString("params_json"),
+        rs.getString("status"),
+        rs.getString("file_name"),
+        rs.getString("file_path"),
+        fileSize,
+        rs.getString("error_message"),
+        toInstant(rs.getTimestamp("created_at")),
+        toInstant(rs.getTimestamp("finished_at")),
+        toInstant(rs.getTimestamp("expires_at")));
+  }
+
+  private static Instant toInstant(Timestamp ts) {
+    return ts == null ? null : ts.toInstant();
+  }
+
+  private static String truncate(String value, int maxLength) {
+    if (value == null) return "";
+    return value.length() <= maxLength ? value : value.substring(0, maxLength);
+  }
+
+  public record JobRow(
+      long id,
+      long adminUserId,
+      String nodeId,
+      String jobType,
+      String paramsJson,
+      String status,
+      String fileName,
+      String filePath,
+      Long fileSize,
+      String errorMessage,
+      Instant createdAt,
+      Instant finishedAt,
+      Instant expiresAt) {}
+}
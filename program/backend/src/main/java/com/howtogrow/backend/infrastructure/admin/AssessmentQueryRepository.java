@@ -1,20 +1,46 @@
 package com.howtogrow.backend.infrastructure.admin;
 
+import com.howtogrow.backend.infrastructure.db.SqlPagination;
+import com.howtogrow.backend.infrastructure.db.StreamingJdbc;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
-import com.howtogrow.backend.infrastructure.db.SqlPagination;
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class AssessmentQueryRepository {
+  private static final ZoneId BIZ_ZONE = ZoneId.of("Asia/Shanghai");
+  private static final String SELECT_ASSESSMENT =
+      """
+      SELECT
+        a.id,
+        a.user_id,
+        u.nickname AS user_nickname,
+        u.avatar_url AS user_avatar_url,
+        a.child_id,
+        c.nickname AS child_nickname,
+        DATE(a.submitted_at) AS biz_date,
+        a.submitted_at
+      FROM daily_assessment a
+      JOIN user_account u ON u.id = a.user_id
+      JOIN child c ON c.id = a.child_id
+      """;
+
   private final NamedParameterJdbcTemplate jdbc;
+  private final NamedParameterJdbcTemplate streamingJdbc;
 
   public AssessmentQueryRepository(NamedParameterJdbcTemplate jdbc) {
     this.jdbc = jdbc;
+    this.streamingJdbc = StreamingJdbc.forwardOnly(jdbc);
   }
 
   public long countAssessments(
@@ -33,7 +59,9 @@ public class AssessmentQueryRepository {
     return count == null ? 0L : count;
   }
 
+  /** {@code cursor} 非空时按 keyset 续读（忽略 offset）。 */
   public List<AssessmentRow> listAssessments(
+      Long cursor,
       int offset,
       int limit,
       Long userId,
@@ -43,43 +71,47 @@ public class AssessmentQueryRepository {
       LocalDate bizDateTo) {
     var params = new MapSqlParameterSource();
     var where = buildWhereSql(params, userId, childId, keyword, bizDateFrom, bizDateTo);
+    if (cursor != null) {
+      params.addValue("cursor", cursor);
+    }
     var sql =
-        """
-        SELECT
-          a.id,
-          a.user_id,
-          u.nickname AS user_nickname,
-          u.avatar_url AS user_avatar_url,
-          a.child_id,
-          c.nickname AS child_nickname,
-          DATE(a.submitted_at) AS biz_date,
-          a.submitted_at
-        FROM daily_assessment a
-        JOIN user_account u ON u.id = a.user_id
-        JOIN child c ON c.id = a.child_id
-        """
+        SELECT_ASSESSMENT
             + where
+            + SqlPagination.idBefore("a.id", cursor)
             + "\nORDER BY a.id DESC\n"
-            + SqlPagination.limitOffset(offset, limit);
-    return jdbc.query(
-        sql,
-        params,
-        (rs, rowNum) -> {
-          Instant submittedAt = null;
-          var subts = rs.getTimestamp("submitted_at");
-          if (subts != null) {
-            submittedAt = subts.toInstant();
-          }
-          return new AssessmentRow(
-              rs.getLong("id"),
-              rs.getLong("user_id"),
-              rs.getString("user_nickname"),
-              rs.getString("user_avatar_url"),
-              rs.getLong("child_id"),
-              rs.getString("child_nickname"),
-              rs.getObject("biz_date", LocalDate.class),
-              submittedAt);
-        });
+            + SqlPagination.page(cursor, offset, limit);
+    return jdbc.query(sql, params, (rs, rowNum) -> mapAssessment(rs));
+  }
+
+  /** 按 id 倒序逐行回调全部命中记录，不整体加载进内存（导出用）。 */
+  public void streamAssessments(
+      Long userId,
+      Long childId,
+      String keyword,
+      LocalDate bizDateFrom,
+      LocalDate bizDateTo,
+      Consumer<AssessmentRow> consumer) {
+    var params = new MapSqlParameterSource();
+    var where = buildWhereSql(params, userId, childId, keyword, bizDateFrom, bizDateTo);
+    var sql = SELECT_ASSESSMENT + where + "\nORDER BY a.id DESC";
+    streamingJdbc.query(sql, params, (RowCallbackHandler) rs -> consumer.accept(mapAssessment(rs)));
+  }
+
+  private static AssessmentRow mapAssessment(ResultSet rs) throws SQLException {
+    Instant submittedAt = null;
+    var subts = rs.getTimestamp("submitted_at");
+    if (subts != null) {
+      submittedAt = subts.toInstant();
+    }
+    return new AssessmentRow(
+        rs.getLong("id"),
+        rs.getLong("user_id"),
+        rs.getString("user_nickname"),
+        rs.getString("user_avatar_url"),
+        rs.getLong("child_id"),
+        rs.getString("child_nickname"),
+        rs.getObject("biz_date", LocalDate.class),
+        submittedAt);
   }
 
   private static String buildWhereSql(
@@ -106,14 +138,15 @@ public class AssessmentQueryRepository {
       params.addValue("keyword", "%" + keyword.trim() + "%");
     }
 
+    // 按提交时间范围过滤（而非 DATE(submitted_at)），可以走 submitted_at 索引
     if (bizDateFrom != null) {
-      sql.append(" AND DATE(a.submitted_at) >= :bizDateFrom");
-      params.addValue("bizDateFrom", bizDateFrom);
+      sql.append(" AND a.submitted_at >= :submittedFrom");
+      params.addValue("submittedFrom", Timestamp.from(bizDateFrom.atStartOfDay(BIZ_ZONE).toInstant()));
     }
 
     if (bizDateTo != null) {
-      sql.append(" AND DATE(a.submitted_at) <= :bizDateTo");
-      params.addValue("bizDateTo", bizDateTo);
+      sql.append(" AND a.submitted_at < :submittedTo");
+      params.addValue("submittedTo", Timestamp.from(bizDateTo.plusDays(1).atStartOfDay(BIZ_ZONE).toInstant()));
     }
 
     return sql.toString();
@@ -25,8 +25,12 @@ public class ChildQueryRepository {
     return count == null ? 0L : count;
   }
 
-  public List<ChildRow> listChildren(ChildQuery query, int offset, int limit) {
+  /** {@code cursor} 非空时按 keyset 续读（忽略 offset）。 */
+  public List<ChildRow> listChildren(ChildQuery query, Long cursor, int offset, int limit) {
     var built = buildBaseSql(query);
+    if (cursor != null) {
+      built.params().put("cursor", cursor);
+    }
     var sql =
         """
         SELECT
@@ -41,8 +45,9 @@ public class ChildQueryRepository {
           c.created_at
         """
             + built.fromWhereSql()
+            + SqlPagination.idBefore("c.id", cursor)
             + " ORDER BY c.id DESC "
-            + SqlPagination.limitOffset(offset, limit);
+            + SqlPagination.page(cursor, offset, limit);
     return jdbc.query(
         sql,
         built.params(),
@@ -21,7 +21,8 @@ public class OrderQueryRepository {
     return count == null ? 0L : count;
   }
 
-  public List<OrderRow> listOrders(int offset, int limit) {
+  /** {@code cursor} 非空时按 keyset 续读（忽略 offset）。 */
+  public List<OrderRow> listOrders(Long cursor, int offset, int limit) {
     var sql =
         """
         SELECT
@@ -41,12 +42,16 @@ public class OrderQueryRepository {
         FROM purchase_order o
         JOIN user_account u ON u.id = o.user_id
         JOIN subscription_plan p ON p.id = o.plan_id
+        WHERE 1=1
+        """
+            + SqlPagination.idBefore("o.id", cursor)
+            + """
         ORDER BY o.id DESC
         """;
-    sql = sql + SqlPagination.limitOffset(offset, limit);
+    sql = sql + SqlPagination.page(cursor, offset, limit);
     return jdbc.query(
         sql,
-        Map.of(),
+        cursor == null ? Map.of() : Map.of("cursor", cursor),
         (rs, rowNum) -> {
           Instant createdAt = null;
           var cts = rs.getTimestamp("created_at");
@@ -1,7 +1,12 @@
 package com.howtogrow.backend.infrastructure.admin;
 
+import com.howtogrow.backend.infrastructure.db.MultiRowInsert;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
@@ -59,6 +64,139 @@ public class QuestionAdminRepository {
     return count != null && count > 0;
   }
 
+  /**
+   * 全部未删除题目连同选项、维度分值与烦恼场景的快照（导入比对用，四条查询一次性加载，代替逐题查询）。
+   * 选项按 sort_no、id 排序。
+   */
+  public List<QuestionSnapshot> listActiveQuestionSnapshots() {
+    var questions = new LinkedHashMap<Long, QuestionSnapshot>();
+    jdbc.query(
+        "SELECT id, min_age, max_age, question_type, content FROM question WHERE deleted_at IS NULL ORDER BY id",
+        Map.of(),
+        (RowCallbackHandler)
+            rs -> {
+              long id = rs.getLong("id");
+              questions.put(
+                  id,
+                  new QuestionSnapshot(
+                      id,
+                      rs.getInt("min_age"),
+                      rs.getInt("max_age"),
+                      rs.getString("question_type"),
+                      rs.getString("content"),
+                      new ArrayList<>(),
+                      new ArrayList<>()));
+            });
+    if (questions.isEmpty()) {
+      return List.of();
+    }
+
+    var options = new HashMap<Long, OptionSnapshot>();
+    jdbc.query(
+        """
+        SELECT o.id, o.question_id, o.content, o.suggest_flag, o.improvement_tip, o.sort_no
+        FROM question_option o
+        JOIN question q ON q.id = o.question_id AND q.deleted_at IS NULL
+        WHERE o.deleted_at IS NULL
+        ORDER BY o.question_id, o.sort_no, o.id
+        """,
+        Map.of(),
+        (RowCallbackHandler)
+            rs -> {
+              var question = questions.get(rs.getLong("question_id"));
+              if (question == null) {
+                return;
+              }
+              var option =
+                  new OptionSnapshot(
+                      rs.getLong("id"),
+                      rs.getString("content"),
+                      rs.getInt("suggest_flag"),
+                      rs.getString("improvement_tip"),
+                      rs.getInt("sort_no"),
+                      new HashMap<>());
+              question.options().add(option);
+              options.put(option.id(), option);
+            });
+    jdbc.query(
+        """
+        SELECT s.option_id, s.dimension_code, s.score
+        FROM option_dimension_score s
+        JOIN question_option o ON o.id = s.option_id AND o.deleted_at IS NULL
+        """,
+        Map.of(),
+        (RowCallbackHandler)
+            rs -> {
+              var option = options.get(rs.getLong("option_id"));
+              if (option != null) {
+                option.scores().put(rs.getString("dimension_code"), rs.getInt("score"));
+              }
+            });
+    jdbc.query(
+        "SELECT question_id, scene_id FROM question_trouble_scene",
+        Map.of(),
+        (RowCallbackHandler)
+            rs -> {
+              var question = questions.get(rs.getLong("question_id"));
+              if (question != null) {
+                question.sceneIds().add(rs.getLong("scene_id"));
+              }
+            });
+    return List.copyOf(questions.values());
+  }
+
+  /** 多行插入题目，返回与入参同序的题目ID。 */
+  public List<Long> insertQuestions(List<NewQuestion> questions) {
+    return MultiRowInsert.insertReturningKeys(
+        jdbc,
+        "INSERT INTO question(content, min_age, max_age, question_type, status, created_at, updated_at)",
+        "(:content#, :minAge#, :maxAge#, :questionType#, :status#, NOW(3), NOW(3))",
+        questions,
+        (p, i, q) ->
+            p.addValue("content" + i, q.content())
+                .addValue("minAge" + i, q.minAge())
+                .addValue("maxAge" + i, q.maxAge())
+                .addValue("questionType" + i, q.questionType())
+                .addValue("status" + i, q.status()));
+  }
+
+  /** 多行插入选项，返回与入参同序的选项ID。 */
+  public List<Long> insertOptions(List<NewOption> options) {
+    return MultiRowInsert.insertReturningKeys(
+        jdbc,
+        "INSERT INTO question_option(question_id, content, suggest_flag, improvement_tip, sort_no, created_at, updated_at)",
+        "(:questionId#, :content#, :suggestFlag#, :improvementTip#, :sortNo#, NOW(3), NOW(3))",
+        options,
+        (p, i, o) ->
+            p.addValue("questionId" + i, o.questionId())
+                .addValue("content" + i, o.content())
+                .addValue("suggestFlag" + i, o.suggestFlag())
+                .addValue("improvementTip" + i, o.improvementTip())
+                .addValue("sortNo" + i, o.sortNo()));
+  }
+
+  public void insertOptionDimensionScores(List<NewOptionDimensionScore> scores) {
+    MultiRowInsert.insert(
+        jdbc,
+        "INSERT INTO option_dimension_score(option_id, dimension_code, score, created_at, updated_at)",
+        "(:optionId#, :dimensionCode#, :score#, NOW(3), NOW(3))",
+        scores,
+        (p, i, s) ->
+            p.addValue("optionId" + i, s.optionId())
+                .addValue("dimensionCode" + i, s.dimensionCode())
+                .addValue("score" + i, s.score()));
+  }
+
+  /** 仅用于新建题目（不先删除旧关联）。 */
+  public void insertQuestionTroubleScenes(List<QuestionScenePair> pairs) {
+    MultiRowInsert.insert(
+        jdbc,
+        "INSERT INTO question_trouble_scene(question_id, scene_id, created_at)",
+        "(:qid#, :sid#, NOW(3))",
+        pairs,
+        (p, i, pair) -> p.addValue("qid" + i, pair.questionId()).addValue("sid" + i, pair.sceneId()));
+  }
+
   public void softDeleteQuestion(long questionId) {
     jdbc.update(
         "UPDATE question SET status = 0, deleted_at = NOW(3), updated_at = NOW(3) WHERE id = :id AND deleted_at IS NULL",
@@ -284,4 +422,29 @@ public class QuestionAdminRepository {
     }
     jdbc.batchUpdate(sql, batch.toArray(SqlParameterSource[]::new));
   }
+
+  public record QuestionSnapshot(
+      long id,
+      int minAge,
+      int maxAge,
+      String questionType,
+      String content,
+      List<OptionSnapshot> options,
+      List<Long> sceneIds) {}
+
+  public record OptionSnapshot(
+      long id,
+      String content,
+      int suggestFlag,
+      String improvementTip,
+      int sortNo,
+      Map<String, Integer> scores) {}
+
+  public record NewQuestion(String content, int minAge, int maxAge, String questionType, int status) {}
+
+  public record NewOption(long questionId, String content, int suggestFlag, String improvementTip, int sortNo) {}
+
+  public record NewOptionDimensionScore(long optionId, String dimensionCode, int score) {}
+
+  public record QuestionScenePair(long questionId, long sceneId) {}
 }
@@ -34,11 +34,16 @@ public class QuestionQueryRepository {
       String questionType,
       Long troubleSceneId,
       String keyword,
+      Long cursor,
       int offset,
       int limit) {
     var params = new MapSqlParameterSource().addValue("offset", offset).addValue("limit", limit);
     var where = new StringBuilder("WHERE q.deleted_at IS NULL");
     appendWhere(where, params, minAge, maxAge, status, questionType, troubleSceneId, keyword);
+    if (cursor != null) {
+      params.addValue("cursor", cursor);
+      where.append(SqlPagination.idBefore("q.id", cursor));
+    }
     var sql =
         """
         SELECT q.id, q.min_age, q.max_age, q.question_type, q.status, q.content
@@ -46,7 +51,7 @@ public class QuestionQueryRepository {
         """
             + where
             + "\nORDER BY q.id DESC\n"
-            + SqlPagination.limitOffset(offset, limit);
+            + SqlPagination.page(cursor, offset, limit);
     return jdbc.query(
         sql,
         params,
@@ -24,20 +24,31 @@ public class UserQueryRepository {
     return count == null ? 0L : count;
   }
 
+  /** {@code cursor} 非空时按 keyset 续读（忽略 offset）。 */
   public List<UserRow> listUsers(
-      int offset, int limit, Long userId, String keyword, Boolean freeTrialUsed, String subscriptionStatus) {
+      Long cursor,
+      int offset,
+      int limit,
+      Long userId,
+      String keyword,
+      Boolean freeTrialUsed,
+      String subscriptionStatus) {
     var params = new MapSqlParameterSource();
     var where = buildWhereSql(params, userId, keyword, freeTrialUsed, subscriptionStatus);
+    if (cursor != null) {
+      params.addValue("cursor", cursor);
+    }
     var sql =
         """
         SELECT id, wechat_openid, nickname, avatar_url, subscription_end_at, free_trial_used, created_at
         FROM user_account
         """
             + where
+            + SqlPagination.idBefore("id", cursor)
             + """
         ORDER BY id DESC
         """;
-    sql = sql + SqlPagination.limitOffset(offset, limit);
+    sql = sql + SqlPagination.page(cursor, offset, limit);
     return jdbc.query(
         sql,
         params,
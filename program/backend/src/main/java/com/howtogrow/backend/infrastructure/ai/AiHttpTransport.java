@@ -0,0 +1,207 @@
+package com.howtogrow.backend.infrastructure.ai;
+
+import com.howtogrow.backend.api.ErrorCode;
+import com.howtogrow.backend.api.exception.AppException;
+import com.howtogrow.backend.infrastructure.concurrent.Bulkhead;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * 所有 AI 客户端共用的传输层：一个 HTTP/2 优先（TLS 上经 ALPN 协商，不支持时回落 HTTP/1.1）的 {@link HttpClient}，
+ * 同一上游的请求复用连接；一个隔离舱限制同时发往上游的请求数；统一记录调用指标。
+ *
+ * <p>指标（tag: model / operation；model 取本次请求实际使用的模型，由调用方传入）：
+ * app.ai.requests（计时，tag outcome=success/error/rejected，错误率按 outcome 计算）、
+ * app.ai.tokens（响应 usage.total_tokens）、app.ai.stream.first_token（首个增量到达耗时）、
+ * app.ai.stream.tokens_per_second（首个增量到结束期间的增量块速率，OpenAI 兼容接口一块约等于一个 token）。
+ * 在途请求数见 app.bulkhead.active{name=ai-upstream}。
+ */
+@Component
+public class AiHttpTransport {
+  private static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 10_000;
+  private static final int DEFAULT_REQUEST_TIMEOUT_SECONDS = 60;
+  private static final int DEFAULT_STREAM_TIMEOUT_SECONDS = 120;
+  private static final int DEFAULT_MAX_CONCURRENCY = 256;
+
+  private final AiProperties props;
+  private final MeterRegistry meterRegistry;
+  private final ExecutorService executor;
+  private final HttpClient httpClient;
+  private final RestClient restClient;
+  private final Bulkhead bulkhead;
+  private final Duration streamTimeout;
+
+  public AiHttpTransport(AiProperties props, AiTransportProperties transportProps, MeterRegistry meterRegistry) {
+    this.props = props;
+    this.meterRegistry = meterRegistry;
+    var connectTimeout =
+        transportProps.connectTimeoutMillis() > 0
+            ? transportProps.connectTimeoutMillis()
+            : DEFAULT_CONNECT_TIMEOUT_MILLIS;
+    var requestTimeout =
+        transportProps.requestTimeoutSeconds() > 0
+            ? transportProps.requestTimeoutSeconds()
+            : DEFAULT_REQUEST_TIMEOUT_SECONDS;
+    this.streamTimeout =
+        Duration.ofSeconds(
+            transportProps.streamTimeoutSeconds() > 0
+                ? transportProps.streamTimeoutSeconds()
+                : DEFAULT_STREAM_TIMEOUT_SECONDS);
+    // HttpClient 的响应回调（含流式增量解析与 SSE 写出）在此线程池上执行，线程命名便于排查
+    var seq = new AtomicInteger();
+    this.executor =
+        Executors.newCachedThreadPool(
+            r -> {
+              var t = new Thread(r, "ai-http-" + seq.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            });
+    this.httpClient =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(connectTimeout))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(executor)
+            .build();
+    var requestFactory = new JdkClientHttpRequestFactory(httpClient);
+    requestFactory.setReadTimeout(Duration.ofSeconds(requestTimeout));
+    this.restClient = RestClient.builder().baseUrl(props.baseUrl()).requestFactory(requestFactory).build();
+    this.bulkhead =
+        new Bulkhead(
+            "ai-upstream",
+            transportProps.maxConcurrency() > 0 ? transportProps.maxConcurrency() : DEFAULT_MAX_CONCURRENCY,
+            meterRegistry);
+  }
+
+  public HttpClient httpClient() {
+    return httpClient;
+  }
+
+  /** 共用 {@link #httpClient()} 的 RestClient，已设置 baseUrl 与单次超时。 */
+  public RestClient restClient() {
+    return restClient;
+  }
+
+  public Duration streamTimeout() {
+    return streamTimeout;
+  }
+
+  /** 在隔离舱内执行一次非流式调用并记录耗时与结果；上游已满时抛 RATE_LIMITED。 */
+  public <T> T call(String operation, String model, Supplier<T> call) {
+    if (!bulkhead.tryAcquire()) {
+      record(operation, model, "rejected", 0);
+      throw new AppException(ErrorCode.RATE_LIMITED, "AI 服务繁忙，请稍后再试");
+    }
+    var start = System.nanoTime();
+    var outcome = "error";
+    try {
+      var result = call.get();
+      outcome = "success";
+      return result;
+    } finally {
+      bulkhead.release();
+      record(operation, model, outcome, System.nanoTime() - start);
+    }
+  }
+
+  /** 记录一次调用返回的 usage.total_tokens。 */
+  public void recordTokens(String operation, String model, Integer totalTokens) {
+    if (totalTokens != null && totalTokens >= 0) {
+      DistributionSummary.builder("app.ai.tokens")
+          .tags("model", modelTag(model), "operation", operation)
+          .register(meterRegistry)
+          .record(totalTokens);
+    }
+  }
+
+  /**
+   * 开始一次流式调用：占用隔离舱名额直到 {@link StreamCall#end} 被调用。
+   *
+   * @throws AppException RATE_LIMITED 上游已满
+   */
+  public StreamCall beginStream(String operation, String model) {
+    if (!bulkhead.tryAcquire()) {
+      record(operation, model, "rejected", 0);
+      throw new AppException(ErrorCode.RATE_LIMITED, "AI 服务繁忙，请稍后再试");
+    }
+    return new StreamCall(operation, model);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void record(String operation, String model, String outcome, long nanos) {
+    Timer.builder("app.ai.requests")
+        .tags("model", modelTag(model), "operation", operation, "outcome", outcome)
+        .register(meterRegistry)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  private static String modelTag(String model) {
+    return model == null || model.isBlank() ? "unknown" : model;
+  }
+
+  /** 一次流式调用的观测：增量在同一 IO 线程上顺序回调 {@link #onDelta}，结束时调用一次 {@link #end}。 */
+  public final class StreamCall {
+    private final String operation;
+    private final String model;
+    private final long startNanos = System.nanoTime();
+    private volatile long firstDeltaNanos;
+    private volatile int deltas;
+    private volatile boolean ended;
+
+    private StreamCall(String operation, String model) {
+      this.operation = operation;
+      this.model = model;
+    }
+
+    public void onDelta() {
+      if (deltas == 0) {
+        firstDeltaNanos = System.nanoTime();
+        Timer.builder("app.ai.stream.first_token")
+            .tags("model", modelTag(model), "operation", operation)
+            .register(meterRegistry)
+            .record(firstDeltaNanos - startNanos, TimeUnit.NANOSECONDS);
+      }
+      deltas++;
+    }
+
+    public void end(OpenAiStreamClient.StreamDone done, Throwable error) {
+      synchronized (this) {
+        if (ended) {
+          return;
+        }
+        ended = true;
+      }
+      bulkhead.release();
+      var now = System.nanoTime();
+      record(operation, model, error == null ? "success" : "error", now - startNanos);
+      if (error != null) {
+        return;
+      }
+      if (deltas > 1 && now > firstDeltaNanos) {
+        DistributionSummary.builder("app.ai.stream.tokens_per_second")
+            .tags("model", modelTag(model), "operation", operation)
+            .register(meterRegistry)
+            .record((deltas - 1) * 1_000_000_000.0 / (now - firstDeltaNanos));
+      }
+      if (done != null) {
+        recordTokens(operation, model, done.tokenUsage());
+      }
+    }
+  }
+}
@@ -8,4 +8,6 @@ public record AiProperties(
     String apiKey,
     String model,
     String chatCompletionsPath,
-    boolean mockEnabled) {}
+    boolean mockEnabled,
+    /** AI 对话每轮携带的历史消息 token 预算（估算值），0 表示使用默认值。 */
+    int contextTokenBudget) {}
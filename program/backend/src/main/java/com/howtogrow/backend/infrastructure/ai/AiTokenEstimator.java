@@ -0,0 +1,33 @@
+package com.howtogrow.backend.infrastructure.ai;
+
+/**
+ * 粗略估算文本的 token 数，用于上下文预算（不追求与模型分词器一致）。
+ *
+ * <p>中文等非 ASCII 字符按 1 个字 1 token 计，ASCII 按 4 个字符 1 token 计；每条消息另加固定开销（角色、分隔符）。
+ */
+public final class AiTokenEstimator {
+  static final int MESSAGE_OVERHEAD = 4;
+
+  private AiTokenEstimator() {}
+
+  public static int estimate(String text) {
+    if (text == null || text.isEmpty()) {
+      return 0;
+    }
+    int ascii = 0;
+    int other = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c < 0x80) {
+        ascii++;
+      } else if (!Character.isLowSurrogate(c)) {
+        other++;
+      }
+    }
+    return other + (ascii + 3) / 4;
+  }
+
+  public static int estimateMessage(String content) {
+    return estimate(content) + MESSAGE_OVERHEAD;
+  }
+}
@@ -0,0 +1,13 @@
+package com.howtogrow.backend.infrastructure.ai;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param connectTimeoutMillis 建连超时（毫秒）
+ * @param requestTimeoutSeconds 非流式调用（总结、对话摘要等）的单次超时（秒）
+ * @param streamTimeoutSeconds 流式回复的整体超时（秒）
+ * @param maxConcurrency 单节点同时发往 AI 服务的请求上限（含流式），超出立即拒绝
+ */
+@ConfigurationProperties(prefix = "app.ai-transport")
+public record AiTransportProperties(
+    int connectTimeoutMillis, int requestTimeoutSeconds, int streamTimeoutSeconds, int maxConcurrency) {}
@@ -7,16 +7,15 @@ import java.util.List;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClient;
 
 @Component
 public class HttpAiChatClient implements AiChatClient {
   private final AiProperties props;
-  private final RestClient restClient;
+  private final AiHttpTransport transport;
 
-  public HttpAiChatClient(AiProperties props) {
+  public HttpAiChatClient(AiProperties props, AiHttpTransport transport) {
     this.props = props;
-    this.restClient = RestClient.builder().baseUrl(props.baseUrl()).build();
+    this.transport = transport;
   }
 
   @Override
@@ -31,17 +30,23 @@ public class HttpAiChatClient implements AiChatClient {
             512);
 
     var resp =
-        restClient
-            .post()
-            .uri(props.chatCompletionsPath())
-            .header(HttpHeaders.AUTHORIZATION, "Bearer " + props.apiKey())
-            .body(req)
-            .retrieve()
-            .onStatus(HttpStatusCode::isError, (request, response) -> {
-              throw new AppException(ErrorCode.INTERNAL_ERROR, "AI 请求失败");
-            })
-            .body(ChatCompletionsResponse.class);
+        transport.call(
+            "chat",
+            req.model(),
+            () ->
+                transport
+                    .restClient()
+                    .post()
+                    .uri(props.chatCompletionsPath())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + props.apiKey())
+                    .body(req)
+                    .retrieve()
+                    .onStatus(HttpStatusCode::isError, (request, response) -> {
+                      throw new AppException(ErrorCode.INTERNAL_ERROR, "AI 请求失败");
+                    })
+                    .body(ChatCompletionsResponse.class));
 
+    transport.recordTokens("chat", req.model(), resp == null || resp.usage == null ? null : resp.usage.totalTokens);
     if (resp == null || resp.choices == null || resp.choices.isEmpty()) {
       throw new AppException(ErrorCode.INTERNAL_ERROR, "AI 响应异常");
     }
@@ -69,6 +74,14 @@ public class HttpAiChatClient implements AiChatClient {
   static final class ChatCompletionsResponse {
     @JsonProperty("choices")
     private List<Choice> choices;
+
+    @JsonProperty("usage")
+    private Usage usage;
+  }
+
+  static final class Usage {
+    @JsonProperty("total_tokens")
+    private Integer totalTokens;
   }
 
   static final class Choice {
@@ -7,16 +7,15 @@ import java.util.List;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClient;
 
 @Component
 public class HttpAiClient implements AiClient {
   private final AiProperties props;
-  private final RestClient restClient;
+  private final AiHttpTransport transport;
 
-  public HttpAiClient(AiProperties props) {
+  public HttpAiClient(AiProperties props, AiHttpTransport transport) {
     this.props = props;
-    this.restClient = RestClient.builder().baseUrl(props.baseUrl()).build();
+    this.transport = transport;
   }
 
   @Override
@@ -34,16 +33,21 @@ public class HttpAiClient implements AiClient {
                 new ChatMessage("user", prompt)));
 
     var resp =
-        restClient
-            .post()
-            .uri(props.chatCompletionsPath())
-            .header(HttpHeaders.AUTHORIZATION, "Bearer " + props.apiKey())
-            .body(req)
-            .retrieve()
-            .onStatus(HttpStatusCode::isError, (request, response) -> {
-              throw new AppException(ErrorCode.INTERNAL_ERROR, "AI 请求失败");
-            })
-            .body(ChatCompletionsResponse.class);
+        transport.call(
+            "summary",
+            req.model(),
+            () ->
+                transport
+                    .restClient()
+                    .post()
+                    .uri(props.chatCompletionsPath())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + props.apiKey())
+                    .body(req)
+                    .retrieve()
+                    .onStatus(HttpStatusCode::isError, (request, response) -> {
+                      throw new AppException(ErrorCode.INTERNAL_ERROR, "AI 请求失败");
+                    })
+                    .body(ChatCompletionsResponse.class));
 
     if (resp == null || resp.choices == null || resp.choices.isEmpty()) {
       throw new AppException(ErrorCode.INTERNAL_ERROR, "AI 响应异常");
@@ -55,6 +59,7 @@ public class HttpAiClient implements AiClient {
     }
     content = content.trim();
     Integer tokenUsage = resp.usage == null ? null : resp.usage.totalTokens;
+    transport.recordTokens("summary", req.model(), tokenUsage);
     return new AiTextResponse(content, resp.model, tokenUsage);
   }
 
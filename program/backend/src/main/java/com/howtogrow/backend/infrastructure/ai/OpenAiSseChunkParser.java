@@ -0,0 +1,221 @@
+package com.howtogrow.backend.infrastructure.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * OpenAI 兼容流式响应（SSE）的增量解析器：直接在响应字节上切行，data 块交给 Jackson 流式 {@link JsonParser}
+ * 按 token 读取，只取 {@code model}、{@code usage.total_tokens}、{@code choices[0].delta.content}，
+ * 其余字段跳过，不构建 JsonNode 树、不为整行创建 String。
+ *
+ * <p>行缓冲在块之间复用；model 通常每块相同，与上次值逐字符比较，变化时才新建字符串。
+ * 非线程安全，一条流一个实例，按响应顺序调用 {@link #feed} / {@link #finish}。无法解析的 data 块整块忽略。
+ */
+public final class OpenAiSseChunkParser {
+  private static final byte[] DATA_PREFIX = {'d', 'a', 't', 'a', ':'};
+  private static final byte[] DONE = {'[', 'D', 'O', 'N', 'E', ']'};
+
+  public interface Listener {
+    /**
+     * @param model 本块的 model，未提供时为 null
+     * @param totalTokens usage.total_tokens，未提供时为 -1
+     * @param content choices[0].delta.content，未提供时为 null
+     */
+    void onChunk(String model, int totalTokens, String content);
+  }
+
+  private final JsonFactory jsonFactory;
+  private byte[] line = new byte[512];
+  private int lineLength;
+  private boolean done;
+  private String lastModel;
+
+  public OpenAiSseChunkParser(JsonFactory jsonFactory) {
+    this.jsonFactory = jsonFactory;
+  }
+
+  /** @return false 表示已收到 [DONE]，后续数据无需再喂入 */
+  public boolean feed(ByteBuffer buffer, Listener listener) {
+    while (!done && buffer.hasRemaining()) {
+      int pos = buffer.position();
+      int limit = buffer.limit();
+      int newline = pos;
+      while (newline < limit && buffer.get(newline) != '\n') {
+        newline++;
+      }
+      int n = newline - pos;
+      if (lineLength + n > line.length) {
+        line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + n));
+      }
+      buffer.get(pos, line, lineLength, n);
+      lineLength += n;
+      if (newline == limit) {
+        buffer.position(limit);
+      } else {
+        buffer.position(newline + 1);
+        onLine(listener);
+        lineLength = 0;
+      }
+    }
+    return !done;
+  }
+
+  /** 响应结束时处理最后一行（末尾可能没有换行）。 */
+  public void finish(Listener listener) {
+    if (!done && lineLength > 0) {
+      onLine(listener);
+      lineLength = 0;
+    }
+  }
+
+  private void onLine(Listener listener) {
+    int end = lineLength;
+    if (end > 0 && line[end - 1] == '\r') {
+      end--;
+    }
+    if (!startsWith(line, 0, end, DATA_PREFIX)) {
+      return;
+    }
+    int start = DATA_PREFIX.length;
+    while (start < end && line[start] <= ' ') {
+      start++;
+    }
+    while (end > start && line[end - 1] <= ' ') {
+      end--;
+    }
+    if (end - start == DONE.length && startsWith(line, start, end, DONE)) {
+      done = true;
+      return;
+    }
+    if (start == end) {
+      return;
+    }
+    try (var parser = jsonFactory.createParser(line, start, end - start)) {
+      parseChunk(parser, listener);
+    } catch (IOException e) {
+      // 与原先一致：坏块忽略，不中断整条流
+    }
+  }
+
+  private void parseChunk(JsonParser parser, Listener listener) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      return;
+    }
+    String model = null;
+    int totalTokens = -1;
+    String content = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var name = parser.currentName();
+      var value = parser.nextToken();
+      switch (name) {
+        case "model" -> {
+          if (value == JsonToken.VALUE_STRING) {
+            model = model(parser);
+          }
+        }
+        case "usage" -> {
+          if (value == JsonToken.START_OBJECT) {
+            totalTokens = totalTokens(parser);
+          } else {
+            parser.skipChildren();
+          }
+        }
+        case "choices" -> {
+          if (value == JsonToken.START_ARRAY) {
+            content = firstChoiceContent(parser);
+          } else {
+            parser.skipChildren();
+          }
+        }
+        default -> parser.skipChildren();
+      }
+    }
+    listener.onChunk(model, totalTokens, content);
+  }
+
+  private String model(JsonParser parser) throws IOException {
+    var chars = parser.getTextCharacters();
+    int offset = parser.getTextOffset();
+    int length = parser.getTextLength();
+    var last = lastModel;
+    if (last != null && last.length() == length) {
+      boolean same = true;
+      for (int i = 0; i < length && same; i++) {
+        same = last.charAt(i) == chars[offset + i];
+      }
+      if (same) {
+        return last;
+      }
+    }
+    lastModel = new String(chars, offset, length);
+    return lastModel;
+  }
+
+  private static int totalTokens(JsonParser parser) throws IOException {
+    int totalTokens = -1;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var name = parser.currentName();
+      var value = parser.nextToken();
+      if ("total_tokens".equals(name) && value == JsonToken.VALUE_NUMBER_INT) {
+        totalTokens = parser.getIntValue();
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return totalTokens;
+  }
+
+  private static String firstChoiceContent(JsonParser parser) throws IOException {
+    String content = null;
+    boolean first = true;
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+      if (first && token == JsonToken.START_OBJECT) {
+        content = deltaContent(parser);
+      } else {
+        parser.skipChildren();
+      }
+      first = false;
+    }
+    return content;
+  }
+
+  /** 解析 choices[0]，停在该对象的 END_OBJECT。 */
+  private static String deltaContent(JsonParser parser) throws IOException {
+    String content = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var name = parser.currentName();
+      var value = parser.nextToken();
+      if ("delta".equals(name) && value == JsonToken.START_OBJECT) {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          var field = parser.currentName();
+          var v = parser.nextToken();
+          if ("content".equals(field) && v == JsonToken.VALUE_STRING) {
+            content = parser.getText();
+          } else {
+            parser.skipChildren();
+          }
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return content;
+  }
+
+  private static boolean startsWith(byte[] bytes, int from, int to, byte[] prefix) {
+    if (to - from < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if (bytes[from + i] != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
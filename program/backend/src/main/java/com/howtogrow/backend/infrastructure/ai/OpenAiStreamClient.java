@@ -1,18 +1,17 @@
 package com.howtogrow.backend.infrastructure.ai;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.howtogrow.backend.api.ErrorCode;
 import com.howtogrow.backend.api.exception.AppException;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -22,97 +21,85 @@ import org.springframework.stereotype.Component;
 public class OpenAiStreamClient {
   private final AiProperties props;
   private final ObjectMapper objectMapper;
-  private final HttpClient httpClient;
+  private final AiHttpTransport transport;
 
-  public OpenAiStreamClient(AiProperties props, ObjectMapper objectMapper) {
+  public OpenAiStreamClient(AiProperties props, ObjectMapper objectMapper, AiHttpTransport transport) {
     this.props = props;
     this.objectMapper = objectMapper;
-    this.httpClient =
-        HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(10))
-            .followRedirects(HttpClient.Redirect.NORMAL)
-            .build();
+    this.transport = transport;
   }
 
-  public void streamChatCompletions(
-      List<AiChatClient.ChatMessage> messages,
-      Consumer<String> onDelta,
-      Consumer<StreamDone> onDone) {
+  /**
+   * 异步流式调用：响应字节由 HttpClient 的 IO 线程推送给 {@link ChunkSubscriber}，经 {@link OpenAiSseChunkParser}
+   * 增量解析，期间不占用业务线程。
+   *
+   * <p>onDelta 在 HttpClient 线程上按顺序回调；返回的 future 在收到 [DONE] 或响应结束时完成。
+   */
+  public CompletableFuture<StreamDone> streamChatCompletions(
+      List<AiChatClient.ChatMessage> messages, Consumer<String> onDelta) {
     if (props.apiKey() == null || props.apiKey().isBlank()) {
-      throw new AppException(ErrorCode.INTERNAL_ERROR, "AI 配置缺失");
+      return CompletableFuture.failedFuture(new AppException(ErrorCode.INTERNAL_ERROR, "AI 配置缺失"));
     }
     var url = joinUrl(props.baseUrl(), props.chatCompletionsPath());
-    var requestBody = buildRequestBody(messages);
+    var model = props.model();
+    var requestBody = buildRequestBody(messages, model);
+    var timeout = transport.streamTimeout();
 
     HttpRequest request =
         HttpRequest.newBuilder()
             .uri(URI.create(url))
-            .timeout(Duration.ofSeconds(120))
+            .timeout(timeout)
             .header(HttpHeaders.AUTHORIZATION, "Bearer " + props.apiKey())
             .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
             .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
             .POST(HttpRequest.BodyPublishers.ofString(requestBody, StandardCharsets.UTF_8))
             .build();
 
-    HttpResponse<java.io.InputStream> response;
+    // 隔离舱名额在返回的 future 完成时归还
+    AiHttpTransport.StreamCall call;
     try {
-      response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
-    } catch (Exception e) {
-      throw new AppException(ErrorCode.INTERNAL_ERROR, "AI 请求失败");
-    }
-
-    if (response.statusCode() / 100 != 2) {
-      throw new AppException(ErrorCode.INTERNAL_ERROR, "AI 请求失败");
+      call = transport.beginStream("chat-stream", model);
+    } catch (AppException e) {
+      return CompletableFuture.failedFuture(e);
     }
-
-    String modelName = props.model();
-    Integer totalTokens = null;
-
-    try (var reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
-      String line;
-      while ((line = reader.readLine()) != null) {
-        if (line.isBlank()) {
-          continue;
-        }
-        if (!line.startsWith("data:")) {
-          continue;
-        }
-        var data = line.substring("data:".length()).trim();
-        if ("[DONE]".equals(data)) {
-          break;
-        }
-        var node = safeReadTree(data);
-        if (node == null) {
-          continue;
-        }
-        var maybeModel = node.path("model").asText(null);
-        if (maybeModel != null && !maybeModel.isBlank()) {
-          modelName = maybeModel;
-        }
-        var usage = node.path("usage");
-        if (!usage.isMissingNode()) {
-          var tt = usage.path("total_tokens").asInt(-1);
-          if (tt >= 0) {
-            totalTokens = tt;
-          }
-        }
-        var delta =
-            node.path("choices").path(0).path("delta").path("content").asText(null);
-        if (delta != null && !delta.isBlank()) {
-          onDelta.accept(delta);
-        }
-      }
-    } catch (Exception e) {
-      throw new AppException(ErrorCode.INTERNAL_ERROR, "AI 流式请求失败");
+    try {
+      var chunks = new ChunkSubscriber(onDelta, call);
+      transport
+          .httpClient()
+          .sendAsync(
+              request,
+              info -> {
+                if (info.statusCode() / 100 != 2) {
+                  chunks.fail(new AppException(ErrorCode.INTERNAL_ERROR, "AI 请求失败"));
+                  return HttpResponse.BodySubscribers.discarding();
+                }
+                return HttpResponse.BodySubscribers.fromSubscriber(chunks);
+              })
+          .whenComplete(
+              (response, e) -> {
+                if (e != null) {
+                  chunks.fail(new AppException(ErrorCode.INTERNAL_ERROR, "AI 请求失败"));
+                }
+              });
+      return chunks
+          .done
+          .orTimeout(timeout.toSeconds(), TimeUnit.SECONDS)
+          .whenComplete(
+              (d, e) -> {
+                chunks.cancel();
+                call.end(d, e);
+              });
+    } catch (RuntimeException | Error e) {
+      // 订阅建立前同步抛出：结束回调不会执行，在这里归还名额（end 只生效一次）
+      call.end(null, e);
+      throw e;
     }
-
-    onDone.accept(new StreamDone(modelName, totalTokens));
   }
 
-  private String buildRequestBody(List<AiChatClient.ChatMessage> messages) {
+  private String buildRequestBody(List<AiChatClient.ChatMessage> messages, String model) {
     var payload =
         objectMapper.createObjectNode()
-            .put("model", props.model())
+            .put("model", model)
             .put("stream", true);
     var arr = payload.putArray("messages");
     for (var m : messages) {
@@ -123,14 +110,6 @@ public class OpenAiStreamClient {
     return payload.toString();
   }
 
-  private JsonNode safeReadTree(String json) {
-    try {
-      return objectMapper.readTree(json);
-    } catch (Exception e) {
-      return null;
-    }
-  }
-
   private static String joinUrl(String baseUrl, String path) {
     if (baseUrl == null) {
       baseUrl = "";
@@ -143,5 +122,105 @@ public class OpenAiStreamClient {
     return b + p;
   }
 
+  private final class ChunkSubscriber implements Flow.Subscriber<List<ByteBuffer>>, OpenAiSseChunkParser.Listener {
+    private final Consumer<String> onDelta;
+    private final AiHttpTransport.StreamCall call;
+    private final OpenAiSseChunkParser parser = new OpenAiSseChunkParser(objectMapper.getFactory());
+    private final CompletableFuture<StreamDone> done = new CompletableFuture<>();
+    private volatile Flow.Subscription subscription;
+    private String modelName = props.model();
+    private Integer totalTokens;
+
+    private ChunkSubscriber(Consumer<String> onDelta, AiHttpTransport.StreamCall call) {
+      this.onDelta = onDelta;
+      this.call = call;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      if (done.isDone()) {
+        subscription.cancel();
+      } else {
+        subscription.request(1);
+      }
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+      if (done.isDone()) {
+        return;
+      }
+      try {
+        if (!onBuffers(buffers)) {
+          finish();
+          cancel();
+          return;
+        }
+      } catch (Exception e) {
+        fail(new AppException(ErrorCode.INTERNAL_ERROR, "AI 流式请求失败"));
+        return;
+      }
+      subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      fail(new AppException(ErrorCode.INTERNAL_ERROR, "AI 流式请求失败"));
+    }
+
+    @Override
+    public void onComplete() {
+      try {
+        parser.finish(this);
+      } catch (Exception e) {
+        fail(new AppException(ErrorCode.INTERNAL_ERROR, "AI 流式请求失败"));
+        return;
+      }
+      finish();
+    }
+
+    /** @return false 表示收到 [DONE]，不再需要后续数据 */
+    private boolean onBuffers(List<ByteBuffer> buffers) {
+      for (var buffer : buffers) {
+        if (!parser.feed(buffer, this)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void onChunk(String model, int chunkTotalTokens, String delta) {
+      if (model != null && !model.isBlank()) {
+        modelName = model;
+      }
+      if (chunkTotalTokens >= 0) {
+        totalTokens = chunkTotalTokens;
+      }
+      if (delta != null && !delta.isBlank()) {
+        call.onDelta();
+        onDelta.accept(delta);
+      }
+    }
+
+    private void finish() {
+      done.complete(new StreamDone(modelName, totalTokens));
+    }
+
+    private void fail(AppException e) {
+      if (done.completeExceptionally(e)) {
+        cancel();
+      }
+    }
+
+    private void cancel() {
+      var s = subscription;
+      if (s != null) {
+        s.cancel();
+      }
+    }
+  }
+
   public record StreamDone(String modelName, Integer tokenUsage) {}
 }
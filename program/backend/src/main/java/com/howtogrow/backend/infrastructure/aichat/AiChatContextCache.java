@@ -0,0 +1,280 @@
+package com.howtogrow.backend.infrastructure.aichat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.howtogrow.backend.infrastructure.ai.AiProperties;
+import com.howtogrow.backend.infrastructure.ai.AiTokenEstimator;
+import com.howtogrow.backend.infrastructure.cache.CacheInvalidationBus;
+import com.howtogrow.backend.infrastructure.db.AfterCommit;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 对话的上下文窗口缓存：每个会话保留最近若干条消息，总量按 token 预算裁剪（至少保留最新一条）。
+ * 本地一级 + Redis 列表二级，拼装提示词时无需再读 ai_chat_message。
+ *
+ * <p>新消息在事务提交后追加到两级缓存并广播，其它节点据此丢弃本地副本。Redis 中没有该会话时追加不会建表
+ * （否则会得到不完整的上下文），只记下“已追加到的消息ID”；回源时读到的消息若没有覆盖这个ID，说明与追加并发，
+ * 此次结果不回填 Redis。
+ */
+@Component
+public class AiChatContextCache {
+  private static final Logger log = LoggerFactory.getLogger(AiChatContextCache.class);
+  static final String TOPIC = "ai_chat_context";
+  private static final String KEY_PREFIX = "ai_chat_context:";
+  private static final String APPENDED_SUFFIX = ":appended";
+  private static final Duration REDIS_TTL = Duration.ofHours(6);
+  private static final Duration APPENDED_TTL = Duration.ofMinutes(1);
+  private static final long LOCAL_TTL_MILLIS = Duration.ofMinutes(5).toMillis();
+  private static final int MAX_LOCAL_ENTRIES = 2_000;
+  private static final int DEFAULT_TOKEN_BUDGET = 4_000;
+  /** 缓存保留提示词预算两倍的历史，超出预算的部分留给压缩阶段合并进滚动摘要。 */
+  private static final int WINDOW_BUDGET_FACTOR = 2;
+  /** 回源与缓存的消息条数上限：预算再大也不会把整段长会话读出来。 */
+  static final int MAX_MESSAGES = 50;
+
+  private static final DefaultRedisScript<Long> APPEND_SCRIPT =
+      new DefaultRedisScript<>(
+          """
+          if redis.call('exists', KEYS[1]) == 0 then
+            local appended = tonumber(redis.call('get', KEYS[2]))
+            if not appended or appended < tonumber(ARGV[2]) then
+              redis.call('set', KEYS[2], ARGV[2], 'PX', ARGV[6])
+            end
+            return 0
+          end
+          redis.call('rpush', KEYS[1], ARGV[1])
+          local items = redis.call('lrange', KEYS[1], 0, -1)
+          local budget = tonumber(ARGV[3])
+          local maxCount = tonumber(ARGV[4])
+          local total = 0
+          local keep = 0
+          for i = #items, 1, -1 do
+            local tokens = cjson.decode(items[i]).tokens
+            if keep > 0 and (keep >= maxCount or total + tokens > budget) then
+              break
+            end
+            total = total + tokens
+            keep = keep + 1
+          end
+          redis.call('ltrim', KEYS[1], -keep, -1)
+          redis.call('pexpire', KEYS[1], ARGV[5])
+          return keep
+          """,
+          Long.class);
+
+  private static final DefaultRedisScript<Long> SEED_SCRIPT =
+      new DefaultRedisScript<>(
+          """
+          if redis.call('exists', KEYS[1]) == 1 then
+            return 0
+          end
+          local appended = tonumber(redis.call('get', KEYS[2]))
+          if appended and appended > tonumber(ARGV[1]) then
+            return 0
+          end
+          redis.call('rpush', KEYS[1], unpack(ARGV, 3))
+          redis.call('pexpire', KEYS[1], ARGV[2])
+          return 1
+          """,
+          Long.class);
+
+  private final AiChatMessageRepository messageRepo;
+  private final StringRedisTemplate redis;
+  private final ObjectMapper objectMapper;
+  private final CacheInvalidationBus bus;
+  private final Clock clock;
+  private final int tokenBudget;
+  private final ConcurrentHashMap<Long, LocalEntry> local = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+
+  public AiChatContextCache(
+      AiChatMessageRepository messageRepo,
+      StringRedisTemplate redis,
+      ObjectMapper objectMapper,
+      CacheInvalidationBus bus,
+      Clock clock,
+      AiProperties aiProperties) {
+    this.messageRepo = messageRepo;
+    this.redis = redis;
+    this.objectMapper = objectMapper;
+    this.bus = bus;
+    this.clock = clock;
+    this.tokenBudget =
+        WINDOW_BUDGET_FACTOR
+            * (aiProperties.contextTokenBudget() > 0 ? aiProperties.contextTokenBudget() : DEFAULT_TOKEN_BUDGET);
+    bus.subscribe(TOPIC, payload -> invalidateLocally(Long.parseLong(payload)));
+  }
+
+  /** 会话最近的上下文（按消息ID升序），已按 token 预算裁剪。 */
+  public List<ContextMessage> recent(long sessionId) {
+    long now = clock.millis();
+    var hit = local.get(sessionId);
+    if (hit != null && hit.expiresAt > now) {
+      return hit.messages;
+    }
+
+    long loadedAt = generation.get();
+    var messages = readRedis(sessionId);
+    if (messages == null) {
+      messages = trim(loadFromDb(sessionId), tokenBudget);
+      seedRedis(sessionId, messages);
+    }
+    if (local.size() >= MAX_LOCAL_ENTRIES) {
+      local.values().removeIf(e -> e.expiresAt <= now);
+      if (local.size() >= MAX_LOCAL_ENTRIES) {
+        local.clear();
+      }
+    }
+    if (generation.get() == loadedAt) {
+      local.put(sessionId, new LocalEntry(messages, now + LOCAL_TTL_MILLIS));
+    }
+    return messages;
+  }
+
+  /**
+   * 跳过两级缓存直接读库，用于缓存结果与预期不符时复核（如其它节点刚写入的消息还没广播到本节点）；
+   * 本地已有副本时顺带替换，不回填 Redis。
+   */
+  public List<ContextMessage> reload(long sessionId) {
+    long loadedAt = generation.get();
+    var messages = trim(loadFromDb(sessionId), tokenBudget);
+    if (generation.get() == loadedAt) {
+      local.replace(sessionId, new LocalEntry(messages, clock.millis() + LOCAL_TTL_MILLIS));
+    }
+    return messages;
+  }
+
+  /** 消息已写库；处于事务中时延迟到提交之后再追加。 */
+  public void appended(long sessionId, long messageId, String role, String content) {
+    var message = ContextMessage.of(messageId, role, content);
+    AfterCommit.run(
+        () -> {
+          generation.incrementAndGet();
+          long expiresAt = clock.millis() + LOCAL_TTL_MILLIS;
+          local.computeIfPresent(
+              sessionId, (k, e) -> new LocalEntry(trim(append(e.messages, message), tokenBudget), expiresAt));
+          appendRedis(sessionId, message);
+          bus.publish(TOPIC, Long.toString(sessionId));
+        });
+  }
+
+  /** 从最新一条往前累加，超出预算或条数上限即停止；最新一条无论多长都保留。 */
+  static List<ContextMessage> trim(List<ContextMessage> messages, int tokenBudget) {
+    int total = 0;
+    int keep = 0;
+    for (int i = messages.size() - 1; i >= 0; i--) {
+      int tokens = messages.get(i).tokens();
+      if (keep > 0 && (keep >= MAX_MESSAGES || total + tokens > tokenBudget)) {
+        break;
+      }
+      total += tokens;
+      keep++;
+    }
+    return keep == messages.size() ? messages : List.copyOf(messages.subList(messages.size() - keep, messages.size()));
+  }
+
+  private static List<ContextMessage> append(List<ContextMessage> messages, ContextMessage message) {
+    var out = new ArrayList<ContextMessage>(messages.size() + 1);
+    out.addAll(messages);
+    out.add(message);
+    // 同一会话的两条消息几乎同时提交时，追加顺序可能与ID顺序不一致
+    out.sort(Comparator.comparingLong(ContextMessage::id));
+    return List.copyOf(out);
+  }
+
+  private List<ContextMessage> loadFromDb(long sessionId) {
+    return messageRepo.listRecent(sessionId, MAX_MESSAGES).stream()
+        .map(r -> ContextMessage.of(r.id(), r.role(), r.content()))
+        .toList();
+  }
+
+  private List<ContextMessage> readRedis(long sessionId) {
+    try {
+      var raw = redis.opsForList().range(listKey(sessionId), 0, -1);
+      if (raw == null || raw.isEmpty()) {
+        return null;
+      }
+      var out = new ArrayList<ContextMessage>(raw.size());
+      for (var json : raw) {
+        out.add(objectMapper.readValue(json, ContextMessage.class));
+      }
+      out.sort(Comparator.comparingLong(ContextMessage::id));
+      return trim(List.copyOf(out), tokenBudget);
+    } catch (JsonProcessingException | RuntimeException e) {
+      log.warn("ai chat context read failed, sessionId={}", sessionId, e);
+      return null;
+    }
+  }
+
+  private void seedRedis(long sessionId, List<ContextMessage> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    try {
+      var args = new ArrayList<String>(messages.size() + 2);
+      args.add(Long.toString(messages.get(messages.size() - 1).id()));
+      args.add(Long.toString(REDIS_TTL.toMillis()));
+      for (var m : messages) {
+        args.add(objectMapper.writeValueAsString(m));
+      }
+      redis.execute(SEED_SCRIPT, keys(sessionId), args.toArray());
+    } catch (JsonProcessingException | RuntimeException e) {
+      log.warn("ai chat context seed failed, sessionId={}", sessionId, e);
+    }
+  }
+
+  private void appendRedis(long sessionId, ContextMessage message) {
+    try {
+      redis.execute(
+          APPEND_SCRIPT,
+          keys(sessionId),
+          objectMapper.writeValueAsString(message),
+          Long.toString(message.id()),
+          Integer.toString(tokenBudget),
+          Integer.toString(MAX_MESSAGES),
+          Long.toString(REDIS_TTL.toMillis()),
+          Long.toString(APPENDED_TTL.toMillis()));
+    } catch (JsonProcessingException | RuntimeException e) {
+      // 追加失败时删掉整段，避免后续读到缺消息的上下文
+      log.warn("ai chat context append failed, sessionId={}", sessionId, e);
+      try {
+        redis.delete(listKey(sessionId));
+      } catch (RuntimeException ignored) {
+        // Redis 不可用时读也会失败，自然回源
+      }
+    }
+  }
+
+  private void invalidateLocally(long sessionId) {
+    generation.incrementAndGet();
+    local.remove(sessionId);
+  }
+
+  /** 两个 key 用同一 hash tag，保证集群模式下落在同一槽位、可以在一个脚本里操作。 */
+  private static String listKey(long sessionId) {
+    return KEY_PREFIX + "{" + sessionId + "}";
+  }
+
+  private static List<String> keys(long sessionId) {
+    return List.of(listKey(sessionId), listKey(sessionId) + APPENDED_SUFFIX);
+  }
+
+  public record ContextMessage(long id, String role, String content, int tokens) {
+    static ContextMessage of(long id, String role, String content) {
+      return new ContextMessage(id, role, content, AiTokenEstimator.estimateMessage(content));
+    }
+  }
+
+  private record LocalEntry(List<ContextMessage> messages, long expiresAt) {}
+}
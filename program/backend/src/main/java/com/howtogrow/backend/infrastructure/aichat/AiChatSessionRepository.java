@@ -15,7 +15,8 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public class AiChatSessionRepository {
-  private static final RowMapper<AiChatSessionRow> ROW_MAPPER = (rs, rowNum) -> toRow(rs);
+  private static final RowMapper<AiChatSessionRow> ROW_MAPPER = (rs, rowNum) -> toRow(rs, false);
+  private static final RowMapper<AiChatSessionRow> DETAIL_MAPPER = (rs, rowNum) -> toRow(rs, true);
   private final NamedParameterJdbcTemplate jdbc;
 
   public AiChatSessionRepository(NamedParameterJdbcTemplate jdbc) {
@@ -58,11 +59,11 @@ public class AiChatSessionRepository {
   public Optional<AiChatSessionRow> findById(long sessionId) {
     var sql =
         """
-        SELECT id, user_id, child_id, title, status, last_active_at
+        SELECT id, user_id, child_id, title, status, last_active_at, context_summary, summary_through_message_id
         FROM ai_chat_session
         WHERE id = :id
         """;
-    var rows = jdbc.query(sql, Map.of("id", sessionId), ROW_MAPPER);
+    var rows = jdbc.query(sql, Map.of("id", sessionId), DETAIL_MAPPER);
     return rows.stream().findFirst();
   }
 
@@ -84,7 +85,26 @@ public class AiChatSessionRepository {
         Map.of("id", sessionId));
   }
 
-  private static AiChatSessionRow toRow(ResultSet rs) throws SQLException {
+  /**
+   * 更新滚动摘要；仅当库中摘要仍覆盖到 {@code expectedThroughMessageId} 时才写入（并发生成时后到者放弃）。
+   */
+  public boolean updateContextSummary(
+      long sessionId, String summary, long throughMessageId, Long expectedThroughMessageId) {
+    return jdbc.update(
+            """
+            UPDATE ai_chat_session
+            SET context_summary = :summary, summary_through_message_id = :throughId, updated_at = NOW(3)
+            WHERE id = :id AND summary_through_message_id <=> :expectedThroughId
+            """,
+            new org.springframework.jdbc.core.namedparam.MapSqlParameterSource()
+                .addValue("id", sessionId)
+                .addValue("summary", summary)
+                .addValue("throughId", throughMessageId)
+                .addValue("expectedThroughId", expectedThroughMessageId))
+        > 0;
+  }
+
+  private static AiChatSessionRow toRow(ResultSet rs, boolean withSummary) throws SQLException {
     Instant lastActiveAt = null;
     var ts = rs.getTimestamp("last_active_at");
     if (ts != null) {
@@ -95,15 +115,34 @@ public class AiChatSessionRepository {
     if (rawChildId instanceof Number n) {
       childId = n.longValue();
     }
+    String contextSummary = null;
+    Long summaryThroughMessageId = null;
+    if (withSummary) {
+      contextSummary = rs.getString("context_summary");
+      var rawThroughId = rs.getObject("summary_through_message_id");
+      if (rawThroughId instanceof Number n) {
+        summaryThroughMessageId = n.longValue();
+      }
+    }
     return new AiChatSessionRow(
         rs.getLong("id"),
         rs.getLong("user_id"),
         childId,
         rs.getString("title"),
         rs.getString("status"),
-        lastActiveAt);
+        lastActiveAt,
+        contextSummary,
+        summaryThroughMessageId);
   }
 
+  /** {@code contextSummary}/{@code summaryThroughMessageId} 仅 {@link #findById} 加载，列表查询中为 null。 */
   public record AiChatSessionRow(
-      long id, long userId, Long childId, String title, String status, Instant lastActiveAt) {}
+      long id,
+      long userId,
+      Long childId,
+      String title,
+      String status,
+      Instant lastActiveAt,
+      String contextSummary,
+      Long summaryThroughMessageId) {}
 }
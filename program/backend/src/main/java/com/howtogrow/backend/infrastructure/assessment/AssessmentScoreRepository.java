@@ -1,5 +1,7 @@
 package com.howtogrow.backend.infrastructure.assessment;
 
+import com.howtogrow.backend.infrastructure.db.MultiRowInsert;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -13,41 +15,42 @@ public class AssessmentScoreRepository {
     this.jdbc = jdbc;
   }
 
-  public long insertAnswer(long assessmentId, long assessmentItemId, long optionId) {
-    var sql =
-        """
-        INSERT INTO daily_assessment_answer(assessment_id, assessment_item_id, option_id, created_at)
-        VALUES (:assessmentId, :assessmentItemId, :optionId, NOW(3))
-        """;
-    var kh = new org.springframework.jdbc.support.GeneratedKeyHolder();
-    jdbc.update(
-        sql,
-        new org.springframework.jdbc.core.namedparam.MapSqlParameterSource()
-            .addValue("assessmentId", assessmentId)
-            .addValue("assessmentItemId", assessmentItemId)
-            .addValue("optionId", optionId),
-        kh);
-    var id = kh.getKey();
-    if (id == null) {
-      throw new IllegalStateException("failed to insert daily_assessment_answer");
+  /** 多行 INSERT 写入作答，返回与入参同序的作答行（主键按行序对应，见 {@link MultiRowInsert#insertReturningKeys}）。 */
+  public List<AnswerRow> insertAnswers(long assessmentId, List<NewAnswer> answers) {
+    if (answers == null || answers.isEmpty()) {
+      return List.of();
+    }
+    var ids =
+        MultiRowInsert.insertReturningKeys(
+            jdbc,
+            "INSERT INTO daily_assessment_answer(assessment_id, assessment_item_id, option_id, created_at)",
+            "(:assessmentId, :itemId#, :optionId#, NOW(3))",
+            Map.of("assessmentId", assessmentId),
+            answers,
+            (p, i, a) -> p.addValue("itemId" + i, a.assessmentItemId()).addValue("optionId" + i, a.optionId()));
+    var rows = new ArrayList<AnswerRow>(answers.size());
+    for (int i = 0; i < answers.size(); i++) {
+      var answer = answers.get(i);
+      rows.add(new AnswerRow(ids.get(i), answer.assessmentItemId(), answer.optionId()));
     }
-    return id.longValue();
+    return rows;
   }
 
-  public int insertDimensionScoresFromOption(long assessmentId, long assessmentAnswerId, long optionId) {
-    var sql =
-        """
-        INSERT INTO daily_assessment_dimension_score(assessment_id, assessment_answer_id, dimension_code, score, created_at)
-        SELECT :assessmentId, :assessmentAnswerId, ods.dimension_code, ods.score, NOW(3)
-        FROM option_dimension_score ods
-        WHERE ods.option_id = :optionId
-        """;
-    return jdbc.update(
-        sql,
-        Map.of(
-            "assessmentId", assessmentId,
-            "assessmentAnswerId", assessmentAnswerId,
-            "optionId", optionId));
+  public int insertDimensionScores(long assessmentId, List<NewDimensionScore> scores) {
+    if (scores == null || scores.isEmpty()) {
+      return 0;
+    }
+    return MultiRowInsert.insert(
+        jdbc,
+        "INSERT INTO daily_assessment_dimension_score(assessment_id, assessment_answer_id, dimension_code, score, created_at)",
+        "(:assessmentId, :answerId#, :dimensionCode#, :score#, NOW(3))",
+        "",
+        Map.of("assessmentId", assessmentId),
+        scores,
+        (p, i, s) ->
+            p.addValue("answerId" + i, s.assessmentAnswerId())
+                .addValue("dimensionCode" + i, s.dimensionCode())
+                .addValue("score" + i, s.score()));
   }
 
   public void deleteAnswersForAssessment(long assessmentId) {
@@ -76,5 +79,11 @@ public class AssessmentScoreRepository {
                 rs.getLong("total_score")));
   }
 
+  public record NewAnswer(long assessmentItemId, long optionId) {}
+
+  public record AnswerRow(long id, long assessmentItemId, long optionId) {}
+
+  public record NewDimensionScore(long assessmentAnswerId, String dimensionCode, int score) {}
+
   public record DimensionScoreRow(String dimensionCode, long score) {}
 }
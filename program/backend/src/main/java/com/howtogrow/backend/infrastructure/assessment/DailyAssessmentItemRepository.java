@@ -1,8 +1,10 @@
 package com.howtogrow.backend.infrastructure.assessment;
 
+import com.howtogrow.backend.infrastructure.db.MultiRowInsert;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,24 +15,31 @@ public class DailyAssessmentItemRepository {
     this.jdbc = jdbc;
   }
 
-  public long insertItem(long assessmentId, long questionId, int displayOrder) {
-    KeyHolder kh = new GeneratedKeyHolder();
-    var sql =
-        """
-        INSERT INTO daily_assessment_item(assessment_id, question_id, display_order, created_at, updated_at)
-        VALUES (:assessmentId, :questionId, :displayOrder, NOW(3), NOW(3))
-        """;
-    jdbc.update(
-        sql,
-        new org.springframework.jdbc.core.namedparam.MapSqlParameterSource()
-            .addValue("assessmentId", assessmentId)
-            .addValue("questionId", questionId)
-            .addValue("displayOrder", displayOrder),
-        kh);
-    var id = kh.getKey();
-    if (id == null) {
-      throw new IllegalStateException("failed to create daily_assessment_item");
+  /**
+   * 多行 INSERT 写入题目明细，主键按行序对应（见 {@link MultiRowInsert#insertReturningKeys}）。
+   *
+   * @return questionId -> itemId
+   */
+  public Map<Long, Long> insertItems(long assessmentId, List<NewItem> items) {
+    if (items == null || items.isEmpty()) {
+      return Map.of();
     }
-    return id.longValue();
+    var ids =
+        MultiRowInsert.insertReturningKeys(
+            jdbc,
+            "INSERT INTO daily_assessment_item(assessment_id, question_id, display_order, created_at, updated_at)",
+            "(:assessmentId, :questionId#, :displayOrder#, NOW(3), NOW(3))",
+            Map.of("assessmentId", assessmentId),
+            items,
+            (p, i, item) ->
+                p.addValue("questionId" + i, item.questionId())
+                    .addValue("displayOrder" + i, item.displayOrder()));
+    var out = new HashMap<Long, Long>(items.size() * 2);
+    for (int i = 0; i < items.size(); i++) {
+      out.put(items.get(i).questionId(), ids.get(i));
+    }
+    return out;
   }
+
+  public record NewItem(long questionId, int displayOrder) {}
 }
@@ -0,0 +1,106 @@
+package com.howtogrow.backend.infrastructure.awareness;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 觉察日历的合并读模型：育儿状态、烦恼场景、日记、自测四类记录用一条 UNION ALL 读出，
+ * 每个分支都命中各表 (user_id, child_id, 日期) 索引的范围扫描，只需一次往返。
+ */
+@Repository
+public class AwarenessCalendarRepository {
+  private static final RowMapper<EntryRow> ROW_MAPPER =
+      (rs, rowNum) -> {
+        var recordDate = rs.getDate("record_date");
+        var submittedAt = rs.getTimestamp("submitted_at");
+        return new EntryRow(
+            Kind.valueOf(rs.getString("kind")),
+            recordDate == null ? null : recordDate.toLocalDate(),
+            submittedAt == null ? null : submittedAt.toInstant(),
+            rs.getLong("ref_id"),
+            rs.getString("text_a"),
+            rs.getString("text_b"));
+      };
+
+  private final NamedParameterJdbcTemplate jdbc;
+
+  public AwarenessCalendarRepository(NamedParameterJdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  /**
+   * 日期类记录按 {@code [fromDate, toDate]}，自测按 {@code [fromInstant, toInstant)} 过滤。
+   * 结果按 kind、日期/提交时间升序，同一天内烦恼场景保持用户勾选顺序。
+   */
+  public List<EntryRow> listEntriesBetween(
+      long userId,
+      long childId,
+      LocalDate fromDate,
+      LocalDate toDate,
+      Instant fromInstant,
+      Instant toInstant) {
+    var sql =
+        """
+        SELECT 'STATUS' AS kind, record_date, NULL AS submitted_at, id AS seq, id AS ref_id,
+               status_code AS text_a, NULL AS text_b
+        FROM daily_parenting_status
+        WHERE user_id = :userId AND child_id = :childId
+          AND record_date >= :fromDate AND record_date <= :toDate
+        UNION ALL
+        SELECT 'TROUBLE_SCENE', r.record_date, NULL, s.id, ts.id, ts.name, ts.logo_url
+        FROM daily_trouble_record r
+        JOIN daily_trouble_record_scene s ON s.record_id = r.id
+        JOIN trouble_scene ts ON ts.id = s.scene_id AND ts.status = 1 AND ts.deleted_at IS NULL
+        WHERE r.user_id = :userId AND r.child_id = :childId
+          AND r.record_date >= :fromDate AND r.record_date <= :toDate
+        UNION ALL
+        SELECT 'DIARY', record_date, NULL, id, id, content, image_url
+        FROM daily_parenting_diary
+        WHERE user_id = :userId AND child_id = :childId
+          AND record_date >= :fromDate AND record_date <= :toDate
+        UNION ALL
+        SELECT 'ASSESSMENT', NULL, a.submitted_at, a.id, a.id, s.content, NULL
+        FROM daily_assessment a
+        LEFT JOIN ai_assessment_summary s ON s.assessment_id = a.id AND s.user_id = a.user_id
+        WHERE a.user_id = :userId AND a.child_id = :childId
+          AND a.submitted_at >= :fromInstant AND a.submitted_at < :toInstant
+        ORDER BY kind ASC, record_date ASC, submitted_at ASC, seq ASC
+        """;
+    return jdbc.query(
+        sql,
+        Map.of(
+            "userId", userId,
+            "childId", childId,
+            "fromDate", fromDate,
+            "toDate", toDate,
+            "fromInstant", Timestamp.from(fromInstant),
+            "toInstant", Timestamp.from(toInstant)),
+        ROW_MAPPER);
+  }
+
+  public enum Kind {
+    STATUS,
+    TROUBLE_SCENE,
+    DIARY,
+    ASSESSMENT
+  }
+
+  /**
+   * 各类记录的列含义：
+   *
+   * <ul>
+   *   <li>STATUS：textA = status_code
+   *   <li>TROUBLE_SCENE：refId = 场景ID，textA = 名称，textB = logo
+   *   <li>DIARY：textA = 内容，textB = 配图
+   *   <li>ASSESSMENT：refId = 自测ID，textA = AI 总结，日期为 null、使用 submittedAt
+   * </ul>
+   */
+  public record EntryRow(
+      Kind kind, LocalDate recordDate, Instant submittedAt, long refId, String textA, String textB) {}
+}
@@ -0,0 +1,57 @@
+package com.howtogrow.backend.infrastructure.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 基于 Redis pub/sub 的跨节点缓存失效广播。
+ *
+ * <p>发布方先自行失效本地缓存再广播；订阅方只会收到其它节点发出的消息。
+ */
+@Component
+public class CacheInvalidationBus {
+  private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+  private static final String CHANNEL_PREFIX = "cache_invalidation:";
+  private static final char SEPARATOR = '|';
+
+  private final StringRedisTemplate redis;
+  private final RedisMessageListenerContainer container;
+  private final String nodeId = UUID.randomUUID().toString();
+
+  public CacheInvalidationBus(StringRedisTemplate redis, RedisMessageListenerContainer container) {
+    this.redis = redis;
+    this.container = container;
+  }
+
+  public void publish(String topic, String payload) {
+    try {
+      redis.convertAndSend(CHANNEL_PREFIX + topic, nodeId + SEPARATOR + (payload == null ? "" : payload));
+    } catch (RuntimeException e) {
+      log.warn("cache invalidation publish failed, topic={}", topic, e);
+    }
+  }
+
+  public void subscribe(String topic, Consumer<String> handler) {
+    container.addMessageListener(
+        (message, pattern) -> {
+          var body = new String(message.getBody(), StandardCharsets.UTF_8);
+          int sep = body.indexOf(SEPARATOR);
+          if (sep < 0 || nodeId.equals(body.substring(0, sep))) {
+            return;
+          }
+          try {
+            handler.accept(body.substring(sep + 1));
+          } catch (RuntimeException e) {
+            log.warn("cache invalidation handler failed, topic={}", topic, e);
+          }
+        },
+        new ChannelTopic(CHANNEL_PREFIX + topic));
+  }
+}
@@ -0,0 +1,100 @@
+package com.howtogrow.backend.infrastructure.cache;
+
+import com.howtogrow.backend.infrastructure.db.AfterCommit;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 数据版本号（存 Redis，各节点共享），用于给只读结果做带版本的缓存 key / ETag。
+ *
+ * <p>版本号以毫秒时间戳起步、之后只增不减：即使 key 过期被重建，新版本也大于任何旧版本，
+ * 不会与旧缓存撞号。Redis 不可用时读到空版本，调用方应直接查库、不走缓存。
+ */
+@Component
+public class DataVersions {
+  private static final Logger log = LoggerFactory.getLogger(DataVersions.class);
+  private static final String KEY_PREFIX = "data_version:";
+  private static final Duration TTL = Duration.ofDays(30);
+
+  /** 烦恼场景目录（名称、logo、下线）；影响所有孩子的觉察月历。 */
+  public static final String TROUBLE_SCENES = "trouble_scene";
+
+  private static final DefaultRedisScript<Long> INIT_SCRIPT =
+      new DefaultRedisScript<>(
+          """
+          local v = redis.call('get', KEYS[1])
+          if v then
+            return tonumber(v)
+          end
+          redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2])
+          return tonumber(ARGV[1])
+          """,
+          Long.class);
+
+  private static final DefaultRedisScript<Long> BUMP_SCRIPT =
+      new DefaultRedisScript<>(
+          """
+          local next = tonumber(ARGV[1])
+          local current = tonumber(redis.call('get', KEYS[1]))
+          if current and current >= next then
+            next = current + 1
+          end
+          redis.call('set', KEYS[1], string.format('%d', next), 'PX', ARGV[2])
+          return next
+          """,
+          Long.class);
+
+  private final StringRedisTemplate redis;
+  private final Clock clock;
+
+  public DataVersions(StringRedisTemplate redis, Clock clock) {
+    this.redis = redis;
+    this.clock = clock;
+  }
+
+  public static String child(long childId) {
+    return "child:" + childId;
+  }
+
+  public OptionalLong current(String scope) {
+    try {
+      var raw = redis.opsForValue().get(KEY_PREFIX + scope);
+      if (raw != null) {
+        return OptionalLong.of(Long.parseLong(raw));
+      }
+      var initialized =
+          redis.execute(
+              INIT_SCRIPT,
+              List.of(KEY_PREFIX + scope),
+              Long.toString(clock.millis()),
+              Long.toString(TTL.toMillis()));
+      return initialized == null ? OptionalLong.empty() : OptionalLong.of(initialized);
+    } catch (RuntimeException e) {
+      log.warn("data version read failed, scope={}", scope, e);
+      return OptionalLong.empty();
+    }
+  }
+
+  /** 事务提交后递增版本；失败只记日志，旧缓存最长保留到其 TTL。 */
+  public void bump(String scope) {
+    AfterCommit.run(
+        () -> {
+          try {
+            redis.execute(
+                BUMP_SCRIPT,
+                List.of(KEY_PREFIX + scope),
+                Long.toString(clock.millis()),
+                Long.toString(TTL.toMillis()));
+          } catch (RuntimeException e) {
+            log.warn("data version bump failed, scope={}", scope, e);
+          }
+        });
+  }
+}
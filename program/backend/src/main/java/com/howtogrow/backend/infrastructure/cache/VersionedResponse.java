@@ -0,0 +1,23 @@
+package com.howtogrow.backend.infrastructure.cache;
+
+import java.util.function.Supplier;
+
+/** 带版本 ETag 的响应；{@link #body()} 才会真正读取缓存或查库，304 时可以完全跳过。 */
+public final class VersionedResponse<T> {
+  private final String etag;
+  private final Supplier<T> body;
+
+  VersionedResponse(String etag, Supplier<T> body) {
+    this.etag = etag;
+    this.body = body;
+  }
+
+  /** 版本号不可用时为 null，此时不应做条件请求协商。 */
+  public String etag() {
+    return etag;
+  }
+
+  public T body() {
+    return body.get();
+  }
+}
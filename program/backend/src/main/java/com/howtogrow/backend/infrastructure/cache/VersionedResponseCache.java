@@ -0,0 +1,99 @@
+package com.howtogrow.backend.infrastructure.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 以“带数据版本的 key”缓存只读接口的响应：本地一级 + Redis 二级（JSON）。
+ *
+ * <p>key 中包含 {@link DataVersions} 的版本号，数据变更即换 key，因此无需主动失效，旧条目自然过期；
+ * 同一 key 对应的弱 ETag 可以在不加载数据的情况下完成 304 协商。
+ */
+@Component
+public class VersionedResponseCache {
+  private static final Logger log = LoggerFactory.getLogger(VersionedResponseCache.class);
+  private static final String KEY_PREFIX = "response_cache:";
+  private static final Duration REDIS_TTL = Duration.ofDays(1);
+  private static final long LOCAL_TTL_MILLIS = Duration.ofMinutes(10).toMillis();
+  private static final int MAX_LOCAL_ENTRIES = 10_000;
+
+  private final StringRedisTemplate redis;
+  private final ObjectMapper objectMapper;
+  private final Clock clock;
+  private final ConcurrentHashMap<String, LocalEntry> local = new ConcurrentHashMap<>();
+
+  public VersionedResponseCache(StringRedisTemplate redis, ObjectMapper objectMapper, Clock clock) {
+    this.redis = redis;
+    this.objectMapper = objectMapper;
+    this.clock = clock;
+  }
+
+  /** {@code key} 为 null（如版本号不可用）时不缓存、也不给 ETag，每次都走 loader。 */
+  public <T> VersionedResponse<T> lookup(String key, Class<T> type, Supplier<T> loader) {
+    if (key == null) {
+      return new VersionedResponse<>(null, loader);
+    }
+    return new VersionedResponse<>(etagOf(key), () -> get(key, type, loader));
+  }
+
+  private <T> T get(String key, Class<T> type, Supplier<T> loader) {
+    long now = clock.millis();
+    var entry = local.get(key);
+    if (entry != null && entry.expiresAt() > now && type.isInstance(entry.value())) {
+      return type.cast(entry.value());
+    }
+
+    T value = readRedis(key, type);
+    if (value == null) {
+      value = loader.get();
+      writeRedis(key, value);
+    }
+    if (local.size() >= MAX_LOCAL_ENTRIES) {
+      local.clear();
+    }
+    local.put(key, new LocalEntry(value, now + LOCAL_TTL_MILLIS));
+    return value;
+  }
+
+  private <T> T readRedis(String key, Class<T> type) {
+    try {
+      var json = redis.opsForValue().get(KEY_PREFIX + key);
+      return json == null ? null : objectMapper.readValue(json, type);
+    } catch (JsonProcessingException | RuntimeException e) {
+      log.warn("response cache read failed, key={}", key, e);
+      return null;
+    }
+  }
+
+  private void writeRedis(String key, Object value) {
+    try {
+      redis.opsForValue().set(KEY_PREFIX + key, objectMapper.writeValueAsString(value), REDIS_TTL);
+    } catch (JsonProcessingException | RuntimeException e) {
+      log.warn("response cache write failed, key={}", key, e);
+    }
+  }
+
+  private static String etagOf(String key) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+      // 响应体中的 traceId 每次不同，只能是弱 ETag
+      return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private record LocalEntry(Object value, long expiresAt) {}
+}
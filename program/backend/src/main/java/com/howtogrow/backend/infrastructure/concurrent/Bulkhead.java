@@ -0,0 +1,40 @@
+package com.howtogrow.backend.infrastructure.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 并发隔离舱：限制某类长耗时工作（如 AI 流式回复）的同时进行数，超出立即拒绝、不排队。
+ *
+ * <p>指标：app.bulkhead.active / app.bulkhead.rejected（tag: name）。
+ */
+public class Bulkhead {
+  private final int maxConcurrency;
+  private final Semaphore permits;
+  private final Counter rejected;
+
+  public Bulkhead(String name, int maxConcurrency, MeterRegistry meterRegistry) {
+    this.maxConcurrency = Math.max(1, maxConcurrency);
+    this.permits = new Semaphore(this.maxConcurrency);
+    Gauge.builder("app.bulkhead.active", this, Bulkhead::activeCount).tag("name", name).register(meterRegistry);
+    this.rejected = Counter.builder("app.bulkhead.rejected").tag("name", name).register(meterRegistry);
+  }
+
+  public boolean tryAcquire() {
+    if (permits.tryAcquire()) {
+      return true;
+    }
+    rejected.increment();
+    return false;
+  }
+
+  public void release() {
+    permits.release();
+  }
+
+  public int activeCount() {
+    return maxConcurrency - permits.availablePermits();
+  }
+}
@@ -0,0 +1,170 @@
+package com.howtogrow.backend.infrastructure.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * 带隔离舱的执行器：最多 maxConcurrency 个任务同时执行，其余进入有界队列，队列满则拒绝。
+ *
+ * <p>不维护常驻线程池：需要并发时按需创建 worker 线程（平台线程或虚拟线程），worker 执行完当前任务后继续消费队列，队列空即退出。
+ * 指标：app.executor.active / app.executor.queued / app.executor.rejected（tag: name）。
+ *
+ * <p>{@link #shutdown()} 后拒绝新任务，等待在途与排队任务执行完（有上限），超时仍未开始的任务丢弃并记录日志。
+ */
+public class BulkheadTaskExecutor implements TaskExecutor {
+  private static final Logger log = LoggerFactory.getLogger(BulkheadTaskExecutor.class);
+  private static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+  private final String name;
+  private final int maxConcurrency;
+  private final int queueCapacity;
+  private final SimpleAsyncTaskExecutor threads;
+  private final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+  private final Counter rejected;
+  private int running;
+  private boolean shutdown;
+
+  public BulkheadTaskExecutor(
+      String name, int maxConcurrency, int queueCapacity, boolean virtualThreads, MeterRegistry meterRegistry) {
+    this.name = name;
+    this.maxConcurrency = Math.max(1, maxConcurrency);
+    this.queueCapacity = Math.max(0, queueCapacity);
+    this.threads = new SimpleAsyncTaskExecutor(name + "-");
+    this.threads.setVirtualThreads(virtualThreads);
+    Gauge.builder("app.executor.active", this, BulkheadTaskExecutor::activeCount)
+        .tag("name", name)
+        .register(meterRegistry);
+    Gauge.builder("app.executor.queued", this, BulkheadTaskExecutor::queueSize)
+        .tag("name", name)
+        .register(meterRegistry);
+    this.rejected = Counter.builder("app.executor.rejected").tag("name", name).register(meterRegistry);
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    synchronized (this) {
+      if (shutdown) {
+        rejected.increment();
+        throw new TaskRejectedException("executor " + name + " is shut down");
+      }
+      if (running >= maxConcurrency) {
+        if (queue.size() >= queueCapacity) {
+          rejected.increment();
+          throw new TaskRejectedException("executor " + name + " is saturated");
+        }
+        queue.addLast(task);
+        return;
+      }
+      running++;
+    }
+    try {
+      threads.execute(() -> runWorker(task));
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        running--;
+        notifyAll();
+      }
+      rejected.increment();
+      throw e;
+    }
+  }
+
+  public synchronized int activeCount() {
+    return running;
+  }
+
+  public synchronized int queueSize() {
+    return queue.size();
+  }
+
+  /** Spring 关闭容器时调用（@Bean 推断的销毁方法）。 */
+  public void shutdown() {
+    shutdown(DEFAULT_SHUTDOWN_TIMEOUT);
+  }
+
+  /** @return 是否在超时前全部执行完 */
+  public boolean shutdown(Duration timeout) {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    synchronized (this) {
+      shutdown = true;
+      try {
+        while (running > 0) {
+          long remaining = deadline - System.nanoTime();
+          if (remaining <= 0) {
+            break;
+          }
+          wait(Math.max(1, remaining / 1_000_000));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      if (running == 0 && queue.isEmpty()) {
+        return true;
+      }
+      log.warn(
+          "executor {} shut down with unfinished tasks, running={}, dropped={}", name, running, queue.size());
+      queue.clear();
+      return false;
+    }
+  }
+
+  private void runWorker(Runnable first) {
+    var task = first;
+    boolean exited = false;
+    try {
+      while (true) {
+        try {
+          task.run();
+        } catch (RuntimeException e) {
+          log.warn("async task failed, executor={}", name, e);
+        }
+        synchronized (this) {
+          task = queue.pollFirst();
+          if (task == null) {
+            running--;
+            exited = true;
+            notifyAll();
+            return;
+          }
+        }
+      }
+    } finally {
+      if (!exited) {
+        // Error 逃逸：归还名额，剩余排队任务交给新的 worker
+        Runnable next;
+        synchronized (this) {
+          running--;
+          next = queue.pollFirst();
+          if (next != null) {
+            running++;
+          }
+          notifyAll();
+        }
+        if (next != null) {
+          startReplacement(next);
+        }
+      }
+    }
+  }
+
+  private void startReplacement(Runnable task) {
+    try {
+      threads.execute(() -> runWorker(task));
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        running--;
+        notifyAll();
+      }
+      rejected.increment();
+      log.error("failed to start replacement worker, executor={}, task dropped", name, e);
+    }
+  }
+}
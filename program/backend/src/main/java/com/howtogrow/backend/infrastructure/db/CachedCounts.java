@@ -0,0 +1,59 @@
+package com.howtogrow.backend.infrastructure.db;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * 后台列表总数的短时缓存：同一筛选条件翻页时只在首次（或过期后）执行 COUNT(*)。
+ *
+ * <p>总数因此最多滞后 {@link #TTL}，对后台分页展示足够；列表数据本身不缓存。
+ */
+@Component
+public class CachedCounts {
+  private static final Duration TTL = Duration.ofSeconds(30);
+  private static final int MAX_ENTRIES = 1_000;
+
+  private final Clock clock;
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+  public CachedCounts(Clock clock) {
+    this.clock = clock;
+  }
+
+  /** {@code key} 需包含列表名与全部筛选条件。 */
+  public long get(String key, LongSupplier loader) {
+    long now = clock.millis();
+    var entry = entries.get(key);
+    if (entry != null && entry.expiresAt() > now) {
+      return entry.count();
+    }
+    long count = loader.getAsLong();
+    if (entries.size() >= MAX_ENTRIES) {
+      entries.clear();
+    }
+    entries.put(key, new Entry(count, now + TTL.toMillis()));
+    return count;
+  }
+
+  /**
+   * 每个筛选值写成 “长度:值”，null 写成 {@code -}：关键字里含分隔符或字面量 "null" 时也不会与其他条件组合撞键。
+   */
+  public static String key(String list, Object... filters) {
+    var sb = new StringBuilder(list);
+    for (var f : filters) {
+      sb.append('|');
+      if (f == null) {
+        sb.append('-');
+      } else {
+        var value = f.toString();
+        sb.append(value.length()).append(':').append(value);
+      }
+    }
+    return sb.toString();
+  }
+
+  private record Entry(long count, long expiresAt) {}
+}
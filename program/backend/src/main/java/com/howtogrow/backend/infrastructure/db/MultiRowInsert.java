@@ -0,0 +1,110 @@
+package com.howtogrow.backend.infrastructure.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+/**
+ * 多行 INSERT：把一批记录拼成 {@code INSERT ... VALUES (...),(...)} 一条语句提交，每 {@link #CHUNK_ROWS} 行一次往返。
+ *
+ * <p>{@code valuesTemplate} 中的参数名以 {@code #} 结尾，例如 {@code (:content#, :sortNo#, NOW(3))}，
+ * 拼接时替换为行下标；{@link Binder} 按同样的 “参数名 + 下标” 绑定值。不带 {@code #} 的参数（如各行相同的外键）
+ * 通过 {@code shared} 只绑定一次。
+ */
+public final class MultiRowInsert {
+  static final int CHUNK_ROWS = 500;
+
+  private MultiRowInsert() {}
+
+  @FunctionalInterface
+  public interface Binder<T> {
+    void bind(MapSqlParameterSource params, int index, T row);
+  }
+
+  /** @return 影响行数之和 */
+  public static <T> int insert(
+      NamedParameterJdbcTemplate jdbc, String insertHead, String valuesTemplate, List<T> rows, Binder<T> binder) {
+    return insert(jdbc, insertHead, valuesTemplate, "", Map.of(), rows, binder);
+  }
+
+  /**
+   * @param tail 追加在 VALUES 之后的子句，如 {@code ON DUPLICATE KEY UPDATE ...}，没有时传空串
+   * @return 影响行数之和（ON DUPLICATE KEY UPDATE 时按 MySQL 规则计数）
+   */
+  public static <T> int insert(
+      NamedParameterJdbcTemplate jdbc,
+      String insertHead,
+      String valuesTemplate,
+      String tail,
+      Map<String, ?> shared,
+      List<T> rows,
+      Binder<T> binder) {
+    int updated = 0;
+    for (int from = 0; from < rows.size(); from += CHUNK_ROWS) {
+      var params = new MapSqlParameterSource(shared);
+      var sql = buildChunk(insertHead, valuesTemplate, rows, from, params, binder);
+      updated += jdbc.update(tail.isBlank() ? sql : sql + " " + tail.strip(), params);
+    }
+    return updated;
+  }
+
+  public static <T> List<Long> insertReturningKeys(
+      NamedParameterJdbcTemplate jdbc, String insertHead, String valuesTemplate, List<T> rows, Binder<T> binder) {
+    return insertReturningKeys(jdbc, insertHead, valuesTemplate, Map.of(), rows, binder);
+  }
+
+  /**
+   * 返回与 {@code rows} 同序的自增主键。
+   *
+   * <p>依赖同一条多行 INSERT 的自增值连续：行数已知的 simple insert 由 InnoDB 在语句开始时一次分配全部自增值，
+   * innodb_autoinc_lock_mode 为 0/1/2 时都连续（2 只会让行数未知的 INSERT ... SELECT 等批量插入出现间隙）；
+   * MySQL Connector/J 的 getGeneratedKeys 本身就是从 LAST_INSERT_ID 起按 auto_increment_increment 推算每行主键，
+   * 与这一保证一致。因此语句不能显式写 id，也不能带 IGNORE / ON DUPLICATE KEY UPDATE（被跳过或更新的行会让推算错位），
+   * 这里不提供 tail 参数；返回的主键数与行数不符时直接抛错。
+   */
+  public static <T> List<Long> insertReturningKeys(
+      NamedParameterJdbcTemplate jdbc,
+      String insertHead,
+      String valuesTemplate,
+      Map<String, ?> shared,
+      List<T> rows,
+      Binder<T> binder) {
+    var ids = new ArrayList<Long>(rows.size());
+    for (int from = 0; from < rows.size(); from += CHUNK_ROWS) {
+      var params = new MapSqlParameterSource(shared);
+      var kh = new GeneratedKeyHolder();
+      jdbc.update(buildChunk(insertHead, valuesTemplate, rows, from, params, binder), params, kh);
+      int expected = Math.min(CHUNK_ROWS, rows.size() - from);
+      var keys = kh.getKeyList();
+      if (keys.size() != expected) {
+        throw new IllegalStateException("expected " + expected + " generated keys, got " + keys.size());
+      }
+      for (var key : keys) {
+        ids.add(((Number) key.values().iterator().next()).longValue());
+      }
+    }
+    return ids;
+  }
+
+  private static <T> String buildChunk(
+      String insertHead,
+      String valuesTemplate,
+      List<T> rows,
+      int from,
+      MapSqlParameterSource params,
+      Binder<T> binder) {
+    int to = Math.min(rows.size(), from + CHUNK_ROWS);
+    var sql = new StringBuilder(insertHead.strip()).append(" VALUES ");
+    for (int i = from; i < to; i++) {
+      if (i > from) {
+        sql.append(',');
+      }
+      sql.append(valuesTemplate.replace("#", Integer.toString(i)));
+      binder.bind(params, i, rows.get(i));
+    }
+    return sql.toString();
+  }
+}
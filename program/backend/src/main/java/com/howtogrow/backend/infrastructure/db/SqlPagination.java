@@ -19,4 +19,17 @@ public final class SqlPagination {
     }
     return "LIMIT " + limit + " OFFSET " + offset;
   }
+
+  /**
+   * keyset 条件：{@code ORDER BY idColumn DESC} 的列表从游标之后（更小的 id）继续读，调用方绑定 {@code :cursor}。
+   * 没有游标时返回空串。
+   */
+  public static String idBefore(String idColumn, Long cursor) {
+    return cursor == null ? "" : " AND " + idColumn + " < :cursor ";
+  }
+
+  /** 有游标时只需 LIMIT（配合 {@link #idBefore}），扫描量与页码无关；否则退回 LIMIT/OFFSET。 */
+  public static String page(Long cursor, int offset, int limit) {
+    return cursor == null ? limitOffset(offset, limit) : limit(limit);
+  }
 }
@@ -0,0 +1,20 @@
+package com.howtogrow.backend.infrastructure.db;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * 大结果集的逐行读取：MySQL Connector/J 约定 {@code fetchSize = Integer.MIN_VALUE} 时不再把整个结果集缓冲进内存，
+ * 而是随 {@code ResultSet.next()} 从服务端流式拉取（只读、单向）。
+ *
+ * <p>结果集读完前该连接不能执行其他语句；回调里需要的附加查询会从连接池另取连接，因此调用方不要包在事务里。
+ */
+public final class StreamingJdbc {
+  private StreamingJdbc() {}
+
+  public static NamedParameterJdbcTemplate forwardOnly(NamedParameterJdbcTemplate jdbc) {
+    var template = new JdbcTemplate(jdbc.getJdbcTemplate().getDataSource());
+    template.setFetchSize(Integer.MIN_VALUE);
+    return new NamedParameterJdbcTemplate(template);
+  }
+}
@@ -0,0 +1,126 @@
+package com.howtogrow.backend.infrastructure.excel;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.xml.parsers.ParserConfigurationException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * 逐行读取 Excel 第一个工作表，单元格按 {@link DataFormatter} 格式化为文本（与界面上看到的一致）。
+ *
+ * <p>.xlsx 走 SAX 事件解析，不构建整本工作簿的对象模型，内存只与共享字符串表和当前行有关；
+ * 旧版 .xls 没有流式接口，退回 {@link WorkbookFactory}（该格式最多 65536 行）。完全没有单元格的行不会回调。
+ */
+public final class ExcelRowReader {
+  private ExcelRowReader() {}
+
+  /** {@code rowNum} 为 Excel 中的行号（从 1 开始）；{@code cells} 按列下标排列，缺失的单元格为空串。 */
+  public record SheetRow(int rowNum, List<String> cells) {
+    public String text(int columnIndex) {
+      if (columnIndex < 0 || columnIndex >= cells.size()) {
+        return "";
+      }
+      var v = cells.get(columnIndex);
+      return v == null ? "" : v;
+    }
+  }
+
+  public static void readFirstSheet(Path file, Consumer<SheetRow> consumer) throws IOException {
+    if (FileMagic.valueOf(file.toFile()) == FileMagic.OOXML) {
+      readXlsx(file, consumer);
+    } else {
+      readWithWorkbook(file, consumer);
+    }
+  }
+
+  private static void readXlsx(Path file, Consumer<SheetRow> consumer) throws IOException {
+    try (var pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+      var reader = new XSSFReader(pkg);
+      var strings = new ReadOnlySharedStringsTable(pkg);
+      var sheets = reader.getSheetsData();
+      if (!sheets.hasNext()) {
+        return;
+      }
+      try (var sheet = sheets.next()) {
+        var parser = XMLHelper.newXMLReader();
+        parser.setContentHandler(
+            new XSSFSheetXMLHandler(
+                reader.getStylesTable(), null, strings, new RowCollector(consumer), new DataFormatter(), false));
+        parser.parse(new InputSource(sheet));
+      }
+    } catch (OpenXML4JException | SAXException e) {
+      throw new IOException("invalid xlsx", e);
+    } catch (ParserConfigurationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void readWithWorkbook(Path file, Consumer<SheetRow> consumer) throws IOException {
+    var formatter = new DataFormatter();
+    try (var workbook = WorkbookFactory.create(file.toFile(), null, true)) {
+      if (workbook.getNumberOfSheets() == 0) {
+        return;
+      }
+      for (var row : workbook.getSheetAt(0)) {
+        var cells = new ArrayList<String>(Math.max(0, row.getLastCellNum()));
+        for (int c = 0; c < row.getLastCellNum(); c++) {
+          var cell = row.getCell(c);
+          cells.add(cell == null ? "" : formatter.formatCellValue(cell));
+        }
+        consumer.accept(new SheetRow(row.getRowNum() + 1, cells));
+      }
+    }
+  }
+
+  private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+    private final Consumer<SheetRow> consumer;
+    private List<String> cells;
+    private int lastColumn;
+
+    private RowCollector(Consumer<SheetRow> consumer) {
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void startRow(int rowNum) {
+      cells = new ArrayList<>();
+      lastColumn = -1;
+    }
+
+    @Override
+    public void endRow(int rowNum) {
+      consumer.accept(new SheetRow(rowNum + 1, cells));
+    }
+
+    @Override
+    public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+      // 部分工具生成的文件省略单元格引用，此时按上一列顺延
+      int column = cellReference == null ? lastColumn + 1 : new CellReference(cellReference).getCol();
+      while (cells.size() < column) {
+        cells.add("");
+      }
+      if (cells.size() == column) {
+        cells.add(formattedValue == null ? "" : formattedValue);
+      } else {
+        cells.set(column, formattedValue == null ? "" : formattedValue);
+      }
+      lastColumn = column;
+    }
+  }
+}
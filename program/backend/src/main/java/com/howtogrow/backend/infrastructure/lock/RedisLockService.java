@@ -21,6 +21,17 @@ public class RedisLockService {
           """,
           Long.class);
 
+  private static final DefaultRedisScript<Long> RENEW_SCRIPT =
+      new DefaultRedisScript<>(
+          """
+          if redis.call('get', KEYS[1]) == ARGV[1] then
+            return redis.call('pexpire', KEYS[1], ARGV[2])
+          else
+            return 0
+          end
+          """,
+          Long.class);
+
   private final StringRedisTemplate redis;
 
   public RedisLockService(StringRedisTemplate redis) {
@@ -35,6 +46,14 @@ public class RedisLockService {
     return Boolean.TRUE.equals(ok) ? Optional.of(token) : Optional.empty();
   }
 
+  /** 仍持有锁时把过期时间重置为 ttl；返回 false 表示锁已过期或被他人持有。 */
+  public boolean renew(String key, String token, Duration ttl) {
+    if (key == null || key.isBlank()) return false;
+    if (token == null || token.isBlank()) return false;
+    Long ok = redis.execute(RENEW_SCRIPT, List.of(key), token, String.valueOf(ttl.toMillis()));
+    return ok != null && ok == 1L;
+  }
+
   public void unlock(String key, String token) {
     if (key == null || key.isBlank()) return;
     if (token == null || token.isBlank()) return;
@@ -0,0 +1,89 @@
+package com.howtogrow.backend.infrastructure.oss;
+
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.model.CannedAccessControlList;
+import com.aliyun.oss.model.ObjectMetadata;
+import com.aliyun.oss.model.PutObjectRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+/**
+ * 私有读写的 OSS 对象（如后台导出结果）：不设公共读，只能经服务端鉴权后读取，集群内任一节点都能访问。
+ */
+@Service
+public class OssPrivateStorage {
+  private final OssProperties props;
+  private final ObjectProvider<OSS> ossProvider;
+
+  public OssPrivateStorage(OssProperties props, ObjectProvider<OSS> ossProvider) {
+    this.props = props;
+    this.ossProvider = ossProvider;
+  }
+
+  public boolean enabled() {
+    return props.enabled() && ossProvider.getIfAvailable() != null;
+  }
+
+  public void upload(String objectKey, Path file, String contentType) throws IOException {
+    var metadata = new ObjectMetadata();
+    metadata.setContentLength(Files.size(file));
+    metadata.setContentType(contentType);
+    metadata.setObjectAcl(CannedAccessControlList.Private);
+    try (var in = Files.newInputStream(file)) {
+      oss().putObject(new PutObjectRequest(props.bucket(), objectKey, in, metadata));
+    }
+  }
+
+  /** 每次 {@link Resource#getInputStream()} 都重新拉取对象；长度由调用方提供，供 Range 请求计算分段。 */
+  public Resource resource(String objectKey, long contentLength) {
+    return new ObjectResource(objectKey, contentLength);
+  }
+
+  public void delete(String objectKey) {
+    oss().deleteObject(props.bucket(), objectKey);
+  }
+
+  private OSS oss() {
+    var oss = ossProvider.getIfAvailable();
+    if (oss == null) {
+      throw new IllegalStateException("OSS client is not available");
+    }
+    return oss;
+  }
+
+  private final class ObjectResource extends AbstractResource {
+    private final String objectKey;
+    private final long contentLength;
+
+    private ObjectResource(String objectKey, long contentLength) {
+      this.objectKey = objectKey;
+      this.contentLength = contentLength;
+    }
+
+    @Override
+    public boolean exists() {
+      return true;
+    }
+
+    @Override
+    public long contentLength() {
+      return contentLength;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+      return oss().getObject(props.bucket(), objectKey).getObjectContent();
+    }
+
+    @Override
+    public String getDescription() {
+      return "OSS object [" + objectKey + "]";
+    }
+  }
+}
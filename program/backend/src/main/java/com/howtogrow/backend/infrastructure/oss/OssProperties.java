@@ -11,4 +11,5 @@ public record OssProperties(
     String bucket,
     String publicBaseUrl,
     String avatarPrefix,
-    String diaryPrefix) {}
+    String diaryPrefix,
+    String exportPrefix) {}
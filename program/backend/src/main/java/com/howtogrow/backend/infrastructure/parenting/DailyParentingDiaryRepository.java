@@ -3,7 +3,6 @@ package com.howtogrow.backend.infrastructure.parenting;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.springframework.jdbc.core.RowMapper;
@@ -22,23 +21,6 @@ public class DailyParentingDiaryRepository {
     this.jdbc = jdbc;
   }
 
-  public List<DiaryRow> listByUserChildBetween(long userId, long childId, LocalDate fromInclusive, LocalDate toInclusive) {
-    var sql =
-        """
-        SELECT record_date, content, image_url
-        FROM daily_parenting_diary
-        WHERE user_id = :userId
-          AND child_id = :childId
-          AND record_date >= :fromInclusive
-          AND record_date <= :toInclusive
-        ORDER BY record_date ASC
-        """;
-    return jdbc.query(
-        sql,
-        Map.of("userId", userId, "childId", childId, "fromInclusive", fromInclusive, "toInclusive", toInclusive),
-        ROW_MAPPER);
-  }
-
   public Optional<DiaryRow> findByUserChildDate(long userId, long childId, LocalDate recordDate) {
     var sql =
         """
@@ -1,7 +1,6 @@
 package com.howtogrow.backend.infrastructure.parenting;
 
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -61,30 +60,6 @@ public class DailyParentingStatusRepository {
     return rows.stream().findFirst();
   }
 
-  public Map<LocalDate, String> findStatusCodeByDayBetween(
-      long userId, long childId, LocalDate fromInclusive, LocalDate toInclusive) {
-    var sql =
-        """
-        SELECT record_date, status_code
-        FROM daily_parenting_status
-        WHERE user_id = :userId
-          AND child_id = :childId
-          AND record_date >= :fromInclusive
-          AND record_date <= :toInclusive
-        ORDER BY record_date ASC
-        """;
-    var rows =
-        jdbc.query(
-            sql,
-            Map.of("userId", userId, "childId", childId, "fromInclusive", fromInclusive, "toInclusive", toInclusive),
-            (rs, rowNum) -> Map.entry(rs.getDate("record_date").toLocalDate(), rs.getString("status_code")));
-    var map = new HashMap<LocalDate, String>();
-    for (var e : rows) {
-      map.put(e.getKey(), e.getValue());
-    }
-    return map;
-  }
-
   private Optional<Long> findId(long userId, long childId, LocalDate recordDate) {
     var sql =
         """
@@ -0,0 +1,69 @@
+package com.howtogrow.backend.infrastructure.question;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * 选项 -> 维度分值缓存。
+ *
+ * <p>题目编辑时旧选项整体软删并重建（新 option_id），因此同一 option_id 的维度分值不会变化，无需失效，只做容量淘汰。
+ */
+@Component
+public class OptionDimensionScoreCache {
+  private static final int MAX_ENTRIES = 20_000;
+
+  private final QuestionOptionRepository optionRepo;
+  private final Map<Long, List<DimensionScore>> cache =
+      new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<DimensionScore>> eldest) {
+          return size() > MAX_ENTRIES;
+        }
+      };
+
+  public OptionDimensionScoreCache(QuestionOptionRepository optionRepo) {
+    this.optionRepo = optionRepo;
+  }
+
+  /** @return optionId -> 维度分值（选项未配置维度时为空列表） */
+  public Map<Long, List<DimensionScore>> getAll(List<Long> optionIds) {
+    var out = new HashMap<Long, List<DimensionScore>>(optionIds.size() * 2);
+    var missing = new ArrayList<Long>();
+    synchronized (cache) {
+      for (var optionId : optionIds) {
+        var hit = cache.get(optionId);
+        if (hit != null) {
+          out.put(optionId, hit);
+        } else {
+          missing.add(optionId);
+        }
+      }
+    }
+    if (missing.isEmpty()) {
+      return out;
+    }
+
+    var loaded = new HashMap<Long, List<DimensionScore>>(missing.size() * 2);
+    for (var optionId : missing) {
+      loaded.put(optionId, new ArrayList<>());
+    }
+    for (var row : optionRepo.listDimensionScores(missing)) {
+      loaded.get(row.optionId()).add(new DimensionScore(row.dimensionCode(), row.score()));
+    }
+    synchronized (cache) {
+      loaded.forEach(
+          (optionId, scores) -> {
+            var frozen = List.copyOf(scores);
+            cache.put(optionId, frozen);
+            out.put(optionId, frozen);
+          });
+    }
+    return out;
+  }
+
+  public record DimensionScore(String dimensionCode, int score) {}
+}
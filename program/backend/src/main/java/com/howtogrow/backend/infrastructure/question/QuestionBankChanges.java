@@ -0,0 +1,78 @@
+package com.howtogrow.backend.infrastructure.question;
+
+import com.howtogrow.backend.infrastructure.cache.CacheInvalidationBus;
+import com.howtogrow.backend.infrastructure.db.AfterCommit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+
+/**
+ * 题库变更通知：事务提交后刷新本节点的抽题索引与题目目录缓存，并广播给其它节点。
+ */
+@Component
+public class QuestionBankChanges {
+  static final String TOPIC = "question_bank";
+  private static final String QUESTIONS = "Q:";
+  private static final String SCENES = "S:";
+
+  private final QuestionPoolIndex questionPool;
+  private final QuestionCatalogCache catalog;
+  private final CacheInvalidationBus bus;
+
+  public QuestionBankChanges(QuestionPoolIndex questionPool, QuestionCatalogCache catalog, CacheInvalidationBus bus) {
+    this.questionPool = questionPool;
+    this.catalog = catalog;
+    this.bus = bus;
+    bus.subscribe(TOPIC, this::onRemoteChange);
+  }
+
+  public void questionsChanged(Collection<Long> questionIds) {
+    if (questionIds == null || questionIds.isEmpty()) {
+      return;
+    }
+    var ids = List.copyOf(questionIds);
+    AfterCommit.run(
+        () -> {
+          questionPool.refreshQuestions(ids);
+          catalog.invalidateAll();
+          bus.publish(TOPIC, QUESTIONS + join(ids));
+        });
+  }
+
+  public void troubleScenesRemoved(Collection<Long> sceneIds) {
+    if (sceneIds == null || sceneIds.isEmpty()) {
+      return;
+    }
+    var ids = List.copyOf(sceneIds);
+    AfterCommit.run(
+        () -> {
+          questionPool.removeTroubleScenes(ids);
+          bus.publish(TOPIC, SCENES + join(ids));
+        });
+  }
+
+  private void onRemoteChange(String payload) {
+    if (payload.startsWith(QUESTIONS)) {
+      questionPool.refreshQuestions(split(payload.substring(QUESTIONS.length())));
+      catalog.invalidateAll();
+    } else if (payload.startsWith(SCENES)) {
+      questionPool.removeTroubleScenes(split(payload.substring(SCENES.length())));
+    }
+  }
+
+  private static String join(List<Long> ids) {
+    return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+  }
+
+  private static List<Long> split(String csv) {
+    var out = new ArrayList<Long>();
+    for (var part : csv.split(",")) {
+      if (!part.isBlank()) {
+        out.add(Long.parseLong(part.trim()));
+      }
+    }
+    return out;
+  }
+}
@@ -0,0 +1,135 @@
+package com.howtogrow.backend.infrastructure.question;
+
+import com.howtogrow.backend.config.DailyAssessmentProperties;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * 题目 + 选项的只读目录缓存（按题目ID，LRU 容量淘汰）。
+ *
+ * <p>条目记录加载时的全局版本号；题库写操作经 {@link QuestionBankChanges} 递增版本（含其它节点），旧版本条目视为未命中。
+ * 跨节点广播可能丢失，条目另有与抽题索引相同的存活时间兜底，过期后重新加载。
+ */
+@Component
+public class QuestionCatalogCache {
+  private static final int MAX_ENTRIES = 5_000;
+  private static final long DEFAULT_TTL_SECONDS = 300;
+
+  private final QuestionViewRepository viewRepo;
+  private final Clock clock;
+  private final long ttlMillis;
+  private final AtomicLong version = new AtomicLong();
+  private final Map<Long, Entry> cache =
+      new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+          return size() > MAX_ENTRIES;
+        }
+      };
+
+  public QuestionCatalogCache(QuestionViewRepository viewRepo, DailyAssessmentProperties properties, Clock clock) {
+    this.viewRepo = viewRepo;
+    this.clock = clock;
+    var seconds = properties.questionPoolRefreshSeconds();
+    this.ttlMillis = (seconds > 0 ? seconds : DEFAULT_TTL_SECONDS) * 1000;
+  }
+
+  /** @return questionId -> 题目（没有任何选项的题目不在结果中） */
+  public Map<Long, CatalogQuestion> getAll(Collection<Long> questionIds) {
+    var out = new HashMap<Long, CatalogQuestion>(questionIds.size() * 2);
+    var missing = new ArrayList<Long>();
+    long current = version.get();
+    long now = clock.millis();
+    synchronized (cache) {
+      for (var questionId : questionIds) {
+        var hit = cache.get(questionId);
+        if (hit != null && hit.version == current && now < hit.expiresAtMillis) {
+          out.put(questionId, hit.question);
+        } else {
+          missing.add(questionId);
+        }
+      }
+    }
+    if (missing.isEmpty()) {
+      return out;
+    }
+
+    var loaded = toQuestions(viewRepo.listQuestionOptionRows(missing));
+    synchronized (cache) {
+      loaded.forEach(
+          (questionId, question) -> {
+            cache.put(questionId, new Entry(current, now + ttlMillis, question));
+            out.put(questionId, question);
+          });
+    }
+    return out;
+  }
+
+  public long version() {
+    return version.get();
+  }
+
+  public void invalidateAll() {
+    version.incrementAndGet();
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  private static Map<Long, CatalogQuestion> toQuestions(List<QuestionViewRepository.QuestionOptionRow> rows) {
+    var optionsByQuestion = new LinkedHashMap<Long, List<QuestionViewRepository.QuestionOptionRow>>();
+    for (var row : rows) {
+      optionsByQuestion.computeIfAbsent(row.questionId(), k -> new ArrayList<>()).add(row);
+    }
+    var out = new HashMap<Long, CatalogQuestion>(optionsByQuestion.size() * 2);
+    optionsByQuestion.forEach(
+        (questionId, optionRows) -> {
+          var first = optionRows.get(0);
+          var options =
+              optionRows.stream()
+                  .map(
+                      r ->
+                          new CatalogOption(
+                              r.optionId(),
+                              r.optionContent(),
+                              r.optionSortNo(),
+                              r.suggestFlag(),
+                              r.improvementTip(),
+                              r.optionActive()))
+                  .toList();
+          out.put(
+              questionId,
+              new CatalogQuestion(
+                  questionId, first.questionContent(), first.questionType(), first.questionActive(), options));
+        });
+    return out;
+  }
+
+  private record Entry(long version, long expiresAtMillis, CatalogQuestion question) {}
+
+  /**
+   * @param options 全部选项（含已删除，按 sortNo、id 升序），用于历史记录回显
+   * @param activeOptions 当前有效选项，用于出题
+   */
+  public record CatalogQuestion(
+      long id,
+      String content,
+      String questionType,
+      boolean active,
+      List<CatalogOption> options,
+      List<CatalogOption> activeOptions) {
+    public CatalogQuestion(long id, String content, String questionType, boolean active, List<CatalogOption> options) {
+      this(id, content, questionType, active, options, options.stream().filter(CatalogOption::active).toList());
+    }
+  }
+
+  public record CatalogOption(
+      long id, String content, int sortNo, int suggestFlag, String improvementTip, boolean active) {}
+}
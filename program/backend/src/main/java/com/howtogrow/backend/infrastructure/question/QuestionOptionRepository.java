@@ -13,20 +13,23 @@ public class QuestionOptionRepository {
     this.jdbc = jdbc;
   }
 
-  public boolean optionsBelongToQuestion(long questionId, List<Long> optionIds) {
+  public List<OptionDimensionScoreRow> listDimensionScores(List<Long> optionIds) {
     if (optionIds == null || optionIds.isEmpty()) {
-      return false;
+      return List.of();
     }
     var sql =
         """
-        SELECT COUNT(*)
-        FROM question_option
-        WHERE question_id = :questionId AND deleted_at IS NULL
-          AND id IN (:optionIds)
+        SELECT option_id, dimension_code, score
+        FROM option_dimension_score
+        WHERE option_id IN (:optionIds)
         """;
-    Integer count =
-        jdbc.queryForObject(sql, Map.of("questionId", questionId, "optionIds", optionIds), Integer.class);
-    return count != null && count == optionIds.size();
+    return jdbc.query(
+        sql,
+        Map.of("optionIds", optionIds),
+        (rs, rowNum) ->
+            new OptionDimensionScoreRow(
+                rs.getLong("option_id"), rs.getString("dimension_code"), rs.getInt("score")));
   }
-}
 
+  public record OptionDimensionScoreRow(long optionId, String dimensionCode, int score) {}
+}
@@ -0,0 +1,404 @@
+package com.howtogrow.backend.infrastructure.question;
+
+import com.howtogrow.backend.config.DailyAssessmentProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 每日自测抽题索引：按「年龄 / 烦恼场景 + 年龄」维护启用题目的 ID 数组，抽题不再访问数据库。
+ *
+ * <p>题库写操作提交后（含其它节点经 {@link QuestionBankChanges} 广播的写操作）增量刷新受影响的题目；另按配置周期做一次全量重建兜底。
+ * 只有首次加载在请求线程上同步进行；快照过期后继续返回旧快照，由后台任务单飞重建。
+ */
+@Component
+public class QuestionPoolIndex {
+  private static final Logger log = LoggerFactory.getLogger(QuestionPoolIndex.class);
+  private static final int MAX_AGE = 18;
+  private static final long DEFAULT_REFRESH_SECONDS = 300;
+  private static final long[] EMPTY = new long[0];
+
+  private final QuestionRepository questionRepo;
+  private final DailyAssessmentProperties properties;
+  private final Clock clock;
+  private final TaskExecutor taskExecutor;
+  private final Object lock = new Object();
+  private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+  private volatile Snapshot snapshot;
+
+  public QuestionPoolIndex(
+      QuestionRepository questionRepo, DailyAssessmentProperties properties, Clock clock, TaskExecutor taskExecutor) {
+    this.questionRepo = questionRepo;
+    this.properties = properties;
+    this.clock = clock;
+    this.taskExecutor = taskExecutor;
+  }
+
+  public List<Long> pickRandom(int ageYear, Collection<Long> excludedQuestionIds, int limit) {
+    if (limit <= 0) {
+      return List.of();
+    }
+    return sample(current().byAge(ageYear), excludedQuestionIds, limit);
+  }
+
+  public List<Long> pickRandomByTroubleScenes(
+      int ageYear, Collection<Long> troubleSceneIds, Collection<Long> excludedQuestionIds, int limit) {
+    if (limit <= 0 || troubleSceneIds == null || troubleSceneIds.isEmpty()) {
+      return List.of();
+    }
+    var s = current();
+    if (troubleSceneIds.size() == 1) {
+      return sample(s.bySceneAge(troubleSceneIds.iterator().next(), ageYear), excludedQuestionIds, limit);
+    }
+    var merged = new LongBuffer();
+    var seen = new HashSet<Long>();
+    for (var sceneId : troubleSceneIds) {
+      for (var id : s.bySceneAge(sceneId, ageYear)) {
+        if (seen.add(id)) {
+          merged.add(id);
+        }
+      }
+    }
+    return sample(merged.toArray(), excludedQuestionIds, limit);
+  }
+
+  /** 重新加载指定题目并增量更新受影响的桶；由 {@link QuestionBankChanges} 在事务提交后调用。 */
+  public void refreshQuestions(Collection<Long> questionIds) {
+    if (questionIds == null || questionIds.isEmpty()) {
+      return;
+    }
+    synchronized (lock) {
+      var s = snapshot;
+      if (s == null) {
+        return;
+      }
+      var ids = List.copyOf(questionIds);
+      var loaded = toEntries(questionRepo.listPoolQuestions(ids), questionRepo.listPoolQuestionScenes(ids));
+      snapshot = s.apply(new HashSet<>(ids), loaded);
+    }
+  }
+
+  /** 烦恼场景删除后调用：关联题目的场景归属随之变化。 */
+  public void removeTroubleScenes(Collection<Long> sceneIds) {
+    if (sceneIds == null || sceneIds.isEmpty()) {
+      return;
+    }
+    var s = snapshot;
+    if (s == null) {
+      return;
+    }
+    var affected = new HashSet<Long>();
+    for (var sceneId : sceneIds) {
+      for (var byAge : s.sceneBuckets.getOrDefault(sceneId, new long[0][])) {
+        for (var questionId : byAge) {
+          affected.add(questionId);
+        }
+      }
+    }
+    refreshQuestions(affected);
+  }
+
+  private Snapshot current() {
+    var s = snapshot;
+    if (s == null) {
+      synchronized (lock) {
+        s = snapshot;
+        if (s == null) {
+          s = rebuild();
+        }
+        return s;
+      }
+    }
+    if (!Instant.now(clock).isBefore(s.expiresAt)) {
+      scheduleRebuild();
+    }
+    return s;
+  }
+
+  private void scheduleRebuild() {
+    if (!rebuilding.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      taskExecutor.execute(
+          () -> {
+            try {
+              synchronized (lock) {
+                var s = snapshot;
+                if (s == null || !Instant.now(clock).isBefore(s.expiresAt)) {
+                  rebuild();
+                }
+              }
+            } catch (RuntimeException e) {
+              log.warn("question pool rebuild failed", e);
+            } finally {
+              rebuilding.set(false);
+            }
+          });
+    } catch (TaskRejectedException e) {
+      // 执行器已满：继续使用旧快照，下次请求再尝试
+      rebuilding.set(false);
+    }
+  }
+
+  /** 需持有 lock：全量重建与增量刷新串行，避免较早读到的全量结果覆盖已提交的增量变更。 */
+  private Snapshot rebuild() {
+    var entries = toEntries(questionRepo.listPoolQuestions(), questionRepo.listPoolQuestionScenes());
+    var s = Snapshot.build(entries, Instant.now(clock).plus(refreshInterval()));
+    snapshot = s;
+    return s;
+  }
+
+  private Duration refreshInterval() {
+    var seconds = properties.questionPoolRefreshSeconds();
+    return Duration.ofSeconds(seconds > 0 ? seconds : DEFAULT_REFRESH_SECONDS);
+  }
+
+  private static Map<Long, PoolEntry> toEntries(
+      List<QuestionRepository.PoolQuestionRow> questions, List<QuestionRepository.PoolSceneRow> scenes) {
+    var sceneIdsByQuestion = new HashMap<Long, LongBuffer>();
+    for (var row : scenes) {
+      sceneIdsByQuestion.computeIfAbsent(row.questionId(), k -> new LongBuffer()).add(row.sceneId());
+    }
+    var out = new HashMap<Long, PoolEntry>(questions.size() * 2);
+    for (var q : questions) {
+      var sceneIds = sceneIdsByQuestion.get(q.id());
+      out.put(
+          q.id(),
+          new PoolEntry(
+              q.id(),
+              Math.max(0, q.minAge()),
+              Math.min(MAX_AGE, q.maxAge()),
+              sceneIds == null ? EMPTY : sceneIds.toArray()));
+    }
+    return out;
+  }
+
+  /**
+   * 从 pool 中无放回随机抽取 limit 个不在 excluded 中的 ID（Floyd 抽样，O(limit + |excluded|)）。
+   *
+   * <p>多抽 |excluded| 个即可保证过滤后仍有 limit 个（池子足够大时）。
+   */
+  static List<Long> sample(long[] pool, Collection<Long> excluded, int limit) {
+    var excludedSet = excluded == null || excluded.isEmpty() ? Set.<Long>of() : Set.copyOf(excluded);
+    int n = pool.length;
+    int want = Math.min(n, limit + excludedSet.size());
+    if (want <= 0) {
+      return List.of();
+    }
+    var rnd = ThreadLocalRandom.current();
+    var pickedIndexes = new HashSet<Integer>(want * 2);
+    var picked = new ArrayList<Long>(want);
+    for (int j = n - want; j < n; j++) {
+      int t = rnd.nextInt(j + 1);
+      int idx = pickedIndexes.add(t) ? t : j;
+      if (idx == j) {
+        pickedIndexes.add(j);
+      }
+      picked.add(pool[idx]);
+    }
+    Collections.shuffle(picked, rnd);
+
+    var out = new ArrayList<Long>(Math.min(limit, picked.size()));
+    for (var id : picked) {
+      if (out.size() >= limit) {
+        break;
+      }
+      if (!excludedSet.contains(id)) {
+        out.add(id);
+      }
+    }
+    return out;
+  }
+
+  private record PoolEntry(long id, int minAge, int maxAge, long[] sceneIds) {}
+
+  private static final class Snapshot {
+    private final Map<Long, PoolEntry> entries;
+    private final long[][] ageBuckets;
+    private final Map<Long, long[][]> sceneBuckets;
+    private final Instant expiresAt;
+
+    private Snapshot(
+        Map<Long, PoolEntry> entries, long[][] ageBuckets, Map<Long, long[][]> sceneBuckets, Instant expiresAt) {
+      this.entries = entries;
+      this.ageBuckets = ageBuckets;
+      this.sceneBuckets = sceneBuckets;
+      this.expiresAt = expiresAt;
+    }
+
+    long[] byAge(int ageYear) {
+      if (ageYear < 0 || ageYear > MAX_AGE) {
+        return EMPTY;
+      }
+      return ageBuckets[ageYear];
+    }
+
+    long[] bySceneAge(Long sceneId, int ageYear) {
+      if (sceneId == null || ageYear < 0 || ageYear > MAX_AGE) {
+        return EMPTY;
+      }
+      var byAge = sceneBuckets.get(sceneId);
+      return byAge == null ? EMPTY : byAge[ageYear];
+    }
+
+    static Snapshot build(Map<Long, PoolEntry> entries, Instant expiresAt) {
+      var ages = newBuffers();
+      var scenes = new HashMap<Long, LongBuffer[]>();
+      for (var e : entries.values()) {
+        for (int age = e.minAge; age <= e.maxAge; age++) {
+          ages[age].add(e.id);
+        }
+        for (var sceneId : e.sceneIds) {
+          var byAge = scenes.computeIfAbsent(sceneId, k -> newBuffers());
+          for (int age = e.minAge; age <= e.maxAge; age++) {
+            byAge[age].add(e.id);
+          }
+        }
+      }
+      var sceneBuckets = new HashMap<Long, long[][]>(scenes.size() * 2);
+      scenes.forEach((sceneId, byAge) -> sceneBuckets.put(sceneId, toArrays(byAge)));
+      return new Snapshot(entries, toArrays(ages), sceneBuckets, expiresAt);
+    }
+
+    /** 仅重建受影响的 (场景, 年龄) 桶：旧桶剔除变更题目，再追加变更后仍启用的题目。 */
+    Snapshot apply(Set<Long> changedIds, Map<Long, PoolEntry> loaded) {
+      var nextEntries = new HashMap<>(entries);
+      var touched = new ArrayList<PoolEntry>();
+      for (var id : changedIds) {
+        var old = nextEntries.remove(id);
+        if (old != null) {
+          touched.add(old);
+        }
+      }
+      nextEntries.putAll(loaded);
+      touched.addAll(loaded.values());
+      if (touched.isEmpty()) {
+        return this;
+      }
+
+      var touchedAges = new boolean[MAX_AGE + 1];
+      var touchedScenes = new HashMap<Long, boolean[]>();
+      for (var e : touched) {
+        for (int age = e.minAge; age <= e.maxAge; age++) {
+          touchedAges[age] = true;
+        }
+        for (var sceneId : e.sceneIds) {
+          var flags = touchedScenes.computeIfAbsent(sceneId, k -> new boolean[MAX_AGE + 1]);
+          for (int age = e.minAge; age <= e.maxAge; age++) {
+            flags[age] = true;
+          }
+        }
+      }
+
+      var nextAges = ageBuckets.clone();
+      for (int age = 0; age <= MAX_AGE; age++) {
+        if (touchedAges[age]) {
+          nextAges[age] = rebuildBucket(ageBuckets[age], changedIds, loaded.values(), age, null);
+        }
+      }
+
+      var nextScenes = new HashMap<>(sceneBuckets);
+      touchedScenes.forEach(
+          (sceneId, flags) -> {
+            var old = sceneBuckets.get(sceneId);
+            var byAge = old == null ? emptyBuckets() : old.clone();
+            boolean nonEmpty = false;
+            for (int age = 0; age <= MAX_AGE; age++) {
+              if (flags[age]) {
+                byAge[age] = rebuildBucket(byAge[age], changedIds, loaded.values(), age, sceneId);
+              }
+              nonEmpty |= byAge[age].length > 0;
+            }
+            if (nonEmpty) {
+              nextScenes.put(sceneId, byAge);
+            } else {
+              nextScenes.remove(sceneId);
+            }
+          });
+      return new Snapshot(nextEntries, nextAges, nextScenes, expiresAt);
+    }
+
+    private static long[] rebuildBucket(
+        long[] old, Set<Long> changedIds, Collection<PoolEntry> loaded, int age, Long sceneId) {
+      var buf = new LongBuffer();
+      for (var id : old) {
+        if (!changedIds.contains(id)) {
+          buf.add(id);
+        }
+      }
+      for (var e : loaded) {
+        if (age >= e.minAge && age <= e.maxAge && (sceneId == null || contains(e.sceneIds, sceneId))) {
+          buf.add(e.id);
+        }
+      }
+      return buf.toArray();
+    }
+
+    private static boolean contains(long[] values, long target) {
+      for (var v : values) {
+        if (v == target) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private static LongBuffer[] newBuffers() {
+      var out = new LongBuffer[MAX_AGE + 1];
+      for (int i = 0; i < out.length; i++) {
+        out[i] = new LongBuffer();
+      }
+      return out;
+    }
+
+    private static long[][] emptyBuckets() {
+      var out = new long[MAX_AGE + 1][];
+      for (int i = 0; i < out.length; i++) {
+        out[i] = EMPTY;
+      }
+      return out;
+    }
+
+    private static long[][] toArrays(LongBuffer[] buffers) {
+      var out = new long[buffers.length][];
+      for (int i = 0; i < buffers.length; i++) {
+        out[i] = buffers[i].toArray();
+      }
+      return out;
+    }
+  }
+
+  private static final class LongBuffer {
+    private long[] values = new long[8];
+    private int size;
+
+    void add(long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    long[] toArray() {
+      return size == 0 ? EMPTY : Arrays.copyOf(values, size);
+    }
+  }
+}
@@ -1,9 +1,10 @@
 package com.howtogrow.backend.infrastructure.question;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import com.howtogrow.backend.infrastructure.db.SqlPagination;
+import java.util.Set;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
@@ -15,109 +16,108 @@ public class QuestionRepository {
     this.jdbc = jdbc;
   }
 
-  public List<Long> pickRandomQuestionIds(int ageYear, int limit) {
+  public List<PoolQuestionRow> listPoolQuestions() {
     var sql =
         """
-        SELECT id
+        SELECT id, min_age, max_age
         FROM question
-        WHERE min_age <= :ageYear AND max_age >= :ageYear
-          AND status = 1
+        WHERE status = 1
           AND deleted_at IS NULL
-        ORDER BY RAND()
         """;
-    sql = sql + SqlPagination.limit(limit);
-    return jdbc.queryForList(sql, Map.of("ageYear", ageYear), Long.class);
+    return jdbc.query(
+        sql,
+        Map.of(),
+        (rs, rowNum) -> new PoolQuestionRow(rs.getLong("id"), rs.getInt("min_age"), rs.getInt("max_age")));
   }
 
-  public Optional<Long> pickRandomQuestionIdExcluding(int ageYear, List<Long> excludedQuestionIds) {
-    if (excludedQuestionIds == null || excludedQuestionIds.isEmpty()) {
-      return pickRandomQuestionIds(ageYear, 1).stream().findFirst();
+  public List<PoolQuestionRow> listPoolQuestions(List<Long> questionIds) {
+    if (questionIds == null || questionIds.isEmpty()) {
+      return List.of();
     }
     var sql =
         """
-        SELECT id
+        SELECT id, min_age, max_age
         FROM question
-        WHERE min_age <= :ageYear AND max_age >= :ageYear
+        WHERE id IN (:questionIds)
           AND status = 1
           AND deleted_at IS NULL
-          AND id NOT IN (:excludedIds)
-        ORDER BY RAND()
-        LIMIT 1
         """;
-    var rows =
-        jdbc.queryForList(
-            sql, Map.of("ageYear", ageYear, "excludedIds", excludedQuestionIds), Long.class);
-    return rows.stream().findFirst();
+    return jdbc.query(
+        sql,
+        Map.of("questionIds", questionIds),
+        (rs, rowNum) -> new PoolQuestionRow(rs.getLong("id"), rs.getInt("min_age"), rs.getInt("max_age")));
   }
 
-  public List<Long> pickRandomQuestionIdsExcluding(int ageYear, List<Long> excludedQuestionIds, int limit) {
-    if (limit <= 0) {
-      return List.of();
-    }
-    if (excludedQuestionIds == null || excludedQuestionIds.isEmpty()) {
-      return pickRandomQuestionIds(ageYear, limit);
-    }
+  public List<PoolSceneRow> listPoolQuestionScenes() {
     var sql =
         """
-        SELECT id
-        FROM question
-        WHERE min_age <= :ageYear AND max_age >= :ageYear
-          AND status = 1
-          AND deleted_at IS NULL
-          AND id NOT IN (:excludedIds)
-        ORDER BY RAND()
-        """
-            + SqlPagination.limit(limit);
-    return jdbc.queryForList(
-        sql, Map.of("ageYear", ageYear, "excludedIds", excludedQuestionIds), Long.class);
+        SELECT qts.question_id, qts.scene_id
+        FROM question_trouble_scene qts
+        JOIN question q ON q.id = qts.question_id
+        WHERE q.status = 1
+          AND q.deleted_at IS NULL
+        """;
+    return jdbc.query(
+        sql,
+        Map.of(),
+        (rs, rowNum) -> new PoolSceneRow(rs.getLong("question_id"), rs.getLong("scene_id")));
   }
 
-  public List<Long> pickRandomQuestionIdsByTroubleScenes(
-      int ageYear, List<Long> troubleSceneIds, List<Long> excludedQuestionIds, int limit) {
-    if (limit <= 0) {
+  public List<PoolSceneRow> listPoolQuestionScenes(List<Long> questionIds) {
+    if (questionIds == null || questionIds.isEmpty()) {
       return List.of();
     }
-    if (troubleSceneIds == null || troubleSceneIds.isEmpty()) {
-      return List.of();
-    }
-
-    var params = new java.util.HashMap<String, Object>();
-    params.put("ageYear", ageYear);
-    params.put("sceneIds", troubleSceneIds);
-    params.put("limit", limit);
-
     var sql =
         """
-        SELECT DISTINCT q.id
-        FROM question q
-        JOIN question_trouble_scene qts ON qts.question_id = q.id
-        WHERE q.min_age <= :ageYear AND q.max_age >= :ageYear
-          AND q.status = 1
-          AND q.deleted_at IS NULL
-          AND qts.scene_id IN (:sceneIds)
+        SELECT question_id, scene_id
+        FROM question_trouble_scene
+        WHERE question_id IN (:questionIds)
         """;
-    if (excludedQuestionIds != null && !excludedQuestionIds.isEmpty()) {
-      sql += " AND q.id NOT IN (:excludedIds) ";
-      params.put("excludedIds", excludedQuestionIds);
-    }
-    sql += " ORDER BY RAND() " + SqlPagination.limit(limit);
-    return jdbc.queryForList(sql, params, Long.class);
+    return jdbc.query(
+        sql,
+        Map.of("questionIds", questionIds),
+        (rs, rowNum) -> new PoolSceneRow(rs.getLong("question_id"), rs.getLong("scene_id")));
   }
 
-  public Optional<QuestionTypeRow> findQuestionType(long questionId) {
+  /**
+   * 一次查询加载题型与有效选项归属，用于提交时在内存中校验整份答卷。
+   *
+   * @return questionId -> 题型 + 有效选项ID（已删除的题目不在结果中）
+   */
+  public Map<Long, AnswerRule> listAnswerRules(List<Long> questionIds) {
+    if (questionIds == null || questionIds.isEmpty()) {
+      return Map.of();
+    }
     var sql =
         """
-        SELECT id, question_type
-        FROM question
-        WHERE id = :id AND deleted_at IS NULL
+        SELECT q.id AS question_id, q.question_type, o.id AS option_id
+        FROM question q
+        LEFT JOIN question_option o ON o.question_id = q.id AND o.deleted_at IS NULL
+        WHERE q.id IN (:questionIds) AND q.deleted_at IS NULL
         """;
-    var rows =
-        jdbc.query(
-            sql,
-            Map.of("id", questionId),
-            (rs, rowNum) -> new QuestionTypeRow(rs.getLong("id"), rs.getString("question_type")));
-    return rows.stream().findFirst();
+    var typeByQuestion = new HashMap<Long, String>();
+    var optionIdsByQuestion = new HashMap<Long, Set<Long>>();
+    jdbc.query(
+        sql,
+        Map.of("questionIds", questionIds),
+        rs -> {
+          var questionId = rs.getLong("question_id");
+          typeByQuestion.put(questionId, rs.getString("question_type"));
+          var optionIds = optionIdsByQuestion.computeIfAbsent(questionId, k -> new HashSet<>());
+          var optionId = rs.getLong("option_id");
+          if (!rs.wasNull()) {
+            optionIds.add(optionId);
+          }
+        });
+    var out = new HashMap<Long, AnswerRule>(typeByQuestion.size() * 2);
+    typeByQuestion.forEach(
+        (questionId, type) -> out.put(questionId, new AnswerRule(type, Set.copyOf(optionIdsByQuestion.get(questionId)))));
+    return out;
   }
 
-  public record QuestionTypeRow(long id, String questionType) {}
+  public record AnswerRule(String questionType, Set<Long> optionIds) {}
+
+  public record PoolQuestionRow(long id, int minAge, int maxAge) {}
+
+  public record PoolSceneRow(long questionId, long sceneId) {}
 }
@@ -13,7 +13,8 @@ public class QuestionViewRepository {
     this.jdbc = jdbc;
   }
 
-  public List<QuestionOptionRow> listActiveQuestionOptionRows(List<Long> questionIds) {
+  /** 含已删除/停用的题目与选项（历史记录回显需要），由调用方按 active 标记过滤。 */
+  public List<QuestionOptionRow> listQuestionOptionRows(List<Long> questionIds) {
     if (questionIds == null || questionIds.isEmpty()) {
       return List.of();
     }
@@ -23,16 +24,16 @@ public class QuestionViewRepository {
           q.id AS question_id,
           q.content AS question_content,
           q.question_type,
+          (q.status = 1 AND q.deleted_at IS NULL) AS question_active,
           o.id AS option_id,
           o.content AS option_content,
           o.suggest_flag,
           o.improvement_tip,
-          o.sort_no AS option_sort_no
+          o.sort_no AS option_sort_no,
+          (o.deleted_at IS NULL) AS option_active
         FROM question q
-        JOIN question_option o ON o.question_id = q.id AND o.deleted_at IS NULL
+        JOIN question_option o ON o.question_id = q.id
         WHERE q.id IN (:questionIds)
-          AND q.deleted_at IS NULL
-          AND q.status = 1
         ORDER BY q.id ASC, o.sort_no ASC, o.id ASC
         """;
     return jdbc.query(
@@ -43,20 +44,24 @@ public class QuestionViewRepository {
                 rs.getLong("question_id"),
                 rs.getString("question_content"),
                 rs.getString("question_type"),
+                rs.getBoolean("question_active"),
                 rs.getLong("option_id"),
                 rs.getString("option_content"),
                 rs.getInt("suggest_flag"),
                 rs.getString("improvement_tip"),
-                rs.getInt("option_sort_no")));
+                rs.getInt("option_sort_no"),
+                rs.getBoolean("option_active")));
   }
 
   public record QuestionOptionRow(
       long questionId,
       String questionContent,
       String questionType,
+      boolean questionActive,
       long optionId,
       String optionContent,
       int suggestFlag,
       String improvementTip,
-      int optionSortNo) {}
+      int optionSortNo,
+      boolean optionActive) {}
 }
@@ -0,0 +1,162 @@
+package com.howtogrow.backend.infrastructure.report;
+
+import com.howtogrow.backend.domain.report.ActivityStats;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ChildActivityRepository {
+  private static final RowMapper<ActivityStats> STATS_MAPPER =
+      (rs, rowNum) ->
+          new ActivityStats(
+              toLocalDate(rs.getDate("first_record_date")),
+              toLocalDate(rs.getDate("last_record_date")),
+              rs.getInt("active_days"),
+              rs.getInt("current_streak"));
+
+  private final NamedParameterJdbcTemplate jdbc;
+
+  public ChildActivityRepository(NamedParameterJdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  public Optional<ActivityStats> findSummary(long userId, long childId) {
+    var sql =
+        """
+        SELECT first_record_date, last_record_date, active_days, current_streak
+        FROM child_activity_summary
+        WHERE user_id = :userId AND child_id = :childId
+        """;
+    return jdbc.query(sql, Map.of("userId", userId, "childId", childId), STATS_MAPPER).stream().findFirst();
+  }
+
+  /**
+   * 确保统计行存在并对其加排他锁：不存在时插入全 0 占位行（active_days = 0 表示尚未从明细构建）。
+   *
+   * <p>用 ON DUPLICATE KEY UPDATE 而非 INSERT IGNORE：重复键时前者加排他锁、后者加共享锁，
+   * 两个事务都持有共享锁后再升级为排他锁会互相死锁；插入新行也只锁记录本身，不会像对不存在的行 FOR UPDATE 那样持有间隙锁。
+   */
+  public void ensureSummaryLocked(long userId, long childId) {
+    var sql =
+        """
+        INSERT INTO child_activity_summary(user_id, child_id, active_days, current_streak, created_at, updated_at)
+        VALUES (:userId, :childId, 0, 0, NOW(3), NOW(3))
+        ON DUPLICATE KEY UPDATE id = id
+        """;
+    jdbc.update(sql, Map.of("userId", userId, "childId", childId));
+  }
+
+  /** 同 {@link #findSummary}，当前读并锁住该行（先调用 {@link #ensureSummaryLocked} 保证行存在）。 */
+  public Optional<ActivityStats> findSummaryForUpdate(long userId, long childId) {
+    var sql =
+        """
+        SELECT first_record_date, last_record_date, active_days, current_streak
+        FROM child_activity_summary
+        WHERE user_id = :userId AND child_id = :childId
+        FOR UPDATE
+        """;
+    return jdbc.query(sql, Map.of("userId", userId, "childId", childId), STATS_MAPPER).stream().findFirst();
+  }
+
+  /** 返回 true 表示该日此前没有任何记录（新增了一个活跃日）。 */
+  public boolean markActiveDay(long userId, long childId, LocalDate day) {
+    var sql =
+        """
+        INSERT IGNORE INTO child_activity_day(user_id, child_id, record_date, created_at)
+        VALUES (:userId, :childId, :day, NOW(3))
+        """;
+    return jdbc.update(sql, Map.of("userId", userId, "childId", childId, "day", day)) == 1;
+  }
+
+  /**
+   * 新活跃日晚于已知的最近记录日时的 O(1) 更新。
+   *
+   * <p>MySQL 按书写顺序求值 SET，current_streak 读到的是更新前的 last_record_date。
+   */
+  public void advance(long userId, long childId, LocalDate day) {
+    var sql =
+        """
+        UPDATE child_activity_summary
+        SET current_streak = CASE WHEN last_record_date = :day - INTERVAL 1 DAY THEN current_streak + 1 ELSE 1 END,
+            first_record_date = COALESCE(first_record_date, :day),
+            last_record_date = :day,
+            active_days = active_days + 1,
+            updated_at = NOW(3)
+        WHERE user_id = :userId AND child_id = :childId
+        """;
+    jdbc.update(sql, Map.of("userId", userId, "childId", childId, "day", day));
+  }
+
+  public List<LocalDate> listActiveDays(long userId, long childId) {
+    var sql =
+        """
+        SELECT record_date
+        FROM child_activity_day
+        WHERE user_id = :userId AND child_id = :childId
+        ORDER BY record_date ASC
+        """;
+    return jdbc.query(
+        sql, Map.of("userId", userId, "childId", childId), (rs, rowNum) -> rs.getDate("record_date").toLocalDate());
+  }
+
+  /** 从四类记录明细补齐活跃日（可重复执行）。 */
+  public void rebuildActiveDays(long userId, long childId) {
+    var sql =
+        """
+        INSERT IGNORE INTO child_activity_day(user_id, child_id, record_date, created_at)
+        SELECT :userId, :childId, d, NOW(3)
+        FROM (
+          SELECT record_date AS d
+          FROM daily_parenting_status
+          WHERE user_id = :userId AND child_id = :childId
+          UNION
+          SELECT record_date
+          FROM daily_trouble_record
+          WHERE user_id = :userId AND child_id = :childId
+          UNION
+          SELECT record_date
+          FROM daily_parenting_diary
+          WHERE user_id = :userId AND child_id = :childId
+          UNION
+          SELECT DATE(submitted_at)
+          FROM daily_assessment
+          WHERE user_id = :userId AND child_id = :childId
+        ) t
+        """;
+    jdbc.update(sql, Map.of("userId", userId, "childId", childId));
+  }
+
+  public void saveSummary(long userId, long childId, ActivityStats stats) {
+    var sql =
+        """
+        INSERT INTO child_activity_summary(
+          user_id, child_id, first_record_date, last_record_date, active_days, current_streak, created_at, updated_at)
+        VALUES (:userId, :childId, :firstRecordDate, :lastRecordDate, :activeDays, :currentStreak, NOW(3), NOW(3))
+        ON DUPLICATE KEY UPDATE
+          first_record_date = VALUES(first_record_date),
+          last_record_date = VALUES(last_record_date),
+          active_days = VALUES(active_days),
+          current_streak = VALUES(current_streak),
+          updated_at = NOW(3)
+        """;
+    var params = new HashMap<String, Object>();
+    params.put("userId", userId);
+    params.put("childId", childId);
+    params.put("firstRecordDate", stats.firstRecordDate());
+    params.put("lastRecordDate", stats.lastRecordDate());
+    params.put("activeDays", stats.activeDays());
+    params.put("currentStreak", stats.currentStreak());
+    jdbc.update(sql, params);
+  }
+
+  private static LocalDate toLocalDate(Date date) {
+    return date == null ? null : date.toLocalDate();
+  }
+}
@@ -0,0 +1,117 @@
+package com.howtogrow.backend.infrastructure.report;
+
+import com.howtogrow.backend.config.DailyAssessmentProperties;
+import com.howtogrow.backend.infrastructure.cache.DataVersions;
+import com.howtogrow.backend.infrastructure.lock.RedisLockService;
+import java.time.Clock;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 按天维度汇总表的回填任务：按 child_id 分批从明细重算并覆盖写入，可重复执行。
+ *
+ * <p>app.daily-assessment.rollup-backfill-on-startup 开启时（默认），启动后若集群尚未回填完成则在后台执行一次；
+ * 完成后写入 Redis 标记，之后的启动不再重跑。Redis 锁保证集群内只有一个节点在跑，每批续期一次，续期失败即中止。
+ * 标记出现前 {@link #isComplete()} 为 false，成长报告改读明细表，上线期间不会出现空报告。
+ */
+@Component
+public class DailyDimensionScoreRollupBackfill implements ApplicationRunner {
+  private static final Logger log = LoggerFactory.getLogger(DailyDimensionScoreRollupBackfill.class);
+  private static final String LOCK_KEY = "lock:daily_dimension_score_rollup_backfill";
+  static final String DONE_KEY = "daily_dimension_score_rollup:backfilled";
+  private static final Duration LOCK_TTL = Duration.ofMinutes(2);
+  private static final long COMPLETE_CHECK_INTERVAL_MILLIS = 30_000;
+  private static final int BATCH_CHILDREN = 200;
+
+  private final DailyDimensionScoreRollupRepository rollupRepo;
+  private final RedisLockService lockService;
+  private final StringRedisTemplate redis;
+  private final TaskExecutor taskExecutor;
+  private final DailyAssessmentProperties properties;
+  private final DataVersions dataVersions;
+  private final Clock clock;
+  private volatile boolean complete;
+  private volatile long nextCompleteCheckAt;
+
+  public DailyDimensionScoreRollupBackfill(
+      DailyDimensionScoreRollupRepository rollupRepo,
+      RedisLockService lockService,
+      StringRedisTemplate redis,
+      TaskExecutor taskExecutor,
+      DailyAssessmentProperties properties,
+      DataVersions dataVersions,
+      Clock clock) {
+    this.rollupRepo = rollupRepo;
+    this.lockService = lockService;
+    this.redis = redis;
+    this.taskExecutor = taskExecutor;
+    this.properties = properties;
+    this.dataVersions = dataVersions;
+    this.clock = clock;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (properties.rollupBackfillOnStartup() && !isComplete()) {
+      taskExecutor.execute(this::backfill);
+    }
+  }
+
+  /** 汇总表是否已完成回填（集群内任一节点完成即可）；Redis 不可用时按未完成处理。 */
+  public boolean isComplete() {
+    if (complete) {
+      return true;
+    }
+    long now = clock.millis();
+    if (now < nextCompleteCheckAt) {
+      return false;
+    }
+    nextCompleteCheckAt = now + COMPLETE_CHECK_INTERVAL_MILLIS;
+    try {
+      complete = Boolean.TRUE.equals(redis.hasKey(DONE_KEY));
+    } catch (RuntimeException e) {
+      log.warn("rollup backfill marker check failed, err={}", e.toString());
+    }
+    return complete;
+  }
+
+  public void backfill() {
+    var token = lockService.tryLock(LOCK_KEY, LOCK_TTL).orElse(null);
+    if (token == null) {
+      log.info("rollup backfill skipped: running on another node");
+      return;
+    }
+    try {
+      long afterChildId = 0;
+      int children = 0;
+      while (true) {
+        var childIds = rollupRepo.listAssessedChildIdsAfter(afterChildId, BATCH_CHILDREN);
+        if (childIds.isEmpty()) {
+          break;
+        }
+        rollupRepo.rebuildForChildren(childIds);
+        // 成长报告按孩子数据版本缓存，回填前可能已缓存了结果
+        childIds.forEach(id -> dataVersions.bump(DataVersions.child(id)));
+        children += childIds.size();
+        afterChildId = childIds.get(childIds.size() - 1);
+        if (!lockService.renew(LOCK_KEY, token, LOCK_TTL)) {
+          log.warn("rollup backfill aborted: lock lost, children={}", children);
+          return;
+        }
+      }
+      redis.opsForValue().set(DONE_KEY, String.valueOf(clock.millis()));
+      complete = true;
+      log.info("rollup backfill finished, children={}", children);
+    } catch (RuntimeException e) {
+      log.warn("rollup backfill failed", e);
+    } finally {
+      lockService.unlock(LOCK_KEY, token);
+    }
+  }
+}
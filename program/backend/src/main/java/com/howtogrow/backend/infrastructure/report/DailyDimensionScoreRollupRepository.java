@@ -0,0 +1,63 @@
+package com.howtogrow.backend.infrastructure.report;
+
+import com.howtogrow.backend.infrastructure.db.MultiRowInsert;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class DailyDimensionScoreRollupRepository {
+  private final NamedParameterJdbcTemplate jdbc;
+
+  public DailyDimensionScoreRollupRepository(NamedParameterJdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  /** 累加某次提交的各维度得分（多行 upsert）。 */
+  public void addScores(long userId, long childId, LocalDate bizDate, Map<String, Long> totalsByDimension) {
+    if (totalsByDimension == null || totalsByDimension.isEmpty()) {
+      return;
+    }
+    MultiRowInsert.insert(
+        jdbc,
+        "INSERT INTO daily_dimension_score_rollup(user_id, child_id, biz_date, dimension_code, total_score, created_at, updated_at)",
+        "(:userId, :childId, :bizDate, :code#, :score#, NOW(3), NOW(3))",
+        "ON DUPLICATE KEY UPDATE total_score = total_score + VALUES(total_score), updated_at = NOW(3)",
+        Map.of("userId", userId, "childId", childId, "bizDate", bizDate),
+        List.copyOf(totalsByDimension.entrySet()),
+        (p, i, e) -> p.addValue("code" + i, e.getKey()).addValue("score" + i, e.getValue()));
+  }
+
+  /** 按 child_id 升序翻页，供回填使用。 */
+  public List<Long> listAssessedChildIdsAfter(long afterChildId, int limit) {
+    var sql =
+        """
+        SELECT DISTINCT child_id
+        FROM daily_assessment
+        WHERE child_id > :afterChildId
+        ORDER BY child_id ASC
+        LIMIT :limit
+        """;
+    return jdbc.queryForList(sql, Map.of("afterChildId", afterChildId, "limit", limit), Long.class);
+  }
+
+  /** 从明细重算这些孩子的全部汇总行（覆盖写，可重复执行）。 */
+  public int rebuildForChildren(List<Long> childIds) {
+    if (childIds == null || childIds.isEmpty()) {
+      return 0;
+    }
+    var sql =
+        """
+        INSERT INTO daily_dimension_score_rollup(user_id, child_id, biz_date, dimension_code, total_score, created_at, updated_at)
+        SELECT a.user_id, a.child_id, DATE(a.submitted_at), ds.dimension_code, SUM(ds.score), NOW(3), NOW(3)
+        FROM daily_assessment a
+        JOIN daily_assessment_dimension_score ds ON ds.assessment_id = a.id
+        WHERE a.child_id IN (:childIds)
+        GROUP BY a.user_id, a.child_id, DATE(a.submitted_at), ds.dimension_code
+        ON DUPLICATE KEY UPDATE total_score = VALUES(total_score), updated_at = NOW(3)
+        """;
+    return jdbc.update(sql, Map.of("childIds", childIds));
+  }
+}
@@ -3,41 +3,60 @@ package com.howtogrow.backend.infrastructure.report;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class GrowthReportRepository {
+  private static final RowMapper<GrowthRow> MAPPER =
+      (rs, rowNum) ->
+          new GrowthRow(
+              rs.getObject("biz_date", LocalDate.class),
+              rs.getString("dimension_code"),
+              rs.getLong("total_score"));
+
+  /** 汇总表回填完成前的读法：从明细按天聚合。 */
+  private static final String DETAIL_SQL =
+      """
+      SELECT
+        DATE(a.submitted_at) AS biz_date,
+        ds.dimension_code,
+        SUM(ds.score) AS total_score
+      FROM daily_assessment a
+      JOIN daily_assessment_dimension_score ds ON ds.assessment_id = a.id
+      WHERE a.user_id = :userId
+        AND a.child_id = :childId
+        AND DATE(a.submitted_at) BETWEEN :from AND :to
+      GROUP BY DATE(a.submitted_at), ds.dimension_code
+      ORDER BY biz_date ASC, ds.dimension_code ASC
+      """;
+
   private final NamedParameterJdbcTemplate jdbc;
+  private final DailyDimensionScoreRollupBackfill rollupBackfill;
 
-  public GrowthReportRepository(NamedParameterJdbcTemplate jdbc) {
+  public GrowthReportRepository(NamedParameterJdbcTemplate jdbc, DailyDimensionScoreRollupBackfill rollupBackfill) {
     this.jdbc = jdbc;
+    this.rollupBackfill = rollupBackfill;
   }
 
+  /** 读取按天汇总表（由提交时累加、回填任务重算维护）；汇总表回填完成前改为从明细聚合。 */
   public List<GrowthRow> listDailyDimensionScores(
       long userId, long childId, LocalDate from, LocalDate to) {
+    var params = Map.<String, Object>of("userId", userId, "childId", childId, "from", from, "to", to);
+    if (!rollupBackfill.isComplete()) {
+      return jdbc.query(DETAIL_SQL, params, MAPPER);
+    }
     var sql =
         """
-        SELECT
-          DATE(a.submitted_at) AS biz_date,
-          ds.dimension_code,
-          SUM(ds.score) AS total_score
-        FROM daily_assessment a
-        JOIN daily_assessment_dimension_score ds ON ds.assessment_id = a.id
-        WHERE a.user_id = :userId
-          AND a.child_id = :childId
-          AND DATE(a.submitted_at) BETWEEN :from AND :to
-        GROUP BY DATE(a.submitted_at), ds.dimension_code
-        ORDER BY biz_date ASC, ds.dimension_code ASC
+        SELECT biz_date, dimension_code, total_score
+        FROM daily_dimension_score_rollup
+        WHERE user_id = :userId
+          AND child_id = :childId
+          AND biz_date BETWEEN :from AND :to
+        ORDER BY biz_date ASC, dimension_code ASC
         """;
-    return jdbc.query(
-        sql,
-        Map.of("userId", userId, "childId", childId, "from", from, "to", to),
-        (rs, rowNum) ->
-            new GrowthRow(
-                rs.getObject("biz_date", LocalDate.class),
-                rs.getString("dimension_code"),
-                rs.getLong("total_score")));
+    return jdbc.query(sql, params, MAPPER);
   }
 
   public record GrowthRow(
@@ -0,0 +1,159 @@
+package com.howtogrow.backend.infrastructure.sse;
+
+import io.micrometer.core.instrument.Counter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+/**
+ * 单条 SSE 流的合并写出器：增量先缓冲，窗口到期或累计字节达到上限时拼成一批 {@code event:delta} 帧，
+ * 按 UTF-8 编码一次后作为字节数组写出（一次 write + 一次 flush），不再经过消息转换器逐条序列化。
+ *
+ * <p>帧格式与 {@code SseEmitter} 相同（{@code event:xxx} / 每行一个 {@code data:}），前端解析无需改动。
+ * 距上次写出已超过窗口的增量直接在调用线程写出，首字延迟不受影响；否则由共享调度线程在窗口到期时补写。
+ * {@link #event} / {@link #complete} 会先写出缓冲中的增量，保证顺序。写出失败（客户端断开）后后续写入静默丢弃。
+ */
+public final class CoalescingSseWriter {
+  private final ResponseBodyEmitter emitter;
+  private final ScheduledExecutorService scheduler;
+  private final long windowNanos;
+  private final int maxBytes;
+  private final Counter deltas;
+  private final Counter writes;
+
+  private final StringBuilder pending = new StringBuilder();
+  private int pendingBytes;
+  private long lastWriteNanos;
+  private ScheduledFuture<?> timer;
+  private boolean writable = true;
+  private boolean closed;
+
+  CoalescingSseWriter(
+      ResponseBodyEmitter emitter,
+      ScheduledExecutorService scheduler,
+      long windowMillis,
+      int maxBytes,
+      Counter deltas,
+      Counter writes) {
+    this.emitter = emitter;
+    this.scheduler = scheduler;
+    this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, windowMillis));
+    this.maxBytes = Math.max(1, maxBytes);
+    this.deltas = deltas;
+    this.writes = writes;
+    this.lastWriteNanos = System.nanoTime();
+    emitter.onCompletion(this::abandon);
+    emitter.onError(e -> abandon());
+  }
+
+  public synchronized void delta(String text) {
+    if (closed || !writable || text == null || text.isEmpty()) {
+      return;
+    }
+    deltas.increment();
+    pending.append(text);
+    pendingBytes += utf8Length(text);
+    var elapsed = System.nanoTime() - lastWriteNanos;
+    if (pendingBytes >= maxBytes || elapsed >= windowNanos) {
+      write(null, null);
+    } else if (timer == null) {
+      timer = scheduler.schedule(this::flushDue, windowNanos - elapsed, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /** 先写出缓冲中的增量，再在同一批里写出一个具名事件（done / error）。 */
+  public synchronized void event(String name, String data) {
+    if (closed || !writable) {
+      return;
+    }
+    write(name, data);
+  }
+
+  public synchronized void complete() {
+    if (closed) {
+      return;
+    }
+    if (writable && pending.length() > 0) {
+      write(null, null);
+    }
+    abandon();
+    emitter.complete();
+  }
+
+  private synchronized void flushDue() {
+    timer = null;
+    if (!closed && writable && pending.length() > 0) {
+      write(null, null);
+    }
+  }
+
+  private synchronized void abandon() {
+    closed = true;
+    cancelTimer();
+    pending.setLength(0);
+    pendingBytes = 0;
+  }
+
+  private void write(String eventName, String eventData) {
+    cancelTimer();
+    var frame = new StringBuilder(pending.length() + 32);
+    if (pending.length() > 0) {
+      appendFrame(frame, "delta", pending);
+    }
+    if (eventName != null) {
+      appendFrame(frame, eventName, eventData == null ? "" : eventData);
+    }
+    pending.setLength(0);
+    pendingBytes = 0;
+    lastWriteNanos = System.nanoTime();
+    if (frame.isEmpty()) {
+      return;
+    }
+    try {
+      emitter.send(frame.toString().getBytes(StandardCharsets.UTF_8), MediaType.TEXT_EVENT_STREAM);
+      writes.increment();
+    } catch (Exception e) {
+      writable = false;
+    }
+  }
+
+  private void cancelTimer() {
+    if (timer != null) {
+      timer.cancel(false);
+      timer = null;
+    }
+  }
+
+  static void appendFrame(StringBuilder out, String event, CharSequence data) {
+    out.append("event:").append(event).append('\n');
+    int start = 0;
+    for (int i = 0; i < data.length(); i++) {
+      if (data.charAt(i) == '\n') {
+        out.append("data:").append(data, start, i).append('\n');
+        start = i + 1;
+      }
+    }
+    out.append("data:").append(data, start, data.length()).append("\n\n");
+  }
+
+  private static int utf8Length(String text) {
+    int bytes = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c < 0x80) {
+        bytes += 1;
+      } else if (c < 0x800) {
+        bytes += 2;
+      } else if (Character.isHighSurrogate(c)) {
+        bytes += 4;
+        i++;
+      } else {
+        bytes += 3;
+      }
+    }
+    return bytes;
+  }
+}
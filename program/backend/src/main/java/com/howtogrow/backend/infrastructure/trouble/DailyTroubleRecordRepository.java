@@ -2,7 +2,6 @@ package com.howtogrow.backend.infrastructure.trouble;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -120,38 +119,4 @@ public class DailyTroubleRecordRepository {
                 rs.getInt("min_age"),
                 rs.getInt("max_age")));
   }
-
-  public Map<LocalDate, List<TroubleSceneRepository.TroubleSceneRow>> listActiveScenesByDayBetween(
-      long userId, long childId, LocalDate fromInclusive, LocalDate toInclusive) {
-    var sql =
-        """
-        SELECT r.record_date, ts.id, ts.name, ts.logo_url, ts.min_age, ts.max_age
-        FROM daily_trouble_record r
-        JOIN daily_trouble_record_scene s ON s.record_id = r.id
-        JOIN trouble_scene ts ON ts.id = s.scene_id AND ts.status = 1 AND ts.deleted_at IS NULL
-        WHERE r.user_id = :userId
-          AND r.child_id = :childId
-          AND r.record_date >= :fromInclusive
-          AND r.record_date <= :toInclusive
-        ORDER BY r.record_date ASC, s.id ASC
-        """;
-    var rows =
-        jdbc.query(
-            sql,
-            Map.of("userId", userId, "childId", childId, "fromInclusive", fromInclusive, "toInclusive", toInclusive),
-            (rs, rowNum) ->
-                Map.entry(
-                    rs.getDate("record_date").toLocalDate(),
-                    new TroubleSceneRepository.TroubleSceneRow(
-                        rs.getLong("id"),
-                        rs.getString("name"),
-                        rs.getString("logo_url"),
-                        rs.getInt("min_age"),
-                        rs.getInt("max_age"))));
-    var map = new HashMap<LocalDate, List<TroubleSceneRepository.TroubleSceneRow>>();
-    for (var e : rows) {
-      map.computeIfAbsent(e.getKey(), (k) -> new ArrayList<>()).add(e.getValue());
-    }
-    return map;
-  }
 }
@@ -10,9 +10,11 @@ import com.howtogrow.backend.domain.capability.CapabilityDimension;
 import com.howtogrow.backend.infrastructure.admin.AdminAssessmentDetailQueryRepository;
 import com.howtogrow.backend.infrastructure.admin.AssessmentQueryRepository;
 import com.howtogrow.backend.infrastructure.assessment.DailyAssessmentHistoryRepository;
-import com.howtogrow.backend.infrastructure.question.QuestionSnapshotViewRepository;
+import com.howtogrow.backend.infrastructure.db.CachedCounts;
+import com.howtogrow.backend.infrastructure.question.QuestionCatalogCache;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -23,7 +25,10 @@ import java.util.List;
 import java.util.Map;
 import org.apache.poi.xwpf.usermodel.ParagraphAlignment;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -31,9 +36,15 @@ public class AdminAssessmentService {
   private final AssessmentQueryRepository queryRepo;
   private final AdminAssessmentDetailQueryRepository detailQueryRepo;
   private final DailyAssessmentHistoryRepository historyRepo;
-  private final QuestionSnapshotViewRepository questionViewRepo;
-
-  private static final int EXPORT_MAX_ROWS = 10_000;
+  private final QuestionCatalogCache questionCatalog;
+  private final CachedCounts counts;
+
+  private static final int EXPORT_CHUNK_ROWS = 500;
+  private static final int EXPORT_WINDOW_ROWS = 200;
+  private static final int EXCEL_MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+  private static final List<String> EXCEL_HEADER =
+      List.of(
+          "自测ID", "日期", "用户ID", "用户昵称", "孩子ID", "孩子昵称", "情绪", "沟通", "规则", "关系", "学习", "提交时间");
   private static final ZoneId BIZ_ZONE = ZoneId.of("Asia/Shanghai");
   private static final DateTimeFormatter EXCEL_TIME =
       DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(BIZ_ZONE);
@@ -42,11 +53,13 @@ public class AdminAssessmentService {
       AssessmentQueryRepository queryRepo,
       AdminAssessmentDetailQueryRepository detailQueryRepo,
       DailyAssessmentHistoryRepository historyRepo,
-      QuestionSnapshotViewRepository questionViewRepo) {
+      QuestionCatalogCache questionCatalog,
+      CachedCounts counts) {
     this.queryRepo = queryRepo;
     this.detailQueryRepo = detailQueryRepo;
     this.historyRepo = historyRepo;
-    this.questionViewRepo = questionViewRepo;
+    this.questionCatalog = questionCatalog;
+    this.counts = counts;
   }
 
   public PageResponse<AssessmentView> list(
@@ -56,77 +69,137 @@ public class AdminAssessmentService {
       Long childId,
       String keyword,
       LocalDate bizDateFrom,
-      LocalDate bizDateTo) {
+      LocalDate bizDateTo,
+      Long cursor) {
     int offset = (page - 1) * pageSize;
-    long total = queryRepo.countAssessments(userId, childId, keyword, bizDateFrom, bizDateTo);
+    long total =
+        counts.get(
+            CachedCounts.key("assessments", userId, childId, keyword, bizDateFrom, bizDateTo),
+            () -> queryRepo.countAssessments(userId, childId, keyword, bizDateFrom, bizDateTo));
     var rows =
-        queryRepo.listAssessments(offset, pageSize, userId, childId, keyword, bizDateFrom, bizDateTo);
+        queryRepo.listAssessments(
+            cursor, offset, pageSize, userId, childId, keyword, bizDateFrom, bizDateTo);
     var items = toViews(rows);
-    return new PageResponse<>(page, pageSize, total, items);
+    return PageResponse.keyset(page, pageSize, total, items, AssessmentView::assessmentId);
   }
 
-  public byte[] exportExcel(
+  public void validateExportRange(LocalDate bizDateFrom, LocalDate bizDateTo) {
+    if (bizDateFrom != null && bizDateTo != null && bizDateFrom.isAfter(bizDateTo)) {
+      throw new AppException(ErrorCode.INVALID_REQUEST, "开始日期不能晚于结束日期");
+    }
+  }
+
+  /**
+   * 流式导出：记录逐行从数据库读出，每 {@value #EXPORT_CHUNK_ROWS} 条批量补齐维度分后写入 SXSSF（内存只保留最近
+   * {@value #EXPORT_WINDOW_ROWS} 行），最终直接写到 {@code out}，内存占用与导出行数无关。
+   * 单个工作表写满 XLSX 行数上限后续写到新工作表。
+   *
+   * <p>调用方需先 {@link #validateExportRange} 再写响应头；不要在事务里调用（见 StreamingJdbc）。
+   */
+  public void exportExcel(
       Long userId,
       Long childId,
       String keyword,
       LocalDate bizDateFrom,
-      LocalDate bizDateTo) {
-    if (bizDateFrom != null && bizDateTo != null && bizDateFrom.isAfter(bizDateTo)) {
-      throw new AppException(ErrorCode.INVALID_REQUEST, "开始日期不能晚于结束日期");
+      LocalDate bizDateTo,
+      OutputStream out)
+      throws IOException {
+    validateExportRange(bizDateFrom, bizDateTo);
+
+    try (var workbook = new SXSSFWorkbook(EXPORT_WINDOW_ROWS)) {
+      workbook.setCompressTempFiles(true);
+      var sheets = new RollingSheetWriter(workbook, "自测记录", EXCEL_HEADER, EXCEL_MAX_ROWS);
+      var chunk = new ArrayList<AssessmentQueryRepository.AssessmentRow>(EXPORT_CHUNK_ROWS);
+      queryRepo.streamAssessments(
+          userId,
+          childId,
+          keyword,
+          bizDateFrom,
+          bizDateTo,
+          row -> {
+            chunk.add(row);
+            if (chunk.size() == EXPORT_CHUNK_ROWS) {
+              writeExcelRows(sheets, chunk);
+              chunk.clear();
+            }
+          });
+      writeExcelRows(sheets, chunk);
+
+      workbook.write(out);
     }
+  }
 
-    var rows =
-        queryRepo.listAssessments(0, EXPORT_MAX_ROWS + 1, userId, childId, keyword, bizDateFrom, bizDateTo);
-    if (rows.size() > EXPORT_MAX_ROWS) {
-      throw new AppException(
-          ErrorCode.INVALID_REQUEST, "导出数量超过 " + EXPORT_MAX_ROWS + " 条，请缩小筛选范围后重试");
+  public static String excelExportFilename(LocalDate bizDateFrom, LocalDate bizDateTo) {
+    if (bizDateFrom != null && bizDateTo != null) {
+      return "自测记录_" + bizDateFrom + "_" + bizDateTo + ".xlsx";
+    }
+    if (bizDateFrom != null) {
+      return "自测记录_" + bizDateFrom + ".xlsx";
     }
+    if (bizDateTo != null) {
+      return "自测记录_截至" + bizDateTo + ".xlsx";
+    }
+    return "自测记录.xlsx";
+  }
 
-    var items = toViews(rows);
-    try (var workbook = new XSSFWorkbook(); var out = new ByteArrayOutputStream()) {
-      var sheet = workbook.createSheet("自测记录");
-
-      int r = 0;
-      var header =
-          List.of(
-              "自测ID",
-              "日期",
-              "用户ID",
-              "用户昵称",
-              "孩子ID",
-              "孩子昵称",
-              "情绪",
-              "沟通",
-              "规则",
-              "关系",
-              "学习",
-              "提交时间");
-      var headerRow = sheet.createRow(r++);
-      for (int i = 0; i < header.size(); i++) {
-        headerRow.createCell(i).setCellValue(header.get(i));
-      }
+  private void writeExcelRows(
+      RollingSheetWriter sheets, List<AssessmentQueryRepository.AssessmentRow> rows) {
+    if (rows.isEmpty()) {
+      return;
+    }
+    for (var a : toViews(rows)) {
+      var row = sheets.nextRow();
+      int c = 0;
+      row.createCell(c++).setCellValue(a.assessmentId());
+      row.createCell(c++).setCellValue(a.bizDate() == null ? "" : a.bizDate().toString());
+      row.createCell(c++).setCellValue(a.userId());
+      row.createCell(c++).setCellValue(a.userNickname() == null ? "" : a.userNickname());
+      row.createCell(c++).setCellValue(a.childId());
+      row.createCell(c++).setCellValue(a.childNickname() == null ? "" : a.childNickname());
+      row.createCell(c++).setCellValue(a.emotionManagementScore());
+      row.createCell(c++).setCellValue(a.communicationExpressionScore());
+      row.createCell(c++).setCellValue(a.ruleGuidanceScore());
+      row.createCell(c++).setCellValue(a.relationshipBuildingScore());
+      row.createCell(c++).setCellValue(a.learningSupportScore());
+      row.createCell(c++).setCellValue(formatInstant(a.submittedAt()));
+    }
+  }
+
+  /**
+   * 按行写入工作表；当前表达到 {@code maxRows}（含表头）时新建“名称(2)”“名称(3)”…并重写表头，
+   * 超过 XLSX 单表行数上限的导出不会中途失败。
+   */
+  static final class RollingSheetWriter {
+    private final SXSSFWorkbook workbook;
+    private final String baseName;
+    private final List<String> header;
+    private final int maxRows;
+    private Sheet sheet;
+    private int nextRow;
+
+    RollingSheetWriter(SXSSFWorkbook workbook, String baseName, List<String> header, int maxRows) {
+      this.workbook = workbook;
+      this.baseName = baseName;
+      this.header = header;
+      this.maxRows = maxRows;
+      newSheet();
+    }
 
-      for (var a : items) {
-        var row = sheet.createRow(r++);
-        int c = 0;
-        row.createCell(c++).setCellValue(a.assessmentId());
-        row.createCell(c++).setCellValue(a.bizDate() == null ? "" : a.bizDate().toString());
-        row.createCell(c++).setCellValue(a.userId());
-        row.createCell(c++).setCellValue(a.userNickname() == null ? "" : a.userNickname());
-        row.createCell(c++).setCellValue(a.childId());
-        row.createCell(c++).setCellValue(a.childNickname() == null ? "" : a.childNickname());
-        row.createCell(c++).setCellValue(a.emotionManagementScore());
-        row.createCell(c++).setCellValue(a.communicationExpressionScore());
-        row.createCell(c++).setCellValue(a.ruleGuidanceScore());
-        row.createCell(c++).setCellValue(a.relationshipBuildingScore());
-        row.createCell(c++).setCellValue(a.learningSupportScore());
-        row.createCell(c++).setCellValue(formatInstant(a.submittedAt()));
+    Row nextRow() {
+      if (nextRow >= maxRows) {
+        newSheet();
       }
+      return sheet.createRow(nextRow++);
+    }
 
-      workbook.write(out);
-      return out.toByteArray();
-    } catch (IOException e) {
-      throw new AppException(ErrorCode.INTERNAL_ERROR, "生成 Excel 失败");
+    private void newSheet() {
+      int n = workbook.getNumberOfSheets();
+      sheet = workbook.createSheet(n == 0 ? baseName : baseName + "(" + (n + 1) + ")");
+      var headerRow = sheet.createRow(0);
+      for (int i = 0; i < header.size(); i++) {
+        headerRow.createCell(i).setCellValue(header.get(i));
+      }
+      nextRow = 1;
     }
   }
 
@@ -151,6 +224,10 @@ public class AdminAssessmentService {
         items);
   }
 
+  public static String wordExportFilename(long assessmentId) {
+    return "自测结果_" + assessmentId + ".docx";
+  }
+
   public byte[] exportWord(long assessmentId) {
     var detail = detail(assessmentId);
     try (var doc = new XWPFDocument(); var out = new ByteArrayOutputStream()) {
@@ -176,21 +253,16 @@ public class AdminAssessmentService {
     var questionIds =
         items.stream().map(DailyAssessmentHistoryRepository.ItemRow::questionId).distinct().toList();
 
-    var questionOptionRows = questionViewRepo.listQuestionOptionRows(questionIds);
     var questionInfo = new HashMap<Long, QuestionInfo>();
-    for (var row : questionOptionRows) {
-      var info =
-          questionInfo.computeIfAbsent(
-              row.questionId(), (qid) -> new QuestionInfo(row.questionContent(), row.questionType(), new ArrayList<>()));
-      info
-          .options()
-          .add(
-              new AssessmentDetailView.OptionView(
-                  row.optionId(),
-                  row.optionContent(),
-                  row.suggestFlag(),
-                  row.improvementTip(),
-                  row.optionSortNo()));
+    for (var question : questionCatalog.getAll(questionIds).values()) {
+      var options =
+          question.options().stream()
+              .map(
+                  o ->
+                      new AssessmentDetailView.OptionView(
+                          o.id(), o.content(), o.suggestFlag(), o.improvementTip(), o.sortNo()))
+              .toList();
+      questionInfo.put(question.id(), new QuestionInfo(question.content(), question.questionType(), options));
     }
 
     var answers = historyRepo.listAnswers(assessmentId);
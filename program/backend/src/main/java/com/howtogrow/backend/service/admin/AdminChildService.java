@@ -8,6 +8,7 @@ import com.howtogrow.backend.domain.time.AgeInYearsCalculator;
 import com.howtogrow.backend.domain.time.BizClock;
 import com.howtogrow.backend.infrastructure.admin.ChildQueryRepository;
 import com.howtogrow.backend.infrastructure.admin.ChildQueryRepository.ChildQuery;
+import com.howtogrow.backend.infrastructure.db.CachedCounts;
 import java.time.LocalDate;
 import org.springframework.stereotype.Service;
 
@@ -17,10 +18,12 @@ public class AdminChildService {
 
   private final ChildQueryRepository queryRepo;
   private final BizClock bizClock;
+  private final CachedCounts counts;
 
-  public AdminChildService(ChildQueryRepository queryRepo, BizClock bizClock) {
+  public AdminChildService(ChildQueryRepository queryRepo, BizClock bizClock, CachedCounts counts) {
     this.queryRepo = queryRepo;
     this.bizClock = bizClock;
+    this.counts = counts;
   }
 
   public PageResponse<AdminChildView> list(
@@ -33,7 +36,8 @@ public class AdminChildService {
       Integer gender,
       Integer ageMin,
       Integer ageMax,
-      Integer status) {
+      Integer status,
+      Long cursor) {
     int safePageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, pageSize));
     int offset = (page - 1) * safePageSize;
 
@@ -50,9 +54,10 @@ public class AdminChildService {
 
     var query =
         new ChildQuery(userId, userNickname, childId, childNickname, gender, birthDateFrom, birthDateTo, status);
-    long total = queryRepo.countChildren(query);
+    // ChildQuery 为 record，toString 即包含全部筛选条件
+    long total = counts.get(CachedCounts.key("children", query), () -> queryRepo.countChildren(query));
     var items =
-        queryRepo.listChildren(query, offset, safePageSize).stream()
+        queryRepo.listChildren(query, cursor, offset, safePageSize).stream()
             .map(
                 c ->
                     new AdminChildView(
@@ -67,7 +72,7 @@ public class AdminChildService {
                         c.status(),
                         c.createdAt()))
             .toList();
-    return new PageResponse<>(page, safePageSize, total, items);
+    return PageResponse.keyset(page, safePageSize, total, items, AdminChildView::childId);
   }
 
   private static int calculateAgeYearSafe(LocalDate birthDate, LocalDate today) {
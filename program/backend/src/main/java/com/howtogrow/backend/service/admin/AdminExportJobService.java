@@ -0,0 +1,338 @@
+package com.howtogrow.backend.service.admin;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.howtogrow.backend.api.ErrorCode;
+import com.howtogrow.backend.api.exception.AppException;
+import com.howtogrow.backend.config.AdminExportProperties;
+import com.howtogrow.backend.config.TaskExecutorProperties;
+import com.howtogrow.backend.controller.admin.dto.AdminExportJobCreateRequest;
+import com.howtogrow.backend.controller.admin.dto.AdminExportJobView;
+import com.howtogrow.backend.infrastructure.admin.AdminExportJobRepository;
+import com.howtogrow.backend.infrastructure.admin.AdminExportJobRepository.JobRow;
+import com.howtogrow.backend.infrastructure.concurrent.BulkheadTaskExecutor;
+import com.howtogrow.backend.infrastructure.oss.OssPrivateStorage;
+import com.howtogrow.backend.infrastructure.oss.OssProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+/**
+ * 后台异步导出：提交后在本节点独立的有界执行器里生成文件，前端轮询状态、完成后下载（下载支持 Range 续传）。
+ *
+ * <p>任务行记录执行节点，节点重启时只把自己未跑完的任务置为失败；执行节点定时刷新自己任务的心跳，
+ * 下线后未再启动的节点的任务在心跳超时后由其他节点兜底置为失败。状态只按 PENDING → RUNNING → 终态单向流转。
+ * 启用 OSS 时结果存为私有 OSS 对象，任一节点都能提供下载；否则留在本地导出目录（单节点或共享目录部署）。
+ * 成功后保留 retentionHours 小时，过期清理由定时任务每分钟执行一次。
+ */
+@Service
+public class AdminExportJobService implements ApplicationRunner {
+  private static final Logger log = LoggerFactory.getLogger(AdminExportJobService.class);
+
+  public static final String ASSESSMENT_EXCEL = "ASSESSMENT_EXCEL";
+  public static final String ASSESSMENT_WORD = "ASSESSMENT_WORD";
+
+  private static final String XLSX_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+  private static final String DOCX_TYPE = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+  private static final int DEFAULT_MAX_CONCURRENCY = 2;
+  private static final int DEFAULT_QUEUE_CAPACITY = 20;
+  private static final int DEFAULT_RETENTION_HOURS = 24;
+  private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(1);
+  private static final int SWEEP_BATCH = 100;
+  /** 心跳超过该时长未刷新即视为执行节点已下线（心跳随清理每分钟刷新一次）。 */
+  private static final Duration HEARTBEAT_TIMEOUT = Duration.ofMinutes(5);
+  private static final String OSS_PATH_PREFIX = "oss:";
+
+  private final AdminExportJobRepository jobRepo;
+  private final AdminAssessmentService assessmentService;
+  private final ObjectMapper objectMapper;
+  private final Clock clock;
+  private final BulkheadTaskExecutor executor;
+  private final ScheduledThreadPoolExecutor sweeper;
+  private final OssPrivateStorage ossStorage;
+  private final String ossPrefix;
+  private final Path dir;
+  private final String nodeId;
+  private final Duration retention;
+
+  public AdminExportJobService(
+      AdminExportJobRepository jobRepo,
+      AdminAssessmentService assessmentService,
+      ObjectMapper objectMapper,
+      Clock clock,
+      AdminExportProperties props,
+      TaskExecutorProperties taskProps,
+      OssPrivateStorage ossStorage,
+      OssProperties ossProps,
+      MeterRegistry meterRegistry) {
+    this.jobRepo = jobRepo;
+    this.assessmentService = assessmentService;
+    this.objectMapper = objectMapper;
+    this.clock = clock;
+    // 独立隔离舱：导出很慢，不能占满 app-async 的并发额度
+    this.executor =
+        new BulkheadTaskExecutor(
+            "admin-export",
+            props.maxConcurrency() > 0 ? props.maxConcurrency() : DEFAULT_MAX_CONCURRENCY,
+            props.queueCapacity() > 0 ? props.queueCapacity() : DEFAULT_QUEUE_CAPACITY,
+            taskProps.virtualThreads(),
+            meterRegistry);
+    this.dir =
+        props.dir() == null || props.dir().isBlank()
+            ? Path.of(System.getProperty("java.io.tmpdir"), "howtogrow-exports")
+            : Path.of(props.dir());
+    this.nodeId = props.nodeId() == null || props.nodeId().isBlank() ? hostName() : props.nodeId().trim();
+    this.ossStorage = ossStorage;
+    this.ossPrefix =
+        ossProps.exportPrefix() == null || ossProps.exportPrefix().isBlank()
+            ? "exports"
+            : ossProps.exportPrefix().replaceAll("^/+|/+$", "");
+    this.sweeper =
+        new ScheduledThreadPoolExecutor(
+            1,
+            r -> {
+              var t = new Thread(r, "admin-export-sweep");
+              t.setDaemon(true);
+              return t;
+            });
+    this.retention =
+        Duration.ofHours(props.retentionHours() > 0 ? props.retentionHours() : DEFAULT_RETENTION_HOURS);
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    int failed = jobRepo.failUnfinished(nodeId, "服务重启，任务已中断，请重新提交");
+    if (failed > 0) {
+      log.info("export jobs interrupted by restart, nodeId={}, count={}", nodeId, failed);
+    }
+    sweeper.scheduleWithFixedDelay(
+        this::sweepExpired, 0, SWEEP_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    sweeper.shutdownNow();
+    executor.shutdown();
+  }
+
+  public AdminExportJobView submit(long adminUserId, AdminExportJobCreateRequest request) {
+    var type = request.type() == null ? "" : request.type().trim();
+    switch (type) {
+      case ASSESSMENT_EXCEL -> assessmentService.validateExportRange(request.bizDateFrom(), request.bizDateTo());
+      case ASSESSMENT_WORD -> {
+        if (request.assessmentId() == null) {
+          throw new AppException(ErrorCode.INVALID_REQUEST, "assessmentId 不能为空");
+        }
+      }
+      default -> throw new AppException(ErrorCode.INVALID_REQUEST, "不支持的导出类型");
+    }
+    long jobId = jobRepo.create(adminUserId, nodeId, type, writeParams(request));
+    try {
+      executor.execute(() -> execute(jobId));
+    } catch (TaskRejectedException e) {
+      jobRepo.markFailed(jobId, AdminExportJobRepository.PENDING, "导出任务排队已满");
+      throw new AppException(ErrorCode.RATE_LIMITED, "导出任务较多，请稍后再试");
+    }
+    return get(adminUserId, jobId);
+  }
+
+  public AdminExportJobView get(long adminUserId, long jobId) {
+    return toView(requireOwned(adminUserId, jobId));
+  }
+
+  public ExportFile openResult(long adminUserId, long jobId) {
+    var job = requireOwned(adminUserId, jobId);
+    switch (job.status()) {
+      case AdminExportJobRepository.SUCCEEDED -> {}
+      case AdminExportJobRepository.PENDING, AdminExportJobRepository.RUNNING ->
+          throw new AppException(ErrorCode.INVALID_REQUEST, "导出尚未完成");
+      case AdminExportJobRepository.EXPIRED -> throw new AppException(ErrorCode.NOT_FOUND, "导出文件已过期");
+      default -> throw new AppException(ErrorCode.INVALID_REQUEST, "导出失败，请重新提交");
+    }
+    if (job.filePath() == null || !job.expiresAt().isAfter(Instant.now(clock))) {
+      throw new AppException(ErrorCode.NOT_FOUND, "导出文件已过期");
+    }
+    Resource resource;
+    if (job.filePath().startsWith(OSS_PATH_PREFIX)) {
+      if (!ossStorage.enabled() || job.fileSize() == null) {
+        throw new AppException(ErrorCode.NOT_FOUND, "导出文件不可用");
+      }
+      resource = ossStorage.resource(job.filePath().substring(OSS_PATH_PREFIX.length()), job.fileSize());
+    } else {
+      var path = Path.of(job.filePath());
+      if (!Files.isRegularFile(path)) {
+        // 本地模式下文件只在执行节点上（未配置共享目录时其他节点读不到）
+        throw new AppException(ErrorCode.NOT_FOUND, "导出文件已过期");
+      }
+      resource = new FileSystemResource(path);
+    }
+    return new ExportFile(resource, job.fileName(), contentTypeOf(job.jobType()));
+  }
+
+  private void execute(long jobId) {
+    if (!jobRepo.markRunning(jobId)) {
+      return;
+    }
+    Path file = null;
+    try {
+      var job = jobRepo.findById(jobId).orElseThrow();
+      var params = objectMapper.readValue(job.paramsJson(), AdminExportJobCreateRequest.class);
+      Files.createDirectories(dir);
+      file = dir.resolve(jobId + "-" + UUID.randomUUID() + extensionOf(job.jobType()));
+
+      String fileName;
+      if (ASSESSMENT_EXCEL.equals(job.jobType())) {
+        try (var out = new BufferedOutputStream(Files.newOutputStream(file))) {
+          assessmentService.exportExcel(
+              params.userId(),
+              params.childId(),
+              params.keyword(),
+              params.bizDateFrom(),
+              params.bizDateTo(),
+              out);
+        }
+        fileName = AdminAssessmentService.excelExportFilename(params.bizDateFrom(), params.bizDateTo());
+      } else {
+        Files.write(file, assessmentService.exportWord(params.assessmentId()));
+        fileName = AdminAssessmentService.wordExportFilename(params.assessmentId());
+      }
+
+      long size = Files.size(file);
+      var location = file.toString();
+      if (ossStorage.enabled()) {
+        var objectKey = ossPrefix + "/" + file.getFileName();
+        ossStorage.upload(objectKey, file, contentTypeOf(job.jobType()));
+        deleteQuietly(file);
+        location = OSS_PATH_PREFIX + objectKey;
+      }
+      if (!jobRepo.markSucceeded(jobId, fileName, location, size, Instant.now(clock).plus(retention))) {
+        log.warn("export job no longer running, result discarded, jobId={}", jobId);
+        deleteResult(location);
+      }
+    } catch (AppException e) {
+      deleteQuietly(file);
+      fail(jobId, e.getMessage());
+    } catch (Exception e) {
+      log.warn("export job failed, jobId={}", jobId, e);
+      deleteQuietly(file);
+      fail(jobId, "导出失败");
+    }
+  }
+
+  private void fail(long jobId, String errorMessage) {
+    if (!jobRepo.markFailed(jobId, AdminExportJobRepository.RUNNING, errorMessage)) {
+      log.warn("export job no longer running, failure not recorded, jobId={}, error={}", jobId, errorMessage);
+    }
+  }
+
+  /**
+   * 定时执行：刷新本节点未结束任务的心跳，把心跳超时（执行节点已下线）的任务置为失败，并删除过期结果。
+   * 本地模式只清理本节点的文件（别的节点的磁盘访问不到）。
+   */
+  void sweepExpired() {
+    try {
+      jobRepo.heartbeat(nodeId);
+      var now = Instant.now(clock);
+      int stale = jobRepo.failStale(HEARTBEAT_TIMEOUT.toSeconds(), "任务所在节点已下线，请重新提交");
+      if (stale > 0) {
+        log.info("stale export jobs failed, count={}", stale);
+      }
+      var ossMode = ossStorage.enabled();
+      for (var job : jobRepo.listExpired(now, ossMode ? null : nodeId, SWEEP_BATCH)) {
+        deleteResult(job.filePath());
+        jobRepo.markExpired(job.id());
+      }
+    } catch (RuntimeException e) {
+      log.warn("export job sweep failed", e);
+    }
+  }
+
+  private void deleteResult(String location) {
+    if (location == null) {
+      return;
+    }
+    if (!location.startsWith(OSS_PATH_PREFIX)) {
+      deleteQuietly(Path.of(location));
+    } else if (ossStorage.enabled()) {
+      ossStorage.delete(location.substring(OSS_PATH_PREFIX.length()));
+    }
+  }
+
+  private JobRow requireOwned(long adminUserId, long jobId) {
+    return jobRepo
+        .findById(jobId)
+        .filter(j -> j.adminUserId() == adminUserId)
+        .orElseThrow(() -> new AppException(ErrorCode.NOT_FOUND, "导出任务不存在"));
+  }
+
+  private String writeParams(AdminExportJobCreateRequest request) {
+    try {
+      return objectMapper.writeValueAsString(request);
+    } catch (JsonProcessingException e) {
+      throw new AppException(ErrorCode.INTERNAL_ERROR, "导出参数序列化失败");
+    }
+  }
+
+  private static AdminExportJobView toView(JobRow job) {
+    return new AdminExportJobView(
+        job.id(),
+        job.jobType(),
+        job.status(),
+        job.fileName(),
+        job.fileSize(),
+        job.errorMessage(),
+        job.createdAt(),
+        job.finishedAt(),
+        job.expiresAt());
+  }
+
+  private static String extensionOf(String jobType) {
+    return ASSESSMENT_WORD.equals(jobType) ? ".docx" : ".xlsx";
+  }
+
+  private static String contentTypeOf(String jobType) {
+    return ASSESSMENT_WORD.equals(jobType) ? DOCX_TYPE : XLSX_TYPE;
+  }
+
+  private static void deleteQuietly(Path file) {
+    if (file == null) return;
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("failed to delete export file {}", file, e);
+    }
+  }
+
+  private static String hostName() {
+    var env = System.getenv("HOSTNAME");
+    if (env != null && !env.isBlank()) {
+      return env.trim();
+    }
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (IOException e) {
+      throw new IllegalStateException("cannot resolve host name, set app.admin-export.node-id", e);
+    }
+  }
+
+  public record ExportFile(Resource resource, String fileName, String contentType) {}
+}
@@ -3,21 +3,24 @@ package com.howtogrow.backend.service.admin;
 import com.howtogrow.backend.controller.admin.dto.OrderView;
 import com.howtogrow.backend.controller.admin.dto.PageResponse;
 import com.howtogrow.backend.infrastructure.admin.OrderQueryRepository;
+import com.howtogrow.backend.infrastructure.db.CachedCounts;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AdminOrderService {
   private final OrderQueryRepository queryRepo;
+  private final CachedCounts counts;
 
-  public AdminOrderService(OrderQueryRepository queryRepo) {
+  public AdminOrderService(OrderQueryRepository queryRepo, CachedCounts counts) {
     this.queryRepo = queryRepo;
+    this.counts = counts;
   }
 
-  public PageResponse<OrderView> list(int page, int pageSize) {
+  public PageResponse<OrderView> list(int page, int pageSize, Long cursor) {
     int offset = (page - 1) * pageSize;
-    long total = queryRepo.countOrders();
+    long total = counts.get(CachedCounts.key("orders"), queryRepo::countOrders);
     var items =
-        queryRepo.listOrders(offset, pageSize).stream()
+        queryRepo.listOrders(cursor, offset, pageSize).stream()
             .map(
                 o ->
                     new OrderView(
@@ -35,6 +38,6 @@ public class AdminOrderService {
                         o.createdAt(),
                         o.paidAt()))
             .toList();
-    return new PageResponse<>(page, pageSize, total, items);
+    return PageResponse.keyset(page, pageSize, total, items, OrderView::orderId);
   }
 }
@@ -1,20 +1,128 @@
 package com.howtogrow.backend.service.admin;
 
 import com.howtogrow.backend.infrastructure.admin.AdminRbacRepository;
-import java.util.HashSet;
-import java.util.Set;
+import com.howtogrow.backend.infrastructure.cache.CacheInvalidationBus;
+import com.howtogrow.backend.infrastructure.db.AfterCommit;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import org.springframework.stereotype.Service;
 
+/**
+ * 管理员权限查询（按管理员缓存，TTL 兜底）。
+ *
+ * <p>权限码在进程内映射为递增下标，每个管理员的权限集合存为 {@link BitSet}。角色/授权变更在事务提交后显式失效，并广播到其它节点。
+ * 失效会推进代数，加载期间发生过失效的结果只返回、不回填，避免把已撤销的权限写回缓存。
+ */
 @Service
 public class AdminPermissionService {
+  static final String TOPIC = "admin_permission";
+  private static final String ALL = "*";
+  private static final Duration TTL = Duration.ofMinutes(5);
+
   private final AdminRbacRepository rbacRepo;
+  private final CacheInvalidationBus bus;
+  private final Clock clock;
+  private final ConcurrentHashMap<Long, Entry> cache = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+  private volatile Map<String, Integer> codeIndex = Map.of();
 
-  public AdminPermissionService(AdminRbacRepository rbacRepo) {
+  public AdminPermissionService(AdminRbacRepository rbacRepo, CacheInvalidationBus bus, Clock clock) {
     this.rbacRepo = rbacRepo;
+    this.bus = bus;
+    this.clock = clock;
+    bus.subscribe(TOPIC, this::onRemoteChange);
   }
 
-  public Set<String> permissionsFor(long adminUserId) {
-    return new HashSet<>(rbacRepo.listPermissionCodes(adminUserId));
+  /** 管理员是否拥有 codes 中任意一个权限（空白 code 忽略）。 */
+  public boolean hasAnyPermission(long adminUserId, String... codes) {
+    var bits = permissionBits(adminUserId);
+    var index = codeIndex;
+    for (var code : codes) {
+      if (code == null || code.isBlank()) {
+        continue;
+      }
+      var i = index.get(code);
+      if (i != null && bits.get(i)) {
+        return true;
+      }
+    }
+    return false;
   }
-}
 
+  /** 某个管理员的角色变更后调用（事务提交后生效）。 */
+  public void adminRolesChanged(long adminUserId) {
+    AfterCommit.run(
+        () -> {
+          invalidate(adminUserId);
+          bus.publish(TOPIC, Long.toString(adminUserId));
+        });
+  }
+
+  /** 角色的权限变更后调用：影响面按全部管理员处理（事务提交后生效）。 */
+  public void rolePermissionsChanged() {
+    AfterCommit.run(
+        () -> {
+          invalidateAll();
+          bus.publish(TOPIC, ALL);
+        });
+  }
+
+  private BitSet permissionBits(long adminUserId) {
+    long now = clock.millis();
+    var hit = cache.get(adminUserId);
+    if (hit != null && hit.expiresAt > now) {
+      return hit.bits;
+    }
+    long loadedAt = generation.get();
+    var bits = new BitSet();
+    for (var code : rbacRepo.listPermissionCodes(adminUserId)) {
+      bits.set(indexOf(code));
+    }
+    if (generation.get() == loadedAt) {
+      cache.put(adminUserId, new Entry(bits, now + TTL.toMillis()));
+    }
+    return bits;
+  }
+
+  private int indexOf(String code) {
+    var i = codeIndex.get(code);
+    if (i != null) {
+      return i;
+    }
+    synchronized (this) {
+      i = codeIndex.get(code);
+      if (i == null) {
+        var next = new HashMap<>(codeIndex);
+        i = next.size();
+        next.put(code, i);
+        codeIndex = Map.copyOf(next);
+      }
+      return i;
+    }
+  }
+
+  private void onRemoteChange(String payload) {
+    if (ALL.equals(payload)) {
+      invalidateAll();
+    } else {
+      invalidate(Long.parseLong(payload));
+    }
+  }
+
+  private void invalidate(long adminUserId) {
+    generation.incrementAndGet();
+    cache.remove(adminUserId);
+  }
+
+  private void invalidateAll() {
+    generation.incrementAndGet();
+    cache.clear();
+  }
+
+  private record Entry(BitSet bits, long expiresAt) {}
+}
@@ -3,11 +3,19 @@ package com.howtogrow.backend.service.admin;
 import com.howtogrow.backend.api.ErrorCode;
 import com.howtogrow.backend.api.exception.AppException;
 import com.howtogrow.backend.controller.admin.dto.QuestionImportResponse;
+import com.howtogrow.backend.controller.admin.dto.QuestionImportResponse.Change;
+import com.howtogrow.backend.controller.admin.dto.QuestionImportResponse.Failure;
 import com.howtogrow.backend.domain.capability.CapabilityDimension;
 import com.howtogrow.backend.infrastructure.admin.QuestionAdminRepository;
+import com.howtogrow.backend.infrastructure.admin.QuestionAdminRepository.QuestionSnapshot;
+import com.howtogrow.backend.infrastructure.excel.ExcelRowReader;
+import com.howtogrow.backend.infrastructure.excel.ExcelRowReader.SheetRow;
 import com.howtogrow.backend.infrastructure.trouble.TroubleSceneRepository;
-import java.io.InputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -15,63 +23,77 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.DataFormatter;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
 public class AdminQuestionImportService {
+  /** 题目组少于该数量时串行校验，避免并行调度开销。 */
+  private static final int PARALLEL_THRESHOLD = 256;
+
+  private static final int MAX_REPORT_ITEMS = 500;
+
   private final QuestionAdminRepository questionRepo;
   private final TroubleSceneRepository sceneRepo;
+  private final AdminQuestionImportWriter writer;
 
-  public AdminQuestionImportService(QuestionAdminRepository questionRepo, TroubleSceneRepository sceneRepo) {
+  public AdminQuestionImportService(
+      QuestionAdminRepository questionRepo, TroubleSceneRepository sceneRepo, AdminQuestionImportWriter writer) {
     this.questionRepo = questionRepo;
     this.sceneRepo = sceneRepo;
-  }
-
-  @Transactional
-  public QuestionImportResponse importExcel(MultipartFile file) {
+    this.writer = writer;
+  }
+
+  /**
+   * 解析并校验整张表，再与现有题库比对：新题插入，已存在但选项/维度分值/烦恼场景有变化的题目整体替换子项，完全一致的跳过。
+   *
+   * <p>所有行、所有题目的错误都会汇总返回；存在任一错误时不写库（仍是整体成功或整体失败）。{@code dryRun} 时只返回校验结果与差异，
+   * 不写库。
+   *
+   * <p>落临时文件、SAX 解析、校验与比对都不在事务内，只有最后的写库由 {@link AdminQuestionImportWriter} 在短事务中完成，
+   * 避免大文件导入期间长时间占用数据库连接。
+   */
+  public QuestionImportResponse importExcel(MultipartFile file, boolean dryRun) {
     if (file == null || file.isEmpty()) {
       throw new AppException(ErrorCode.INVALID_REQUEST, "请上传文件");
     }
-    try (InputStream in = file.getInputStream();
-        var workbook = WorkbookFactory.create(in)) {
-      var sheet = workbook.getSheetAt(0);
-      if (sheet == null) {
-        throw new AppException(ErrorCode.INVALID_REQUEST, "Excel 为空");
-      }
-
-      var headerRow = sheet.getRow(sheet.getFirstRowNum());
-      if (headerRow == null) {
-        throw new AppException(ErrorCode.INVALID_REQUEST, "缺少表头行");
-      }
-
-      var headerIndex = parseHeaderIndex(headerRow);
-      var parseResult = parseRows(sheet, headerIndex);
-      var parsedRows = parseResult.rows;
-
-      int total = parsedRows.size();
-      var groups = groupByQuestion(parsedRows);
-      var sceneIdByName = resolveTroubleSceneIds(parsedRows);
-      importAll(groups, parseResult.generateSortNo, sceneIdByName);
-      return new QuestionImportResponse(total, total, 0, List.of());
+    Path tmp = null;
+    ParseResult parseResult;
+    try {
+      // SAX 解析需要按条目随机读取 zip，先落到临时文件（multipart 通常本就缓存在磁盘上）
+      tmp = Files.createTempFile("question-import-", ".xlsx");
+      file.transferTo(tmp);
+      var collector = new RowCollector();
+      ExcelRowReader.readFirstSheet(tmp, collector);
+      parseResult = collector.result();
     } catch (AppException e) {
       throw e;
     } catch (Exception e) {
       throw new AppException(ErrorCode.INVALID_REQUEST, "Excel 文件不合法");
+    } finally {
+      deleteQuietly(tmp);
+    }
+
+    var report = new ImportReport(parseResult.rows.size() + parseResult.failures.size());
+    parseResult.failures.forEach(f -> report.fail(f.row(), 1, f.reason()));
+
+    var sceneIdByName = resolveTroubleSceneIds(parseResult.rows);
+    var validated = validateAll(groupByQuestion(parseResult.rows), parseResult.generateSortNo, sceneIdByName);
+    var diff = diff(validated, report);
+
+    if (dryRun || report.failedRows > 0) {
+      return report.toResponse(diff, null);
     }
+    return report.toResponse(diff, writer.apply(diff));
   }
 
-  private static Map<String, Integer> parseHeaderIndex(Row headerRow) {
+  private static Map<String, Integer> parseHeaderIndex(SheetRow headerRow) {
     var map = new HashMap<String, Integer>();
-    for (int i = 0; i < headerRow.getLastCellNum(); i++) {
-      var cell = headerRow.getCell(i);
-      var text = cellText(cell);
+    for (int i = 0; i < headerRow.cells().size(); i++) {
+      var text = headerRow.text(i);
       if (!text.isBlank()) {
         map.put(text.trim().toLowerCase(Locale.ROOT), i);
       }
@@ -79,61 +101,72 @@ public class AdminQuestionImportService {
     return map;
   }
 
-  private static ParseResult parseRows(
-      org.apache.poi.ss.usermodel.Sheet sheet, Map<String, Integer> headerIndex) {
-    if (isChineseTemplate(headerIndex)) {
-      return new ParseResult(parseRowsChineseTemplate(sheet, headerIndex), true);
-    }
-    return new ParseResult(parseRowsLegacy(sheet, headerIndex), false);
-  }
-
   private static boolean isChineseTemplate(Map<String, Integer> headerIndex) {
     return headerIndex.containsKey(keyOf("问题")) && headerIndex.containsKey(keyOf("选项值"));
   }
 
-  private static List<ImportRow> parseRowsLegacy(
-      org.apache.poi.ss.usermodel.Sheet sheet, Map<String, Integer> headerIndex) {
-    var out = new ArrayList<ImportRow>();
-    for (int r = sheet.getFirstRowNum() + 1; r <= sheet.getLastRowNum(); r++) {
-      var row = sheet.getRow(r);
-      if (row == null) {
-        continue;
+  /** 首行作为表头并决定模板类型，之后边读边把每行解析成 {@link ImportRow}，不保留原始单元格。 */
+  private static final class RowCollector implements Consumer<SheetRow> {
+    private final List<ImportRow> out = new ArrayList<>();
+    private final List<Failure> failures = new ArrayList<>();
+    private Map<String, Integer> headerIndex;
+    private boolean chineseTemplate;
+
+    // 中文模板中同一道题只在首行填写题干等信息，后续行沿用
+    private String lastQuestion;
+    private String lastQuestionType;
+    private Integer lastMinAge;
+    private Integer lastMaxAge;
+    private String lastTroubleSceneNames;
+
+    @Override
+    public void accept(SheetRow row) {
+      if (headerIndex == null) {
+        headerIndex = parseHeaderIndex(row);
+        chineseTemplate = isChineseTemplate(headerIndex);
+        return;
+      }
+      try {
+        var parsed = chineseTemplate ? parseChineseTemplateRow(row) : parseLegacyRow(row);
+        if (parsed != null) {
+          out.add(parsed);
+        }
+      } catch (AppException e) {
+        // 单行错误不中断读取，汇总后一并返回
+        failures.add(new Failure(row.rowNum(), e.getMessage()));
+      }
+    }
+
+    ParseResult result() {
+      if (headerIndex == null) {
+        throw new AppException(ErrorCode.INVALID_REQUEST, "缺少表头行");
       }
+      return new ParseResult(out, failures, chineseTemplate);
+    }
+
+    private ImportRow parseLegacyRow(SheetRow row) {
       var questionContent = requiredText(row, headerIndex, "question_content");
       if (questionContent == null) {
-        continue;
+        return null;
       }
-      out.add(
-          new ImportRow(
-              r + 1,
-              requiredInt(row, headerIndex, "min_age"),
-              requiredInt(row, headerIndex, "max_age"),
-              questionContent,
-              optionalText(row, headerIndex, "question_type", "MULTI"),
-              optionalText(row, headerIndex, "trouble_scene_names", ""),
-              requiredText(row, headerIndex, "option_content"),
-              requiredInt(row, headerIndex, "suggest_flag"),
-              optionalText(row, headerIndex, "improvement_tip", null),
-              optionalInt(row, headerIndex, "sort_no", 0),
-              requiredText(row, headerIndex, "dimension_code"),
-              requiredText(row, headerIndex, "dimension_score")));
+      return new ImportRow(
+          row.rowNum(),
+          requiredInt(row, headerIndex, "min_age"),
+          requiredInt(row, headerIndex, "max_age"),
+          questionContent,
+          optionalText(row, headerIndex, "question_type", "MULTI"),
+          optionalText(row, headerIndex, "trouble_scene_names", ""),
+          requiredText(row, headerIndex, "option_content"),
+          requiredInt(row, headerIndex, "suggest_flag"),
+          optionalText(row, headerIndex, "improvement_tip", null),
+          optionalInt(row, headerIndex, "sort_no", 0),
+          requiredText(row, headerIndex, "dimension_code"),
+          requiredText(row, headerIndex, "dimension_score"));
     }
-    return out;
-  }
-
-  private static List<ImportRow> parseRowsChineseTemplate(
-      org.apache.poi.ss.usermodel.Sheet sheet, Map<String, Integer> headerIndex) {
-    var out = new ArrayList<ImportRow>();
-    String lastQuestion = null;
-    String lastQuestionType = null;
-    Integer lastMinAge = null;
-    Integer lastMaxAge = null;
-    String lastTroubleSceneNames = null;
 
-    for (int r = sheet.getFirstRowNum() + 1; r <= sheet.getLastRowNum(); r++) {
-      var row = sheet.getRow(r);
-      if (row == null || isBlankRow(row, headerIndex)) {
-        continue;
+    private ImportRow parseChineseTemplateRow(SheetRow row) {
+      if (isBlankRow(row, headerIndex)) {
+        return null;
       }
 
       var question =
@@ -202,30 +235,28 @@ public class AdminQuestionImportService {
         throw new AppException(ErrorCode.INVALID_REQUEST, "至少填写 1 个能力维度分值");
       }
 
-      out.add(
-          new ImportRow(
-              r + 1,
-              lastMinAge,
-              lastMaxAge,
-              lastQuestion,
-              lastQuestionType,
-              lastTroubleSceneNames,
-              optionContent,
-              suggestFlag,
-              improvementTip,
-              -1,
-              dim.dimensionCode,
-              dim.dimensionScore));
+      return new ImportRow(
+          row.rowNum(),
+          lastMinAge,
+          lastMaxAge,
+          lastQuestion,
+          lastQuestionType,
+          lastTroubleSceneNames,
+          optionContent,
+          suggestFlag,
+          improvementTip,
+          -1,
+          dim.dimensionCode,
+          dim.dimensionScore);
     }
-    return out;
   }
 
-  private static String requiredText(Row row, Map<String, Integer> headerIndex, String header) {
+  private static String requiredText(SheetRow row, Map<String, Integer> headerIndex, String header) {
     var idx = headerIndex.get(header);
     if (idx == null) {
       throw new AppException(ErrorCode.INVALID_REQUEST, "缺少列：" + header);
     }
-    var text = cellText(row.getCell(idx));
+    var text = row.text(idx);
     if (text.isBlank()) {
       return null;
     }
@@ -233,20 +264,20 @@ public class AdminQuestionImportService {
   }
 
   private static String requiredText(
-      Row row, Map<String, Integer> headerIndex, int idx, String fieldName) {
-    var text = cellText(row.getCell(idx));
+      SheetRow row, Map<String, Integer> headerIndex, int idx, String fieldName) {
+    var text = row.text(idx);
     if (text.isBlank()) {
       throw new AppException(ErrorCode.INVALID_REQUEST, fieldName + "不能为空");
     }
     return text.trim();
   }
 
-  private static String optionalText(Row row, Map<String, Integer> headerIndex, String header, String fallback) {
+  private static String optionalText(SheetRow row, Map<String, Integer> headerIndex, String header, String fallback) {
     var idx = headerIndex.get(header);
     if (idx == null) {
       return fallback;
     }
-    var text = cellText(row.getCell(idx));
+    var text = row.text(idx);
     if (text.isBlank()) {
       return fallback;
     }
@@ -254,20 +285,20 @@ public class AdminQuestionImportService {
   }
 
   private static Optional<String> optionalText(
-      Row row, Map<String, Integer> headerIndex, int idx, String fallback) {
-    var text = cellText(row.getCell(idx));
+      SheetRow row, Map<String, Integer> headerIndex, int idx, String fallback) {
+    var text = row.text(idx);
     if (text.isBlank()) {
       return Optional.ofNullable(fallback);
     }
     return Optional.of(text.trim());
   }
 
-  private static int requiredInt(Row row, Map<String, Integer> headerIndex, String header) {
+  private static int requiredInt(SheetRow row, Map<String, Integer> headerIndex, String header) {
     var idx = headerIndex.get(header);
     if (idx == null) {
       throw new AppException(ErrorCode.INVALID_REQUEST, "缺少列：" + header);
     }
-    var value = cellText(row.getCell(idx));
+    var value = row.text(idx);
     if (value.isBlank()) {
       throw new AppException(ErrorCode.INVALID_REQUEST, header + "不能为空");
     }
@@ -289,12 +320,12 @@ public class AdminQuestionImportService {
     }
   }
 
-  private static int optionalInt(Row row, Map<String, Integer> headerIndex, String header, int fallback) {
+  private static int optionalInt(SheetRow row, Map<String, Integer> headerIndex, String header, int fallback) {
     var idx = headerIndex.get(header);
     if (idx == null) {
       return fallback;
     }
-    var value = cellText(row.getCell(idx));
+    var value = row.text(idx);
     if (value.isBlank()) {
       return fallback;
     }
@@ -306,7 +337,7 @@ public class AdminQuestionImportService {
   }
 
   private static Map<QuestionKey, List<ImportRow>> groupByQuestion(List<ImportRow> rows) {
-    Map<QuestionKey, List<ImportRow>> grouped = new HashMap<>();
+    Map<QuestionKey, List<ImportRow>> grouped = new LinkedHashMap<>();
     for (var row : rows) {
       var key =
           new QuestionKey(
@@ -320,25 +351,19 @@ public class AdminQuestionImportService {
     return grouped;
   }
 
-  @Transactional
-  void importOneQuestionGroup(
+  /** 只做校验与整理，不读写库，可并行执行。 */
+  private static PreparedQuestion prepareGroup(
       List<ImportRow> group, boolean generateSortNo, Map<String, Long> troubleSceneIdByName) {
-    if (group.isEmpty()) {
-      return;
-    }
     var first = group.get(0);
     if (first.minAge < 0 || first.maxAge < 0 || first.minAge > 18 || first.maxAge > 18 || first.minAge > first.maxAge) {
       throw new AppException(ErrorCode.INVALID_REQUEST, "年龄范围不合法");
     }
 
     var questionType = normalizeQuestionType(first.questionType);
-    if (questionRepo.existsSameQuestion(first.minAge, first.maxAge, questionType, first.questionContent)) {
-      throw new AppException(ErrorCode.INVALID_REQUEST, "题目已存在");
-    }
     assertNoDuplicateOptions(group);
-    var questionId = questionRepo.insertQuestion(first.questionContent, first.minAge, first.maxAge, questionType, 1);
-    questionRepo.replaceQuestionTroubleScenes(questionId, resolveSceneIds(first.troubleSceneNames, troubleSceneIdByName));
+    var sceneIds = resolveSceneIds(first.troubleSceneNames, troubleSceneIdByName);
 
+    var options = new ArrayList<PreparedOption>(group.size());
     int defaultSortNo = 1;
     for (var row : group) {
       var optionContent = normalizeOptionContent(row.optionContent);
@@ -350,13 +375,6 @@ public class AdminQuestionImportService {
       if (generateSortNo || sortNo < 0) {
         sortNo = defaultSortNo++;
       }
-      var optionId =
-          questionRepo.insertOption(
-              questionId,
-              optionContent,
-              suggestFlag,
-              safeText(row.improvementTip),
-              sortNo);
 
       var codes = splitCsv(row.dimensionCode);
       var scores = splitCsv(row.dimensionScore);
@@ -364,6 +382,7 @@ public class AdminQuestionImportService {
         throw new AppException(ErrorCode.INVALID_REQUEST, "维度与分值数量不匹配");
       }
       var seen = new HashSet<String>();
+      var dimensionScores = new ArrayList<DimensionScore>(codes.size());
       for (int i = 0; i < codes.size(); i++) {
         var code = codes.get(i).trim();
         var score = parsePositiveInt(scores.get(i), "dimension_score");
@@ -375,9 +394,21 @@ public class AdminQuestionImportService {
         if (!seen.add(normalized)) {
           throw new AppException(ErrorCode.INVALID_REQUEST, "维度重复：" + code);
         }
-        questionRepo.insertOptionDimensionScore(optionId, normalized, score);
+        dimensionScores.add(new DimensionScore(normalized, score));
       }
+      options.add(
+          new PreparedOption(optionContent, suggestFlag, safeText(row.improvementTip), sortNo, dimensionScores));
     }
+    return new PreparedQuestion(
+        first.rowNum, first.questionContent, first.minAge, first.maxAge, questionType, sceneIds, options);
+  }
+
+  /**
+   * 查重键：与 {@code existsSameQuestion} 的条件一致（年龄范围 + 题型 + 题干）。库中题干按不区分大小写的排序规则比较，
+   * 这里统一转小写近似。
+   */
+  private static String dedupKey(int minAge, int maxAge, String questionType, String content) {
+    return minAge + "|" + maxAge + "|" + questionType + "|" + content.toLowerCase(Locale.ROOT);
   }
 
   private static String normalizeQuestionType(String questionType) {
@@ -475,7 +506,7 @@ public class AdminQuestionImportService {
     throw new AppException(ErrorCode.INVALID_REQUEST, "选项标识不合法：" + t);
   }
 
-  private static DimensionCsv parseDimensionScores(Row row, Map<String, Integer> headerIndex) {
+  private static DimensionCsv parseDimensionScores(SheetRow row, Map<String, Integer> headerIndex) {
     var codes = new ArrayList<String>();
     var scores = new ArrayList<String>();
     addDimensionIfPresent(row, headerIndex, "情绪管理力分值", "情绪管理力", CapabilityDimension.EMOTION_MANAGEMENT, codes, scores);
@@ -487,7 +518,7 @@ public class AdminQuestionImportService {
   }
 
   private static void addDimensionIfPresent(
-      Row row,
+      SheetRow row,
       Map<String, Integer> headerIndex,
       String header1,
       String header2,
@@ -501,7 +532,7 @@ public class AdminQuestionImportService {
     if (idx == null) {
       throw new AppException(ErrorCode.INVALID_REQUEST, "缺少列：" + header1);
     }
-    var raw = cellText(row.getCell(idx));
+    var raw = row.text(idx);
     if (raw.isBlank()) {
       return;
     }
@@ -530,9 +561,9 @@ public class AdminQuestionImportService {
     return null;
   }
 
-  private static boolean isBlankRow(Row row, Map<String, Integer> headerIndex) {
+  private static boolean isBlankRow(SheetRow row, Map<String, Integer> headerIndex) {
     for (var idx : headerIndex.values()) {
-      var text = cellText(row.getCell(idx));
+      var text = row.text(idx);
       if (!text.isBlank()) {
         return false;
       }
@@ -578,18 +609,7 @@ public class AdminQuestionImportService {
     return trimmed.isBlank() ? null : trimmed;
   }
 
-  private static String cellText(Cell cell) {
-    if (cell == null) {
-      return "";
-    }
-    // 使用 DataFormatter 兼容 inlineStr / sharedStrings / numeric 等多种单元格类型；
-    // 避免 setCellType 破坏原始单元格内容（且该 API 已废弃）。
-    return DATA_FORMATTER.formatCellValue(cell);
-  }
-
-  private static final DataFormatter DATA_FORMATTER = new DataFormatter();
-
-  record ParseResult(List<ImportRow> rows, boolean generateSortNo) {}
+  record ParseResult(List<ImportRow> rows, List<Failure> failures, boolean generateSortNo) {}
 
   record DimensionCsv(String dimensionCode, String dimensionScore) {}
 
@@ -609,16 +629,156 @@ public class AdminQuestionImportService {
 
   record QuestionKey(int minAge, int maxAge, String questionContent, String questionType, String troubleSceneNames) {}
 
-  @Transactional
-  void importAll(
-      Map<QuestionKey, List<ImportRow>> groups,
-      boolean generateSortNo,
-      Map<String, Long> troubleSceneIdByName) {
-    for (var group : groups.values()) {
-      importOneQuestionGroup(group, generateSortNo, troubleSceneIdByName);
+  record DimensionScore(String code, int score) {}
+
+  record GroupResult(List<ImportRow> group, PreparedQuestion prepared, String error) {}
+
+  record UpdatedQuestion(long questionId, PreparedQuestion prepared) {}
+
+  record ImportDiff(List<PreparedQuestion> created, List<UpdatedQuestion> updated) {}
+
+  record OptionBody(
+      String content, int suggestFlag, String improvementTip, int sortNo, Map<String, Integer> scores) {}
+
+  record QuestionBody(List<OptionBody> options, Set<Long> sceneIds) {}
+
+  /** 行数按 Excel 数据行统计；失败与变更明细各最多返回 {@value #MAX_REPORT_ITEMS} 条，计数始终完整。 */
+  private static final class ImportReport {
+    private final int totalRows;
+    private int successRows;
+    private int failedRows;
+    private int unchanged;
+    private final List<Failure> failures = new ArrayList<>();
+
+    private ImportReport(int totalRows) {
+      this.totalRows = totalRows;
+    }
+
+    private void fail(int rowNum, int rows, String reason) {
+      failedRows += rows;
+      if (failures.size() < MAX_REPORT_ITEMS) {
+        failures.add(new Failure(rowNum, reason));
+      }
+    }
+
+    /** {@code createdIds} 为空表示未写库（预检或存在错误），此时新增题目没有ID。 */
+    private QuestionImportResponse toResponse(ImportDiff diff, List<Long> createdIds) {
+      var changes = new ArrayList<Change>();
+      for (int i = 0; i < diff.created().size() && changes.size() < MAX_REPORT_ITEMS; i++) {
+        var q = diff.created().get(i);
+        changes.add(
+            new Change(q.rowNum(), "CREATE", createdIds == null ? null : createdIds.get(i), snippet(q.content(), 60)));
+      }
+      for (int i = 0; i < diff.updated().size() && changes.size() < MAX_REPORT_ITEMS; i++) {
+        var u = diff.updated().get(i);
+        changes.add(new Change(u.prepared().rowNum(), "UPDATE", u.questionId(), snippet(u.prepared().content(), 60)));
+      }
+      var sortedFailures = new ArrayList<>(failures);
+      sortedFailures.sort(Comparator.comparingInt(Failure::row));
+      return new QuestionImportResponse(
+          totalRows,
+          successRows,
+          failedRows,
+          sortedFailures,
+          createdIds != null,
+          diff.created().size(),
+          diff.updated().size(),
+          unchanged,
+          changes);
+    }
+  }
+
+  record PreparedOption(
+      String content, int suggestFlag, String improvementTip, int sortNo, List<DimensionScore> scores) {}
+
+  record PreparedQuestion(
+      int rowNum,
+      String content,
+      int minAge,
+      int maxAge,
+      String questionType,
+      List<Long> sceneIds,
+      List<PreparedOption> options) {}
+
+  /**
+   * 各题目组互不依赖，组数较多时在 ForkJoin 公共池上并行校验（纯 CPU 计算，不访问数据库）；结果保持文件中的顺序。
+   */
+  private static List<GroupResult> validateAll(
+      Map<QuestionKey, List<ImportRow>> groups, boolean generateSortNo, Map<String, Long> troubleSceneIdByName) {
+    var list = List.copyOf(groups.values());
+    var stream = list.size() >= PARALLEL_THRESHOLD ? list.parallelStream() : list.stream();
+    return stream.map(group -> validateGroup(group, generateSortNo, troubleSceneIdByName)).toList();
+  }
+
+  private static GroupResult validateGroup(
+      List<ImportRow> group, boolean generateSortNo, Map<String, Long> troubleSceneIdByName) {
+    try {
+      return new GroupResult(group, prepareGroup(group, generateSortNo, troubleSceneIdByName), null);
+    } catch (AppException e) {
+      return new GroupResult(group, null, e.getMessage());
     }
   }
 
+  /** 与题库快照比对，把校验通过的题目分为新增/变更/未变化；文件内重复的题目记为失败。 */
+  private ImportDiff diff(List<GroupResult> results, ImportReport report) {
+    var existingByKey = new HashMap<String, QuestionSnapshot>();
+    for (var q : questionRepo.listActiveQuestionSnapshots()) {
+      existingByKey.putIfAbsent(dedupKey(q.minAge(), q.maxAge(), q.questionType(), q.content()), q);
+    }
+
+    var firstRowByKey = new HashMap<String, Integer>();
+    var diff = new ImportDiff(new ArrayList<>(), new ArrayList<>());
+    for (var r : results) {
+      if (r.error() != null) {
+        report.fail(r.group().get(0).rowNum, r.group().size(), r.error());
+        continue;
+      }
+      var q = r.prepared();
+      var key = dedupKey(q.minAge(), q.maxAge(), q.questionType(), q.content());
+      var firstRow = firstRowByKey.putIfAbsent(key, q.rowNum());
+      if (firstRow != null) {
+        report.fail(q.rowNum(), r.group().size(), "题目在文件中重复（与第" + firstRow + "行）");
+        continue;
+      }
+      report.successRows += r.group().size();
+      var existing = existingByKey.get(key);
+      if (existing == null) {
+        diff.created.add(q);
+      } else if (bodyOf(q.options(), q.sceneIds()).equals(bodyOf(existing))) {
+        report.unchanged++;
+      } else {
+        diff.updated.add(new UpdatedQuestion(existing.id(), q));
+      }
+    }
+    return diff;
+  }
+
+  private static QuestionBody bodyOf(QuestionSnapshot existing) {
+    var options = new ArrayList<PreparedOption>(existing.options().size());
+    for (var o : existing.options()) {
+      var scores = new ArrayList<DimensionScore>(o.scores().size());
+      o.scores().forEach((code, score) -> scores.add(new DimensionScore(code.toUpperCase(Locale.ROOT), score)));
+      options.add(
+          new PreparedOption(
+              normalizeOptionContent(o.content()), o.suggestFlag(), safeText(o.improvementTip()), o.sortNo(), scores));
+    }
+    return bodyOf(options, existing.sceneIds());
+  }
+
+  /** 比对用的规范形式：选项按排序号、内容排序，维度分值与烦恼场景按集合比较。 */
+  private static QuestionBody bodyOf(List<PreparedOption> options, List<Long> sceneIds) {
+    var out = new ArrayList<OptionBody>(options.size());
+    for (var o : options) {
+      var scores = new HashMap<String, Integer>();
+      for (var ds : o.scores()) {
+        scores.put(ds.code(), ds.score());
+      }
+      out.add(new OptionBody(o.content(), o.suggestFlag(), o.improvementTip(), o.sortNo(), scores));
+    }
+    out.sort(Comparator.comparingInt(OptionBody::sortNo).thenComparing(OptionBody::content));
+    return new QuestionBody(out, new HashSet<>(sceneIds));
+  }
+
   private Map<String, Long> resolveTroubleSceneIds(List<ImportRow> rows) {
     var names = new HashSet<String>();
     for (var r : rows) {
@@ -631,16 +791,8 @@ public class AdminQuestionImportService {
     if (names.isEmpty()) {
       return Map.of();
     }
-    var idByName = sceneRepo.mapActiveIdsByNames(List.copyOf(names));
-    if (idByName.size() != names.size()) {
-      var missing = new ArrayList<String>();
-      for (var n : names) {
-        if (!idByName.containsKey(n)) missing.add(n);
-      }
-      missing.sort(String::compareTo);
-      throw new AppException(ErrorCode.INVALID_REQUEST, "烦恼场景不存在或已删除：" + String.join("，", missing));
-    }
-    return idByName;
+    // 不存在的名称在校验对应题目时报错，以便和其他错误一并返回
+    return sceneRepo.mapActiveIdsByNames(List.copyOf(names));
   }
 
   private static List<Long> resolveSceneIds(String rawNames, Map<String, Long> idByName) {
@@ -661,4 +813,13 @@ public class AdminQuestionImportService {
     }
     return out;
   }
+
+  private static void deleteQuietly(Path file) {
+    if (file == null) return;
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException ignored) {
+      // 临时文件删除失败不影响导入结果
+    }
+  }
 }
@@ -0,0 +1,99 @@
+package com.howtogrow.backend.service.admin;
+
+import com.howtogrow.backend.infrastructure.admin.QuestionAdminRepository;
+import com.howtogrow.backend.infrastructure.admin.QuestionAdminRepository.NewOption;
+import com.howtogrow.backend.infrastructure.admin.QuestionAdminRepository.NewOptionDimensionScore;
+import com.howtogrow.backend.infrastructure.admin.QuestionAdminRepository.NewQuestion;
+import com.howtogrow.backend.infrastructure.admin.QuestionAdminRepository.QuestionScenePair;
+import com.howtogrow.backend.infrastructure.question.QuestionBankChanges;
+import com.howtogrow.backend.service.admin.AdminQuestionImportService.DimensionScore;
+import com.howtogrow.backend.service.admin.AdminQuestionImportService.ImportDiff;
+import com.howtogrow.backend.service.admin.AdminQuestionImportService.PreparedQuestion;
+import com.howtogrow.backend.service.admin.AdminQuestionImportService.UpdatedQuestion;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 题库导入的写库部分：解析、校验与比对都在事务外完成，这里只在一个短事务里落库已算好的差异。
+ */
+@Service
+public class AdminQuestionImportWriter {
+  private final QuestionAdminRepository questionRepo;
+  private final QuestionBankChanges questionBankChanges;
+
+  public AdminQuestionImportWriter(QuestionAdminRepository questionRepo, QuestionBankChanges questionBankChanges) {
+    this.questionRepo = questionRepo;
+    this.questionBankChanges = questionBankChanges;
+  }
+
+  /** @return 与 {@code diff.created()} 同序的新增题目ID */
+  @Transactional
+  public List<Long> apply(ImportDiff diff) {
+    var createdIds = insertAll(diff.created());
+    var updatedIds = replaceAll(diff.updated());
+    var changedIds = new ArrayList<Long>(createdIds.size() + updatedIds.size());
+    changedIds.addAll(createdIds);
+    changedIds.addAll(updatedIds);
+    if (!changedIds.isEmpty()) {
+      questionBankChanges.questionsChanged(changedIds);
+    }
+    return createdIds;
+  }
+
+  /** 按表批量插入：题目 → 选项 → 维度分值/烦恼场景关联，每张表每 500 行一条多行 INSERT。返回与入参同序的题目ID。 */
+  private List<Long> insertAll(List<PreparedQuestion> questions) {
+    if (questions.isEmpty()) {
+      return List.of();
+    }
+    var questionIds =
+        questionRepo.insertQuestions(
+            questions.stream()
+                .map(q -> new NewQuestion(q.content(), q.minAge(), q.maxAge(), q.questionType(), 1))
+                .toList());
+    insertChildren(questionIds, questions);
+    return questionIds;
+  }
+
+  /** 变更的题目：题干/年龄/题型即查重键本身不变，状态保持原样；选项软删后重建，烦恼场景整体替换（同单题编辑）。 */
+  private List<Long> replaceAll(List<UpdatedQuestion> updated) {
+    if (updated.isEmpty()) {
+      return List.of();
+    }
+    var ids = updated.stream().map(UpdatedQuestion::questionId).toList();
+    questionRepo.deleteOptionDimensionScores(questionRepo.listOptionIdsByQuestions(ids));
+    questionRepo.softDeleteOptionsByQuestionIds(ids);
+    questionRepo.deleteQuestionTroubleScenesByQuestionIds(ids);
+    questionRepo.touchQuestionsUpdatedAt(ids);
+    insertChildren(ids, updated.stream().map(UpdatedQuestion::prepared).toList());
+    return ids;
+  }
+
+  private void insertChildren(List<Long> questionIds, List<PreparedQuestion> questions) {
+    var options = new ArrayList<NewOption>();
+    var optionScores = new ArrayList<List<DimensionScore>>();
+    var scenePairs = new ArrayList<QuestionScenePair>();
+    for (int i = 0; i < questions.size(); i++) {
+      var q = questions.get(i);
+      long questionId = questionIds.get(i);
+      for (var o : q.options()) {
+        options.add(new NewOption(questionId, o.content(), o.suggestFlag(), o.improvementTip(), o.sortNo()));
+        optionScores.add(o.scores());
+      }
+      for (var sceneId : q.sceneIds()) {
+        scenePairs.add(new QuestionScenePair(questionId, sceneId));
+      }
+    }
+    var optionIds = questionRepo.insertOptions(options);
+
+    var scores = new ArrayList<NewOptionDimensionScore>();
+    for (int i = 0; i < optionIds.size(); i++) {
+      for (var ds : optionScores.get(i)) {
+        scores.add(new NewOptionDimensionScore(optionIds.get(i), ds.code(), ds.score()));
+      }
+    }
+    questionRepo.insertOptionDimensionScores(scores);
+    questionRepo.insertQuestionTroubleScenes(scenePairs);
+  }
+}
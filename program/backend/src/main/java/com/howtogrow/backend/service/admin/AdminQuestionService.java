@@ -8,6 +8,7 @@ import com.howtogrow.backend.controller.admin.dto.QuestionSummaryView;
 import com.howtogrow.backend.domain.capability.CapabilityDimension;
 import com.howtogrow.backend.infrastructure.admin.QuestionAdminRepository;
 import com.howtogrow.backend.infrastructure.admin.QuestionQueryRepository;
+import com.howtogrow.backend.infrastructure.db.CachedCounts;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
@@ -19,10 +20,13 @@ import org.springframework.stereotype.Service;
 public class AdminQuestionService {
   private final QuestionQueryRepository queryRepo;
   private final QuestionAdminRepository writeRepo;
+  private final CachedCounts counts;
 
-  public AdminQuestionService(QuestionQueryRepository queryRepo, QuestionAdminRepository writeRepo) {
+  public AdminQuestionService(
+      QuestionQueryRepository queryRepo, QuestionAdminRepository writeRepo, CachedCounts counts) {
     this.queryRepo = queryRepo;
     this.writeRepo = writeRepo;
+    this.counts = counts;
   }
 
   public PageResponse<QuestionSummaryView> list(
@@ -33,15 +37,20 @@ public class AdminQuestionService {
       Long troubleSceneId,
       String keyword,
       int page,
-      int pageSize) {
+      int pageSize,
+      Long cursor) {
     if (minAge != null && maxAge != null && minAge > maxAge) {
       throw new AppException(ErrorCode.INVALID_REQUEST, "最小年龄不能大于最大年龄");
     }
 
     int offset = (page - 1) * pageSize;
-    long total = queryRepo.countQuestions(minAge, maxAge, status, questionType, troubleSceneId, keyword);
+    long total =
+        counts.get(
+            CachedCounts.key("questions", minAge, maxAge, status, questionType, troubleSceneId, keyword),
+            () -> queryRepo.countQuestions(minAge, maxAge, status, questionType, troubleSceneId, keyword));
     var questionRows =
-        queryRepo.listQuestions(minAge, maxAge, status, questionType, troubleSceneId, keyword, offset, pageSize);
+        queryRepo.listQuestions(
+            minAge, maxAge, status, questionType, troubleSceneId, keyword, cursor, offset, pageSize);
     var troubleSceneIdsByQuestionId =
         queryRepo.mapTroubleSceneIdsByQuestionIds(
             questionRows.stream().map(QuestionQueryRepository.QuestionSummaryRow::id).toList());
@@ -58,7 +67,7 @@ public class AdminQuestionService {
                         r.content(),
                         troubleSceneIdsByQuestionId.getOrDefault(r.id(), List.of())))
             .toList();
-    return new PageResponse<>(page, pageSize, total, items);
+    return PageResponse.keyset(page, pageSize, total, items, QuestionSummaryView::questionId);
   }
 
   public QuestionDetailView detail(long questionId) {
@@ -6,6 +6,7 @@ import com.howtogrow.backend.controller.admin.dto.TroubleSceneUpdateMode;
 import com.howtogrow.backend.controller.admin.dto.QuestionUpsertRequest;
 import com.howtogrow.backend.domain.capability.CapabilityDimension;
 import com.howtogrow.backend.infrastructure.admin.QuestionAdminRepository;
+import com.howtogrow.backend.infrastructure.question.QuestionBankChanges;
 import com.howtogrow.backend.infrastructure.trouble.TroubleSceneRepository;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -18,10 +19,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class AdminQuestionWriteService {
   private final QuestionAdminRepository questionRepo;
   private final TroubleSceneRepository sceneRepo;
+  private final QuestionBankChanges questionBankChanges;
 
-  public AdminQuestionWriteService(QuestionAdminRepository questionRepo, TroubleSceneRepository sceneRepo) {
+  public AdminQuestionWriteService(
+      QuestionAdminRepository questionRepo,
+      TroubleSceneRepository sceneRepo,
+      QuestionBankChanges questionBankChanges) {
     this.questionRepo = questionRepo;
     this.sceneRepo = sceneRepo;
+    this.questionBankChanges = questionBankChanges;
   }
 
   @Transactional
@@ -39,6 +45,7 @@ public class AdminQuestionWriteService {
             request.status());
     questionRepo.replaceQuestionTroubleScenes(questionId, normalizeSceneIds(request.troubleSceneIds()));
     insertOptions(questionId, request);
+    questionBankChanges.questionsChanged(List.of(questionId));
     return questionId;
   }
 
@@ -58,6 +65,7 @@ public class AdminQuestionWriteService {
     questionRepo.deleteOptionDimensionScores(optionIds);
     questionRepo.softDeleteOptions(questionId);
     insertOptions(questionId, request);
+    questionBankChanges.questionsChanged(List.of(questionId));
   }
 
   @Transactional
@@ -67,6 +75,7 @@ public class AdminQuestionWriteService {
     questionRepo.softDeleteOptions(questionId);
     questionRepo.softDeleteQuestion(questionId);
     questionRepo.replaceQuestionTroubleScenes(questionId, List.of());
+    questionBankChanges.questionsChanged(List.of(questionId));
   }
 
   @Transactional
@@ -80,6 +89,7 @@ public class AdminQuestionWriteService {
     questionRepo.softDeleteOptionsByQuestionIds(ids);
     questionRepo.softDeleteQuestions(ids);
     questionRepo.deleteQuestionTroubleScenesByQuestionIds(ids);
+    questionBankChanges.questionsChanged(ids);
   }
 
   @Transactional
@@ -110,6 +120,7 @@ public class AdminQuestionWriteService {
       questionRepo.appendQuestionTroubleScenesByQuestionIds(ids, sceneIds);
     }
     questionRepo.touchQuestionsUpdatedAt(ids);
+    questionBankChanges.questionsChanged(ids);
   }
 
   private void validateQuestionsExist(List<Long> questionIds) {
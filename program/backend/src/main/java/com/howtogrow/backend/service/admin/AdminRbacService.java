@@ -30,6 +30,7 @@ public class AdminRbacService {
   private final AdminRolePermissionRepository rolePermRepo;
   private final AdminUserAdminRepository adminUserRepo;
   private final AdminUserRoleRepository userRoleRepo;
+  private final AdminPermissionService permissionService;
   private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
   public AdminRbacService(
@@ -37,12 +38,14 @@ public class AdminRbacService {
       AdminRoleRepository roleRepo,
       AdminRolePermissionRepository rolePermRepo,
       AdminUserAdminRepository adminUserRepo,
-      AdminUserRoleRepository userRoleRepo) {
+      AdminUserRoleRepository userRoleRepo,
+      AdminPermissionService permissionService) {
     this.permissionRepo = permissionRepo;
     this.roleRepo = roleRepo;
     this.rolePermRepo = rolePermRepo;
     this.adminUserRepo = adminUserRepo;
     this.userRoleRepo = userRoleRepo;
+    this.permissionService = permissionService;
   }
 
   public List<PermissionView> listPermissions() {
@@ -95,6 +98,7 @@ public class AdminRbacService {
       throw new AppException(ErrorCode.INVALID_REQUEST, "部分 permissionCodes 不存在");
     }
     rolePermRepo.replaceRolePermissions(roleId, permissionIds);
+    permissionService.rolePermissionsChanged();
   }
 
   public List<AdminUserView> listAdminUsers() {
@@ -144,6 +148,7 @@ public class AdminRbacService {
     }
     var roles = resolveRoleIds(request.roleCodes());
     userRoleRepo.replaceUserRoles(adminUserId, roles);
+    permissionService.adminRolesChanged(adminUserId);
   }
 
   private List<Long> resolveRoleIds(List<String> roleCodes) {
@@ -6,6 +6,8 @@ import com.howtogrow.backend.controller.admin.dto.PageResponse;
 import com.howtogrow.backend.controller.admin.dto.TroubleSceneUpsertRequest;
 import com.howtogrow.backend.controller.admin.dto.TroubleSceneView;
 import com.howtogrow.backend.infrastructure.admin.QuestionAdminRepository;
+import com.howtogrow.backend.infrastructure.cache.DataVersions;
+import com.howtogrow.backend.infrastructure.question.QuestionBankChanges;
 import com.howtogrow.backend.infrastructure.trouble.TroubleSceneRepository;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -18,10 +20,18 @@ import org.springframework.transaction.annotation.Transactional;
 public class AdminTroubleSceneService {
   private final TroubleSceneRepository sceneRepo;
   private final QuestionAdminRepository questionRepo;
+  private final QuestionBankChanges questionBankChanges;
+  private final DataVersions dataVersions;
 
-  public AdminTroubleSceneService(TroubleSceneRepository sceneRepo, QuestionAdminRepository questionRepo) {
+  public AdminTroubleSceneService(
+      TroubleSceneRepository sceneRepo,
+      QuestionAdminRepository questionRepo,
+      QuestionBankChanges questionBankChanges,
+      DataVersions dataVersions) {
     this.sceneRepo = sceneRepo;
     this.questionRepo = questionRepo;
+    this.questionBankChanges = questionBankChanges;
+    this.dataVersions = dataVersions;
   }
 
   public PageResponse<TroubleSceneView> list(int page, int pageSize, String keyword, Integer ageYear) {
@@ -71,6 +81,7 @@ public class AdminTroubleSceneService {
     } catch (DuplicateKeyException e) {
       throw new AppException(ErrorCode.INVALID_REQUEST, "名称已存在");
     }
+    dataVersions.bump(DataVersions.TROUBLE_SCENES);
   }
 
   @Transactional
@@ -82,6 +93,8 @@ public class AdminTroubleSceneService {
     }
     questionRepo.deleteQuestionTroubleScenesBySceneId(id);
     sceneRepo.softDelete(id);
+    questionBankChanges.troubleScenesRemoved(List.of(id));
+    dataVersions.bump(DataVersions.TROUBLE_SCENES);
   }
 
   @Transactional
@@ -92,6 +105,8 @@ public class AdminTroubleSceneService {
     }
     questionRepo.deleteQuestionTroubleScenesBySceneIds(normalized);
     sceneRepo.softDeleteBatch(normalized);
+    questionBankChanges.troubleScenesRemoved(normalized);
+    dataVersions.bump(DataVersions.TROUBLE_SCENES);
   }
 
   private static String safeText(String text) {
@@ -5,8 +5,10 @@ import com.howtogrow.backend.api.exception.AppException;
 import com.howtogrow.backend.controller.admin.dto.PageResponse;
 import com.howtogrow.backend.controller.admin.dto.UserView;
 import com.howtogrow.backend.infrastructure.admin.UserQueryRepository;
+import com.howtogrow.backend.infrastructure.db.CachedCounts;
 import com.howtogrow.backend.infrastructure.subscription.UserSubscriptionRepository;
 import com.howtogrow.backend.infrastructure.user.UserAccountRepository;
+import com.howtogrow.backend.service.common.EntitlementSnapshotCache;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -17,16 +19,22 @@ public class AdminUserService {
   private final UserQueryRepository queryRepo;
   private final UserAccountRepository userRepo;
   private final UserSubscriptionRepository subscriptionRepo;
+  private final EntitlementSnapshotCache entitlements;
+  private final CachedCounts counts;
   private final Clock clock;
 
   public AdminUserService(
       UserQueryRepository queryRepo,
       UserAccountRepository userRepo,
       UserSubscriptionRepository subscriptionRepo,
+      EntitlementSnapshotCache entitlements,
+      CachedCounts counts,
       Clock clock) {
     this.queryRepo = queryRepo;
     this.userRepo = userRepo;
     this.subscriptionRepo = subscriptionRepo;
+    this.entitlements = entitlements;
+    this.counts = counts;
     this.clock = clock;
   }
 
@@ -36,11 +44,15 @@ public class AdminUserService {
       Long userId,
       String keyword,
       Boolean freeTrialUsed,
-      String subscriptionStatus) {
+      String subscriptionStatus,
+      Long cursor) {
     int offset = (page - 1) * pageSize;
-    long total = queryRepo.countUsers(userId, keyword, freeTrialUsed, subscriptionStatus);
+    long total =
+        counts.get(
+            CachedCounts.key("users", userId, keyword, freeTrialUsed, subscriptionStatus),
+            () -> queryRepo.countUsers(userId, keyword, freeTrialUsed, subscriptionStatus));
     var items =
-        queryRepo.listUsers(offset, pageSize, userId, keyword, freeTrialUsed, subscriptionStatus).stream()
+        queryRepo.listUsers(cursor, offset, pageSize, userId, keyword, freeTrialUsed, subscriptionStatus).stream()
             .map(
                 u ->
                     new UserView(
@@ -52,7 +64,7 @@ public class AdminUserService {
                         u.freeTrialUsed(),
                         u.createdAt()))
             .toList();
-    return new PageResponse<>(page, pageSize, total, items);
+    return PageResponse.keyset(page, pageSize, total, items, UserView::userId);
   }
 
   public Instant extendSubscription(long userId, int days) {
@@ -65,6 +77,7 @@ public class AdminUserService {
     var grantedTo = grantedFrom.plus(Duration.ofDays(days));
 
     subscriptionRepo.updateSubscriptionEndAt(userId, grantedTo);
+    entitlements.subscriptionChanged(userId, grantedTo);
     return grantedTo;
   }
 }
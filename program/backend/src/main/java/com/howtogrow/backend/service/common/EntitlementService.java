@@ -10,35 +10,31 @@ import org.springframework.stereotype.Service;
 @Service
 public class EntitlementService {
   private final UserAccountRepository userRepo;
+  private final EntitlementSnapshotCache entitlements;
   private final Clock clock;
 
-  public EntitlementService(UserAccountRepository userRepo, Clock clock) {
+  public EntitlementService(UserAccountRepository userRepo, EntitlementSnapshotCache entitlements, Clock clock) {
     this.userRepo = userRepo;
+    this.entitlements = entitlements;
     this.clock = clock;
   }
 
   public boolean isSubscribed(long userId) {
-    var user =
-        userRepo.findById(userId).orElseThrow(() -> new AppException(ErrorCode.NOT_FOUND, "用户不存在"));
-    var endAt = user.subscriptionEndAt();
-    return endAt != null && endAt.isAfter(Instant.now(clock));
+    return entitlements.get(userId).subscribedAt(Instant.now(clock));
   }
 
   public void requireCanStartDailyAssessment(long userId) {
-    var user =
-        userRepo.findById(userId).orElseThrow(() -> new AppException(ErrorCode.NOT_FOUND, "用户不存在"));
-    var subscribed = user.subscriptionEndAt() != null && user.subscriptionEndAt().isAfter(Instant.now(clock));
-    if (!subscribed && user.freeTrialUsed()) {
+    var snapshot = entitlements.get(userId);
+    if (!snapshot.subscribedAt(Instant.now(clock)) && snapshot.freeTrialUsed()) {
       throw new AppException(ErrorCode.FREE_TRIAL_ALREADY_USED, "免费体验已使用，请开通会员");
     }
   }
 
   public void onDailyAssessmentSubmitted(long userId) {
-    var user =
-        userRepo.findById(userId).orElseThrow(() -> new AppException(ErrorCode.NOT_FOUND, "用户不存在"));
-    var subscribed = user.subscriptionEndAt() != null && user.subscriptionEndAt().isAfter(Instant.now(clock));
-    if (!subscribed && !user.freeTrialUsed()) {
+    var snapshot = entitlements.get(userId);
+    if (!snapshot.subscribedAt(Instant.now(clock)) && !snapshot.freeTrialUsed()) {
       userRepo.markFreeTrialUsed(userId);
+      entitlements.freeTrialUsed(userId);
     }
   }
 }
@@ -0,0 +1,104 @@
+package com.howtogrow.backend.service.common;
+
+import com.howtogrow.backend.api.ErrorCode;
+import com.howtogrow.backend.api.exception.AppException;
+import com.howtogrow.backend.infrastructure.cache.CacheInvalidationBus;
+import com.howtogrow.backend.infrastructure.db.AfterCommit;
+import com.howtogrow.backend.infrastructure.user.UserAccountRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户权益快照缓存（订阅到期时间 + 是否已用免费体验），避免热路径反复读取 user_account。
+ *
+ * <p>写入方在事务提交后写穿本节点缓存并广播失效；加载期间发生过失效的结果不会回填，避免把旧值写回缓存。
+ */
+@Component
+public class EntitlementSnapshotCache {
+  static final String TOPIC = "entitlement";
+  private static final Duration TTL = Duration.ofSeconds(60);
+  private static final int MAX_ENTRIES = 50_000;
+
+  private final UserAccountRepository userRepo;
+  private final CacheInvalidationBus bus;
+  private final Clock clock;
+  private final ConcurrentHashMap<Long, Entry> cache = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+
+  public EntitlementSnapshotCache(UserAccountRepository userRepo, CacheInvalidationBus bus, Clock clock) {
+    this.userRepo = userRepo;
+    this.bus = bus;
+    this.clock = clock;
+    bus.subscribe(TOPIC, payload -> invalidateLocally(Long.parseLong(payload)));
+  }
+
+  public Snapshot get(long userId) {
+    long now = clock.millis();
+    var hit = cache.get(userId);
+    if (hit != null && hit.expiresAt > now) {
+      return hit.snapshot;
+    }
+
+    long loadedAt = generation.get();
+    var user =
+        userRepo.findById(userId).orElseThrow(() -> new AppException(ErrorCode.NOT_FOUND, "用户不存在"));
+    var snapshot = new Snapshot(user.subscriptionEndAt(), user.freeTrialUsed());
+    if (cache.size() >= MAX_ENTRIES) {
+      cache.values().removeIf(e -> e.expiresAt <= now);
+      if (cache.size() >= MAX_ENTRIES) {
+        cache.clear();
+      }
+    }
+    if (generation.get() == loadedAt) {
+      cache.put(userId, new Entry(snapshot, now + TTL.toMillis()));
+    }
+    return snapshot;
+  }
+
+  /** 订阅到期时间变更（支付发放 / 运营延期）。 */
+  public void subscriptionChanged(long userId, Instant subscriptionEndAt) {
+    AfterCommit.run(
+        () -> {
+          writeThrough(userId, subscriptionEndAt, null);
+          bus.publish(TOPIC, Long.toString(userId));
+        });
+  }
+
+  public void freeTrialUsed(long userId) {
+    AfterCommit.run(
+        () -> {
+          writeThrough(userId, null, true);
+          bus.publish(TOPIC, Long.toString(userId));
+        });
+  }
+
+  private void writeThrough(long userId, Instant subscriptionEndAt, Boolean freeTrialUsed) {
+    generation.incrementAndGet();
+    long expiresAt = clock.millis() + TTL.toMillis();
+    cache.computeIfPresent(
+        userId,
+        (k, e) ->
+            new Entry(
+                new Snapshot(
+                    subscriptionEndAt != null ? subscriptionEndAt : e.snapshot.subscriptionEndAt(),
+                    freeTrialUsed != null ? freeTrialUsed : e.snapshot.freeTrialUsed()),
+                expiresAt));
+  }
+
+  private void invalidateLocally(long userId) {
+    generation.incrementAndGet();
+    cache.remove(userId);
+  }
+
+  public record Snapshot(Instant subscriptionEndAt, boolean freeTrialUsed) {
+    public boolean subscribedAt(Instant now) {
+      return subscriptionEndAt != null && subscriptionEndAt.isAfter(now);
+    }
+  }
+
+  private record Entry(Snapshot snapshot, long expiresAt) {}
+}
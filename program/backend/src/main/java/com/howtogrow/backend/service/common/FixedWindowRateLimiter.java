@@ -6,22 +6,31 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+/** 单节点固定窗口限流（app.rate-limit.store=local），多节点部署时限额按节点数放大。 */
 @Service
-public class FixedWindowRateLimiter {
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "store", havingValue = "local")
+public class FixedWindowRateLimiter implements RateLimiter {
+  private static final long SWEEP_INTERVAL_MILLIS = 60_000;
+
   private final Clock clock;
   private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+  private final AtomicLong nextSweepAt = new AtomicLong();
 
   public FixedWindowRateLimiter(Clock clock) {
     this.clock = clock;
   }
 
+  @Override
   public void require(String key, Duration windowSize, int limit) {
     if (limit <= 0) {
       return;
     }
     var now = Instant.now(clock);
+    sweepExpired(now);
     windows.compute(
         key,
         (k, w) -> {
@@ -35,5 +44,18 @@ public class FixedWindowRateLimiter {
         });
   }
 
+  int size() {
+    return windows.size();
+  }
+
+  private void sweepExpired(Instant now) {
+    long due = nextSweepAt.get();
+    long nowMillis = now.toEpochMilli();
+    if (nowMillis < due || !nextSweepAt.compareAndSet(due, nowMillis + SWEEP_INTERVAL_MILLIS)) {
+      return;
+    }
+    windows.values().removeIf(w -> now.isAfter(w.windowEnd));
+  }
+
   private record Window(Instant windowEnd, int count) {}
 }
@@ -0,0 +1,10 @@
+package com.howtogrow.backend.service.common;
+
+import java.time.Duration;
+
+public interface RateLimiter {
+  /**
+   * 每个 key 在 windowSize 内最多放行 limit 次，超出抛出 {@code RATE_LIMITED}；limit <= 0 表示不限流。
+   */
+  void require(String key, Duration windowSize, int limit);
+}
@@ -0,0 +1,137 @@
+package com.howtogrow.backend.service.common;
+
+import com.howtogrow.backend.api.ErrorCode;
+import com.howtogrow.backend.api.exception.AppException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+/**
+ * 基于 Redis 的分布式限流（GCRA，令牌按 windowSize / limit 的间隔匀速恢复，最多积攒 limit 个）。
+ *
+ * <p>本地缓存每个 key 最近一次从 Redis 得到的 TAT（理论到达时间）：Redis 中的 TAT 只增不减，
+ * 本地据此判定已超限时直接拒绝，无需访问 Redis。Redis 不可用时退化为按本地状态单节点限流。
+ * 已回满的本地条目会被定期清理。
+ *
+ * <p>脚本用 Redis 的 {@code TIME} 作为当前时间，各节点时钟不一致时不会互相放大或缩小配额；
+ * 本地缓存的 TAT 按脚本返回的 Redis 时间换算到本节点时钟后再保存。
+ *
+ * <p>放行的请求仍要访问一次 Redis：这里的限额是按用户的小额度（如每分钟几次 AI 对话），若让各节点预领一批令牌在本地放行，
+ * 请求经负载均衡落到不同节点时会按节点数成倍超发，或把额度锁在闲置节点上。被限流的请求本地即可拒绝，
+ * 受保护的正是这部分高频重试流量。
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "store", havingValue = "redis", matchIfMissing = true)
+public class RedisRateLimiter implements RateLimiter {
+  private static final Logger log = LoggerFactory.getLogger(RedisRateLimiter.class);
+  private static final String KEY_PREFIX = "rate_limit:";
+  private static final long SWEEP_INTERVAL_MILLIS = 60_000;
+
+  @SuppressWarnings("rawtypes")
+  private static final DefaultRedisScript<List> GCRA_SCRIPT =
+      new DefaultRedisScript<>(
+          """
+          redis.replicate_commands()
+          local time = redis.call('TIME')
+          local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+          local interval = tonumber(ARGV[1])
+          local burst = tonumber(ARGV[2])
+          local tat = tonumber(redis.call('get', KEYS[1])) or now
+          if tat < now then
+            tat = now
+          end
+          local newTat = tat + interval
+          if newTat - interval * burst > now then
+            return {0, tat, now}
+          end
+          redis.call('set', KEYS[1], string.format('%d', newTat), 'PX', string.format('%d', newTat - now))
+          return {1, newTat, now}
+          """,
+          List.class);
+
+  private final StringRedisTemplate redis;
+  private final Clock clock;
+  private final ConcurrentHashMap<String, Long> tats = new ConcurrentHashMap<>();
+  private final AtomicLong nextSweepAt = new AtomicLong();
+
+  public RedisRateLimiter(StringRedisTemplate redis, Clock clock) {
+    this.redis = redis;
+    this.clock = clock;
+  }
+
+  @Override
+  public void require(String key, Duration windowSize, int limit) {
+    if (limit <= 0) {
+      return;
+    }
+    long now = clock.millis();
+    long interval = Math.max(1, windowSize.toMillis() / limit);
+    sweepExpired(now);
+
+    var knownTat = tats.get(key);
+    if (knownTat != null && !conforms(knownTat, now, interval, limit)) {
+      throw rateLimited();
+    }
+
+    boolean allowed;
+    try {
+      List<?> result =
+          redis.execute(
+              GCRA_SCRIPT,
+              List.of(KEY_PREFIX + key),
+              String.valueOf(interval),
+              String.valueOf(limit));
+      allowed = ((Number) result.get(0)).longValue() == 1;
+      long redisNow = ((Number) result.get(2)).longValue();
+      tats.put(key, ((Number) result.get(1)).longValue() - redisNow + now);
+    } catch (RuntimeException e) {
+      log.warn("rate limiter falling back to local state, key={}, err={}", key, e.toString());
+      allowed = requireLocally(key, now, interval, limit);
+    }
+    if (!allowed) {
+      throw rateLimited();
+    }
+  }
+
+  int size() {
+    return tats.size();
+  }
+
+  private boolean requireLocally(String key, long now, long interval, int limit) {
+    var allowed = new boolean[1];
+    tats.compute(
+        key,
+        (k, tat) -> {
+          if (tat != null && !conforms(tat, now, interval, limit)) {
+            return tat;
+          }
+          allowed[0] = true;
+          return Math.max(tat == null ? now : tat, now) + interval;
+        });
+    return allowed[0];
+  }
+
+  private static boolean conforms(long tat, long now, long interval, int limit) {
+    return Math.max(tat, now) + interval - interval * limit <= now;
+  }
+
+  private void sweepExpired(long now) {
+    long due = nextSweepAt.get();
+    if (now < due || !nextSweepAt.compareAndSet(due, now + SWEEP_INTERVAL_MILLIS)) {
+      return;
+    }
+    tats.values().removeIf(tat -> tat <= now);
+  }
+
+  private static AppException rateLimited() {
+    return new AppException(ErrorCode.RATE_LIMITED, "请求过于频繁，请稍后再试");
+  }
+}
@@ -2,25 +2,22 @@ package com.howtogrow.backend.service.common;
 
 import com.howtogrow.backend.api.ErrorCode;
 import com.howtogrow.backend.api.exception.AppException;
-import com.howtogrow.backend.infrastructure.user.UserAccountRepository;
 import java.time.Clock;
 import java.time.Instant;
 import org.springframework.stereotype.Service;
 
 @Service
 public class SubscriptionService {
-  private final UserAccountRepository userRepo;
+  private final EntitlementSnapshotCache entitlements;
   private final Clock clock;
 
-  public SubscriptionService(UserAccountRepository userRepo, Clock clock) {
-    this.userRepo = userRepo;
+  public SubscriptionService(EntitlementSnapshotCache entitlements, Clock clock) {
+    this.entitlements = entitlements;
     this.clock = clock;
   }
 
   public boolean isSubscribed(long userId) {
-    var user =
-        userRepo.findById(userId).orElseThrow(() -> new AppException(ErrorCode.NOT_FOUND, "用户不存在"));
-    var endAt = user.subscriptionEndAt();
+    var endAt = entitlements.get(userId).subscriptionEndAt();
     return endAt != null && !endAt.isBefore(Instant.now(clock));
   }
 
@@ -0,0 +1,200 @@
+package com.howtogrow.backend.service.miniprogram;
+
+import com.howtogrow.backend.infrastructure.ai.AiChatClient;
+import com.howtogrow.backend.infrastructure.ai.AiProperties;
+import com.howtogrow.backend.infrastructure.ai.AiTokenEstimator;
+import com.howtogrow.backend.infrastructure.aichat.AiChatContextCache.ContextMessage;
+import com.howtogrow.backend.infrastructure.aichat.AiChatSessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 对话提示词压缩：系统提示词 + 会话滚动摘要 + 最近消息，总量控制在 token 预算内（按字数估算）。
+ *
+ * <p>预算放不下的较早消息不进入本轮提示词；累计到一定量后，回复结束时在后台把它们与旧摘要合并成新的滚动摘要，
+ * 之后的轮次以摘要代替这些消息。摘要是尽力而为的：生成失败或被并发覆盖只会少一段历史，不影响对话。
+ */
+@Component
+public class AiChatContextCompactor {
+  private static final Logger log = LoggerFactory.getLogger(AiChatContextCompactor.class);
+  static final int DEFAULT_TOKEN_BUDGET = 4_000;
+  private static final int MAX_SUMMARY_CHARS = 1_000;
+  private static final String SUMMARY_PREFIX = "以下是此前对话的摘要，供参考：\n";
+  private static final String SUMMARIZE_PROMPT =
+      """
+      请把下面家长与育儿指导师的对话（以及已有摘要）合并压缩成一段不超过 300 字的中文摘要。
+      保留孩子的情况、家长关注的问题和已经给出的建议要点；不要添加对话中没有的内容，不要使用标题和列表。
+      """
+          .trim();
+
+  private final AiChatClient aiChatClient;
+  private final AiChatSessionRepository sessionRepo;
+  private final TaskExecutor taskExecutor;
+  private final int tokenBudget;
+  private final DistributionSummary promptTokensBefore;
+  private final DistributionSummary promptTokensAfter;
+  private final Counter droppedMessages;
+  private final Counter summariesUpdated;
+  private final Counter summariesFailed;
+  private final Set<Long> summarizing = ConcurrentHashMap.newKeySet();
+
+  public AiChatContextCompactor(
+      AiChatClient aiChatClient,
+      AiChatSessionRepository sessionRepo,
+      TaskExecutor taskExecutor,
+      AiProperties aiProperties,
+      MeterRegistry meterRegistry) {
+    this.aiChatClient = aiChatClient;
+    this.sessionRepo = sessionRepo;
+    this.taskExecutor = taskExecutor;
+    this.tokenBudget =
+        aiProperties.contextTokenBudget() > 0 ? aiProperties.contextTokenBudget() : DEFAULT_TOKEN_BUDGET;
+    this.promptTokensBefore =
+        DistributionSummary.builder("app.ai.chat.prompt.tokens")
+            .tag("stage", "before")
+            .baseUnit("tokens")
+            .register(meterRegistry);
+    this.promptTokensAfter =
+        DistributionSummary.builder("app.ai.chat.prompt.tokens")
+            .tag("stage", "after")
+            .baseUnit("tokens")
+            .register(meterRegistry);
+    this.droppedMessages = Counter.builder("app.ai.chat.context.dropped").register(meterRegistry);
+    this.summariesUpdated =
+        Counter.builder("app.ai.chat.context.summaries").tag("result", "updated").register(meterRegistry);
+    this.summariesFailed =
+        Counter.builder("app.ai.chat.context.summaries").tag("result", "failed").register(meterRegistry);
+  }
+
+  /**
+   * @param summary 会话当前的滚动摘要（可为 null）
+   * @param summaryThroughMessageId 摘要覆盖到的消息ID；窗口中不大于它的消息已包含在摘要里
+   * @param window 上下文窗口缓存中的最近消息（ID 升序）
+   */
+  public CompactedPrompt compact(
+      long sessionId,
+      String systemPrompt,
+      String summary,
+      Long summaryThroughMessageId,
+      List<ContextMessage> window) {
+    int systemTokens = AiTokenEstimator.estimateMessage(systemPrompt);
+    int rawTokens = systemTokens;
+    for (var m : window) {
+      rawTokens += m.tokens();
+    }
+
+    var history = new ArrayList<ContextMessage>(window.size());
+    for (var m : window) {
+      if (summaryThroughMessageId == null || m.id() > summaryThroughMessageId) {
+        history.add(m);
+      }
+    }
+    var summaryText = summary == null || summary.isBlank() ? null : SUMMARY_PREFIX + summary.trim();
+    int fixedTokens = systemTokens + (summaryText == null ? 0 : AiTokenEstimator.estimateMessage(summaryText));
+
+    // 从最新一条往前放，放不下即停止；最新一条（本轮问题）总是保留
+    int used = fixedTokens;
+    int keepFrom = history.size();
+    while (keepFrom > 0) {
+      int tokens = history.get(keepFrom - 1).tokens();
+      if (keepFrom < history.size() && used + tokens > tokenBudget) {
+        break;
+      }
+      used += tokens;
+      keepFrom--;
+    }
+
+    var messages = new ArrayList<AiChatClient.ChatMessage>(history.size() - keepFrom + 2);
+    messages.add(new AiChatClient.ChatMessage("system", systemPrompt));
+    if (summaryText != null) {
+      messages.add(new AiChatClient.ChatMessage("system", summaryText));
+    }
+    for (int i = keepFrom; i < history.size(); i++) {
+      var m = history.get(i);
+      messages.add(new AiChatClient.ChatMessage(m.role(), m.content()));
+    }
+
+    var dropped = List.copyOf(history.subList(0, keepFrom));
+    promptTokensBefore.record(rawTokens);
+    promptTokensAfter.record(used);
+    droppedMessages.increment(dropped.size());
+    return new CompactedPrompt(sessionId, messages, summary, summaryThroughMessageId, dropped);
+  }
+
+  /**
+   * 本轮未放进提示词的消息累计超过预算的四分之一时，后台合并进滚动摘要（同一会话同时只生成一份）。
+   * 应在回复结束后调用，避免与流式回复争抢上游并发。
+   */
+  public void summarizeDropped(CompactedPrompt prompt) {
+    int droppedTokens = 0;
+    for (var m : prompt.dropped()) {
+      droppedTokens += m.tokens();
+    }
+    if (droppedTokens < tokenBudget / 4 || !summarizing.add(prompt.sessionId())) {
+      return;
+    }
+    try {
+      taskExecutor.execute(
+          () -> {
+            try {
+              updateSummary(prompt);
+            } finally {
+              summarizing.remove(prompt.sessionId());
+            }
+          });
+    } catch (TaskRejectedException e) {
+      summarizing.remove(prompt.sessionId());
+    }
+  }
+
+  private void updateSummary(CompactedPrompt prompt) {
+    var dialog = new StringBuilder();
+    if (prompt.summary() != null && !prompt.summary().isBlank()) {
+      dialog.append("已有摘要：\n").append(prompt.summary().trim()).append("\n\n");
+    }
+    dialog.append("新增对话：\n");
+    for (var m : prompt.dropped()) {
+      dialog.append("assistant".equalsIgnoreCase(m.role()) ? "指导师：" : "家长：").append(m.content()).append('\n');
+    }
+    try {
+      var text =
+          aiChatClient.chat(
+              List.of(
+                  new AiChatClient.ChatMessage("system", SUMMARIZE_PROMPT),
+                  new AiChatClient.ChatMessage("user", dialog.toString())));
+      if (text == null || text.isBlank()) {
+        summariesFailed.increment();
+        return;
+      }
+      var trimmed = text.trim();
+      if (trimmed.length() > MAX_SUMMARY_CHARS) {
+        trimmed = trimmed.substring(0, MAX_SUMMARY_CHARS);
+      }
+      long throughId = prompt.dropped().get(prompt.dropped().size() - 1).id();
+      if (sessionRepo.updateContextSummary(prompt.sessionId(), trimmed, throughId, prompt.summaryThroughMessageId())) {
+        summariesUpdated.increment();
+      }
+    } catch (RuntimeException e) {
+      summariesFailed.increment();
+      log.warn("ai chat context summary failed, sessionId={}", prompt.sessionId(), e);
+    }
+  }
+
+  /** {@code dropped} 为预算外、尚未进入摘要的较早消息（ID 升序）。 */
+  public record CompactedPrompt(
+      long sessionId,
+      List<AiChatClient.ChatMessage> messages,
+      String summary,
+      Long summaryThroughMessageId,
+      List<ContextMessage> dropped) {}
+}
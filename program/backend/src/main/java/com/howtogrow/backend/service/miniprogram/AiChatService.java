@@ -9,27 +9,27 @@ import com.howtogrow.backend.controller.miniprogram.dto.AiChatCreateSessionRespo
 import com.howtogrow.backend.controller.miniprogram.dto.AiChatMessageCreateResponse;
 import com.howtogrow.backend.controller.miniprogram.dto.AiChatMessageView;
 import com.howtogrow.backend.controller.miniprogram.dto.AiChatSessionView;
+import com.howtogrow.backend.infrastructure.aichat.AiChatContextCache;
 import com.howtogrow.backend.infrastructure.aichat.AiChatMessageRepository;
 import com.howtogrow.backend.infrastructure.aichat.AiChatSessionRepository;
 import com.howtogrow.backend.infrastructure.aichat.AiQuickQuestionRepository;
-import com.howtogrow.backend.infrastructure.ai.AiChatClient;
 import com.howtogrow.backend.infrastructure.ai.OpenAiStreamClient;
+import com.howtogrow.backend.infrastructure.concurrent.Bulkhead;
+import com.howtogrow.backend.infrastructure.sse.CoalescingSseWriter;
+import com.howtogrow.backend.infrastructure.sse.SseWriters;
 import com.howtogrow.backend.config.RateLimitProperties;
-import com.howtogrow.backend.service.common.FixedWindowRateLimiter;
+import com.howtogrow.backend.service.common.RateLimiter;
 import com.howtogrow.backend.service.common.SubscriptionService;
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
-import org.springframework.core.task.TaskExecutor;
-import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 @Service
 public class AiChatService {
-  private static final int CONTEXT_LIMIT = 20;
   private static final String STREAM_SYSTEM_PROMPT =
       """
       你是家长的专属家庭教育指导师，你的任务是随时解答家长提出的任何关于教育孩子的问题。
@@ -42,30 +42,39 @@ public class AiChatService {
   private final SubscriptionService subscriptionService;
   private final AiChatSessionRepository sessionRepo;
   private final AiChatMessageRepository messageRepo;
+  private final AiChatContextCache contextCache;
+  private final AiChatContextCompactor contextCompactor;
   private final AiQuickQuestionRepository quickQuestionRepo;
   private final OpenAiStreamClient openAiStreamClient;
   private final ObjectMapper objectMapper;
-  private final TaskExecutor taskExecutor;
-  private final FixedWindowRateLimiter rateLimiter;
+  private final Bulkhead chatStreamBulkhead;
+  private final SseWriters sseWriters;
+  private final RateLimiter rateLimiter;
   private final RateLimitProperties rateLimitProperties;
 
   public AiChatService(
       SubscriptionService subscriptionService,
       AiChatSessionRepository sessionRepo,
       AiChatMessageRepository messageRepo,
+      AiChatContextCache contextCache,
+      AiChatContextCompactor contextCompactor,
       AiQuickQuestionRepository quickQuestionRepo,
       OpenAiStreamClient openAiStreamClient,
       ObjectMapper objectMapper,
-      TaskExecutor taskExecutor,
-      FixedWindowRateLimiter rateLimiter,
+      Bulkhead chatStreamBulkhead,
+      SseWriters sseWriters,
+      RateLimiter rateLimiter,
       RateLimitProperties rateLimitProperties) {
     this.subscriptionService = subscriptionService;
     this.sessionRepo = sessionRepo;
     this.messageRepo = messageRepo;
+    this.contextCache = contextCache;
+    this.contextCompactor = contextCompactor;
     this.quickQuestionRepo = quickQuestionRepo;
     this.openAiStreamClient = openAiStreamClient;
     this.objectMapper = objectMapper;
-    this.taskExecutor = taskExecutor;
+    this.chatStreamBulkhead = chatStreamBulkhead;
+    this.sseWriters = sseWriters;
     this.rateLimiter = rateLimiter;
     this.rateLimitProperties = rateLimitProperties;
   }
@@ -131,79 +140,106 @@ public class AiChatService {
     var trimmed = content.trim();
     sessionRepo.setTitleIfBlank(sessionId, AiChatTitleNormalizer.normalizeForTitle(trimmed));
     var msgId = messageRepo.insert(sessionId, userId, "user", trimmed);
+    contextCache.appended(sessionId, msgId, "user", trimmed);
     sessionRepo.touch(sessionId);
     return new AiChatMessageCreateResponse(msgId);
   }
 
-  public SseEmitter streamAssistantReply(long userId, long sessionId) {
+  public ResponseBodyEmitter streamAssistantReply(long userId, long sessionId) {
     var session =
         sessionRepo.findById(sessionId).orElseThrow(() -> new AppException(ErrorCode.NOT_FOUND, "会话不存在"));
     if (session.userId() != userId) {
       throw new AppException(ErrorCode.FORBIDDEN_RESOURCE, "无权限");
     }
 
-    var emitter = new SseEmitter(120_000L);
-    var latest = messageRepo.listPageDesc(sessionId, 1, null).stream().findFirst().orElse(null);
-    if (latest == null || !"user".equalsIgnoreCase(latest.role())) {
-      emitter.complete();
-      return emitter;
+    var emitter = new ResponseBodyEmitter(120_000L);
+    // 上下文窗口缓存按 token 预算保留最近消息，最后一条即最新消息
+    var context = contextCache.recent(sessionId);
+    if (!endsWithUserMessage(context)) {
+      // 用户消息可能刚在其它节点写入、本节点缓存尚未失效，回库复核一次再放弃
+      context = contextCache.reload(sessionId);
     }
-    var context = messageRepo.listRecent(sessionId, CONTEXT_LIMIT);
-    if (context.isEmpty()) {
+    if (!endsWithUserMessage(context)) {
       emitter.complete();
       return emitter;
     }
 
-    var streamWritable = new AtomicBoolean(true);
-    taskExecutor.execute(
-        () -> {
-          try {
-            var replyBuilder = new StringBuilder();
-            var messages = new ArrayList<AiChatClient.ChatMessage>();
-            messages.add(new AiChatClient.ChatMessage("system", STREAM_SYSTEM_PROMPT));
-            messages.addAll(toChatMessages(context));
-            openAiStreamClient.streamChatCompletions(
-                messages,
-                delta -> {
-                  if (delta == null || delta.isEmpty()) {
-                    return;
-                  }
-                  replyBuilder.append(delta);
-                  if (!streamWritable.get()) {
-                    return;
-                  }
-                  try {
-                    emitter.send(SseEmitter.event().name("delta").data(delta, MediaType.TEXT_PLAIN));
-                  } catch (Exception ignored) {
-                    streamWritable.set(false);
-                  }
-                },
-                done -> {
-                  if (!streamWritable.get()) {
-                    return;
-                  }
-                  try {
-                    emitter.send(SseEmitter.event().name("done").data("[DONE]", MediaType.TEXT_PLAIN));
-                  } catch (Exception ignored) {
-                    streamWritable.set(false);
+    if (!chatStreamBulkhead.tryAcquire()) {
+      throw new AppException(ErrorCode.RATE_LIMITED, "AI 服务繁忙，请稍后再试");
+    }
+    // 许可只释放一次：正常由流结束回调释放；回调注册之前同步抛出的异常在这里释放后原样抛出
+    var permit = new PermitHandle(chatStreamBulkhead);
+    try {
+      var prompt =
+          contextCompactor.compact(
+              sessionId, STREAM_SYSTEM_PROMPT, session.contextSummary(), session.summaryThroughMessageId(), context);
+
+      // 上游响应由 HttpClient 的 IO 线程异步推送，增量经合并写出器按窗口批量写入，不占用业务线程池
+      var writer = sseWriters.open(emitter);
+      var replyBuilder = new StringBuilder();
+      openAiStreamClient
+          .streamChatCompletions(
+              prompt.messages(),
+              delta -> {
+                if (delta == null || delta.isEmpty()) {
+                  return;
+                }
+                replyBuilder.append(delta);
+                writer.delta(delta);
+              })
+          .whenComplete(
+              (done, error) -> {
+                permit.release();
+                if (error != null) {
+                  var cause =
+                      error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                  sendSseError(writer, cause);
+                  writer.complete();
+                  return;
+                }
+                try {
+                  writer.event("done", "[DONE]");
+
+                  var reply = replyBuilder.toString().trim();
+                  if (!reply.isBlank()) {
+                    var replyId = messageRepo.insert(sessionId, userId, "assistant", reply);
+                    contextCache.appended(sessionId, replyId, "assistant", reply);
+                    contextCompactor.summarizeDropped(prompt);
+                    sessionRepo.touch(sessionId);
                   }
-                });
-
-            var reply = replyBuilder.toString().trim();
-            if (!reply.isBlank()) {
-              messageRepo.insert(sessionId, userId, "assistant", reply);
-              sessionRepo.touch(sessionId);
-            }
-            emitter.complete();
-          } catch (Exception e) {
-            sendSseError(emitter, e);
-            emitter.complete();
-          }
-        });
+                  writer.complete();
+                } catch (Exception e) {
+                  sendSseError(writer, e);
+                  writer.complete();
+                }
+              });
+    } catch (RuntimeException | Error e) {
+      permit.release();
+      throw e;
+    }
     return emitter;
   }
 
-  private void sendSseError(SseEmitter emitter, Exception e) {
+  private static final class PermitHandle {
+    private final Bulkhead bulkhead;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private PermitHandle(Bulkhead bulkhead) {
+      this.bulkhead = bulkhead;
+    }
+
+    void release() {
+      if (released.compareAndSet(false, true)) {
+        bulkhead.release();
+      }
+    }
+  }
+
+  private static boolean endsWithUserMessage(List<AiChatContextCache.ContextMessage> context) {
+    return !context.isEmpty() && "user".equalsIgnoreCase(context.get(context.size() - 1).role());
+  }
+
+  private void sendSseError(CoalescingSseWriter writer, Throwable e) {
     var code = ErrorCode.INTERNAL_ERROR.name();
     var message = "服务异常";
     if (e instanceof AppException ae) {
@@ -213,19 +249,12 @@ public class AiChatService {
     var traceId = TraceId.current();
     var payload = ApiResponse.error(code, message, traceId);
     try {
-      emitter.send(SseEmitter.event().name("error").data(objectMapper.writeValueAsString(payload), MediaType.TEXT_PLAIN));
+      writer.event("error", objectMapper.writeValueAsString(payload));
     } catch (Exception ignored) {
       // ignore
     }
   }
 
-  private static List<AiChatClient.ChatMessage> toChatMessages(
-      List<AiChatMessageRepository.AiChatMessageRow> rows) {
-    return rows.stream()
-        .map(r -> new AiChatClient.ChatMessage(r.role(), r.content()))
-        .toList();
-  }
-
   private static String safeText(String text) {
     if (text == null) return null;
     var t = text.trim();
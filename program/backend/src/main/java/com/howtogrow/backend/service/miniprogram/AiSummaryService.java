@@ -11,9 +11,10 @@ import com.howtogrow.backend.infrastructure.ai.AiClient;
 import com.howtogrow.backend.infrastructure.assessment.AssessmentScoreRepository;
 import com.howtogrow.backend.infrastructure.assessment.DailyAssessmentHistoryRepository;
 import com.howtogrow.backend.infrastructure.assessment.DailyAssessmentRepository;
+import com.howtogrow.backend.infrastructure.cache.DataVersions;
 import com.howtogrow.backend.infrastructure.child.ChildRepository;
-import com.howtogrow.backend.infrastructure.question.QuestionSnapshotViewRepository;
-import com.howtogrow.backend.service.common.FixedWindowRateLimiter;
+import com.howtogrow.backend.infrastructure.question.QuestionCatalogCache;
+import com.howtogrow.backend.service.common.RateLimiter;
 import com.howtogrow.backend.service.common.SubscriptionService;
 import com.howtogrow.backend.config.RateLimitProperties;
 import java.time.Duration;
@@ -32,12 +33,13 @@ public class AiSummaryService {
   private final ChildRepository childRepo;
   private final AssessmentScoreRepository scoreRepo;
   private final DailyAssessmentHistoryRepository historyRepo;
-  private final QuestionSnapshotViewRepository questionSnapshotViewRepo;
+  private final QuestionCatalogCache questionCatalog;
   private final AiAssessmentSummaryRepository summaryRepo;
   private final AiClient aiClient;
   private final BizClock bizClock;
-  private final FixedWindowRateLimiter rateLimiter;
+  private final RateLimiter rateLimiter;
   private final RateLimitProperties rateLimitProperties;
+  private final DataVersions dataVersions;
 
   public AiSummaryService(
       SubscriptionService subscriptionService,
@@ -45,23 +47,25 @@ public class AiSummaryService {
       ChildRepository childRepo,
       AssessmentScoreRepository scoreRepo,
       DailyAssessmentHistoryRepository historyRepo,
-      QuestionSnapshotViewRepository questionSnapshotViewRepo,
+      QuestionCatalogCache questionCatalog,
       AiAssessmentSummaryRepository summaryRepo,
       AiClient aiClient,
       BizClock bizClock,
-      FixedWindowRateLimiter rateLimiter,
-      RateLimitProperties rateLimitProperties) {
+      RateLimiter rateLimiter,
+      RateLimitProperties rateLimitProperties,
+      DataVersions dataVersions) {
     this.subscriptionService = subscriptionService;
     this.assessmentRepo = assessmentRepo;
     this.childRepo = childRepo;
     this.scoreRepo = scoreRepo;
     this.historyRepo = historyRepo;
-    this.questionSnapshotViewRepo = questionSnapshotViewRepo;
+    this.questionCatalog = questionCatalog;
     this.summaryRepo = summaryRepo;
     this.aiClient = aiClient;
     this.bizClock = bizClock;
     this.rateLimiter = rateLimiter;
     this.rateLimitProperties = rateLimitProperties;
+    this.dataVersions = dataVersions;
   }
 
   @Transactional
@@ -117,6 +121,7 @@ public class AiSummaryService {
       throw new AppException(ErrorCode.INTERNAL_ERROR, "AI 总结生成失败");
     }
     summaryRepo.insert(assessmentId, userId, content);
+    dataVersions.bump(DataVersions.child(assessment.childId()));
     return new AiSummaryResponse(content);
   }
 
@@ -128,17 +133,14 @@ public class AiSummaryService {
 
     var questionIds =
         items.stream().map(DailyAssessmentHistoryRepository.ItemRow::questionId).distinct().toList();
-    var optionRows = questionSnapshotViewRepo.listQuestionOptionRows(questionIds);
-
     var questions = new HashMap<Long, QuestionInfo>();
-    for (var row : optionRows) {
-      var info =
-          questions.computeIfAbsent(
-              row.questionId(),
-              (qid) -> new QuestionInfo(row.questionContent(), row.questionType(), new HashMap<>()));
-      info.optionsById.put(
-          row.optionId(),
-          new OptionInfo(row.optionContent(), row.suggestFlag(), row.improvementTip()));
+    for (var question : questionCatalog.getAll(questionIds).values()) {
+      var info = new QuestionInfo(question.content(), question.questionType(), new HashMap<>());
+      for (var option : question.options()) {
+        info.optionsById.put(
+            option.id(), new OptionInfo(option.content(), option.suggestFlag(), option.improvementTip()));
+      }
+      questions.put(question.id(), info);
     }
 
     var answers = historyRepo.listAnswers(assessmentId);
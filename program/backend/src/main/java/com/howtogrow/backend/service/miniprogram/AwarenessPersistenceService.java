@@ -5,7 +5,6 @@ import com.howtogrow.backend.api.exception.AppException;
 import com.howtogrow.backend.controller.miniprogram.dto.AwarenessPersistenceResponse;
 import com.howtogrow.backend.domain.time.BizClock;
 import com.howtogrow.backend.infrastructure.child.ChildRepository;
-import com.howtogrow.backend.infrastructure.report.AwarenessPersistenceRepository;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import org.springframework.stereotype.Service;
@@ -14,13 +13,13 @@ import org.springframework.stereotype.Service;
 public class AwarenessPersistenceService {
   private final BizClock bizClock;
   private final ChildRepository childRepo;
-  private final AwarenessPersistenceRepository persistenceRepo;
+  private final ChildActivityService activityService;
 
   public AwarenessPersistenceService(
-      BizClock bizClock, ChildRepository childRepo, AwarenessPersistenceRepository persistenceRepo) {
+      BizClock bizClock, ChildRepository childRepo, ChildActivityService activityService) {
     this.bizClock = bizClock;
     this.childRepo = childRepo;
-    this.persistenceRepo = persistenceRepo;
+    this.activityService = activityService;
   }
 
   public AwarenessPersistenceResponse get(long userId, long childId) {
@@ -31,12 +30,14 @@ public class AwarenessPersistenceService {
     }
 
     LocalDate today = bizClock.today();
-    LocalDate first = persistenceRepo.findFirstRecordDate(userId, childId).orElse(today);
+    var stats = activityService.summary(userId, childId);
+    LocalDate first = stats.firstRecordDate() == null ? today : stats.firstRecordDate();
 
     long days = ChronoUnit.DAYS.between(first, today) + 1;
     if (days < 1) days = 1;
 
-    return new AwarenessPersistenceResponse(childId, first, today, days);
+    return new AwarenessPersistenceResponse(
+        childId, first, today, days, stats.activeDays(), stats.streakAsOf(today));
   }
 }
 
@@ -0,0 +1,61 @@
+package com.howtogrow.backend.service.miniprogram;
+
+import com.howtogrow.backend.domain.report.ActivityStats;
+import com.howtogrow.backend.infrastructure.report.ChildActivityRepository;
+import java.time.LocalDate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 维护孩子的记录统计（首次记录日、累计天数、连续天数），读取为单行主键查询。
+ *
+ * <p>育儿状态、烦恼、日记、自测的写路径在写入记录后、同一事务内调用 {@link #recordActiveDay}；
+ * 统计行缺失（如上线前的老数据）时从明细重建一次。写入与重建都先建行再锁行，同一孩子的并发写入在该行上串行。
+ */
+@Service
+public class ChildActivityService {
+  private final ChildActivityRepository activityRepo;
+
+  public ChildActivityService(ChildActivityRepository activityRepo) {
+    this.activityRepo = activityRepo;
+  }
+
+  public void recordActiveDay(long userId, long childId, LocalDate day) {
+    activityRepo.ensureSummaryLocked(userId, childId);
+    var summary = activityRepo.findSummaryForUpdate(userId, childId).orElse(ActivityStats.EMPTY);
+    if (summary.activeDays() == 0) {
+      // 刚建的占位行（或从未构建）：本次记录已写入明细，直接从明细重建
+      rebuild(userId, childId);
+      return;
+    }
+    if (!activityRepo.markActiveDay(userId, childId, day)) {
+      return;
+    }
+    if (summary.lastRecordDate() == null || day.isAfter(summary.lastRecordDate())) {
+      activityRepo.advance(userId, childId, day);
+      return;
+    }
+    // 补记往日可能接上连续天数，少见，直接按活跃日重算
+    activityRepo.saveSummary(userId, childId, ActivityStats.of(activityRepo.listActiveDays(userId, childId)));
+  }
+
+  @Transactional
+  public ActivityStats summary(long userId, long childId) {
+    var summary = activityRepo.findSummary(userId, childId).orElse(null);
+    if (summary != null) {
+      return summary;
+    }
+    activityRepo.ensureSummaryLocked(userId, childId);
+    // 加锁后重新读取：并发的写入可能已先建好并更新了统计
+    var locked = activityRepo.findSummaryForUpdate(userId, childId).orElse(ActivityStats.EMPTY);
+    return locked.activeDays() > 0 ? locked : rebuild(userId, childId);
+  }
+
+  /** 需已持有统计行的锁。 */
+  private ActivityStats rebuild(long userId, long childId) {
+    activityRepo.rebuildActiveDays(userId, childId);
+    var stats = ActivityStats.of(activityRepo.listActiveDays(userId, childId));
+    activityRepo.saveSummary(userId, childId, stats);
+    return stats;
+  }
+}
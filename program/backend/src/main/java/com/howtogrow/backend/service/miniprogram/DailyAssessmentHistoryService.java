@@ -8,7 +8,7 @@ import com.howtogrow.backend.controller.miniprogram.dto.DailyAssessmentRecordDet
 import com.howtogrow.backend.controller.miniprogram.dto.DailyAssessmentRecordView;
 import com.howtogrow.backend.controller.miniprogram.dto.QuestionOptionView;
 import com.howtogrow.backend.infrastructure.assessment.DailyAssessmentHistoryRepository;
-import com.howtogrow.backend.infrastructure.question.QuestionSnapshotViewRepository;
+import com.howtogrow.backend.infrastructure.question.QuestionCatalogCache;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -26,12 +26,12 @@ public class DailyAssessmentHistoryService {
   private static final ZoneOffset CN = ZoneOffset.ofHours(8);
 
   private final DailyAssessmentHistoryRepository historyRepo;
-  private final QuestionSnapshotViewRepository questionViewRepo;
+  private final QuestionCatalogCache questionCatalog;
 
   public DailyAssessmentHistoryService(
-      DailyAssessmentHistoryRepository historyRepo, QuestionSnapshotViewRepository questionViewRepo) {
+      DailyAssessmentHistoryRepository historyRepo, QuestionCatalogCache questionCatalog) {
     this.historyRepo = historyRepo;
-    this.questionViewRepo = questionViewRepo;
+    this.questionCatalog = questionCatalog;
   }
 
   public List<DailyAssessmentRecordView> list(long userId, int limit, int offset) {
@@ -58,20 +58,14 @@ public class DailyAssessmentHistoryService {
 
     var items = historyRepo.listItems(assessmentId);
     var questionIds = items.stream().map(DailyAssessmentHistoryRepository.ItemRow::questionId).distinct().toList();
-    var questionOptionRows = questionViewRepo.listQuestionOptionRows(questionIds);
 
     var questionInfo = new HashMap<Long, QuestionInfo>();
-    for (var row : questionOptionRows) {
-      var info = questionInfo.computeIfAbsent(
-          row.questionId(),
-          (qid) -> new QuestionInfo(row.questionContent(), row.questionType(), new ArrayList<>()));
-      info.options.add(
-          new QuestionOptionView(
-              row.optionId(),
-              row.optionContent(),
-              row.optionSortNo(),
-              row.suggestFlag(),
-              row.improvementTip()));
+    for (var question : questionCatalog.getAll(questionIds).values()) {
+      var options =
+          question.options().stream()
+              .map(o -> new QuestionOptionView(o.id(), o.content(), o.sortNo(), o.suggestFlag(), o.improvementTip()))
+              .toList();
+      questionInfo.put(question.id(), new QuestionInfo(question.content(), question.questionType(), options));
     }
 
     List<DailyAssessmentItemView> itemViews = new ArrayList<>();
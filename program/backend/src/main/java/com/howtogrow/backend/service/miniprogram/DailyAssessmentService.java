@@ -18,11 +18,14 @@ import com.howtogrow.backend.infrastructure.assessment.DailyAssessmentItemReposi
 import com.howtogrow.backend.infrastructure.assessment.DailyAssessmentRepository;
 import com.howtogrow.backend.infrastructure.assessment.session.DailyAssessmentSession;
 import com.howtogrow.backend.infrastructure.assessment.session.DailyAssessmentSessionStore;
+import com.howtogrow.backend.infrastructure.cache.DataVersions;
 import com.howtogrow.backend.infrastructure.child.Child;
 import com.howtogrow.backend.infrastructure.child.ChildRepository;
-import com.howtogrow.backend.infrastructure.question.QuestionOptionRepository;
+import com.howtogrow.backend.infrastructure.question.OptionDimensionScoreCache;
+import com.howtogrow.backend.infrastructure.question.QuestionCatalogCache;
+import com.howtogrow.backend.infrastructure.question.QuestionPoolIndex;
 import com.howtogrow.backend.infrastructure.question.QuestionRepository;
-import com.howtogrow.backend.infrastructure.question.QuestionViewRepository;
+import com.howtogrow.backend.infrastructure.report.DailyDimensionScoreRollupRepository;
 import com.howtogrow.backend.infrastructure.trouble.DailyTroubleRecordRepository;
 import com.howtogrow.backend.service.common.EntitlementService;
 import java.time.Clock;
@@ -34,6 +37,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
@@ -49,40 +53,52 @@ public class DailyAssessmentService {
   private final Clock clock;
   private final ChildRepository childRepo;
   private final QuestionRepository questionRepo;
-  private final QuestionViewRepository questionViewRepo;
-  private final QuestionOptionRepository optionRepo;
+  private final QuestionPoolIndex questionPool;
+  private final QuestionCatalogCache questionCatalog;
+  private final OptionDimensionScoreCache optionScoreCache;
   private final DailyAssessmentRepository assessmentRepo;
   private final DailyAssessmentItemRepository itemRepo;
   private final AssessmentScoreRepository scoreRepo;
+  private final DailyDimensionScoreRollupRepository rollupRepo;
   private final DailyAssessmentSessionStore sessionStore;
   private final EntitlementService entitlementService;
   private final DailyTroubleRecordRepository troubleRecordRepo;
+  private final DataVersions dataVersions;
+  private final ChildActivityService activityService;
 
   public DailyAssessmentService(
       BizClock bizClock,
       Clock clock,
       ChildRepository childRepo,
       QuestionRepository questionRepo,
-      QuestionViewRepository questionViewRepo,
-      QuestionOptionRepository optionRepo,
+      QuestionPoolIndex questionPool,
+      QuestionCatalogCache questionCatalog,
+      OptionDimensionScoreCache optionScoreCache,
       DailyAssessmentRepository assessmentRepo,
       DailyAssessmentItemRepository itemRepo,
       AssessmentScoreRepository scoreRepo,
+      DailyDimensionScoreRollupRepository rollupRepo,
       DailyAssessmentSessionStore sessionStore,
       EntitlementService entitlementService,
-      DailyTroubleRecordRepository troubleRecordRepo) {
+      DailyTroubleRecordRepository troubleRecordRepo,
+      DataVersions dataVersions,
+      ChildActivityService activityService) {
     this.bizClock = bizClock;
     this.clock = clock;
     this.childRepo = childRepo;
     this.questionRepo = questionRepo;
-    this.questionViewRepo = questionViewRepo;
-    this.optionRepo = optionRepo;
+    this.questionPool = questionPool;
+    this.questionCatalog = questionCatalog;
+    this.optionScoreCache = optionScoreCache;
     this.assessmentRepo = assessmentRepo;
     this.itemRepo = itemRepo;
     this.scoreRepo = scoreRepo;
+    this.rollupRepo = rollupRepo;
     this.sessionStore = sessionStore;
     this.entitlementService = entitlementService;
     this.troubleRecordRepo = troubleRecordRepo;
+    this.dataVersions = dataVersions;
+    this.activityService = activityService;
   }
 
   public DailyAssessmentBeginResponse begin(long userId, long childId) {
@@ -122,8 +138,8 @@ public class DailyAssessmentService {
     int ageYears = AgeInYearsCalculator.calculate(child.birthDate(), bizClock.today());
     var excluded = session.servedQuestionIds() == null ? Set.<Long>of() : session.servedQuestionIds();
     var newQuestionId =
-        questionRepo
-            .pickRandomQuestionIdExcluding(ageYears, List.copyOf(excluded))
+        questionPool.pickRandom(ageYears, excluded, 1).stream()
+            .findFirst()
             .orElseThrow(() -> new AppException(ErrorCode.QUESTION_POOL_EXHAUSTED, "没有可更换的问题了"));
 
     var updatedIds = new ArrayList<>(session.questionIdsByOrder());
@@ -170,11 +186,12 @@ public class DailyAssessmentService {
       }
     }
 
+    var answerRules = questionRepo.listAnswerRules(List.copyOf(answerMap.keySet()));
     var answeredQuestionIds = new ArrayList<Long>();
     for (var questionId : questionIdsByOrder) {
       var a = answerMap.get(questionId);
       if (a != null) {
-        validateAnswer(questionId, a);
+        validateAnswer(answerRules.get(questionId), a);
         answeredQuestionIds.add(questionId);
       }
     }
@@ -189,35 +206,41 @@ public class DailyAssessmentService {
 
     long assessmentId = assessmentRepo.insertSubmitted(userId, request.childId(), submittedAt);
 
-    var itemIdByQuestionId = new HashMap<Long, Long>();
+    var newItems = new ArrayList<DailyAssessmentItemRepository.NewItem>(answeredQuestionIds.size());
     for (int i = 0; i < questionIdsByOrder.size(); i++) {
       var qid = questionIdsByOrder.get(i);
-      if (!answerMap.containsKey(qid)) {
-        continue;
+      if (answerMap.containsKey(qid)) {
+        newItems.add(new DailyAssessmentItemRepository.NewItem(qid, i + 1));
       }
-      var itemId = itemRepo.insertItem(assessmentId, qid, i + 1);
-      itemIdByQuestionId.put(qid, itemId);
     }
+    var itemIdByQuestionId = itemRepo.insertItems(assessmentId, newItems);
 
+    var newAnswers = new ArrayList<AssessmentScoreRepository.NewAnswer>();
     for (var questionId : answeredQuestionIds) {
       var itemId = itemIdByQuestionId.get(questionId);
       if (itemId == null) {
         throw new AppException(ErrorCode.INTERNAL_ERROR, "服务异常");
       }
-      persistAnswer(assessmentId, itemId, questionId, answerMap.get(questionId));
+      for (var optionId : dedupeOptionIds(answerMap.get(questionId).optionIds())) {
+        newAnswers.add(new AssessmentScoreRepository.NewAnswer(itemId, optionId));
+      }
     }
+    var totals = persistAnswers(assessmentId, newAnswers);
+    var bizDate = LocalDate.ofInstant(submittedAt, BIZ_ZONE);
+    rollupRepo.addScores(userId, request.childId(), bizDate, totals);
+    activityService.recordActiveDay(userId, request.childId(), bizDate);
+    dataVersions.bump(DataVersions.child(request.childId()));
 
     entitlementService.onDailyAssessmentSubmitted(userId);
     sessionStore.delete(userId, request.childId(), sessionId);
 
-    var rows = scoreRepo.sumDimensionScores(assessmentId);
     var dimensionScores =
-        rows.stream()
-            .sorted(Comparator.comparingInt(r -> CapabilityDimension.sortNoOf(r.dimensionCode())))
+        totals.entrySet().stream()
+            .sorted(Comparator.comparingInt(e -> CapabilityDimension.sortNoOf(e.getKey())))
             .map(
-                r ->
+                e ->
                     new DimensionScoreView(
-                        r.dimensionCode(), CapabilityDimension.displayNameOf(r.dimensionCode()), r.score()))
+                        e.getKey(), CapabilityDimension.displayNameOf(e.getKey()), e.getValue()))
             .toList();
     return new DailyAssessmentSubmitResponse(assessmentId, dimensionScores);
   }
@@ -230,7 +253,7 @@ public class DailyAssessmentService {
     var troubleSceneIds = troubleRecordRepo.listActiveSceneIds(userId, childId, today);
     if (troubleSceneIds != null && !troubleSceneIds.isEmpty()) {
       var preferred =
-          questionRepo.pickRandomQuestionIdsByTroubleScenes(ageYears, troubleSceneIds, List.of(), MAX_QUESTION_COUNT);
+          questionPool.pickRandomByTroubleScenes(ageYears, troubleSceneIds, List.of(), MAX_QUESTION_COUNT);
       for (var id : preferred) {
         if (id != null && served.add(id)) {
           picked.add(id);
@@ -239,9 +262,7 @@ public class DailyAssessmentService {
     }
 
     if (picked.size() < MAX_QUESTION_COUNT) {
-      var fill =
-          questionRepo.pickRandomQuestionIdsExcluding(
-              ageYears, List.copyOf(served), MAX_QUESTION_COUNT - picked.size());
+      var fill = questionPool.pickRandom(ageYears, served, MAX_QUESTION_COUNT - picked.size());
       for (var id : fill) {
         if (id != null && served.add(id)) {
           picked.add(id);
@@ -262,31 +283,39 @@ public class DailyAssessmentService {
     return assessmentRepo.existsSubmittedBetween(userId, childId, dayStart, nextDayStart);
   }
 
-  private void validateAnswer(long questionId, DailyAssessmentAnswerRequest answer) {
+  private static void validateAnswer(QuestionRepository.AnswerRule rule, DailyAssessmentAnswerRequest answer) {
     if (answer == null) {
       throw new AppException(ErrorCode.DAILY_ASSESSMENT_INCOMPLETE, "缺少答案");
     }
-    var typeRow =
-        questionRepo
-            .findQuestionType(questionId)
-            .orElseThrow(() -> new AppException(ErrorCode.NOT_FOUND, "题目不存在"));
+    if (rule == null) {
+      throw new AppException(ErrorCode.NOT_FOUND, "题目不存在");
+    }
 
     var optionIds = dedupeOptionIds(answer.optionIds());
-    if ("SINGLE".equalsIgnoreCase(typeRow.questionType()) && optionIds.size() != 1) {
+    if ("SINGLE".equalsIgnoreCase(rule.questionType()) && optionIds.size() != 1) {
       throw new AppException(ErrorCode.INVALID_REQUEST, "单选题必须且只能选择 1 个选项");
     }
-    if (!optionRepo.optionsBelongToQuestion(questionId, optionIds)) {
+    if (optionIds.isEmpty() || !rule.optionIds().containsAll(optionIds)) {
       throw new AppException(ErrorCode.INVALID_REQUEST, "选项不属于该题目");
     }
   }
 
-  private void persistAnswer(
-      long assessmentId, long assessmentItemId, long questionId, DailyAssessmentAnswerRequest answer) {
-    var optionIds = dedupeOptionIds(answer.optionIds());
-    for (var optionId : optionIds) {
-      var answerId = scoreRepo.insertAnswer(assessmentId, assessmentItemId, optionId);
-      scoreRepo.insertDimensionScoresFromOption(assessmentId, answerId, optionId);
+  /** 作答与维度得分各一条多行 INSERT；维度分值取自选项缓存，并在内存中汇总返回。 */
+  private Map<String, Long> persistAnswers(long assessmentId, List<AssessmentScoreRepository.NewAnswer> answers) {
+    var answerRows = scoreRepo.insertAnswers(assessmentId, answers);
+    var optionIds = answers.stream().map(AssessmentScoreRepository.NewAnswer::optionId).distinct().toList();
+    var scoresByOption = optionScoreCache.getAll(optionIds);
+
+    var newScores = new ArrayList<AssessmentScoreRepository.NewDimensionScore>();
+    var totals = new HashMap<String, Long>();
+    for (var row : answerRows) {
+      for (var ds : scoresByOption.getOrDefault(row.optionId(), List.of())) {
+        newScores.add(new AssessmentScoreRepository.NewDimensionScore(row.id(), ds.dimensionCode(), ds.score()));
+        totals.merge(ds.dimensionCode(), (long) ds.score(), Long::sum);
+      }
     }
+    scoreRepo.insertDimensionScores(assessmentId, newScores);
+    return totals;
   }
 
   private static List<Long> dedupeOptionIds(List<Long> optionIds) {
@@ -301,54 +330,37 @@ public class DailyAssessmentService {
   }
 
   private List<DailyAssessmentItemView> loadItems(List<Long> questionIdsByOrder) {
-    var rows = questionViewRepo.listActiveQuestionOptionRows(questionIdsByOrder);
-    var byQuestionId = new HashMap<Long, QuestionAccumulator>();
-    for (var row : rows) {
-      byQuestionId.computeIfAbsent(
-          row.questionId(),
-          id -> new QuestionAccumulator(row.questionId(), row.questionContent(), row.questionType()));
-      byQuestionId
-          .get(row.questionId())
-          .options
-          .add(
-              new QuestionOptionView(
-                  row.optionId(),
-                  row.optionContent(),
-                  row.optionSortNo(),
-                  row.suggestFlag(),
-                  row.improvementTip()));
-    }
-
+    var questions = questionCatalog.getAll(questionIdsByOrder);
     var out = new ArrayList<DailyAssessmentItemView>(questionIdsByOrder.size());
     for (int i = 0; i < questionIdsByOrder.size(); i++) {
       var questionId = questionIdsByOrder.get(i);
-      var acc = byQuestionId.get(questionId);
-      if (acc == null) {
+      var question = questions.get(questionId);
+      if (question == null || !question.active() || question.activeOptions().isEmpty()) {
         throw new AppException(ErrorCode.INTERNAL_ERROR, "服务异常");
       }
-      out.add(new DailyAssessmentItemView(i + 1, questionId, acc.content, acc.questionType, acc.options));
+      out.add(toItemView(question, i + 1));
     }
     return out;
   }
 
   private DailyAssessmentItemView loadItem(long questionId, int displayOrder) {
-    var rows = questionViewRepo.listActiveQuestionOptionRows(List.of(questionId));
-    if (rows.isEmpty()) {
+    var question = questionCatalog.getAll(List.of(questionId)).get(questionId);
+    if (question == null || !question.active() || question.activeOptions().isEmpty()) {
       throw new AppException(ErrorCode.NOT_FOUND, "题目不存在");
     }
-    var first = rows.get(0);
+    return toItemView(question, displayOrder);
+  }
+
+  private static DailyAssessmentItemView toItemView(QuestionCatalogCache.CatalogQuestion question, int displayOrder) {
     var options =
-        rows.stream()
+        question.activeOptions().stream()
             .map(
-                r ->
+                o ->
                     new QuestionOptionView(
-                        r.optionId(),
-                        r.optionContent(),
-                        r.optionSortNo(),
-                        r.suggestFlag(),
-                        r.improvementTip()))
+                        o.id(), o.content(), o.sortNo(), o.suggestFlag(), o.improvementTip()))
             .toList();
-    return new DailyAssessmentItemView(displayOrder, questionId, first.questionContent(), first.questionType(), options);
+    return new DailyAssessmentItemView(
+        displayOrder, question.id(), question.content(), question.questionType(), options);
   }
 
   private DailyAssessmentSession requireSession(long userId, long childId, String sessionId) {
@@ -373,17 +385,4 @@ public class DailyAssessmentService {
     }
     return child;
   }
-
-  private static final class QuestionAccumulator {
-    private final long questionId;
-    private final String content;
-    private final String questionType;
-    private final List<QuestionOptionView> options = new ArrayList<>();
-
-    private QuestionAccumulator(long questionId, String content, String questionType) {
-      this.questionId = questionId;
-      this.content = content;
-      this.questionType = questionType;
-    }
-  }
 }
@@ -5,31 +5,62 @@ import com.howtogrow.backend.api.exception.AppException;
 import com.howtogrow.backend.controller.miniprogram.dto.DimensionScoreView;
 import com.howtogrow.backend.controller.miniprogram.dto.GrowthReportResponse;
 import com.howtogrow.backend.domain.capability.CapabilityDimension;
+import com.howtogrow.backend.domain.report.WindowedScoreAggregator;
+import com.howtogrow.backend.domain.report.WindowedScoreAggregator.WindowSpec;
+import com.howtogrow.backend.infrastructure.cache.DataVersions;
+import com.howtogrow.backend.infrastructure.cache.VersionedResponse;
+import com.howtogrow.backend.infrastructure.cache.VersionedResponseCache;
 import com.howtogrow.backend.infrastructure.child.ChildRepository;
 import com.howtogrow.backend.infrastructure.report.GrowthReportRepository;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
 import org.springframework.stereotype.Service;
 
 @Service
 public class GrowthReportService {
-  private static final int WINDOW_SIZE = 5;
+  private static final WindowSpec WINDOW = WindowSpec.tumbling(5);
+  /** 响应结构或窗口口径变化时递增，使旧缓存与客户端 ETag 一并失效。 */
+  private static final String CACHE_FORMAT = "v1";
   private final ChildRepository childRepo;
   private final GrowthReportRepository reportRepo;
+  private final DataVersions dataVersions;
+  private final VersionedResponseCache responseCache;
 
-  public GrowthReportService(ChildRepository childRepo, GrowthReportRepository reportRepo) {
+  public GrowthReportService(
+      ChildRepository childRepo,
+      GrowthReportRepository reportRepo,
+      DataVersions dataVersions,
+      VersionedResponseCache responseCache) {
     this.childRepo = childRepo;
     this.reportRepo = reportRepo;
+    this.dataVersions = dataVersions;
+    this.responseCache = responseCache;
   }
 
   public GrowthReportResponse growth(long userId, long childId, LocalDate from, LocalDate to) {
+    requireAccess(userId, childId, from, to);
+    return compute(userId, childId, from, to);
+  }
+
+  /** 按 (孩子, 日期范围, 孩子数据版本) 缓存，供小程序接口做 304 协商。 */
+  public VersionedResponse<GrowthReportResponse> cachedGrowth(
+      long userId, long childId, LocalDate from, LocalDate to) {
+    requireAccess(userId, childId, from, to);
+    var version = dataVersions.current(DataVersions.child(childId));
+    String cacheKey = null;
+    if (version.isPresent()) {
+      cacheKey =
+          "growth:" + CACHE_FORMAT + ":" + childId + ":" + from + ":" + to + ":" + version.getAsLong();
+    }
+    return responseCache.lookup(
+        cacheKey, GrowthReportResponse.class, () -> compute(userId, childId, from, to));
+  }
+
+  private void requireAccess(long userId, long childId, LocalDate from, LocalDate to) {
     if (from == null || to == null || to.isBefore(from)) {
       throw new AppException(ErrorCode.INVALID_REQUEST, "日期范围不合法");
     }
@@ -38,11 +69,12 @@ public class GrowthReportService {
     if (child.userId() != userId) {
       throw new AppException(ErrorCode.FORBIDDEN_RESOURCE, "无权限");
     }
+  }
 
+  private GrowthReportResponse compute(long userId, long childId, LocalDate from, LocalDate to) {
     var rows = reportRepo.listDailyDimensionScores(userId, childId, from, to);
     var dimensions = resolveOrderedDimensions(rows);
-    var dailyScores = toDailyScores(rows);
-    var days = aggregateByWindow(dailyScores, dimensions);
+    var days = aggregateByWindow(childId, rows, dimensions);
     return new GrowthReportResponse(childId, from, to, days);
   }
 
@@ -61,45 +93,23 @@ public class GrowthReportService {
         .toList();
   }
 
-  private static Map<LocalDate, Map<String, Long>> toDailyScores(
-      List<GrowthReportRepository.GrowthRow> rows) {
-    Map<LocalDate, Map<String, Long>> dailyScores = new TreeMap<>();
+  private static List<GrowthReportResponse.GrowthDayView> aggregateByWindow(
+      long childId, List<GrowthReportRepository.GrowthRow> rows, List<String> orderedDimensions) {
+    var aggregator = new WindowedScoreAggregator(orderedDimensions);
     for (var row : rows) {
-      dailyScores
-          .computeIfAbsent(row.bizDate(), d -> new HashMap<>())
-          .merge(row.dimensionCode(), row.score(), Long::sum);
+      aggregator.add(childId, row.bizDate(), row.dimensionCode(), row.score());
     }
-    return dailyScores;
-  }
-
-  private static List<GrowthReportResponse.GrowthDayView> aggregateByWindow(
-      Map<LocalDate, Map<String, Long>> dailyScores, List<String> orderedDimensions) {
-    var dates = new ArrayList<>(dailyScores.keySet());
-    List<GrowthReportResponse.GrowthDayView> days = new ArrayList<>();
-    for (int startIndex = 0; startIndex < dates.size(); startIndex += WINDOW_SIZE) {
-      int endIndexExclusive = Math.min(startIndex + WINDOW_SIZE, dates.size());
-      var windowDates = dates.subList(startIndex, endIndexExclusive);
-
-      var windowSize = windowDates.size();
-      var outputDate = windowDates.get(windowSize - 1);
-
+    var windows = aggregator.aggregate(WINDOW);
+    List<GrowthReportResponse.GrowthDayView> days = new ArrayList<>(windows.size());
+    for (var window : windows) {
       List<DimensionScoreView> dimensionScores = new ArrayList<>(orderedDimensions.size());
-      for (var dimensionCode : orderedDimensions) {
-        long sum = 0;
-        for (var bizDate : windowDates) {
-          var dayScores = dailyScores.getOrDefault(bizDate, Map.of());
-          sum += dayScores.getOrDefault(dimensionCode, 0L);
-        }
-        long avgScore = sum / windowSize;
+      for (int i = 0; i < orderedDimensions.size(); i++) {
+        var dimensionCode = orderedDimensions.get(i);
         dimensionScores.add(
             new DimensionScoreView(
-                dimensionCode, CapabilityDimension.displayNameOf(dimensionCode), avgScore));
+                dimensionCode, CapabilityDimension.displayNameOf(dimensionCode), window.average(i)));
       }
-
-      dimensionScores.sort(
-          Comparator.comparingInt((DimensionScoreView s) -> CapabilityDimension.sortNoOf(s.dimensionCode()))
-              .thenComparing(DimensionScoreView::dimensionCode));
-      days.add(new GrowthReportResponse.GrowthDayView(outputDate, dimensionScores));
+      days.add(new GrowthReportResponse.GrowthDayView(window.endDate(), dimensionScores));
     }
     return days;
   }
@@ -5,11 +5,11 @@ import com.howtogrow.backend.api.exception.AppException;
 import com.howtogrow.backend.controller.miniprogram.dto.MonthlyAwarenessResponse;
 import com.howtogrow.backend.domain.parenting.ParentingStatus;
 import com.howtogrow.backend.domain.time.BizClock;
-import com.howtogrow.backend.infrastructure.assessment.DailyAssessmentHistoryRepository;
+import com.howtogrow.backend.infrastructure.awareness.AwarenessCalendarRepository;
+import com.howtogrow.backend.infrastructure.cache.DataVersions;
+import com.howtogrow.backend.infrastructure.cache.VersionedResponse;
+import com.howtogrow.backend.infrastructure.cache.VersionedResponseCache;
 import com.howtogrow.backend.infrastructure.child.ChildRepository;
-import com.howtogrow.backend.infrastructure.parenting.DailyParentingDiaryRepository;
-import com.howtogrow.backend.infrastructure.parenting.DailyParentingStatusRepository;
-import com.howtogrow.backend.infrastructure.trouble.DailyTroubleRecordRepository;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.ZoneId;
@@ -25,30 +25,30 @@ public class MiniprogramAwarenessService {
   private static final YearMonth MIN_MONTH = YearMonth.of(2025, 6);
   private static final ZoneId CN = ZoneId.of("Asia/Shanghai");
   private static final DateTimeFormatter ISO_OFFSET = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+  /** 响应结构变化时递增，使旧缓存与客户端 ETag 一并失效。 */
+  private static final String CACHE_FORMAT = "v1";
 
   private final BizClock bizClock;
   private final ChildRepository childRepo;
-  private final DailyParentingStatusRepository parentingStatusRepo;
-  private final DailyTroubleRecordRepository troubleRepo;
-  private final DailyAssessmentHistoryRepository assessmentHistoryRepo;
-  private final DailyParentingDiaryRepository diaryRepo;
+  private final AwarenessCalendarRepository calendarRepo;
+  private final DataVersions dataVersions;
+  private final VersionedResponseCache responseCache;
 
   public MiniprogramAwarenessService(
       BizClock bizClock,
       ChildRepository childRepo,
-      DailyParentingStatusRepository parentingStatusRepo,
-      DailyTroubleRecordRepository troubleRepo,
-      DailyAssessmentHistoryRepository assessmentHistoryRepo,
-      DailyParentingDiaryRepository diaryRepo) {
+      AwarenessCalendarRepository calendarRepo,
+      DataVersions dataVersions,
+      VersionedResponseCache responseCache) {
     this.bizClock = bizClock;
     this.childRepo = childRepo;
-    this.parentingStatusRepo = parentingStatusRepo;
-    this.troubleRepo = troubleRepo;
-    this.assessmentHistoryRepo = assessmentHistoryRepo;
-    this.diaryRepo = diaryRepo;
+    this.calendarRepo = calendarRepo;
+    this.dataVersions = dataVersions;
+    this.responseCache = responseCache;
   }
 
-  public MonthlyAwarenessResponse getMonthly(long userId, long childId, YearMonth month) {
+  /** 按 (孩子, 日期范围, 孩子数据版本, 场景目录版本) 缓存；今天的数据也在版本内，当月同样可缓存。 */
+  public VersionedResponse<MonthlyAwarenessResponse> getMonthly(long userId, long childId, YearMonth month) {
     if (month == null) {
       throw new AppException(ErrorCode.INVALID_REQUEST, "month 必填（YYYY-MM）");
     }
@@ -70,25 +70,57 @@ public class MiniprogramAwarenessService {
     LocalDate start = month.atDay(1);
     LocalDate end = month.equals(current) ? today : month.atEndOfMonth();
 
-    var statusByDate = parentingStatusRepo.findStatusCodeByDayBetween(userId, childId, start, end);
-    var troubleScenesByDate = troubleRepo.listActiveScenesByDayBetween(userId, childId, start, end);
-    var diaries = diaryRepo.listByUserChildBetween(userId, childId, start, end);
-    var diaryByDate = new HashMap<LocalDate, DailyParentingDiaryRepository.DiaryRow>();
-    for (var d : diaries) {
-      diaryByDate.put(d.recordDate(), d);
+    var childVersion = dataVersions.current(DataVersions.child(childId));
+    var sceneVersion = dataVersions.current(DataVersions.TROUBLE_SCENES);
+    String cacheKey = null;
+    if (childVersion.isPresent() && sceneVersion.isPresent()) {
+      cacheKey =
+          "awareness_monthly:"
+              + CACHE_FORMAT
+              + ":"
+              + childId
+              + ":"
+              + start
+              + ":"
+              + end
+              + ":"
+              + childVersion.getAsLong()
+              + "."
+              + sceneVersion.getAsLong();
     }
+    return responseCache.lookup(
+        cacheKey, MonthlyAwarenessResponse.class, () -> load(userId, childId, month, start, end));
+  }
 
-    var fromInclusive = start.atStartOfDay(CN).toInstant();
-    var toExclusive = end.plusDays(1).atStartOfDay(CN).toInstant();
-    var assessments =
-        assessmentHistoryRepo.listByUserIdAndChildIdBetween(userId, childId, fromInclusive, toExclusive);
-
-    Map<LocalDate, DailyAssessmentHistoryRepository.RecordRow> assessmentByDate = new HashMap<>();
-    for (var r : assessments) {
-      if (r.submittedAt() == null) continue;
-      var day = r.submittedAt().atZone(CN).toLocalDate();
-      // Keep the last (latest time) for same day.
-      assessmentByDate.put(day, r);
+  private MonthlyAwarenessResponse load(
+      long userId, long childId, YearMonth month, LocalDate start, LocalDate end) {
+    var entries =
+        calendarRepo.listEntriesBetween(
+            userId,
+            childId,
+            start,
+            end,
+            start.atStartOfDay(CN).toInstant(),
+            end.plusDays(1).atStartOfDay(CN).toInstant());
+
+    Map<LocalDate, String> statusByDate = new HashMap<>();
+    Map<LocalDate, List<MonthlyAwarenessResponse.MonthlyAwarenessTroubleSceneView>> scenesByDate =
+        new HashMap<>();
+    Map<LocalDate, AwarenessCalendarRepository.EntryRow> diaryByDate = new HashMap<>();
+    Map<LocalDate, AwarenessCalendarRepository.EntryRow> assessmentByDate = new HashMap<>();
+    for (var e : entries) {
+      switch (e.kind()) {
+        case STATUS -> statusByDate.put(e.recordDate(), e.textA());
+        case TROUBLE_SCENE ->
+            scenesByDate
+                .computeIfAbsent(e.recordDate(), k -> new ArrayList<>())
+                .add(
+                    new MonthlyAwarenessResponse.MonthlyAwarenessTroubleSceneView(
+                        e.refId(), e.textA(), e.textB()));
+        case DIARY -> diaryByDate.put(e.recordDate(), e);
+        // Keep the last (latest time) for same day.
+        case ASSESSMENT -> assessmentByDate.put(e.submittedAt().atZone(CN).toLocalDate(), e);
+      }
     }
 
     List<MonthlyAwarenessResponse.MonthlyAwarenessDayView> days = new ArrayList<>();
@@ -97,31 +129,25 @@ public class MiniprogramAwarenessService {
       var moodId =
           ParentingStatus.fromValue(statusCode).map(ParentingStatus::moodId).orElse(null);
 
-      var scenes =
-          troubleScenesByDate.getOrDefault(d, List.of()).stream()
-              .map(
-                  s ->
-                      new MonthlyAwarenessResponse.MonthlyAwarenessTroubleSceneView(
-                          s.id(), s.name(), s.logoUrl()))
-              .toList();
+      var scenes = scenesByDate.getOrDefault(d, List.of());
 
       MonthlyAwarenessResponse.MonthlyAwarenessAssessmentView assessment = null;
       var a = assessmentByDate.get(d);
-      if (a != null && a.submittedAt() != null) {
+      if (a != null) {
         assessment =
             new MonthlyAwarenessResponse.MonthlyAwarenessAssessmentView(
-                a.assessmentId(),
+                a.refId(),
                 ISO_OFFSET.format(a.submittedAt().atZone(CN).toOffsetDateTime()),
-                a.aiSummary());
+                a.textA());
       }
 
       MonthlyAwarenessResponse.MonthlyAwarenessDiaryView diary = null;
       var dr = diaryByDate.get(d);
       if (dr != null) {
-        var content = dr.content() == null ? "" : dr.content();
-        var imageUrl = dr.imageUrl() == null ? "" : dr.imageUrl();
+        var content = dr.textA() == null ? "" : dr.textA();
+        var imageUrl = dr.textB() == null ? "" : dr.textB();
         if (!content.isBlank() || !imageUrl.isBlank()) {
-          diary = new MonthlyAwarenessResponse.MonthlyAwarenessDiaryView(content, dr.imageUrl());
+          diary = new MonthlyAwarenessResponse.MonthlyAwarenessDiaryView(content, dr.textB());
         }
       }
 
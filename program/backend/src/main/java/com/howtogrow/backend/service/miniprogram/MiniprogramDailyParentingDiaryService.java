@@ -5,6 +5,7 @@ import com.howtogrow.backend.api.exception.AppException;
 import com.howtogrow.backend.controller.miniprogram.dto.DailyParentingDiaryUpsertRequest;
 import com.howtogrow.backend.controller.miniprogram.dto.DailyParentingDiaryView;
 import com.howtogrow.backend.domain.time.BizClock;
+import com.howtogrow.backend.infrastructure.cache.DataVersions;
 import com.howtogrow.backend.infrastructure.child.ChildRepository;
 import com.howtogrow.backend.infrastructure.parenting.DailyParentingDiaryRepository;
 import java.time.LocalDate;
@@ -18,12 +19,20 @@ public class MiniprogramDailyParentingDiaryService {
   private final BizClock bizClock;
   private final ChildRepository childRepo;
   private final DailyParentingDiaryRepository diaryRepo;
+  private final DataVersions dataVersions;
+  private final ChildActivityService activityService;
 
   public MiniprogramDailyParentingDiaryService(
-      BizClock bizClock, ChildRepository childRepo, DailyParentingDiaryRepository diaryRepo) {
+      BizClock bizClock,
+      ChildRepository childRepo,
+      DailyParentingDiaryRepository diaryRepo,
+      DataVersions dataVersions,
+      ChildActivityService activityService) {
     this.bizClock = bizClock;
     this.childRepo = childRepo;
     this.diaryRepo = diaryRepo;
+    this.dataVersions = dataVersions;
+    this.activityService = activityService;
   }
 
   public DailyParentingDiaryView get(long userId, long childId, LocalDate recordDate) {
@@ -73,6 +82,8 @@ public class MiniprogramDailyParentingDiaryService {
     }
 
     diaryRepo.upsert(userId, childId, day, content, imageUrl);
+    activityService.recordActiveDay(userId, childId, day);
+    dataVersions.bump(DataVersions.child(childId));
   }
 
   private static long requireChildId(Long childId) {
@@ -6,6 +6,7 @@ import com.howtogrow.backend.controller.miniprogram.dto.DailyParentingStatusUpse
 import com.howtogrow.backend.controller.miniprogram.dto.DailyParentingStatusView;
 import com.howtogrow.backend.domain.parenting.ParentingStatus;
 import com.howtogrow.backend.domain.time.BizClock;
+import com.howtogrow.backend.infrastructure.cache.DataVersions;
 import com.howtogrow.backend.infrastructure.child.ChildRepository;
 import com.howtogrow.backend.infrastructure.parenting.DailyParentingStatusRepository;
 import java.time.LocalDate;
@@ -17,12 +18,20 @@ public class MiniprogramDailyParentingStatusService {
   private final BizClock bizClock;
   private final ChildRepository childRepo;
   private final DailyParentingStatusRepository statusRepo;
+  private final DataVersions dataVersions;
+  private final ChildActivityService activityService;
 
   public MiniprogramDailyParentingStatusService(
-      BizClock bizClock, ChildRepository childRepo, DailyParentingStatusRepository statusRepo) {
+      BizClock bizClock,
+      ChildRepository childRepo,
+      DailyParentingStatusRepository statusRepo,
+      DataVersions dataVersions,
+      ChildActivityService activityService) {
     this.bizClock = bizClock;
     this.childRepo = childRepo;
     this.statusRepo = statusRepo;
+    this.dataVersions = dataVersions;
+    this.activityService = activityService;
   }
 
   public DailyParentingStatusView get(long userId, long childId, LocalDate recordDate) {
@@ -58,6 +67,8 @@ public class MiniprogramDailyParentingStatusService {
             .fromValue(request.statusCode())
             .orElseThrow(() -> new AppException(ErrorCode.INVALID_REQUEST, "育儿状态不合法"));
     statusRepo.upsert(userId, childId, day, normalized.value());
+    activityService.recordActiveDay(userId, childId, day);
+    dataVersions.bump(DataVersions.child(childId));
   }
 
   private static long requireChildId(Long childId) {
@@ -5,6 +5,7 @@ import com.howtogrow.backend.api.exception.AppException;
 import com.howtogrow.backend.controller.miniprogram.dto.DailyTroubleRecordUpsertRequest;
 import com.howtogrow.backend.controller.miniprogram.dto.DailyTroubleRecordView;
 import com.howtogrow.backend.domain.time.BizClock;
+import com.howtogrow.backend.infrastructure.cache.DataVersions;
 import com.howtogrow.backend.infrastructure.child.ChildRepository;
 import com.howtogrow.backend.infrastructure.trouble.DailyTroubleRecordRepository;
 import com.howtogrow.backend.infrastructure.trouble.TroubleSceneRepository;
@@ -20,16 +21,22 @@ public class MiniprogramDailyTroubleRecordService {
   private final ChildRepository childRepo;
   private final TroubleSceneRepository sceneRepo;
   private final DailyTroubleRecordRepository recordRepo;
+  private final DataVersions dataVersions;
+  private final ChildActivityService activityService;
 
   public MiniprogramDailyTroubleRecordService(
       BizClock bizClock,
       ChildRepository childRepo,
       TroubleSceneRepository sceneRepo,
-      DailyTroubleRecordRepository recordRepo) {
+      DailyTroubleRecordRepository recordRepo,
+      DataVersions dataVersions,
+      ChildActivityService activityService) {
     this.bizClock = bizClock;
     this.childRepo = childRepo;
     this.sceneRepo = sceneRepo;
     this.recordRepo = recordRepo;
+    this.dataVersions = dataVersions;
+    this.activityService = activityService;
   }
 
   public DailyTroubleRecordView get(long userId, long childId, LocalDate recordDate) {
@@ -84,6 +91,8 @@ public class MiniprogramDailyTroubleRecordService {
 
     var recordId = recordRepo.upsertRecord(userId, childId, day);
     recordRepo.replaceScenes(recordId, List.copyOf(unique));
+    activityService.recordActiveDay(userId, childId, day);
+    dataVersions.bump(DataVersions.child(childId));
   }
 
   private static long requireChildId(Long childId) {
@@ -11,6 +11,7 @@ import com.howtogrow.backend.infrastructure.subscription.PurchaseOrderRepository
 import com.howtogrow.backend.infrastructure.subscription.SubscriptionGrantRepository;
 import com.howtogrow.backend.infrastructure.subscription.SubscriptionPlanRepository;
 import com.howtogrow.backend.infrastructure.subscription.UserSubscriptionRepository;
+import com.howtogrow.backend.service.common.EntitlementSnapshotCache;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -27,6 +28,7 @@ public class WechatPayNotifyService {
   private final SubscriptionGrantRepository grantRepo;
   private final WechatPayTransactionRepository txnRepo;
   private final WxJavaWechatPayClient wxJavaWechatPayClient;
+  private final EntitlementSnapshotCache entitlements;
   private final Clock clock;
 
   public WechatPayNotifyService(
@@ -36,6 +38,7 @@ public class WechatPayNotifyService {
       SubscriptionGrantRepository grantRepo,
       WechatPayTransactionRepository txnRepo,
       WxJavaWechatPayClient wxJavaWechatPayClient,
+      EntitlementSnapshotCache entitlements,
       Clock clock) {
     this.orderRepo = orderRepo;
     this.planRepo = planRepo;
@@ -43,6 +46,7 @@ public class WechatPayNotifyService {
     this.grantRepo = grantRepo;
     this.txnRepo = txnRepo;
     this.wxJavaWechatPayClient = wxJavaWechatPayClient;
+    this.entitlements = entitlements;
     this.clock = clock;
   }
 
@@ -168,6 +172,7 @@ public class WechatPayNotifyService {
             order.userId(), order.id(), order.planId(), plan.days(), grantedFrom, grantedTo);
     if (inserted) {
       userSubscriptionRepo.updateSubscriptionEndAt(order.userId(), grantedTo);
+      entitlements.subscriptionChanged(order.userId(), grantedTo);
     }
   }
 
@@ -0,0 +1,61 @@
+package com.howtogrow.backend.auth;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** 冷路径（完整解析 + HMAC 校验）与热路径（摘要 + 缓存命中）的单次校验耗时对比。 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+  private JwtService service;
+  private String token;
+  private String adminTokenWithoutKid;
+
+  @Setup
+  public void setUp() {
+    var props =
+        new JwtProperties(
+            "01234567890123456789012345678901",
+            "abcdefabcdefabcdefabcdefabcdefab",
+            3600);
+    service = new JwtService(props, Clock.systemUTC());
+    token = service.issue(Audience.MINIPROGRAM, 123L);
+    var admin = service.issue(Audience.ADMIN, 1L).split("\\.");
+    // 去掉 kid 的 header 会走“依次尝试各受众”的路径；签名因 header 变化而失效，用于衡量失败路径
+    adminTokenWithoutKid = "eyJhbGciOiJIUzI1NiJ9." + admin[1] + "." + admin[2];
+    service.verify(token);
+  }
+
+  @Benchmark
+  public Object cold() {
+    return service.verifyUncached(token);
+  }
+
+  @Benchmark
+  public Object warm() {
+    return service.verify(token);
+  }
+
+  @Benchmark
+  public Object rejectedWithoutKid() {
+    try {
+      return service.verify(adminTokenWithoutKid);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.howtogrow.backend.api.exception.AppException;
+import com.howtogrow.backend.testing.MutableClock;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -42,5 +43,23 @@ class JwtServiceTest {
     var verifyService = new JwtService(props, expiredClock);
     assertThrows(AppException.class, () -> verifyService.verify(token));
   }
-}
 
+  @Test
+  void cachedTokenStillExpires() {
+    var props =
+        new JwtProperties(
+            "01234567890123456789012345678901",
+            "abcdefabcdefabcdefabcdefabcdefab",
+            1);
+    var start = Instant.parse("2025-01-01T00:00:00Z");
+    var clock = new MutableClock(start);
+    var service = new JwtService(props, clock);
+    var token = service.issue(Audience.ADMIN, 7L);
+
+    assertEquals(7L, service.verify(token).userId());
+    assertEquals(Audience.ADMIN, service.verify(token).audience());
+
+    clock.set(start.plusSeconds(5));
+    assertThrows(AppException.class, () -> service.verify(token));
+  }
+}
@@ -0,0 +1,26 @@
+package com.howtogrow.backend.controller.admin.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PageResponseTest {
+  @Test
+  void keyset_fullPage_usesLastIdAsNextCursor() {
+    var page = PageResponse.keyset(1, 3, 10, List.of(9L, 8L, 7L), Long::longValue);
+    assertEquals(7L, page.nextCursor());
+    assertEquals(10, page.total());
+  }
+
+  @Test
+  void keyset_lastPartialPage_hasNoNextCursor() {
+    assertNull(PageResponse.keyset(4, 3, 10, List.of(1L), Long::longValue).nextCursor());
+  }
+
+  @Test
+  void keyset_emptyPage_hasNoNextCursor() {
+    assertNull(PageResponse.keyset(5, 3, 10, List.<Long>of(), Long::longValue).nextCursor());
+  }
+}
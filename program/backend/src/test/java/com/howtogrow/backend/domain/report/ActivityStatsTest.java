@@ -0,0 +1,32 @@
+package com.howtogrow.backend.domain.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ActivityStatsTest {
+  @Test
+  void countsStreakEndingAtLastDay() {
+    var stats =
+        ActivityStats.of(
+            List.of(
+                LocalDate.of(2026, 1, 1),
+                LocalDate.of(2026, 1, 3),
+                LocalDate.of(2026, 1, 4),
+                LocalDate.of(2026, 1, 5)));
+    assertEquals(LocalDate.of(2026, 1, 1), stats.firstRecordDate());
+    assertEquals(LocalDate.of(2026, 1, 5), stats.lastRecordDate());
+    assertEquals(4, stats.activeDays());
+    assertEquals(3, stats.currentStreak());
+  }
+
+  @Test
+  void streakBreaksAfterAMissedDay() {
+    var stats = ActivityStats.of(List.of(LocalDate.of(2026, 1, 4), LocalDate.of(2026, 1, 5)));
+    assertEquals(2, stats.streakAsOf(LocalDate.of(2026, 1, 6)));
+    assertEquals(0, stats.streakAsOf(LocalDate.of(2026, 1, 7)));
+    assertEquals(0, ActivityStats.EMPTY.streakAsOf(LocalDate.of(2026, 1, 7)));
+  }
+}
@@ -0,0 +1,117 @@
+package com.howtogrow.backend.domain.report;
+
+import com.howtogrow.backend.domain.report.WindowedScoreAggregator.WindowSpec;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** 一年数据、多个孩子的 5 日窗口聚合：原先的 TreeMap/HashMap 装箱实现与前缀和引擎对比。 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WindowedScoreAggregatorBenchmark {
+  private static final List<String> DIMENSIONS =
+      List.of(
+          "EMOTION_MANAGEMENT",
+          "COMMUNICATION_EXPRESSION",
+          "RULE_GUIDANCE",
+          "RELATIONSHIP_BUILDING",
+          "LEARNING_SUPPORT");
+  private static final int WINDOW_SIZE = 5;
+
+  @Param({"1", "100"})
+  public int children;
+
+  private long[] childIds;
+  private LocalDate[] dates;
+  private String[] codes;
+  private long[] scores;
+
+  @Setup
+  public void setUp() {
+    var random = new Random(42);
+    var from = LocalDate.of(2025, 1, 1);
+    int rows = children * 365 * DIMENSIONS.size();
+    childIds = new long[rows];
+    dates = new LocalDate[rows];
+    codes = new String[rows];
+    scores = new long[rows];
+    int i = 0;
+    for (int c = 0; c < children; c++) {
+      for (int day = 0; day < 365; day++) {
+        var date = from.plusDays(day);
+        for (var code : DIMENSIONS) {
+          childIds[i] = c;
+          dates[i] = date;
+          codes[i] = code;
+          scores[i] = random.nextInt(100);
+          i++;
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public Object boxedMaps() {
+    List<Object> out = new ArrayList<>();
+    int i = 0;
+    while (i < childIds.length) {
+      long childId = childIds[i];
+      Map<LocalDate, Map<String, Long>> dailyScores = new TreeMap<>();
+      for (; i < childIds.length && childIds[i] == childId; i++) {
+        dailyScores.computeIfAbsent(dates[i], d -> new HashMap<>()).merge(codes[i], scores[i], Long::sum);
+      }
+      var days = new ArrayList<>(dailyScores.keySet());
+      for (int start = 0; start < days.size(); start += WINDOW_SIZE) {
+        var window = days.subList(start, Math.min(start + WINDOW_SIZE, days.size()));
+        List<Long> averages = new ArrayList<>(DIMENSIONS.size());
+        for (var code : DIMENSIONS) {
+          long sum = 0;
+          for (var date : window) {
+            sum += dailyScores.getOrDefault(date, Map.of()).getOrDefault(code, 0L);
+          }
+          averages.add(sum / window.size());
+        }
+        out.add(averages);
+      }
+    }
+    return out;
+  }
+
+  @Benchmark
+  public Object prefixSums() {
+    var aggregator = new WindowedScoreAggregator(DIMENSIONS);
+    for (int i = 0; i < childIds.length; i++) {
+      aggregator.add(childIds[i], dates[i], codes[i], scores[i]);
+    }
+    return aggregator.aggregate(WindowSpec.tumbling(WINDOW_SIZE));
+  }
+
+  @Benchmark
+  public Object prefixSumsRolling() {
+    var aggregator = new WindowedScoreAggregator(DIMENSIONS);
+    for (int i = 0; i < childIds.length; i++) {
+      aggregator.add(childIds[i], dates[i], codes[i], scores[i]);
+    }
+    return aggregator.aggregate(WindowSpec.rolling(WINDOW_SIZE));
+  }
+}
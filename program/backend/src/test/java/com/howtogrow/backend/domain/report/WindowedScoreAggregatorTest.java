@@ -0,0 +1,74 @@
+package com.howtogrow.backend.domain.report;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.howtogrow.backend.domain.report.WindowedScoreAggregator.WindowSpec;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class WindowedScoreAggregatorTest {
+  private static final LocalDate D1 = LocalDate.of(2026, 1, 1);
+  private static final LocalDate D2 = LocalDate.of(2026, 1, 3);
+  private static final LocalDate D3 = LocalDate.of(2026, 1, 9);
+
+  @Test
+  void rolling_coversTrailingDataDays_perSeries() {
+    var aggregator = new WindowedScoreAggregator(List.of("A", "B"));
+    // 乱序、跨序列交错输入
+    aggregator.add(1L, D3, "A", 30);
+    aggregator.add(2L, D2, "B", 7);
+    aggregator.add(1L, D1, "A", 10);
+    aggregator.add(1L, D2, "B", 4);
+    aggregator.add(1L, D2, "A", 20);
+    aggregator.add(1L, D2, "A", 2);
+
+    var windows = aggregator.aggregate(WindowSpec.rolling(2));
+    assertEquals(4, windows.size());
+
+    var first = windows.get(0);
+    assertEquals(1L, first.seriesId());
+    assertEquals(D1, first.startDate());
+    assertEquals(D1, first.endDate());
+    assertEquals(1, first.dataDays());
+    assertArrayEquals(new long[] {10, 0}, first.sums());
+
+    var second = windows.get(1);
+    assertEquals(D1, second.startDate());
+    assertEquals(D2, second.endDate());
+    assertArrayEquals(new long[] {32, 4}, second.sums());
+    assertEquals(16L, second.average(0));
+
+    var third = windows.get(2);
+    assertEquals(D2, third.startDate());
+    assertEquals(D3, third.endDate());
+    assertArrayEquals(new long[] {52, 4}, third.sums());
+
+    var other = windows.get(3);
+    assertEquals(2L, other.seriesId());
+    assertEquals(D2, other.endDate());
+    assertArrayEquals(new long[] {0, 7}, other.sums());
+  }
+
+  @Test
+  void tumbling_keepsTrailingPartialWindow() {
+    var aggregator = new WindowedScoreAggregator(List.of("A"));
+    aggregator.add(1L, D1, "A", 1);
+    aggregator.add(1L, D2, "A", 2);
+    aggregator.add(1L, D3, "A", 3);
+
+    var windows = aggregator.aggregate(WindowSpec.tumbling(2));
+    assertEquals(2, windows.size());
+    assertArrayEquals(new long[] {3}, windows.get(0).sums());
+    assertEquals(D3, windows.get(1).startDate());
+    assertEquals(1, windows.get(1).dataDays());
+  }
+
+  @Test
+  void rejectsUnknownDimension() {
+    var aggregator = new WindowedScoreAggregator(List.of("A"));
+    assertThrows(IllegalArgumentException.class, () -> aggregator.add(1L, D1, "B", 1));
+  }
+}
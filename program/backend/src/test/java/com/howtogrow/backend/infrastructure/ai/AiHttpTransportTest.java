@@ -0,0 +1,54 @@
+package com.howtogrow.backend.infrastructure.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.howtogrow.backend.api.ErrorCode;
+import com.howtogrow.backend.api.exception.AppException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class AiHttpTransportTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final AiHttpTransport transport =
+      new AiHttpTransport(
+          new AiProperties("https://example.invalid/v1", "k", "qwen-plus", "/chat/completions", false, 0),
+          new AiTransportProperties(0, 0, 0, 1),
+          registry);
+
+  @Test
+  void rejectsWhenUpstreamIsFullAndReleasesOnEnd() {
+    var stream = transport.beginStream("chat-stream", "qwen-plus");
+    var e = assertThrows(AppException.class, () -> transport.call("chat", "qwen-plus", () -> "x"));
+    assertEquals(ErrorCode.RATE_LIMITED, e.code());
+
+    stream.onDelta();
+    stream.onDelta();
+    stream.end(new OpenAiStreamClient.StreamDone("qwen-plus", 120), null);
+    stream.end(null, null);
+
+    assertEquals("x", transport.call("chat", "qwen-plus", () -> "x"));
+    assertEquals(1, requests("chat", "rejected"));
+    assertEquals(1, requests("chat", "success"));
+    assertEquals(1, requests("chat-stream", "success"));
+    assertEquals(1, registry.get("app.ai.stream.first_token").timer().count());
+    assertEquals(120, registry.get("app.ai.tokens").summary().totalAmount());
+  }
+
+  @Test
+  void countsFailedCallsAsErrors() {
+    assertThrows(IllegalStateException.class, () -> transport.call("summary", "qwen-plus", () -> {
+      throw new IllegalStateException("boom");
+    }));
+    assertEquals(1, requests("summary", "error"));
+    assertEquals("x", transport.call("summary", "qwen-plus", () -> "x"));
+  }
+
+  private long requests(String operation, String outcome) {
+    return registry
+        .get("app.ai.requests")
+        .tags("model", "qwen-plus", "operation", operation, "outcome", outcome)
+        .timer()
+        .count();
+  }
+}
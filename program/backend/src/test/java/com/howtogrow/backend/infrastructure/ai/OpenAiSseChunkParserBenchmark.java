@@ -0,0 +1,113 @@
+package com.howtogrow.backend.infrastructure.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 解析一整条录制的流式响应（约 100 个增量块）：原先的按行 String + readTree 与字节级 token 解析对比。
+ * 结果除以块数即单 token 耗时；加 {@code -prof gc} 查看 gc.alloc.rate.norm 对比分配量。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpenAiSseChunkParserBenchmark {
+  /** HttpClient 每次推送的数据量接近这个量级。 */
+  private static final int NETWORK_CHUNK = 8 * 1024;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private byte[] stream;
+
+  @Setup
+  public void setUp() throws IOException {
+    stream = OpenAiSseChunkParserTest.recordedStream();
+  }
+
+  @Benchmark
+  public Object lineReadTree() throws IOException {
+    var out = new StringBuilder();
+    String model = null;
+    int totalTokens = -1;
+    try (var reader =
+        new BufferedReader(new InputStreamReader(new ByteArrayInputStream(stream), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isBlank() || !line.startsWith("data:")) {
+          continue;
+        }
+        var data = line.substring("data:".length()).trim();
+        if ("[DONE]".equals(data)) {
+          break;
+        }
+        JsonNode node = objectMapper.readTree(data);
+        var maybeModel = node.path("model").asText(null);
+        if (maybeModel != null && !maybeModel.isBlank()) {
+          model = maybeModel;
+        }
+        var usage = node.path("usage");
+        if (!usage.isMissingNode()) {
+          var tt = usage.path("total_tokens").asInt(-1);
+          if (tt >= 0) {
+            totalTokens = tt;
+          }
+        }
+        var delta = node.path("choices").path(0).path("delta").path("content").asText(null);
+        if (delta != null && !delta.isBlank()) {
+          out.append(delta);
+        }
+      }
+    }
+    return out.length() + totalTokens + (model == null ? 0 : 1);
+  }
+
+  @Benchmark
+  public Object tokenParser() {
+    var sink = new Sink();
+    var parser = new OpenAiSseChunkParser(objectMapper.getFactory());
+    for (int i = 0; i < stream.length; i += NETWORK_CHUNK) {
+      if (!parser.feed(ByteBuffer.wrap(stream, i, Math.min(NETWORK_CHUNK, stream.length - i)), sink)) {
+        break;
+      }
+    }
+    parser.finish(sink);
+    return sink.out.length() + sink.totalTokens + (sink.model == null ? 0 : 1);
+  }
+
+  private static final class Sink implements OpenAiSseChunkParser.Listener {
+    private final StringBuilder out = new StringBuilder();
+    private String model;
+    private int totalTokens = -1;
+
+    @Override
+    public void onChunk(String model, int totalTokens, String content) {
+      if (model != null && !model.isBlank()) {
+        this.model = model;
+      }
+      if (totalTokens >= 0) {
+        this.totalTokens = totalTokens;
+      }
+      if (content != null && !content.isBlank()) {
+        out.append(content);
+      }
+    }
+  }
+}
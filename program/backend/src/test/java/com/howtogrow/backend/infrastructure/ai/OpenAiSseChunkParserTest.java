@@ -0,0 +1,87 @@
+package com.howtogrow.backend.infrastructure.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class OpenAiSseChunkParserTest {
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void matchesTreeExtractionOnRecordedStreamSplitMidCharacter() throws Exception {
+    var bytes = recordedStream();
+    var expected = new StringBuilder();
+    for (var line : new String(bytes, StandardCharsets.UTF_8).split("\n")) {
+      if (line.startsWith("data:") && !line.contains("[DONE]")) {
+        var node = objectMapper.readTree(line.substring(5).trim());
+        var content = node.path("choices").path(0).path("delta").path("content");
+        expected.append(content.asText(""));
+      }
+    }
+
+    var collected = new Collected();
+    var parser = new OpenAiSseChunkParser(objectMapper.getFactory());
+    boolean more = true;
+    // 7 字节一段，保证中文字符和行都会被切断
+    for (int i = 0; i < bytes.length && more; i += 7) {
+      more = parser.feed(ByteBuffer.wrap(bytes, i, Math.min(7, bytes.length - i)), collected);
+    }
+
+    assertFalse(more);
+    var contents = collected.contents.stream().filter(c -> c != null).toList();
+    assertEquals(expected.toString(), String.join("", contents));
+    assertEquals("qwen-plus", collected.model);
+    assertEquals(513, collected.totalTokens);
+  }
+
+  @Test
+  void handlesCrLfMissingTrailingNewlineAndMalformedChunks() {
+    var collected = new Collected();
+    var parser = new OpenAiSseChunkParser(objectMapper.getFactory());
+    var input =
+        ": keep-alive\r\n"
+            + "data: {\"choices\":[{\"delta\":{\"content\":\"你\"}}]}\r\n\r\n"
+            + "data: {not json\n\n"
+            + "event: ping\n"
+            + "data:{\"usage\":null,\"choices\":[{\"delta\":{\"content\":null}},{\"delta\":{\"content\":\"x\"}}]}\n"
+            + "data: {\"choices\":[{\"delta\":{\"content\":\"好\"}}]}";
+
+    assertTrue(parser.feed(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)), collected));
+    parser.finish(collected);
+
+    assertEquals(List.of("你", "好"), collected.contents.stream().filter(c -> c != null).toList());
+    assertEquals(3, collected.contents.size());
+    assertEquals(-1, collected.totalTokens);
+  }
+
+  static byte[] recordedStream() throws IOException {
+    try (var in = OpenAiSseChunkParserTest.class.getResourceAsStream("/ai/chat-completions-stream.txt")) {
+      return in.readAllBytes();
+    }
+  }
+
+  private static final class Collected implements OpenAiSseChunkParser.Listener {
+    private final List<String> contents = new ArrayList<>();
+    private String model;
+    private int totalTokens = -1;
+
+    @Override
+    public void onChunk(String model, int totalTokens, String content) {
+      if (model != null) {
+        this.model = model;
+      }
+      if (totalTokens >= 0) {
+        this.totalTokens = totalTokens;
+      }
+      contents.add(content);
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.howtogrow.backend.infrastructure.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class OpenAiStreamClientTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final AiProperties props =
+      new AiProperties("https://example.invalid/v1", "k", "qwen-plus", "/chat/completions", false, 0);
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void synchronousSendFailureReleasesUpstreamPermit() {
+    var transport = spy(new AiHttpTransport(props, new AiTransportProperties(0, 0, 0, 1), registry));
+    var httpClient = mock(HttpClient.class);
+    when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+        .thenThrow(new IllegalStateException("closed"));
+    doReturn(httpClient).when(transport).httpClient();
+    var client = new OpenAiStreamClient(props, new ObjectMapper(), transport);
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> client.streamChatCompletions(List.of(new AiChatClient.ChatMessage("user", "hi")), d -> {}));
+
+    // 唯一的名额已归还，非流式调用不会被拒
+    assertEquals("x", transport.call("chat", "qwen-plus", () -> "x"));
+    assertEquals(
+        1,
+        registry
+            .get("app.ai.requests")
+            .tags("model", "qwen-plus", "operation", "chat-stream", "outcome", "error")
+            .timer()
+            .count());
+  }
+}
@@ -0,0 +1,39 @@
+package com.howtogrow.backend.infrastructure.aichat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.howtogrow.backend.infrastructure.aichat.AiChatContextCache.ContextMessage;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AiChatContextCacheTest {
+  @Test
+  void trim_keepsNewestMessagesWithinBudget() {
+    var messages =
+        List.of(
+            new ContextMessage(1, "user", "a", 40),
+            new ContextMessage(2, "assistant", "b", 30),
+            new ContextMessage(3, "user", "c", 20));
+
+    assertEquals(List.of(2L, 3L), ids(AiChatContextCache.trim(messages, 50)));
+    assertEquals(List.of(1L, 2L, 3L), ids(AiChatContextCache.trim(messages, 90)));
+    // 最新一条超出预算也保留
+    assertEquals(List.of(3L), ids(AiChatContextCache.trim(messages, 5)));
+  }
+
+  @Test
+  void trim_capsMessageCount() {
+    var messages = new ArrayList<ContextMessage>();
+    for (int i = 1; i <= AiChatContextCache.MAX_MESSAGES + 10; i++) {
+      messages.add(new ContextMessage(i, "user", "x", 1));
+    }
+    var trimmed = AiChatContextCache.trim(messages, Integer.MAX_VALUE);
+    assertEquals(AiChatContextCache.MAX_MESSAGES, trimmed.size());
+    assertEquals(11L, trimmed.get(0).id());
+  }
+
+  private static List<Long> ids(List<ContextMessage> messages) {
+    return messages.stream().map(ContextMessage::id).toList();
+  }
+}
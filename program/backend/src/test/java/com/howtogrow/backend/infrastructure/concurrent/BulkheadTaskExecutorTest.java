@@ -0,0 +1,110 @@
+package com.howtogrow.backend.infrastructure.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+class BulkheadTaskExecutorTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final BulkheadTaskExecutor executor = new BulkheadTaskExecutor("test", 1, 1, false, registry);
+
+  @Test
+  void queuesBeyondConcurrencyAndRejectsWhenQueueIsFull() throws Exception {
+    var gate = new CountDownLatch(1);
+    var done = new CountDownLatch(2);
+    executor.execute(() -> awaitQuietly(gate, done));
+    executor.execute(done::countDown);
+
+    assertEquals(1, executor.activeCount());
+    assertEquals(1, executor.queueSize());
+    assertThrows(TaskRejectedException.class, () -> executor.execute(() -> {}));
+    assertEquals(1, registry.get("app.executor.rejected").tag("name", "test").counter().count());
+
+    gate.countDown();
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    awaitIdle();
+    assertEquals(0, executor.queueSize());
+  }
+
+  @Test
+  void errorInTaskReleasesSlotAndQueuedTasksStillRun() throws Exception {
+    var gate = new CountDownLatch(1);
+    var ran = new CountDownLatch(1);
+    executor.execute(
+        () -> {
+          awaitQuietly(gate, null);
+          throw new AssertionError("boom");
+        });
+    executor.execute(ran::countDown);
+
+    gate.countDown();
+    assertTrue(ran.await(5, TimeUnit.SECONDS));
+    awaitIdle();
+
+    // 名额已归还：后续任务仍能执行
+    var again = new CountDownLatch(1);
+    executor.execute(again::countDown);
+    assertTrue(again.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void shutdownDrainsQueuedTasksAndRejectsNewOnes() {
+    var count = new AtomicInteger();
+    executor.execute(() -> sleepQuietly(50, count));
+    executor.execute(() -> sleepQuietly(0, count));
+
+    assertTrue(executor.shutdown(Duration.ofSeconds(5)));
+    assertEquals(2, count.get());
+    assertThrows(TaskRejectedException.class, () -> executor.execute(() -> {}));
+  }
+
+  @Test
+  void shutdownTimeoutDropsTasksThatNeverStarted() {
+    var gate = new CountDownLatch(1);
+    var count = new AtomicInteger();
+    executor.execute(() -> awaitQuietly(gate, null));
+    executor.execute(count::incrementAndGet);
+
+    assertFalse(executor.shutdown(Duration.ofMillis(50)));
+    assertEquals(0, executor.queueSize());
+    gate.countDown();
+    assertEquals(0, count.get());
+  }
+
+  private void awaitIdle() throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (executor.activeCount() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(0, executor.activeCount());
+  }
+
+  private static void awaitQuietly(CountDownLatch gate, CountDownLatch done) {
+    try {
+      gate.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (done != null) {
+      done.countDown();
+    }
+  }
+
+  private static void sleepQuietly(long millis, AtomicInteger count) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    count.incrementAndGet();
+  }
+}
@@ -0,0 +1,27 @@
+package com.howtogrow.backend.infrastructure.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class BulkheadTest {
+  @Test
+  void rejectsBeyondMaxConcurrencyUntilReleased() {
+    var registry = new SimpleMeterRegistry();
+    var bulkhead = new Bulkhead("test", 2, registry);
+
+    assertTrue(bulkhead.tryAcquire());
+    assertTrue(bulkhead.tryAcquire());
+    assertFalse(bulkhead.tryAcquire());
+    assertEquals(2, bulkhead.activeCount());
+    assertEquals(2.0, registry.get("app.bulkhead.active").tag("name", "test").gauge().value());
+    assertEquals(1, registry.get("app.bulkhead.rejected").tag("name", "test").counter().count());
+
+    bulkhead.release();
+    assertEquals(1, bulkhead.activeCount());
+    assertTrue(bulkhead.tryAcquire());
+  }
+}
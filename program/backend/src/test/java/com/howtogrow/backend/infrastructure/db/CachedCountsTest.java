@@ -0,0 +1,54 @@
+package com.howtogrow.backend.infrastructure.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.howtogrow.backend.testing.MutableClock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class CachedCountsTest {
+  private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+  private final CachedCounts counts = new CachedCounts(clock);
+  private final AtomicLong loads = new AtomicLong();
+
+  @Test
+  void sameKeyWithinTtl_usesCachedCount() {
+    assertEquals(1, counts.get("users|a", this::load));
+    clock.advance(Duration.ofSeconds(29));
+    assertEquals(1, counts.get("users|a", this::load));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void expiredEntry_isReloaded() {
+    assertEquals(1, counts.get("users|a", this::load));
+    clock.advance(Duration.ofSeconds(30));
+    assertEquals(2, counts.get("users|a", this::load));
+    clock.advance(Duration.ofSeconds(29));
+    assertEquals(2, counts.get("users|a", this::load));
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void differentFilters_areCountedSeparately() {
+    counts.get(CachedCounts.key("users", 1L, null), this::load);
+    counts.get(CachedCounts.key("users", 2L, null), this::load);
+    counts.get(CachedCounts.key("orders", 1L, null), this::load);
+    assertEquals(3, loads.get());
+    assertEquals("users|1:1|-", CachedCounts.key("users", 1L, null));
+  }
+
+  @Test
+  void filterValuesContainingSeparators_doNotCollide() {
+    assertNotEquals(CachedCounts.key("users", "a|b", null), CachedCounts.key("users", "a", "b"));
+    assertNotEquals(CachedCounts.key("users", "a|1:b"), CachedCounts.key("users", "a", "b"));
+    assertNotEquals(CachedCounts.key("users", "null"), CachedCounts.key("users", (Object) null));
+  }
+
+  private long load() {
+    return loads.incrementAndGet();
+  }
+}
@@ -0,0 +1,93 @@
+package com.howtogrow.backend.infrastructure.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+class MultiRowInsertTest {
+  private final NamedParameterJdbcTemplate jdbc = mock(NamedParameterJdbcTemplate.class);
+
+  @Test
+  void insert_bindsSharedParamsOnceAndAppendsTail() {
+    when(jdbc.update(anyString(), any(SqlParameterSource.class))).thenReturn(2);
+
+    int updated =
+        MultiRowInsert.insert(
+            jdbc,
+            "INSERT INTO t(a, b)",
+            "(:a, :b#)",
+            "ON DUPLICATE KEY UPDATE b = b + VALUES(b)",
+            Map.of("a", 7L),
+            List.of(10, 20),
+            (p, i, v) -> p.addValue("b" + i, v));
+
+    var sql = ArgumentCaptor.forClass(String.class);
+    var params = ArgumentCaptor.forClass(SqlParameterSource.class);
+    verify(jdbc).update(sql.capture(), params.capture());
+    assertEquals(2, updated);
+    assertEquals("INSERT INTO t(a, b) VALUES (:a, :b0),(:a, :b1) ON DUPLICATE KEY UPDATE b = b + VALUES(b)", sql.getValue());
+    var bound = (MapSqlParameterSource) params.getValue();
+    assertEquals(7L, bound.getValue("a"));
+    assertEquals(20, bound.getValue("b1"));
+  }
+
+  @Test
+  void insertReturningKeys_keepsRowOrderAcrossChunks() {
+    var next = new long[] {100};
+    doAnswer(
+            inv -> {
+              String sql = inv.getArgument(0);
+              int rows = sql.split("\\),\\(").length;
+              KeyHolder kh = inv.getArgument(2);
+              for (int i = 0; i < rows; i++) {
+                kh.getKeyList().add(Map.of("GENERATED_KEY", next[0]++));
+              }
+              return rows;
+            })
+        .when(jdbc)
+        .update(anyString(), any(SqlParameterSource.class), any(KeyHolder.class));
+
+    var rows = IntStream.range(0, MultiRowInsert.CHUNK_ROWS + 3).boxed().toList();
+    var ids = MultiRowInsert.insertReturningKeys(jdbc, "INSERT INTO t(v)", "(:v#)", rows, (p, i, v) -> p.addValue("v" + i, v));
+
+    verify(jdbc, times(2)).update(anyString(), any(SqlParameterSource.class), any(KeyHolder.class));
+    var expected = new ArrayList<Long>();
+    for (int i = 0; i < rows.size(); i++) {
+      expected.add(100L + i);
+    }
+    assertEquals(expected, ids);
+  }
+
+  @Test
+  void insertReturningKeys_missingKeysFail() {
+    doAnswer(
+            inv -> {
+              ((GeneratedKeyHolder) inv.getArgument(2)).getKeyList().add(Map.of("GENERATED_KEY", 1L));
+              return 2;
+            })
+        .when(jdbc)
+        .update(anyString(), any(SqlParameterSource.class), any(KeyHolder.class));
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> MultiRowInsert.insertReturningKeys(jdbc, "INSERT INTO t(v)", "(:v#)", List.of(1, 2), (p, i, v) -> p.addValue("v" + i, v)));
+  }
+}
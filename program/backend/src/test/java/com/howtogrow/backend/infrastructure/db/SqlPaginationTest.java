@@ -0,0 +1,81 @@
+package com.howtogrow.backend.infrastructure.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.howtogrow.backend.infrastructure.admin.UserQueryRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+class SqlPaginationTest {
+  @Test
+  void idBefore_withoutCursor_isEmpty() {
+    assertEquals("", SqlPagination.idBefore("a.id", null));
+  }
+
+  @Test
+  void idBefore_withCursor_addsStrictlyLessThanCondition() {
+    assertEquals(" AND a.id < :cursor ", SqlPagination.idBefore("a.id", 42L));
+  }
+
+  @Test
+  void page_withoutCursor_usesOffset() {
+    assertEquals("LIMIT 20 OFFSET 40", SqlPagination.page(null, 40, 20));
+  }
+
+  @Test
+  void page_withCursor_ignoresOffset() {
+    assertEquals("LIMIT 20", SqlPagination.page(42L, 40, 20));
+  }
+
+  @Test
+  void page_rejectsInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> SqlPagination.page(null, -1, 20));
+    assertThrows(IllegalArgumentException.class, () -> SqlPagination.page(null, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> SqlPagination.page(42L, 0, 0));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void listQuery_withCursor_bindsCursorAndSkipsOffset() {
+    var jdbc = mock(NamedParameterJdbcTemplate.class);
+    var repo = new UserQueryRepository(jdbc);
+
+    repo.listUsers(100L, 40, 20, null, null, null, null);
+
+    var sql = ArgumentCaptor.forClass(String.class);
+    var params = ArgumentCaptor.forClass(SqlParameterSource.class);
+    verify(jdbc).query(sql.capture(), params.capture(), any(RowMapper.class));
+    var normalized = sql.getValue().replaceAll("\\s+", " ").trim();
+    assertTrue(normalized.contains("WHERE deleted_at IS NULL AND id < :cursor ORDER BY id DESC LIMIT 20"), normalized);
+    assertFalse(normalized.contains("OFFSET"), normalized);
+    assertEquals(100L, ((MapSqlParameterSource) params.getValue()).getValue("cursor"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void listQuery_withoutCursor_fallsBackToOffset() {
+    var jdbc = mock(NamedParameterJdbcTemplate.class);
+    var repo = new UserQueryRepository(jdbc);
+
+    repo.listUsers(null, 40, 20, null, null, null, null);
+
+    var sql = ArgumentCaptor.forClass(String.class);
+    var params = ArgumentCaptor.forClass(SqlParameterSource.class);
+    verify(jdbc).query(sql.capture(), params.capture(), any(RowMapper.class));
+    var normalized = sql.getValue().replaceAll("\\s+", " ").trim();
+    assertFalse(normalized.contains(":cursor"), normalized);
+    assertTrue(normalized.endsWith("ORDER BY id DESC LIMIT 20 OFFSET 40"), normalized);
+    assertFalse(((MapSqlParameterSource) params.getValue()).hasValue("cursor"));
+  }
+}
@@ -0,0 +1,63 @@
+package com.howtogrow.backend.infrastructure.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.howtogrow.backend.infrastructure.excel.ExcelRowReader.SheetRow;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExcelRowReaderTest {
+  @TempDir Path dir;
+
+  @Test
+  void readFirstSheet_xlsx_fillsGapsAndSkipsEmptyRows() throws Exception {
+    var rows = read(write(new XSSFWorkbook(), dir.resolve("a.xlsx")));
+    assertRows(rows);
+  }
+
+  @Test
+  void readFirstSheet_xls_fallsBackToWorkbook() throws Exception {
+    var rows = read(write(new HSSFWorkbook(), dir.resolve("a.xls")));
+    assertRows(rows);
+  }
+
+  private static void assertRows(List<SheetRow> rows) {
+    assertEquals(2, rows.size());
+    assertEquals(1, rows.get(0).rowNum());
+    assertEquals(List.of("问题", "", "年龄"), rows.get(0).cells());
+    assertEquals(3, rows.get(1).rowNum());
+    assertEquals("题干", rows.get(1).text(0));
+    assertEquals("", rows.get(1).text(1));
+    assertEquals("6", rows.get(1).text(2));
+    assertEquals("", rows.get(1).text(9));
+  }
+
+  private static Path write(Workbook workbook, Path file) throws Exception {
+    try (workbook;
+        OutputStream out = Files.newOutputStream(file)) {
+      var sheet = workbook.createSheet("题库");
+      var header = sheet.createRow(0);
+      header.createCell(0).setCellValue("问题");
+      header.createCell(2).setCellValue("年龄");
+      var row = sheet.createRow(2);
+      row.createCell(0).setCellValue("题干");
+      row.createCell(2).setCellValue(6);
+      workbook.write(out);
+    }
+    return file;
+  }
+
+  private static List<SheetRow> read(Path file) throws Exception {
+    var rows = new ArrayList<SheetRow>();
+    ExcelRowReader.readFirstSheet(file, rows::add);
+    return rows;
+  }
+}
@@ -0,0 +1,41 @@
+package com.howtogrow.backend.infrastructure.question;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.howtogrow.backend.config.DailyAssessmentProperties;
+import com.howtogrow.backend.testing.MutableClock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class QuestionCatalogCacheTest {
+  @Test
+  void entriesExpireAfterTtlEvenWithoutInvalidation() {
+    var repo = mock(QuestionViewRepository.class);
+    when(repo.listQuestionOptionRows(List.of(1L)))
+        .thenReturn(List.of(row(true)))
+        .thenReturn(List.of(row(false)));
+    var clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    var cache = new QuestionCatalogCache(repo, new DailyAssessmentProperties(7200, 300, false), clock);
+
+    assertEquals(true, cache.getAll(List.of(1L)).get(1L).active());
+    clock.advance(Duration.ofSeconds(299));
+    assertEquals(true, cache.getAll(List.of(1L)).get(1L).active());
+    verify(repo, times(1)).listQuestionOptionRows(List.of(1L));
+
+    // 模拟其它节点的失效广播丢失：过期后仍会重新加载
+    clock.advance(Duration.ofSeconds(2));
+    assertFalse(cache.getAll(List.of(1L)).get(1L).active());
+    verify(repo, times(2)).listQuestionOptionRows(List.of(1L));
+  }
+
+  private static QuestionViewRepository.QuestionOptionRow row(boolean questionActive) {
+    return new QuestionViewRepository.QuestionOptionRow(1L, "题目", "MULTI", questionActive, 11L, "选项", 1, null, 1, true);
+  }
+}
@@ -0,0 +1,85 @@
+package com.howtogrow.backend.infrastructure.question;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.howtogrow.backend.config.DailyAssessmentProperties;
+import com.howtogrow.backend.testing.MutableClock;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class QuestionPoolIndexTest {
+  @Test
+  void sample_returnsDistinctIdsAndSkipsExcluded() {
+    long[] pool = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+    for (int round = 0; round < 200; round++) {
+      var picked = QuestionPoolIndex.sample(pool, Set.of(3L, 4L), 5);
+      assertEquals(5, picked.size());
+      assertEquals(5, new HashSet<>(picked).size());
+      assertFalse(picked.contains(3L));
+      assertFalse(picked.contains(4L));
+    }
+    assertEquals(8, QuestionPoolIndex.sample(pool, Set.of(3L, 4L), 20).size());
+  }
+
+  @Test
+  void pickRandom_filtersByAgeAndScene_andRefreshesChangedQuestions() {
+    var repo = mock(QuestionRepository.class);
+    when(repo.listPoolQuestions())
+        .thenReturn(
+            List.of(
+                new QuestionRepository.PoolQuestionRow(1L, 3, 5),
+                new QuestionRepository.PoolQuestionRow(2L, 6, 8),
+                new QuestionRepository.PoolQuestionRow(3L, 4, 4)));
+    when(repo.listPoolQuestionScenes()).thenReturn(List.of(new QuestionRepository.PoolSceneRow(3L, 9L)));
+    var clock = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+    var index = new QuestionPoolIndex(repo, new DailyAssessmentProperties(7200, 300, false), clock, Runnable::run);
+
+    assertEquals(Set.of(1L, 3L), new HashSet<>(index.pickRandom(4, List.of(), 10)));
+    assertEquals(List.of(3L), index.pickRandomByTroubleScenes(4, List.of(9L), List.of(), 10));
+    assertTrue(index.pickRandom(10, List.of(), 10).isEmpty());
+
+    when(repo.listPoolQuestions(List.of(1L))).thenReturn(List.of());
+    when(repo.listPoolQuestionScenes(List.of(1L))).thenReturn(List.of());
+    index.refreshQuestions(List.of(1L));
+
+    assertEquals(List.of(3L), index.pickRandom(4, List.of(), 10));
+    verify(repo, times(1)).listPoolQuestions();
+  }
+
+  @Test
+  void expiredSnapshotIsServedWhileRebuildRunsInBackground() {
+    var repo = mock(QuestionRepository.class);
+    when(repo.listPoolQuestions()).thenReturn(List.of(new QuestionRepository.PoolQuestionRow(1L, 3, 5)));
+    when(repo.listPoolQuestionScenes()).thenReturn(List.of());
+    var clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    var tasks = new ArrayList<Runnable>();
+    var index = new QuestionPoolIndex(repo, new DailyAssessmentProperties(7200, 300, false), clock, tasks::add);
+
+    assertEquals(List.of(1L), index.pickRandom(4, List.of(), 10));
+    assertTrue(tasks.isEmpty());
+
+    when(repo.listPoolQuestions()).thenReturn(List.of(new QuestionRepository.PoolQuestionRow(2L, 3, 5)));
+    clock.advance(Duration.ofSeconds(301));
+    assertEquals(List.of(1L), index.pickRandom(4, List.of(), 10));
+    assertEquals(List.of(1L), index.pickRandom(4, List.of(), 10));
+    assertEquals(1, tasks.size());
+
+    tasks.get(0).run();
+    assertEquals(List.of(2L), index.pickRandom(4, List.of(), 10));
+    assertEquals(1, tasks.size());
+    verify(repo, times(2)).listPoolQuestions();
+  }
+}
@@ -0,0 +1,89 @@
+package com.howtogrow.backend.infrastructure.report;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.howtogrow.backend.config.DailyAssessmentProperties;
+import com.howtogrow.backend.infrastructure.cache.DataVersions;
+import com.howtogrow.backend.infrastructure.lock.RedisLockService;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+class DailyDimensionScoreRollupBackfillTest {
+  private final DailyDimensionScoreRollupRepository rollupRepo = mock(DailyDimensionScoreRollupRepository.class);
+  private final RedisLockService lockService = mock(RedisLockService.class);
+  private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+  @SuppressWarnings("unchecked")
+  private final ValueOperations<String, String> values = mock(ValueOperations.class);
+  private final List<Runnable> tasks = new ArrayList<>();
+  private final DailyDimensionScoreRollupBackfill backfill =
+      new DailyDimensionScoreRollupBackfill(
+          rollupRepo,
+          lockService,
+          redis,
+          tasks::add,
+          new DailyAssessmentProperties(7200, 300, true),
+          mock(DataVersions.class),
+          Clock.systemUTC());
+
+  DailyDimensionScoreRollupBackfillTest() {
+    when(redis.opsForValue()).thenReturn(values);
+    when(lockService.tryLock(anyString(), any(Duration.class))).thenReturn(Optional.of("t"));
+    when(rollupRepo.listAssessedChildIdsAfter(0, 200)).thenReturn(List.of(1L, 2L));
+    when(rollupRepo.listAssessedChildIdsAfter(2, 200)).thenReturn(List.of(3L));
+    when(rollupRepo.listAssessedChildIdsAfter(3, 200)).thenReturn(List.of());
+  }
+
+  @Test
+  void runsOnceByDefaultRenewsPerBatchAndMarksComplete() {
+    when(redis.hasKey(DailyDimensionScoreRollupBackfill.DONE_KEY)).thenReturn(false);
+    when(lockService.renew(anyString(), eq("t"), any(Duration.class))).thenReturn(true);
+
+    backfill.run(null);
+    assertFalse(backfill.isComplete());
+    tasks.get(0).run();
+
+    verify(rollupRepo).rebuildForChildren(List.of(1L, 2L));
+    verify(rollupRepo).rebuildForChildren(List.of(3L));
+    verify(lockService, times(2)).renew(anyString(), eq("t"), any(Duration.class));
+    verify(values).set(eq(DailyDimensionScoreRollupBackfill.DONE_KEY), anyString());
+    assertTrue(backfill.isComplete());
+  }
+
+  @Test
+  void skipsWhenAnotherNodeAlreadyFinished() {
+    when(redis.hasKey(DailyDimensionScoreRollupBackfill.DONE_KEY)).thenReturn(true);
+
+    backfill.run(null);
+
+    assertTrue(tasks.isEmpty());
+    assertTrue(backfill.isComplete());
+  }
+
+  @Test
+  void abortsWithoutMarkingCompleteWhenLockIsLost() {
+    when(redis.hasKey(DailyDimensionScoreRollupBackfill.DONE_KEY)).thenReturn(false);
+    when(lockService.renew(anyString(), eq("t"), any(Duration.class))).thenReturn(false);
+
+    backfill.backfill();
+
+    verify(rollupRepo).rebuildForChildren(List.of(1L, 2L));
+    verify(rollupRepo, never()).rebuildForChildren(List.of(3L));
+    verify(values, never()).set(anyString(), anyString());
+    assertFalse(backfill.isComplete());
+  }
+}
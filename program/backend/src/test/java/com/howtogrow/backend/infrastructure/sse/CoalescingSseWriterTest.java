@@ -0,0 +1,82 @@
+package com.howtogrow.backend.infrastructure.sse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+class CoalescingSseWriterTest {
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final CapturingEmitter emitter = new CapturingEmitter();
+
+  @AfterEach
+  void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  void deltasWithinWindowAreWrittenAsOneBatchBeforeEvent() {
+    var writer = writer(10_000, 1024);
+    writer.delta("你好");
+    writer.delta("，世界\n第二行");
+    assertTrue(emitter.frames.isEmpty());
+
+    writer.event("done", "[DONE]");
+    assertEquals(List.of("event:delta\ndata:你好，世界\ndata:第二行\n\nevent:done\ndata:[DONE]\n\n"), emitter.frames);
+    assertEquals(2, registry.counter("deltas").count());
+    assertEquals(1, registry.counter("writes").count());
+  }
+
+  @Test
+  void writesImmediatelyWhenPendingBytesReachLimit() {
+    var writer = writer(10_000, 6);
+    writer.delta("你");
+    writer.delta("好");
+    assertEquals(List.of("event:delta\ndata:你好\n\n"), emitter.frames);
+  }
+
+  @Test
+  void timerFlushesPendingDeltasWhenWindowExpires() throws Exception {
+    var writer = writer(20, 1024);
+    writer.delta("a");
+    var deadline = System.currentTimeMillis() + 2_000;
+    while (emitter.frames.isEmpty() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(List.of("event:delta\ndata:a\n\n"), emitter.frames);
+  }
+
+  @Test
+  void completeFlushesPendingAndDropsLaterWrites() {
+    var writer = writer(10_000, 1024);
+    writer.delta("tail");
+    writer.complete();
+    writer.delta("late");
+    writer.event("error", "{}");
+    assertEquals(List.of("event:delta\ndata:tail\n\n"), emitter.frames);
+  }
+
+  private CoalescingSseWriter writer(long windowMillis, int maxBytes) {
+    return new CoalescingSseWriter(
+        emitter, scheduler, windowMillis, maxBytes, registry.counter("deltas"), registry.counter("writes"));
+  }
+
+  private static final class CapturingEmitter extends ResponseBodyEmitter {
+    private final List<String> frames = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(Object object, MediaType mediaType) {
+      frames.add(new String((byte[]) object, StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.howtogrow.backend.service.admin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+class AdminAssessmentServiceTest {
+  @Test
+  void rollingSheetWriter_startsNewSheetWithHeaderWhenFull() throws Exception {
+    var out = new ByteArrayOutputStream();
+    try (var workbook = new SXSSFWorkbook(2)) {
+      var sheets = new AdminAssessmentService.RollingSheetWriter(workbook, "自测记录", List.of("ID"), 3);
+      for (int i = 1; i <= 5; i++) {
+        sheets.nextRow().createCell(0).setCellValue(i);
+      }
+      workbook.write(out);
+    }
+
+    try (var workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+      assertEquals(3, workbook.getNumberOfSheets());
+      assertEquals("自测记录", workbook.getSheetName(0));
+      assertEquals("自测记录(2)", workbook.getSheetName(1));
+      assertEquals("自测记录(3)", workbook.getSheetName(2));
+      int expected = 1;
+      for (var sheet : workbook) {
+        assertEquals("ID", sheet.getRow(0).getCell(0).getStringCellValue());
+        for (int r = 1; r <= sheet.getLastRowNum(); r++) {
+          assertEquals(expected++, (int) sheet.getRow(r).getCell(0).getNumericCellValue());
+        }
+      }
+      assertEquals(6, expected);
+      assertEquals(1, workbook.getSheetAt(2).getLastRowNum());
+    }
+  }
+
+  @Test
+  void rollingSheetWriter_emptyExportStillHasHeader() throws Exception {
+    try (var workbook = new SXSSFWorkbook(2)) {
+      new AdminAssessmentService.RollingSheetWriter(workbook, "自测记录", List.of("ID"), 3);
+      assertEquals(1, workbook.getNumberOfSheets());
+      assertEquals(0, workbook.getSheetAt(0).getLastRowNum());
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package com.howtogrow.backend.service.admin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.howtogrow.backend.config.AdminExportProperties;
+import com.howtogrow.backend.config.TaskExecutorProperties;
+import com.howtogrow.backend.controller.admin.dto.AdminExportJobCreateRequest;
+import com.howtogrow.backend.infrastructure.admin.AdminExportJobRepository;
+import com.howtogrow.backend.infrastructure.admin.AdminExportJobRepository.JobRow;
+import com.howtogrow.backend.infrastructure.oss.OssPrivateStorage;
+import com.howtogrow.backend.infrastructure.oss.OssProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class AdminExportJobServiceTest {
+  private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+  private final AdminExportJobRepository jobRepo = mock(AdminExportJobRepository.class);
+  private final OssPrivateStorage ossStorage = mock(OssPrivateStorage.class);
+  private final AdminAssessmentService assessmentService = mock(AdminAssessmentService.class);
+  private final AdminExportJobService service =
+      new AdminExportJobService(
+          jobRepo,
+          assessmentService,
+          new ObjectMapper(),
+          Clock.fixed(NOW, ZoneOffset.UTC),
+          new AdminExportProperties(null, "node-a", 1, 1, 24),
+          new TaskExecutorProperties("platform", 0, 0, 0),
+          ossStorage,
+          new OssProperties(false, null, null, null, null, null, null, null, null),
+          new SimpleMeterRegistry());
+
+  @AfterEach
+  void tearDown() {
+    service.shutdown();
+  }
+
+  @Test
+  void startup_failsOnlyThisNodesUnfinishedJobs() {
+    service.run(null);
+    verify(jobRepo).failUnfinished(eq("node-a"), anyString());
+  }
+
+  @Test
+  void sweep_localMode_onlyListsThisNodesJobs() {
+    when(ossStorage.enabled()).thenReturn(false);
+    service.sweepExpired();
+    verify(jobRepo).heartbeat("node-a");
+    verify(jobRepo).failStale(eq(300L), anyString());
+    verify(jobRepo).listExpired(eq(NOW), eq("node-a"), anyInt());
+  }
+
+  @Test
+  void resultOfJobFailedMeanwhile_isDiscarded() throws Exception {
+    var dir = Files.createTempDirectory("export-test");
+    var local =
+        new AdminExportJobService(
+            jobRepo,
+            assessmentService,
+            new ObjectMapper(),
+            Clock.fixed(NOW, ZoneOffset.UTC),
+            new AdminExportProperties(dir.toString(), "node-a", 1, 1, 24),
+            new TaskExecutorProperties("platform", 0, 0, 0),
+            ossStorage,
+            new OssProperties(false, null, null, null, null, null, null, null, null),
+            new SimpleMeterRegistry());
+    var job =
+        new JobRow(
+            5L, 1L, "node-a", "ASSESSMENT_WORD", "{\"type\":\"ASSESSMENT_WORD\",\"assessmentId\":9}", "RUNNING",
+            null, null, null, null, NOW, null, null);
+    when(jobRepo.create(eq(1L), eq("node-a"), eq("ASSESSMENT_WORD"), anyString())).thenReturn(5L);
+    when(jobRepo.findById(5L)).thenReturn(Optional.of(job));
+    when(jobRepo.markRunning(5L)).thenReturn(true);
+    when(assessmentService.exportWord(9L)).thenReturn(new byte[] {1, 2, 3});
+    when(jobRepo.markSucceeded(eq(5L), anyString(), anyString(), anyLong(), any())).thenReturn(false);
+    try {
+      local.submit(1L, new AdminExportJobCreateRequest("ASSESSMENT_WORD", null, null, null, null, null, 9L));
+
+      verify(jobRepo, timeout(2_000)).markSucceeded(eq(5L), anyString(), anyString(), anyLong(), any());
+      local.shutdown();
+      try (var files = Files.list(dir)) {
+        assertEquals(0, files.count());
+      }
+      verify(jobRepo, never()).markFailed(anyLong(), anyString(), anyString());
+    } finally {
+      local.shutdown();
+    }
+  }
+
+  @Test
+  void sweep_ossMode_deletesObjectsOfAnyNode() {
+    when(ossStorage.enabled()).thenReturn(true);
+    when(jobRepo.listExpired(any(), isNull(), anyInt()))
+        .thenReturn(
+            List.of(
+                new JobRow(
+                    7L, 1L, "node-b", "ASSESSMENT_EXCEL", "{}", "SUCCEEDED", "a.xlsx",
+                    "oss:exports/7-x.xlsx", 10L, null, NOW, NOW, NOW)));
+
+    service.sweepExpired();
+
+    verify(ossStorage).delete("exports/7-x.xlsx");
+    verify(jobRepo).markExpired(7L);
+  }
+}
@@ -0,0 +1,152 @@
+package com.howtogrow.backend.service.admin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.howtogrow.backend.infrastructure.admin.AdminRbacRepository;
+import com.howtogrow.backend.infrastructure.cache.CacheInvalidationBus;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class AdminPermissionServiceTest {
+  private final Map<Long, List<String>> grants = new HashMap<>();
+  private final AdminRbacRepository rbacRepo = mock(AdminRbacRepository.class);
+  private final CacheInvalidationBus bus = mock(CacheInvalidationBus.class);
+  private final AdminPermissionService service;
+  private final Consumer<String> remoteHandler;
+
+  @SuppressWarnings("unchecked")
+  AdminPermissionServiceTest() {
+    when(rbacRepo.listPermissionCodes(anyLong()))
+        .thenAnswer(inv -> List.copyOf(grants.getOrDefault(inv.<Long>getArgument(0), List.of())));
+    service = new AdminPermissionService(rbacRepo, bus, Clock.systemUTC());
+    ArgumentCaptor<Consumer<String>> handler = ArgumentCaptor.forClass(Consumer.class);
+    verify(bus).subscribe(eq(AdminPermissionService.TOPIC), handler.capture());
+    remoteHandler = handler.getValue();
+  }
+
+  @Test
+  void matchesPerRequestSetLookup() {
+    var codes = List.of("ASSESSMENT:READ", "QUESTION:WRITE", "USER:READ", "RBAC:ADMIN", "BANNER:WRITE", "QUOTE:READ");
+    var random = new Random(7);
+    for (long adminId = 1; adminId <= 50; adminId++) {
+      var granted = new ArrayList<String>();
+      for (var code : codes) {
+        if (random.nextBoolean()) {
+          granted.add(code);
+        }
+      }
+      grants.put(adminId, granted);
+    }
+    for (int round = 0; round < 500; round++) {
+      long adminId = 1 + random.nextInt(50);
+      var required =
+          new String[] {
+            codes.get(random.nextInt(codes.size())),
+            random.nextBoolean() ? "" : null,
+            random.nextBoolean() ? codes.get(random.nextInt(codes.size())) : "UNKNOWN:CODE"
+          };
+      // 原先的做法：每个请求查一次权限码集合，判断是否包含任一非空 code
+      var perms = new HashSet<>(rbacRepo.listPermissionCodes(adminId));
+      boolean expected = false;
+      for (var code : required) {
+        expected |= code != null && !code.isBlank() && perms.contains(code);
+      }
+      assertEquals(expected, service.hasAnyPermission(adminId, required), "admin " + adminId);
+    }
+  }
+
+  @Test
+  void loadRacingWithInvalidationIsNotCached() {
+    grants.put(9L, List.of("RBAC:ADMIN"));
+    var raced = new boolean[1];
+    when(rbacRepo.listPermissionCodes(9L))
+        .thenAnswer(
+            inv -> {
+              var loaded = List.copyOf(grants.get(9L));
+              if (!raced[0]) {
+                // 加载读到旧权限后、回填之前，权限被撤销并广播到本节点
+                raced[0] = true;
+                grants.put(9L, List.of());
+                remoteHandler.accept("9");
+              }
+              return loaded;
+            });
+
+    assertTrue(service.hasAnyPermission(9L, "RBAC:ADMIN"));
+    assertFalse(service.hasAnyPermission(9L, "RBAC:ADMIN"));
+    verify(rbacRepo, times(2)).listPermissionCodes(9L);
+  }
+
+  @Test
+  void roleChangeIsVisibleImmediatelyOnLocalNode() {
+    grants.put(1L, List.of("ASSESSMENT:READ"));
+    assertFalse(service.hasAnyPermission(1L, "QUESTION:WRITE"));
+
+    grants.put(1L, List.of("ASSESSMENT:READ", "QUESTION:WRITE"));
+    service.adminRolesChanged(1L);
+
+    assertTrue(service.hasAnyPermission(1L, "QUESTION:WRITE"));
+    verify(bus).publish(AdminPermissionService.TOPIC, "1");
+  }
+
+  @Test
+  void rolePermissionChangeClearsEveryAdminAfterCommit() {
+    grants.put(1L, List.of("USER:READ"));
+    grants.put(2L, List.of("USER:READ"));
+    assertTrue(service.hasAnyPermission(1L, "USER:READ"));
+    assertTrue(service.hasAnyPermission(2L, "USER:READ"));
+
+    grants.put(1L, List.of());
+    grants.put(2L, List.of());
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      service.rolePermissionsChanged();
+      // 提交前仍是旧权限
+      assertTrue(service.hasAnyPermission(1L, "USER:READ"));
+      for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+        sync.afterCommit();
+      }
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertFalse(service.hasAnyPermission(1L, "USER:READ"));
+    assertFalse(service.hasAnyPermission(2L, "USER:READ"));
+    verify(bus).publish(AdminPermissionService.TOPIC, "*");
+  }
+
+  @Test
+  void remoteInvalidationDropsCachedEntries() {
+    grants.put(3L, List.of("BANNER:WRITE"));
+    assertTrue(service.hasAnyPermission(3L, "BANNER:WRITE"));
+    assertTrue(service.hasAnyPermission(3L, "BANNER:WRITE"));
+    verify(rbacRepo, times(1)).listPermissionCodes(3L);
+
+    grants.put(3L, List.of());
+    remoteHandler.accept("3");
+    assertFalse(service.hasAnyPermission(3L, "BANNER:WRITE"));
+
+    grants.put(3L, List.of("BANNER:WRITE"));
+    remoteHandler.accept("*");
+    assertTrue(service.hasAnyPermission(3L, "BANNER:WRITE"));
+    verify(rbacRepo, times(3)).listPermissionCodes(3L);
+  }
+}
@@ -0,0 +1,158 @@
+package com.howtogrow.backend.service.admin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.howtogrow.backend.infrastructure.admin.QuestionAdminRepository;
+import com.howtogrow.backend.infrastructure.admin.QuestionAdminRepository.OptionSnapshot;
+import com.howtogrow.backend.infrastructure.admin.QuestionAdminRepository.QuestionSnapshot;
+import com.howtogrow.backend.infrastructure.question.QuestionBankChanges;
+import com.howtogrow.backend.infrastructure.trouble.TroubleSceneRepository;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.multipart.MultipartFile;
+
+class AdminQuestionImportServiceTest {
+  private static final String[] HEADER = {
+    "问题", "问题类型", "适用最小年龄", "适用最大年龄", "选项值", "选项标识", "改进文案",
+    "情绪管理力分值", "沟通表达力分值", "规则引导力分值", "关系建设力分值", "学习支持力分值"
+  };
+
+  private final QuestionAdminRepository questionRepo = mock(QuestionAdminRepository.class);
+  private final TroubleSceneRepository sceneRepo = mock(TroubleSceneRepository.class);
+  private final QuestionBankChanges changes = mock(QuestionBankChanges.class);
+  private final AdminQuestionImportService service =
+      new AdminQuestionImportService(questionRepo, sceneRepo, new AdminQuestionImportWriter(questionRepo, changes));
+
+  @Test
+  void dryRun_reportsDiffAgainstBankWithoutWriting() throws Exception {
+    when(questionRepo.listActiveQuestionSnapshots())
+        .thenReturn(List.of(existing(10L, "不变的题", 2), existing(11L, "变更的题", 2)));
+
+    var file =
+        xlsx(
+            row("不变的题", "单选", "3", "6", "A", "建议", "", "2"),
+            row("", "", "", "", "B", "不建议", "", "2"),
+            row("变更的题", "单选", "3", "6", "A", "建议", "", "5"),
+            row("", "", "", "", "B", "不建议", "", "2"),
+            row("新题", "多选", "3", "6", "A", "建议", "", "1"));
+
+    var res = service.importExcel(file, true);
+
+    assertFalse(res.applied());
+    assertEquals(5, res.total());
+    assertEquals(0, res.failed());
+    assertEquals(1, res.created());
+    assertEquals(1, res.updated());
+    assertEquals(1, res.unchanged());
+    assertEquals(List.of("CREATE", "UPDATE"), res.changes().stream().map(c -> c.action()).toList());
+    verify(questionRepo, never()).insertQuestions(anyList());
+    verify(questionRepo, never()).softDeleteOptionsByQuestionIds(anyList());
+  }
+
+  @Test
+  void import_collectsEveryErrorAndWritesNothing() throws Exception {
+    when(questionRepo.listActiveQuestionSnapshots()).thenReturn(List.of());
+
+    var file =
+        xlsx(
+            row("题一", "单选", "3", "6", "A", "随便", "", "1"),
+            row("题二", "单选", "9", "6", "A", "建议", "", "1"),
+            row("题三", "单选", "3", "6", "A", "建议", "", "1"),
+            row("题三", "单选", "3", "6", "B", "建议", "", "1"));
+
+    var res = service.importExcel(file, false);
+
+    assertFalse(res.applied());
+    assertEquals(2, res.failed());
+    assertEquals(List.of(2, 3), res.failures().stream().map(f -> f.row()).toList());
+    assertTrue(res.failures().get(0).reason().startsWith("选项标识不合法"));
+    assertEquals("年龄范围不合法", res.failures().get(1).reason());
+    verify(questionRepo, never()).insertQuestions(anyList());
+  }
+
+  @Test
+  void import_appliesOnlyTheDiff() throws Exception {
+    when(questionRepo.listActiveQuestionSnapshots())
+        .thenReturn(List.of(existing(10L, "不变的题", 2), existing(11L, "变更的题", 2)));
+    when(questionRepo.insertQuestions(anyList())).thenReturn(List.of(20L));
+    when(questionRepo.insertOptions(anyList()))
+        .thenAnswer(inv -> idsFor(inv.getArgument(0)))
+        .thenAnswer(inv -> idsFor(inv.getArgument(0)));
+    when(questionRepo.listOptionIdsByQuestions(any())).thenReturn(List.of(100L, 101L));
+
+    var file =
+        xlsx(
+            row("不变的题", "单选", "3", "6", "A", "建议", "", "2"),
+            row("", "", "", "", "B", "不建议", "", "2"),
+            row("变更的题", "单选", "3", "6", "A", "建议", "", "2"),
+            row("新题", "多选", "3", "6", "A", "建议", "", "1"));
+
+    var res = service.importExcel(file, false);
+
+    assertTrue(res.applied());
+    assertEquals(1, res.created());
+    assertEquals(1, res.updated());
+    assertEquals(1, res.unchanged());
+    verify(questionRepo).softDeleteOptionsByQuestionIds(List.of(11L));
+    verify(changes).questionsChanged(List.of(20L, 11L));
+  }
+
+  private static QuestionSnapshot existing(long id, String content, int score) {
+    var options =
+        List.of(
+            new OptionSnapshot(id * 10, "A", 1, null, 1, Map.of("EMOTION_MANAGEMENT", score)),
+            new OptionSnapshot(id * 10 + 1, "B", 0, null, 2, Map.of("EMOTION_MANAGEMENT", 2)));
+    return new QuestionSnapshot(id, 3, 6, "SINGLE", content, options, List.of());
+  }
+
+  private static List<Long> idsFor(List<?> rows) {
+    var ids = new ArrayList<Long>();
+    for (int i = 0; i < rows.size(); i++) {
+      ids.add(1000L + i);
+    }
+    return ids;
+  }
+
+  private static String[] row(String... values) {
+    return values;
+  }
+
+  private static MultipartFile xlsx(String[]... rows) throws Exception {
+    try (var workbook = new XSSFWorkbook();
+        var out = new ByteArrayOutputStream()) {
+      var sheet = workbook.createSheet();
+      var header = sheet.createRow(0);
+      for (int i = 0; i < HEADER.length; i++) {
+        header.createCell(i).setCellValue(HEADER[i]);
+      }
+      for (int r = 0; r < rows.length; r++) {
+        var row = sheet.createRow(r + 1);
+        for (int c = 0; c < rows[r].length; c++) {
+          if (!rows[r][c].isEmpty()) {
+            row.createCell(c).setCellValue(rows[r][c]);
+          }
+        }
+      }
+      workbook.write(out);
+      var bytes = out.toByteArray();
+      var file = mock(MultipartFile.class);
+      doAnswer(inv -> Files.write(inv.<Path>getArgument(0), bytes)).when(file).transferTo(any(Path.class));
+      return file;
+    }
+  }
+}
@@ -1,9 +1,11 @@
 package com.howtogrow.backend.service.common;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.howtogrow.backend.api.exception.AppException;
+import com.howtogrow.backend.testing.MutableClock;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -20,5 +22,18 @@ class FixedWindowRateLimiterTest {
     assertDoesNotThrow(() -> limiter.require("k", Duration.ofMinutes(1), 2));
     assertThrows(AppException.class, () -> limiter.require("k", Duration.ofMinutes(1), 2));
   }
-}
 
+  @Test
+  void sweepsExpiredWindows() {
+    var start = Instant.parse("2025-01-01T00:00:00Z");
+    var clock = new MutableClock(start);
+    var limiter = new FixedWindowRateLimiter(clock);
+    limiter.require("a", Duration.ofSeconds(10), 1);
+    limiter.require("b", Duration.ofSeconds(10), 1);
+    assertEquals(2, limiter.size());
+
+    clock.set(start.plus(Duration.ofMinutes(2)));
+    limiter.require("c", Duration.ofSeconds(10), 1);
+    assertEquals(1, limiter.size());
+  }
+}
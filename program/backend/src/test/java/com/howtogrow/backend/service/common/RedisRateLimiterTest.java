@@ -0,0 +1,127 @@
+package com.howtogrow.backend.service.common;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.howtogrow.backend.api.exception.AppException;
+import com.howtogrow.backend.testing.MutableClock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+class RedisRateLimiterTest {
+  private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+  private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+  private final RedisRateLimiter limiter = new RedisRateLimiter(redis, clock);
+  /** Redis 服务器时间相对本节点时钟的偏差。 */
+  private long redisOffsetMillis;
+
+  @Test
+  void allowsBurstThenRecoversOneTokenPerInterval() {
+    var store = stubGcra();
+
+    // 每分钟 3 次：间隔 20s，可连续放行 3 次
+    for (int i = 0; i < 3; i++) {
+      assertDoesNotThrow(() -> limiter.require("u", Duration.ofMinutes(1), 3));
+    }
+    assertThrows(AppException.class, () -> limiter.require("u", Duration.ofMinutes(1), 3));
+    assertEquals(clock.millis() + 60_000, store.get("rate_limit:u"));
+
+    clock.advance(Duration.ofSeconds(20));
+    assertDoesNotThrow(() -> limiter.require("u", Duration.ofMinutes(1), 3));
+    assertThrows(AppException.class, () -> limiter.require("u", Duration.ofMinutes(1), 3));
+  }
+
+  @Test
+  void rejectionKnownLocallySkipsRedis() {
+    stubGcra();
+    limiter.require("u", Duration.ofMinutes(1), 1);
+    verify(redis, times(1)).execute(any(RedisScript.class), anyList(), any(), any());
+
+    // 本地 TAT 已表明超限：连续重试不再访问 Redis
+    for (int i = 0; i < 5; i++) {
+      assertThrows(AppException.class, () -> limiter.require("u", Duration.ofMinutes(1), 1));
+    }
+    verify(redis, times(1)).execute(any(RedisScript.class), anyList(), any(), any());
+  }
+
+  @Test
+  void fallsBackToLocalStateWhenRedisFails() {
+    doThrow(new RedisConnectionFailureException("down"))
+        .when(redis)
+        .execute(any(RedisScript.class), anyList(), any(), any());
+
+    assertDoesNotThrow(() -> limiter.require("u", Duration.ofMinutes(1), 2));
+    assertDoesNotThrow(() -> limiter.require("u", Duration.ofMinutes(1), 2));
+    assertThrows(AppException.class, () -> limiter.require("u", Duration.ofMinutes(1), 2));
+
+    clock.advance(Duration.ofSeconds(30));
+    assertDoesNotThrow(() -> limiter.require("u", Duration.ofMinutes(1), 2));
+  }
+
+  @Test
+  void usesRedisTimeAndTranslatesCachedTatToLocalClock() {
+    redisOffsetMillis = Duration.ofMinutes(10).toMillis();
+    var store = stubGcra();
+
+    limiter.require("u", Duration.ofMinutes(1), 1);
+    assertEquals(clock.millis() + redisOffsetMillis + 60_000, store.get("rate_limit:u"));
+    assertThrows(AppException.class, () -> limiter.require("u", Duration.ofMinutes(1), 1));
+
+    // 本地缓存按本节点时钟换算：过一个间隔后不会因 Redis 时钟更快而继续被本地拒绝
+    clock.advance(Duration.ofMinutes(1));
+    assertDoesNotThrow(() -> limiter.require("u", Duration.ofMinutes(1), 1));
+    verify(redis, times(2)).execute(any(RedisScript.class), anyList(), any(), any());
+  }
+
+  @Test
+  void sweepsRecoveredEntries() {
+    stubGcra();
+    limiter.require("a", Duration.ofSeconds(10), 1);
+    limiter.require("b", Duration.ofSeconds(10), 1);
+    assertEquals(2, limiter.size());
+
+    clock.advance(Duration.ofMinutes(2));
+    limiter.require("c", Duration.ofSeconds(10), 1);
+    assertEquals(1, limiter.size());
+  }
+
+  /** 用与 Lua 脚本逐行对应的 Java 实现模拟 Redis，校验传参与返回值的处理。 */
+  private Map<String, Long> stubGcra() {
+    var store = new HashMap<String, Long>();
+    doAnswer(
+            inv -> {
+              List<String> keys = inv.getArgument(1);
+              long now = clock.millis() + redisOffsetMillis;
+              long interval = Long.parseLong(inv.getArgument(2));
+              long burst = Long.parseLong(inv.getArgument(3));
+              long tat = store.getOrDefault(keys.get(0), now);
+              if (tat < now) {
+                tat = now;
+              }
+              long newTat = tat + interval;
+              if (newTat - interval * burst > now) {
+                return List.of(0L, tat, now);
+              }
+              store.put(keys.get(0), newTat);
+              return List.of(1L, newTat, now);
+            })
+        .when(redis)
+        .execute(any(RedisScript.class), anyList(), any(), any());
+    return store;
+  }
+}
@@ -0,0 +1,84 @@
+package com.howtogrow.backend.service.miniprogram;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.howtogrow.backend.infrastructure.ai.AiChatClient;
+import com.howtogrow.backend.infrastructure.ai.AiProperties;
+import com.howtogrow.backend.infrastructure.aichat.AiChatContextCache.ContextMessage;
+import com.howtogrow.backend.infrastructure.aichat.AiChatSessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AiChatContextCompactorTest {
+  private final AiChatClient aiChatClient = mock(AiChatClient.class);
+  private final AiChatSessionRepository sessionRepo = mock(AiChatSessionRepository.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AiChatContextCompactor compactor =
+      new AiChatContextCompactor(
+          aiChatClient,
+          sessionRepo,
+          Runnable::run,
+          new AiProperties(null, null, null, null, false, 100),
+          meterRegistry);
+
+  @Test
+  void compact_keepsNewestWithinBudgetAndSkipsSummarizedMessages() {
+    var window =
+        List.of(
+            new ContextMessage(1, "user", "q1", 30),
+            new ContextMessage(2, "assistant", "a1", 30),
+            new ContextMessage(3, "user", "q2", 30),
+            new ContextMessage(4, "assistant", "a2", 30),
+            new ContextMessage(5, "user", "q3", 30));
+
+    // 系统提示词 "s" 约 5 token；预算 100 只放得下最近 3 条
+    var prompt = compactor.compact(7L, "s", null, null, window);
+    assertEquals(List.of("s", "q2", "a2", "q3"), contents(prompt.messages()));
+    assertEquals(List.of(1L, 2L), prompt.dropped().stream().map(ContextMessage::id).toList());
+
+    // 已被摘要覆盖的消息不再进入提示词，摘要作为第二条 system 消息
+    var withSummary = compactor.compact(7L, "s", "旧摘要", 3L, window);
+    assertEquals(4, withSummary.messages().size());
+    assertEquals("system", withSummary.messages().get(1).role());
+    assertTrue(withSummary.messages().get(1).content().endsWith("旧摘要"));
+    assertTrue(withSummary.dropped().isEmpty());
+
+    assertEquals(2, meterRegistry.get("app.ai.chat.prompt.tokens").tag("stage", "after").summary().count());
+  }
+
+  @Test
+  void summarizeDropped_mergesIntoRollingSummaryOnceEnoughIsDropped() {
+    when(aiChatClient.chat(anyList())).thenReturn("新摘要");
+    var window =
+        List.of(
+            new ContextMessage(1, "user", "q1", 60),
+            new ContextMessage(2, "assistant", "a1", 60),
+            new ContextMessage(3, "user", "q2", 60));
+
+    compactor.summarizeDropped(compactor.compact(7L, "s", "旧摘要", 0L, window));
+
+    verify(sessionRepo).updateContextSummary(7L, "新摘要", 2L, 0L);
+  }
+
+  @Test
+  void summarizeDropped_skipsSmallRemainders() {
+    var window = List.of(new ContextMessage(1, "user", "q1", 10), new ContextMessage(2, "user", "q2", 95));
+
+    compactor.summarizeDropped(compactor.compact(7L, "s", null, null, window));
+
+    verifyNoInteractions(aiChatClient);
+    verify(sessionRepo, never()).updateContextSummary(7L, "", 1L, null);
+  }
+
+  private static List<String> contents(List<AiChatClient.ChatMessage> messages) {
+    return messages.stream().map(AiChatClient.ChatMessage::content).toList();
+  }
+}
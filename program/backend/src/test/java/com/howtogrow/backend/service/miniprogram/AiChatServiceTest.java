@@ -0,0 +1,109 @@
+package com.howtogrow.backend.service.miniprogram;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.howtogrow.backend.api.exception.AppException;
+import com.howtogrow.backend.config.RateLimitProperties;
+import com.howtogrow.backend.infrastructure.ai.OpenAiStreamClient;
+import com.howtogrow.backend.infrastructure.aichat.AiChatContextCache;
+import com.howtogrow.backend.infrastructure.aichat.AiChatContextCache.ContextMessage;
+import com.howtogrow.backend.infrastructure.aichat.AiChatMessageRepository;
+import com.howtogrow.backend.infrastructure.aichat.AiChatSessionRepository;
+import com.howtogrow.backend.infrastructure.aichat.AiChatSessionRepository.AiChatSessionRow;
+import com.howtogrow.backend.infrastructure.aichat.AiQuickQuestionRepository;
+import com.howtogrow.backend.infrastructure.concurrent.Bulkhead;
+import com.howtogrow.backend.infrastructure.sse.SseWriters;
+import com.howtogrow.backend.service.common.RateLimiter;
+import com.howtogrow.backend.service.common.SubscriptionService;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AiChatServiceTest {
+  private static final long USER = 1L;
+  private static final long SESSION = 10L;
+
+  private final AiChatSessionRepository sessionRepo = mock(AiChatSessionRepository.class);
+  private final AiChatContextCache contextCache = mock(AiChatContextCache.class);
+  private final AiChatContextCompactor compactor = mock(AiChatContextCompactor.class);
+  private final Bulkhead bulkhead = mock(Bulkhead.class);
+  private final AiChatService service =
+      new AiChatService(
+          mock(SubscriptionService.class),
+          sessionRepo,
+          mock(AiChatMessageRepository.class),
+          contextCache,
+          compactor,
+          mock(AiQuickQuestionRepository.class),
+          mock(OpenAiStreamClient.class),
+          new ObjectMapper(),
+          bulkhead,
+          mock(SseWriters.class),
+          mock(RateLimiter.class),
+          mock(RateLimitProperties.class));
+
+  @BeforeEach
+  void setUp() {
+    when(sessionRepo.findById(SESSION))
+        .thenReturn(Optional.of(new AiChatSessionRow(SESSION, USER, null, "t", "ACTIVE", Instant.now(), null, null)));
+  }
+
+  @Test
+  void staleCachedTail_isRecheckedAgainstDatabase() {
+    when(contextCache.recent(SESSION)).thenReturn(List.of(message(1, "user"), message(2, "assistant")));
+    when(contextCache.reload(SESSION))
+        .thenReturn(List.of(message(1, "user"), message(2, "assistant"), message(3, "user")));
+    when(bulkhead.tryAcquire()).thenReturn(false);
+
+    // 复核后发现新的用户消息，继续走到生成流程（此处以隔离舱已满结束）
+    assertThrows(AppException.class, () -> service.streamAssistantReply(USER, SESSION));
+    verify(bulkhead).tryAcquire();
+  }
+
+  @Test
+  void noPendingUserMessage_completesWithoutCallingModel() {
+    when(contextCache.recent(SESSION)).thenReturn(List.of(message(1, "user"), message(2, "assistant")));
+    when(contextCache.reload(SESSION)).thenReturn(List.of(message(1, "user"), message(2, "assistant")));
+
+    service.streamAssistantReply(USER, SESSION);
+
+    verify(contextCache).reload(SESSION);
+    verify(bulkhead, never()).tryAcquire();
+  }
+
+  @Test
+  void cachedUserTail_skipsRecheck() {
+    when(contextCache.recent(SESSION)).thenReturn(List.of(message(1, "user")));
+    when(bulkhead.tryAcquire()).thenReturn(false);
+
+    assertThrows(AppException.class, () -> service.streamAssistantReply(USER, SESSION));
+    verify(contextCache, never()).reload(SESSION);
+  }
+
+  @Test
+  void synchronousFailureAfterAcquire_releasesPermitOnce() {
+    when(contextCache.recent(SESSION)).thenReturn(List.of(message(1, "user")));
+    when(bulkhead.tryAcquire()).thenReturn(true);
+    when(compactor.compact(anyLong(), anyString(), any(), any(), anyList()))
+        .thenThrow(new IllegalStateException("boom"));
+
+    assertThrows(IllegalStateException.class, () -> service.streamAssistantReply(USER, SESSION));
+    verify(bulkhead, times(1)).release();
+  }
+
+  private static ContextMessage message(long id, String role) {
+    return new ContextMessage(id, role, "m" + id, 1);
+  }
+}
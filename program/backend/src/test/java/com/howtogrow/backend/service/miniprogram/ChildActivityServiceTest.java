@@ -0,0 +1,116 @@
+package com.howtogrow.backend.service.miniprogram;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.howtogrow.backend.domain.report.ActivityStats;
+import com.howtogrow.backend.infrastructure.report.ChildActivityRepository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class ChildActivityServiceTest {
+  private static final long USER = 1L;
+  private static final long CHILD = 2L;
+  private static final LocalDate D1 = LocalDate.of(2026, 3, 1);
+  private static final LocalDate D2 = LocalDate.of(2026, 3, 2);
+  private static final LocalDate D3 = LocalDate.of(2026, 3, 3);
+
+  private final ChildActivityRepository repo = mock(ChildActivityRepository.class);
+  private final ChildActivityService service = new ChildActivityService(repo);
+
+  @Test
+  void recordActiveDay_newLaterDay_advancesAfterLockingRow() {
+    when(repo.findSummaryForUpdate(USER, CHILD)).thenReturn(Optional.of(new ActivityStats(D1, D2, 2, 2)));
+    when(repo.markActiveDay(USER, CHILD, D3)).thenReturn(true);
+
+    service.recordActiveDay(USER, CHILD, D3);
+
+    var order = inOrder(repo);
+    order.verify(repo).ensureSummaryLocked(USER, CHILD);
+    order.verify(repo).findSummaryForUpdate(USER, CHILD);
+    order.verify(repo).markActiveDay(USER, CHILD, D3);
+    order.verify(repo).advance(USER, CHILD, D3);
+    verify(repo, never()).saveSummary(anyLong(), anyLong(), any());
+  }
+
+  @Test
+  void recordActiveDay_earlierDay_recomputesFromActiveDays() {
+    when(repo.findSummaryForUpdate(USER, CHILD)).thenReturn(Optional.of(new ActivityStats(D1, D3, 2, 1)));
+    when(repo.markActiveDay(USER, CHILD, D2)).thenReturn(true);
+    when(repo.listActiveDays(USER, CHILD)).thenReturn(List.of(D1, D2, D3));
+
+    service.recordActiveDay(USER, CHILD, D2);
+
+    verify(repo).saveSummary(USER, CHILD, new ActivityStats(D1, D3, 3, 3));
+    verify(repo, never()).advance(anyLong(), anyLong(), any());
+    verify(repo, never()).rebuildActiveDays(anyLong(), anyLong());
+  }
+
+  @Test
+  void recordActiveDay_sameDayAgain_isNoop() {
+    when(repo.findSummaryForUpdate(USER, CHILD)).thenReturn(Optional.of(new ActivityStats(D1, D2, 2, 2)));
+    when(repo.markActiveDay(USER, CHILD, D2)).thenReturn(false);
+
+    service.recordActiveDay(USER, CHILD, D2);
+
+    verify(repo, never()).advance(anyLong(), anyLong(), any());
+    verify(repo, never()).saveSummary(anyLong(), anyLong(), any());
+  }
+
+  @Test
+  void recordActiveDay_placeholderRow_rebuildsFromDetails() {
+    when(repo.findSummaryForUpdate(USER, CHILD)).thenReturn(Optional.of(ActivityStats.EMPTY));
+    when(repo.listActiveDays(USER, CHILD)).thenReturn(List.of(D1, D3));
+
+    service.recordActiveDay(USER, CHILD, D3);
+
+    var order = inOrder(repo);
+    order.verify(repo).ensureSummaryLocked(USER, CHILD);
+    order.verify(repo).rebuildActiveDays(USER, CHILD);
+    order.verify(repo).saveSummary(USER, CHILD, new ActivityStats(D1, D3, 2, 1));
+    verify(repo, never()).markActiveDay(anyLong(), anyLong(), any());
+  }
+
+  @Test
+  void summary_existingRow_isReadWithoutLock() {
+    var stats = new ActivityStats(D1, D2, 2, 2);
+    when(repo.findSummary(USER, CHILD)).thenReturn(Optional.of(stats));
+
+    assertEquals(stats, service.summary(USER, CHILD));
+    verify(repo, never()).ensureSummaryLocked(anyLong(), anyLong());
+  }
+
+  @Test
+  void summary_missingRow_rebuildsUnderLock() {
+    when(repo.findSummary(USER, CHILD)).thenReturn(Optional.empty());
+    when(repo.findSummaryForUpdate(USER, CHILD)).thenReturn(Optional.of(ActivityStats.EMPTY));
+    when(repo.listActiveDays(USER, CHILD)).thenReturn(List.of(D1, D2));
+
+    var stats = service.summary(USER, CHILD);
+
+    assertEquals(new ActivityStats(D1, D2, 2, 2), stats);
+    var order = inOrder(repo);
+    order.verify(repo).ensureSummaryLocked(USER, CHILD);
+    order.verify(repo).findSummaryForUpdate(USER, CHILD);
+    order.verify(repo).rebuildActiveDays(USER, CHILD);
+    order.verify(repo).saveSummary(USER, CHILD, stats);
+  }
+
+  @Test
+  void summary_rowFilledByConcurrentWriter_isReturnedWithoutRebuild() {
+    var stats = new ActivityStats(D1, D1, 1, 1);
+    when(repo.findSummary(USER, CHILD)).thenReturn(Optional.empty());
+    when(repo.findSummaryForUpdate(USER, CHILD)).thenReturn(Optional.of(stats));
+
+    assertEquals(stats, service.summary(USER, CHILD));
+    verify(repo, never()).rebuildActiveDays(anyLong(), anyLong());
+  }
+}
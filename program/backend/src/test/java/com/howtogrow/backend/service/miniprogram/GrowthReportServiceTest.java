@@ -6,6 +6,8 @@ import static org.mockito.Mockito.when;
 
 import com.howtogrow.backend.controller.miniprogram.dto.GrowthReportResponse;
 import com.howtogrow.backend.domain.capability.CapabilityDimension;
+import com.howtogrow.backend.infrastructure.cache.DataVersions;
+import com.howtogrow.backend.infrastructure.cache.VersionedResponseCache;
 import com.howtogrow.backend.infrastructure.child.Child;
 import com.howtogrow.backend.infrastructure.child.ChildRepository;
 import com.howtogrow.backend.infrastructure.report.GrowthReportRepository;
@@ -19,7 +21,9 @@ class GrowthReportServiceTest {
   void growth_aggregatesByFiveDataDays_fromStartDate() {
     var childRepo = mock(ChildRepository.class);
     var reportRepo = mock(GrowthReportRepository.class);
-    var service = new GrowthReportService(childRepo, reportRepo);
+    var service =
+        new GrowthReportService(
+            childRepo, reportRepo, mock(DataVersions.class), mock(VersionedResponseCache.class));
 
     long userId = 1L;
     long childId = 2L;
@@ -1,10 +1,14 @@
+const { STORAGE_KEYS } = require("./config");
 const { apiRequest } = require("./request");
 
 function getMonthlyAwareness(childId, month, options) {
   const cid = Number(childId || 0);
   const m = String(month || "").trim();
   if (!cid || !m) return Promise.resolve(null);
-  return apiRequest("GET", "/miniprogram/awareness/monthly", { childId: cid, month: m }, options);
+  return apiRequest("GET", "/miniprogram/awareness/monthly", { childId: cid, month: m }, {
+    ...(options || {}),
+    etagCacheKey: `${STORAGE_KEYS.awarenessMonthlyPrefix}${cid}:${m}`,
+  });
 }
 
 module.exports = { getMonthlyAwareness };
@@ -15,6 +15,8 @@ const STORAGE_KEYS = {
   navCurveSelectedChildId: "nav:curve:selectedChildId",
   dailySession: "daily:session",
   chatActiveSessionId: "chat:activeSessionId",
+  awarenessMonthlyPrefix: "awareness:monthly:",
+  growthReportPrefix: "report:growth:",
 };
 
 module.exports = { API_BASE_URL, API_PREFIX, H5_BASE_URL, STORAGE_KEYS };
@@ -1,8 +1,12 @@
+const { STORAGE_KEYS } = require("./config");
 const { apiRequest } = require("./request");
 
 function fetchGrowthReport(childId, from, to) {
   const qs = `childId=${encodeURIComponent(String(childId))}&from=${encodeURIComponent(from)}&to=${encodeURIComponent(to)}`;
-  return apiRequest("GET", `/miniprogram/reports/growth?${qs}`);
+  // 每个孩子只保留最近一次的范围；ETag 已包含日期范围，换范围时服务端会返回新数据
+  return apiRequest("GET", `/miniprogram/reports/growth?${qs}`, undefined, {
+    etagCacheKey: `${STORAGE_KEYS.growthReportPrefix}${childId}`,
+  });
 }
 
 function fetchAwarenessPersistence(childId, options) {
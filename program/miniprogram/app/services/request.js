@@ -97,6 +97,10 @@ function apiRequest(method, path, data, options) {
   const toastEnabled = options?.toast !== false;
   const autoRelogin = options?.autoRelogin !== false;
   const canRetry = options?.__retried !== true;
+  // 条件请求：缓存上次的 ETag 与数据，服务端返回 304 时直接复用
+  const etagCacheKey = options?.etagCacheKey;
+  const cached = etagCacheKey ? getStorage(etagCacheKey) : null;
+  if (cached?.etag) header["If-None-Match"] = cached.etag;
 
   return new Promise((resolve, reject) => {
     wx.request({
@@ -106,6 +110,10 @@ function apiRequest(method, path, data, options) {
       header,
       timeout: 15000,
       success: (res) => {
+        if (res.statusCode === 304 && cached) {
+          resolve(cached.data);
+          return;
+        }
         const payload = res.data;
         if (!payload) {
           if (toastEnabled) showErrorToast("服务异常");
@@ -133,6 +141,8 @@ function apiRequest(method, path, data, options) {
           reject(new ApiError(message, payload.code, payload.traceId));
           return;
         }
+        const etag = res.header?.ETag || res.header?.etag;
+        if (etagCacheKey && etag) setStorage(etagCacheKey, { etag, data: payload.data });
         resolve(payload.data);
       },
       fail: () => {
@@ -52,6 +52,7 @@ export type AssessmentDetailOptionView = {
 export type AssessmentListParams = {
   page: number;
   pageSize: number;
+  cursor?: number;
   bizDateFrom?: string;
   bizDateTo?: string;
   userId?: number;
@@ -59,9 +60,9 @@ export type AssessmentListParams = {
   keyword?: string;
 };
 
-export type AssessmentExportParams = Omit<AssessmentListParams, "page" | "pageSize">;
+export type AssessmentExportParams = Omit<AssessmentListParams, "page" | "pageSize" | "cursor">;
 
-function parseContentDispositionFilename(contentDisposition: unknown): string | undefined {
+export function parseContentDispositionFilename(contentDisposition: unknown): string | undefined {
   if (typeof contentDisposition !== "string" || !contentDisposition.trim()) return undefined;
 
   // RFC 5987: filename*=UTF-8''...
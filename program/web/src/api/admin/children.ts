@@ -17,6 +17,7 @@ export type AdminChildView = {
 export async function listChildren(params: {
   page: number;
   pageSize: number;
+  cursor?: number;
   userId?: number;
   userNickname?: string;
   childId?: number;
@@ -0,0 +1,56 @@
+import { http } from "@/api/http";
+import type { ApiResponse } from "@/api/types";
+import { parseContentDispositionFilename, type AssessmentExportParams } from "@/api/admin/assessments";
+
+export type ExportJobType = "ASSESSMENT_EXCEL" | "ASSESSMENT_WORD";
+export type ExportJobStatus = "PENDING" | "RUNNING" | "SUCCEEDED" | "FAILED" | "EXPIRED";
+
+export type ExportJobView = {
+  jobId: number;
+  type: ExportJobType;
+  status: ExportJobStatus;
+  fileName: string | null;
+  fileSize: number | null;
+  errorMessage: string | null;
+  createdAt: string;
+  finishedAt: string | null;
+  expiresAt: string | null;
+};
+
+export type ExportJobCreateRequest = AssessmentExportParams & {
+  type: ExportJobType;
+  assessmentId?: number;
+};
+
+export async function createExportJob(request: ExportJobCreateRequest): Promise<ExportJobView> {
+  const res = await http.post<ApiResponse<ExportJobView>>("/api/v1/admin/export-jobs", request);
+  return res.data.data;
+}
+
+export async function getExportJob(jobId: number): Promise<ExportJobView> {
+  const res = await http.get<ApiResponse<ExportJobView>>(`/api/v1/admin/export-jobs/${jobId}`);
+  return res.data.data;
+}
+
+export async function downloadExportJob(jobId: number): Promise<{ blob: Blob; filename?: string }> {
+  const res = await http.get<Blob>(`/api/v1/admin/export-jobs/${jobId}/download`, {
+    responseType: "blob"
+  });
+  const filename = parseContentDispositionFilename(res.headers?.["content-disposition"]);
+  return { blob: res.data, filename };
+}
+
+/** 轮询直到任务结束（成功/失败/过期）；超时抛错，任务仍在后台继续。 */
+export async function waitExportJob(
+  jobId: number,
+  options: { intervalMs?: number; timeoutMs?: number } = {}
+): Promise<ExportJobView> {
+  const intervalMs = options.intervalMs ?? 1500;
+  const deadline = Date.now() + (options.timeoutMs ?? 30 * 60 * 1000);
+  for (;;) {
+    const job = await getExportJob(jobId);
+    if (job.status !== "PENDING" && job.status !== "RUNNING") return job;
+    if (Date.now() >= deadline) throw new Error("导出耗时过长，请稍后重试");
+    await new Promise((resolve) => setTimeout(resolve, intervalMs));
+  }
+}
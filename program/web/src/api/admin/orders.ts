@@ -17,7 +17,7 @@ export type OrderView = {
   paidAt: string | null;
 };
 
-export async function listOrders(params: { page: number; pageSize: number }): Promise<PageResponse<OrderView>> {
+export async function listOrders(params: { page: number; pageSize: number; cursor?: number }): Promise<PageResponse<OrderView>> {
   const res = await http.get<ApiResponse<PageResponse<OrderView>>>("/api/v1/admin/orders", { params });
   return res.data.data;
 }
@@ -61,11 +61,23 @@ export type QuestionUpsertRequest = {
   options: OptionUpsert[];
 };
 
+export type QuestionImportChange = {
+  row: number;
+  action: "CREATE" | "UPDATE";
+  questionId?: number | null;
+  content: string;
+};
+
 export type QuestionImportResponse = {
   total: number;
   success: number;
   failed: number;
   failures: { row: number; reason: string }[];
+  applied: boolean;
+  created: number;
+  updated: number;
+  unchanged: number;
+  changes: QuestionImportChange[];
 };
 
 export type TroubleSceneBatchUpdateMode = "APPEND" | "REPLACE";
@@ -79,6 +91,7 @@ export type BatchUpdateQuestionTroubleScenesRequest = {
 export type ListQuestionsParams = {
   page: number;
   pageSize: number;
+  cursor?: number;
   minAge?: number;
   maxAge?: number;
   ageYear?: number;
@@ -120,10 +133,11 @@ export async function batchUpdateQuestionTroubleScenes(request: BatchUpdateQuest
   await http.post<ApiResponse<unknown>>("/api/v1/admin/questions/batch-update-trouble-scenes", request);
 }
 
-export async function importQuestionsExcel(file: File): Promise<QuestionImportResponse> {
+export async function importQuestionsExcel(file: File, dryRun = false): Promise<QuestionImportResponse> {
   const form = new FormData();
   form.append("file", file);
   const res = await http.post<ApiResponse<QuestionImportResponse>>("/api/v1/admin/questions/import-excel", form, {
+    params: { dryRun },
     headers: { "Content-Type": "multipart/form-data" }
   });
   return res.data.data;
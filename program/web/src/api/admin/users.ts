@@ -14,6 +14,7 @@ export type UserView = {
 export type UserListParams = {
   page: number;
   pageSize: number;
+  cursor?: number;
   userId?: number;
   keyword?: string;
   freeTrialUsed?: boolean;
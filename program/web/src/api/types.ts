@@ -10,5 +10,7 @@ export type PageResponse<T> = {
   pageSize: number;
   total: number;
   items: T[];
+  /** 满页时为最后一条的 id，下一页可作为 cursor 传回；部分列表不支持游标 */
+  nextCursor?: number | null;
 };
 
@@ -0,0 +1,21 @@
+/**
+ * 记录“第 N 页的游标”（即第 N-1 页返回的 nextCursor），顺序翻页时走后端 keyset 分页；
+ * 跳页或尚未拿到游标时返回 undefined，后端按 offset 处理。
+ */
+export function createPageCursors() {
+  const cursors = new Map<number, number>();
+  return {
+    /** 第 1 页时清空：搜索、重置、修改每页条数都会回到第 1 页。 */
+    cursorFor(page: number): number | undefined {
+      if (page <= 1) {
+        cursors.clear();
+        return undefined;
+      }
+      return cursors.get(page);
+    },
+    remember(page: number, nextCursor: number | null | undefined) {
+      if (nextCursor == null) cursors.delete(page + 1);
+      else cursors.set(page + 1, nextCursor);
+    }
+  };
+}